@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+#
+# Fast-start build and run mode.
+#
+#   scripts/fast-start.sh build   AOT-processed jar, extracted layout and a class data sharing archive
+#   scripts/fast-start.sh run     start it with the faststart profile (extra arguments are passed on)
+#
+# CDS_MODE=appcds (default) uses an AppCDS archive; CDS_MODE=aotcache uses the JDK 24+
+# ahead-of-time class loading and linking cache instead.
+#
+# Note: Spring AOT evaluates @Profile and @ConditionalOnProperty at build time, so catalog.*
+# feature flags that register beans must be passed to the build as well (BUILD_ARGS).
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+ARTIFACT=Books_cRud-0.0.1-SNAPSHOT.jar
+OUT=target/fast-start
+CDS_MODE=${CDS_MODE:-appcds}
+APP_ARGS=(--spring.profiles.active=faststart)
+
+case "${1:-run}" in
+  build)
+    ./mvnw -B -Pfaststart -DskipTests ${BUILD_ARGS:-} package
+    rm -rf "$OUT"
+    java -Djarmode=tools -jar "target/$ARTIFACT" extract --destination "$OUT"
+    # Training run: refresh the context once, then exit and record the loaded classes
+    if [ "$CDS_MODE" = "aotcache" ]; then
+      java -XX:AOTMode=record -XX:AOTConfiguration="$OUT/application.aotconf" \
+           -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh -jar "$OUT/$ARTIFACT" "${APP_ARGS[@]}"
+      java -XX:AOTMode=create -XX:AOTConfiguration="$OUT/application.aotconf" -XX:AOTCache="$OUT/application.aot" \
+           -Dspring.aot.enabled=true -jar "$OUT/$ARTIFACT" "${APP_ARGS[@]}"
+    else
+      java -XX:ArchiveClassesAtExit="$OUT/application.jsa" \
+           -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh -jar "$OUT/$ARTIFACT" "${APP_ARGS[@]}"
+    fi
+    ;;
+  run)
+    shift || true
+    if [ "$CDS_MODE" = "aotcache" ]; then
+      CACHE_OPTS=(-XX:AOTCache="$OUT/application.aot")
+    else
+      CACHE_OPTS=(-XX:SharedArchiveFile="$OUT/application.jsa")
+    fi
+    exec java "${CACHE_OPTS[@]}" -Dspring.aot.enabled=true -jar "$OUT/$ARTIFACT" "${APP_ARGS[@]}" "$@"
+    ;;
+  *)
+    echo "usage: $0 build|run [application arguments]" >&2
+    exit 1
+    ;;
+esac
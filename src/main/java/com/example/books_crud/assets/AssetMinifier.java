@@ -0,0 +1,95 @@
+package com.example.books_crud.assets;
+
+/**
+ * Conservative minification for the hand-written stylesheets and scripts of the views.
+ * <p>
+ * Only comments and whitespace are removed, never renamed or reordered; quoted strings
+ * are copied untouched. Scripts keep their line breaks so automatic semicolon insertion
+ * behaves exactly as before.
+ */
+final class AssetMinifier {
+
+    private AssetMinifier() {
+    }
+
+    static String css(String source) {
+        StringBuilder out = new StringBuilder(source.length());
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = copyString(source, i, out);
+            } else if (c == '/' && next(source, i) == '*') {
+                int end = source.indexOf("*/", i + 2);
+                i = end < 0 ? source.length() : end + 2;
+            } else if (Character.isWhitespace(c)) {
+                while (i < source.length() && Character.isWhitespace(source.charAt(i))) {
+                    i++;
+                }
+                char before = out.isEmpty() ? '{' : out.charAt(out.length() - 1);
+                char after = i < source.length() ? source.charAt(i) : '}';
+                if ("{};:,>".indexOf(before) < 0 && "{};,>".indexOf(after) < 0) {
+                    out.append(' ');
+                }
+            } else if (c == '}' && !out.isEmpty() && out.charAt(out.length() - 1) == ';') {
+                out.setCharAt(out.length() - 1, '}');
+                i++;
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    static String js(String source) {
+        StringBuilder out = new StringBuilder(source.length());
+        StringBuilder line = new StringBuilder();
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            boolean commentMayStart = line.isEmpty() || Character.isWhitespace(line.charAt(line.length() - 1));
+            if (c == '"' || c == '\'' || c == '`') {
+                i = copyString(source, i, line);
+            } else if (c == '/' && next(source, i) == '/' && commentMayStart) {
+                while (i < source.length() && source.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && next(source, i) == '*' && commentMayStart) {
+                int end = source.indexOf("*/", i + 2);
+                i = end < 0 ? source.length() : end + 2;
+            } else if (c == '\n') {
+                appendLine(line, out);
+                i++;
+            } else {
+                line.append(c);
+                i++;
+            }
+        }
+        appendLine(line, out);
+        return out.toString();
+    }
+
+    private static void appendLine(StringBuilder line, StringBuilder out) {
+        String trimmed = line.toString().strip();
+        if (!trimmed.isEmpty()) {
+            out.append(out.isEmpty() ? "" : "\n").append(trimmed);
+        }
+        line.setLength(0);
+    }
+
+    private static int copyString(String source, int start, StringBuilder out) {
+        char quote = source.charAt(start);
+        int i = start + 1;
+        while (i < source.length() && source.charAt(i) != quote) {
+            i += source.charAt(i) == '\\' ? 2 : 1;
+        }
+        int end = Math.min(i + 1, source.length());
+        out.append(source, start, end);
+        return end;
+    }
+
+    private static char next(String source, int i) {
+        return i + 1 < source.length() ? source.charAt(i + 1) : 0;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.books_crud.assets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stylesheets and scripts of the views, minified, fingerprinted and gzipped once at startup.
+ * <p>
+ * Each asset under the location is published under a path carrying the first
+ * {@value #FINGERPRINT_LENGTH} hex digits of the SHA-256 of its served content, e.g.
+ * {@code css/site.css} as {@code css/site.3f2a9c0b1d.css}, so it can be cached forever:
+ * any change to the file produces a new URL. Views look up the URL by logical path in
+ * {@link #urls()}.
+ */
+public class AssetPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetPipeline.class);
+
+    private static final int FINGERPRINT_LENGTH = 10;
+
+    private final Map<String, Asset> byPath;
+    private final Map<String, Asset> byLogicalPath;
+    private final Map<String, String> urls;
+
+    private AssetPipeline(Map<String, Asset> byPath, Map<String, Asset> byLogicalPath, Map<String, String> urls) {
+        this.byPath = byPath;
+        this.byLogicalPath = byLogicalPath;
+        this.urls = urls;
+    }
+
+    /**
+     * Build every {@code .css} and {@code .js} file found under a location
+     *
+     * @param location  classpath location of the sources, e.g. {@code classpath:/assets/}
+     * @param urlPrefix path the assets are served under, e.g. {@code /assets/}
+     */
+    public static AssetPipeline build(ResourcePatternResolver resolver, String location, String urlPrefix,
+                                      boolean minify) {
+        Map<String, Asset> byPath = new TreeMap<>();
+        Map<String, Asset> byLogicalPath = new TreeMap<>();
+        Map<String, String> urls = new TreeMap<>();
+        long sourceBytes = 0;
+        long servedBytes = 0;
+        long gzippedBytes = 0;
+        try {
+            Resource[] roots = resolver.getResources(location);
+            for (String extension : new String[]{"css", "js"}) {
+                for (Resource resource : resolver.getResources(location + "**/*." + extension)) {
+                    String logicalPath = logicalPath(resource, roots, location);
+                    String source = resource.getContentAsString(StandardCharsets.UTF_8);
+                    String content = !minify ? source
+                            : extension.equals("css") ? AssetMinifier.css(source) : AssetMinifier.js(source);
+                    Asset asset = Asset.of(logicalPath, content.getBytes(StandardCharsets.UTF_8));
+                    byPath.put(asset.path(), asset);
+                    byLogicalPath.put(logicalPath, asset);
+                    urls.put(logicalPath, urlPrefix + asset.path());
+                    sourceBytes += source.getBytes(StandardCharsets.UTF_8).length;
+                    servedBytes += asset.content().length;
+                    gzippedBytes += asset.gzipped().length;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read assets from " + location, e);
+        }
+        logger.info("Built {} assets: {} bytes of sources served as {} bytes, {} bytes gzipped", byPath.size(),
+                    sourceBytes, servedBytes, gzippedBytes);
+        return new AssetPipeline(Map.copyOf(byPath), Map.copyOf(byLogicalPath), Map.copyOf(urls));
+    }
+
+    private static String logicalPath(Resource resource, Resource[] roots, String location) throws IOException {
+        String url = resource.getURL().toString();
+        for (Resource root : roots) {
+            String rootUrl = StringUtils.trimTrailingCharacter(root.getURL().toString(), '/') + "/";
+            if (url.startsWith(rootUrl)) {
+                return url.substring(rootUrl.length());
+            }
+        }
+        throw new IOException("Asset " + url + " is not under " + location);
+    }
+
+    /**
+     * Served URLs by logical path, relative to the context path
+     */
+    public Map<String, String> urls() {
+        return urls;
+    }
+
+    /**
+     * Fingerprinted URL of an asset, or {@code null} when there is no such asset
+     */
+    public String url(String logicalPath) {
+        return urls.get(logicalPath);
+    }
+
+    /**
+     * Fingerprinted path of an asset (without the URL prefix), or {@code null} when there is no such asset
+     */
+    String fingerprintedPath(String logicalPath) {
+        Asset asset = byLogicalPath.get(logicalPath);
+        return asset != null ? asset.path() : null;
+    }
+
+    /**
+     * Asset published under a fingerprinted path (without the URL prefix), or {@code null}
+     */
+    Asset asset(String path) {
+        return byPath.get(path);
+    }
+
+    record Asset(String logicalPath, String path, String fingerprint, byte[] content, byte[] gzipped) {
+
+        static Asset of(String logicalPath, byte[] content) {
+            String fingerprint = AssetPipeline.fingerprint(content);
+            int dot = logicalPath.lastIndexOf('.');
+            String path = logicalPath.substring(0, dot) + "." + fingerprint + logicalPath.substring(dot);
+            return new Asset(logicalPath, path, fingerprint, content, AssetPipeline.gzip(content));
+        }
+
+        String filename() {
+            return path.substring(path.lastIndexOf('/') + 1);
+        }
+    }
+
+    private static String fingerprint(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest).substring(0, FINGERPRINT_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes) {{
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }}) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
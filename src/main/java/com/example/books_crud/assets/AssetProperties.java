@@ -0,0 +1,18 @@
+package com.example.books_crud.assets;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Stylesheets and scripts under {@code classpath:/assets/} served fingerprinted and long-cached ({@code catalog.assets.*})
+ *
+ * @param minify whether comments and redundant whitespace are stripped before fingerprinting
+ * @param maxAge how long browsers and proxies may keep an asset; its URL changes whenever its content does
+ */
+@ConfigurationProperties(prefix = "catalog.assets")
+public record AssetProperties(
+        @DefaultValue("true") boolean minify,
+        @DefaultValue("365d") Duration maxAge) {
+}
@@ -0,0 +1,112 @@
+package com.example.books_crud.assets;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Serves the assets of an {@link AssetPipeline} from memory under their fingerprinted
+ * paths only; unfingerprinted paths are not found, so nothing is ever served under a
+ * URL whose content could change.
+ * <p>
+ * Clients accepting gzip get the pre-compressed bytes, with {@code Content-Encoding}
+ * and {@code Vary: Accept-Encoding} set, the same way Spring's
+ * {@code EncodedResourceResolver} serves pre-compressed files from disk.
+ */
+public class FingerprintedAssetResolver implements ResourceResolver {
+
+    private final AssetPipeline pipeline;
+
+    public FingerprintedAssetResolver(AssetPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        AssetPipeline.Asset asset = pipeline.asset(requestPath);
+        if (asset == null) {
+            return null;
+        }
+        return new AssetResource(asset, request != null && acceptsGzip(request));
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations,
+                                 ResourceResolverChain chain) {
+        return pipeline.fingerprintedPath(resourcePath);
+    }
+
+    /**
+     * ETag of a resource this resolver served, for {@code ResourceHandlerRegistration#setEtagGenerator};
+     * {@code null} for any other resource
+     */
+    public static String etag(Resource resource) {
+        return resource instanceof AssetResource asset ? asset.etag() : null;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+
+    /**
+     * An asset as served to one request, gzipped or not
+     */
+    static final class AssetResource extends ByteArrayResource implements HttpResource {
+
+        private final AssetPipeline.Asset asset;
+        private final boolean gzipped;
+
+        AssetResource(AssetPipeline.Asset asset, boolean gzipped) {
+            super(gzipped ? asset.gzipped() : asset.content(), asset.path());
+            this.asset = asset;
+            this.gzipped = gzipped;
+        }
+
+        @Override
+        public String getFilename() {
+            return asset.filename();
+        }
+
+        @Override
+        public long lastModified() {
+            return 0;
+        }
+
+        /**
+         * Strong validator that differs between the plain and gzipped representations
+         */
+        String etag() {
+            return "\"" + asset.fingerprint() + (gzipped ? "-gzip" : "") + "\"";
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            if (gzipped) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            return headers;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || other instanceof AssetResource resource
+                    && resource.asset == asset && resource.gzipped == gzipped;
+        }
+
+        @Override
+        public int hashCode() {
+            return asset.path().hashCode() * 31 + Boolean.hashCode(gzipped);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.books_crud.budget;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Limits for the statements of the repository call running on the current thread.
+ * <p>
+ * Every statement gets the JDBC query timeout and the row cap. The query whose rows the
+ * repository returns need not be the call's first statement: a query may first flush
+ * pending changes with an UPDATE or INSERT. The cap only limits the rows a result set
+ * returns, so it leaves those writes alone.
+ */
+public final class QueryBudget {
+
+    private static final ThreadLocal<QueryBudget> CURRENT = new ThreadLocal<>();
+
+    private final int maxRows;
+    private final int timeoutSeconds;
+
+    private QueryBudget(int maxRows, int timeoutSeconds) {
+        this.maxRows = maxRows;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    /**
+     * Bound the statements of this thread until the returned scope is closed
+     *
+     * @param maxRows rows each statement may fetch, or 0 for no cap
+     */
+    static Scope open(int maxRows, Duration timeout) {
+        return open(maxRows, (int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+    }
+
+    private static Scope open(int maxRows, int timeoutSeconds) {
+        QueryBudget previous = CURRENT.get();
+        CURRENT.set(new QueryBudget(maxRows, timeoutSeconds));
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * Wrap a task handed to another thread so its statements get the current call's budget
+     */
+    public static <T> Callable<T> carryOver(Callable<T> task) {
+        QueryBudget budget = CURRENT.get();
+        if (budget == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = open(budget.maxRows, budget.timeoutSeconds)) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Apply the current budget, if any, to a statement that was just created
+     *
+     * @return whether a timeout was set
+     */
+    static boolean applyTo(Statement statement) throws SQLException {
+        QueryBudget budget = CURRENT.get();
+        if (budget == null) {
+            return false;
+        }
+        statement.setQueryTimeout(budget.timeoutSeconds);
+        if (budget.maxRows > 0) {
+            statement.setMaxRows(budget.maxRows);
+        }
+        return true;
+    }
+
+    interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.books_crud.budget;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Applies the {@link QueryBudget} of the current repository call to every statement
+ * created on its connections; outside repository calls statements are left alone.
+ * Every statement is also handed to the {@link StatementCanceller} of the task that
+ * created it, if any.
+ * <p>
+ * Some drivers (H2 among them) keep a query timeout for the whole session rather
+ * than the statement, so a connection that received one is reset before it goes
+ * back to the pool.
+ */
+public class QueryBudgetDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    public QueryBudgetDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return budgeted(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return budgeted(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection budgeted(Connection connection) {
+        boolean[] timeoutApplied = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                                                   new Class<?>[]{ConnectionProxy.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Query budget proxy for " + connection;
+                case "getTargetConnection":
+                    return connection;
+                case "close":
+                    if (timeoutApplied[0] && !connection.isClosed()) {
+                        try (Statement reset = connection.createStatement()) {
+                            reset.setQueryTimeout(0);
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                result = method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (result instanceof Statement statement && STATEMENT_FACTORIES.contains(method.getName())) {
+                timeoutApplied[0] |= QueryBudget.applyTo(statement);
+                StatementCanceller.register(statement);
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.books_crud.budget;
+
+import com.example.books_crud.repository.RepositoryAdvice;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds every repository call: its statements get a JDBC query timeout, and a
+ * list-returning method fetches at most one row beyond the cap. When that extra row
+ * arrives the result is cut to the cap and returned as a {@link TruncatedList}, so
+ * callers can tell the user the list is incomplete. Methods marked {@link Uncapped} only
+ * get the timeout.
+ * <p>
+ * Runs outermost, so results merged from several shards are capped as a whole.
+ */
+@Order(0)
+public class QueryBudgetInterceptor implements RepositoryAdvice, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    private final int maxRows;
+    private final Duration timeout;
+    private final LongAdder truncated = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public QueryBudgetInterceptor(int maxRows, Duration timeout) {
+        if (maxRows < 1) {
+            throw new IllegalArgumentException("Row cap must be positive");
+        }
+        this.maxRows = maxRows;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        boolean capped = List.class.isAssignableFrom(invocation.getMethod().getReturnType())
+                && !invocation.getMethod().isAnnotationPresent(Uncapped.class);
+        Object result;
+        try (QueryBudget.Scope ignored = QueryBudget.open(capped ? maxRows + 1 : 0, timeout)) {
+            result = invocation.proceed();
+        } catch (QueryTimeoutException e) {
+            timedOut.increment();
+            throw e;
+        }
+        if (capped && result instanceof List<?> rows && rows.size() > maxRows) {
+            truncated.increment();
+            logger.debug("Truncated {}.{} to {} rows", invocation.getMethod().getDeclaringClass().getSimpleName(),
+                         invocation.getMethod().getName(), maxRows);
+            return new TruncatedList<>(rows, maxRows);
+        }
+        return result;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("catalog.query-budget.truncated", truncated, LongAdder::sum)
+                .description("Repository results cut off at the row cap")
+                .register(registry);
+        FunctionCounter.builder("catalog.query-budget.timeouts", timedOut, LongAdder::sum)
+                .description("Repository calls cancelled by the query timeout")
+                .register(registry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.books_crud.budget;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limits applied to every repository call ({@code catalog.query-budget.*})
+ *
+ * @param enabled whether repository calls are bounded
+ * @param maxRows rows a list-returning repository method may return before its result is truncated
+ * @param timeout JDBC query timeout for the statements of a repository call, rounded up to whole seconds
+ */
+@ConfigurationProperties(prefix = "catalog.query-budget")
+public record QueryBudgetProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") int maxRows,
+        @DefaultValue("5s") Duration timeout) {
+}
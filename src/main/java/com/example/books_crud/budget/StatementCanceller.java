@@ -0,0 +1,87 @@
+package com.example.books_crud.budget;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Cancels the JDBC statements of a task that is given up on.
+ * <p>
+ * Interrupting a thread does not stop a statement it is blocked in, so the statement
+ * would hold its pool connection until it finishes or hits the query timeout. A task
+ * wrapped with {@link #watch(Callable)} has every statement it creates recorded by
+ * {@link QueryBudgetDataSource}; {@link #cancel()} calls {@link Statement#cancel()} on
+ * them, and closes any it creates afterwards, so the task fails fast and gives its
+ * connection back.
+ */
+public final class StatementCanceller {
+
+    private static final ThreadLocal<StatementCanceller> CURRENT = new ThreadLocal<>();
+
+    private final List<Statement> statements = new ArrayList<>();
+    private boolean cancelled;
+
+    /**
+     * Wrap a task so the statements it creates, on whichever thread runs it, can be cancelled
+     */
+    public <T> Callable<T> watch(Callable<T> task) {
+        return () -> {
+            StatementCanceller previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Cancel the statements created so far, and close any created from now on
+     */
+    public void cancel() {
+        List<Statement> running;
+        synchronized (this) {
+            cancelled = true;
+            running = List.copyOf(statements);
+        }
+        running.forEach(StatementCanceller::cancelQuietly);
+    }
+
+    /**
+     * Record a statement just created on the current thread, if its task is watched
+     */
+    static void register(Statement statement) {
+        StatementCanceller canceller = CURRENT.get();
+        if (canceller == null) {
+            return;
+        }
+        synchronized (canceller) {
+            if (!canceller.cancelled) {
+                canceller.statements.add(statement);
+                return;
+            }
+        }
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // Executing it fails either way
+        }
+    }
+
+    private static void cancelQuietly(Statement statement) {
+        try {
+            if (!statement.isClosed()) {
+                statement.cancel();
+            }
+        } catch (SQLException e) {
+            // Finished or closed in the meantime
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.books_crud.budget;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Repository result that was cut off at the row cap; more rows matched than it holds
+ */
+public final class TruncatedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<E> rows;
+    private final int rowCap;
+
+    TruncatedList(List<E> matched, int rowCap) {
+        this.rows = new ArrayList<>(matched.subList(0, rowCap));
+        this.rowCap = rowCap;
+    }
+
+    /**
+     * Whether a result returned by a repository was truncated
+     */
+    public static boolean isTruncated(Collection<?> results) {
+        return results instanceof TruncatedList<?>;
+    }
+
+    public int rowCap() {
+        return rowCap;
+    }
+
+    @Override
+    public E get(int index) {
+        return rows.get(index);
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.books_crud.budget;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Exempts a list-returning repository method from the row cap; its statements still get
+ * the query timeout.
+ * <p>
+ * For lists that are wrong, not just shorter, when cut off: the creator choices of the
+ * work forms must hold every creator, or saving the form reassigns a work whose creator
+ * was left out.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Uncapped {
+}
@@ -0,0 +1,77 @@
+package com.example.books_crud.cache;
+
+import com.example.books_crud.event.CatalogChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Keeps the catalog caches of every node in step with committed changes.
+ * <p>
+ * Each committed change is applied to the local caches and broadcast on the
+ * invalidation transport; invalidations from other nodes are applied the same
+ * way. A creator change also drops the creator list and the work cache, since
+ * cached works embed their creator.
+ */
+public class CacheCoherence implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheCoherence.class);
+
+    private final UUID nodeId = UUID.randomUUID();
+    private final InvalidationTransport transport;
+    private final VersionedCache creators;
+    private final VersionedCache creatorDirectory;
+    private final VersionedCache works;
+
+    public CacheCoherence(InvalidationTransport transport, VersionedCache creators, VersionedCache creatorDirectory,
+                          VersionedCache works) {
+        this.transport = transport;
+        this.creators = creators;
+        this.creatorDirectory = creatorDirectory;
+        this.works = works;
+    }
+
+    /**
+     * Start receiving invalidations from other nodes
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        transport.subscribe(this::receive);
+    }
+
+    /**
+     * Invalidate local caches for a committed change and tell the other nodes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void broadcast(CatalogChangeEvent event) {
+        CacheInvalidation invalidation = CacheInvalidation.of(nodeId, event);
+        apply(invalidation);
+        transport.publish(invalidation);
+    }
+
+    void receive(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        logger.debug("Applying remote cache invalidation {}", invalidation);
+        apply(invalidation);
+    }
+
+    private void apply(CacheInvalidation invalidation) {
+        switch (invalidation.region()) {
+            case CREATOR -> {
+                creators.invalidate(invalidation.id(), invalidation.version());
+                creatorDirectory.invalidateAll();
+                works.invalidateAll();
+            }
+            case WORK -> works.invalidate(invalidation.id(), invalidation.version());
+        }
+    }
+
+    public UUID nodeId() {
+        return nodeId;
+    }
+}
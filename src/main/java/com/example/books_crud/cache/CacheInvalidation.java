@@ -0,0 +1,40 @@
+package com.example.books_crud.cache;
+
+import com.example.books_crud.event.CatalogChangeEvent;
+import com.example.books_crud.event.CatalogChangeEvent.CreatorRemoved;
+import com.example.books_crud.event.CatalogChangeEvent.CreatorSaved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkRemoved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkSaved;
+
+import java.util.UUID;
+
+/**
+ * Message telling every node that cached copies of an entity older than {@code version} are stale
+ *
+ * @param origin  node that committed the change
+ * @param region  kind of entity that changed
+ * @param id      entity id
+ * @param version version after the change, or {@link #REMOVED} when the entity was deleted
+ */
+public record CacheInvalidation(UUID origin, Region region, long id, long version) {
+
+    /**
+     * Version used for deletions: nothing loaded afterwards may be cached again
+     */
+    public static final long REMOVED = Long.MAX_VALUE;
+
+    public enum Region {
+        CREATOR,
+        WORK
+    }
+
+    static CacheInvalidation of(UUID origin, CatalogChangeEvent event) {
+        return switch (event) {
+            case CreatorSaved creator -> new CacheInvalidation(origin, Region.CREATOR, creator.creatorId(),
+                                                               creator.version());
+            case CreatorRemoved creator -> new CacheInvalidation(origin, Region.CREATOR, creator.creatorId(), REMOVED);
+            case WorkSaved work -> new CacheInvalidation(origin, Region.WORK, work.workId(), work.version());
+            case WorkRemoved work -> new CacheInvalidation(origin, Region.WORK, work.workId(), REMOVED);
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.books_crud.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-process catalog caches ({@code catalog.cache.*})
+ *
+ * @param enabled    whether creator and work lookups are cached
+ * @param timeToLive upper bound on how long an entry is served, covering lost invalidations
+ * @param bus        how invalidations reach the other nodes
+ */
+@ConfigurationProperties(prefix = "catalog.cache")
+public record CatalogCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10m") Duration timeToLive,
+        @DefaultValue Bus bus) {
+
+    public enum Transport {
+        /** Single node, invalidations stay local */
+        NONE,
+        /** Nodes in the same JVM sharing {@code channel} */
+        LOOPBACK,
+        /** Nodes on the same network joined to {@code group}:{@code port} */
+        MULTICAST
+    }
+
+    /**
+     * @param transport        invalidation transport
+     * @param channel          loopback channel name
+     * @param group            multicast group address
+     * @param port             multicast port
+     * @param networkInterface interface to join the multicast group on, the system default when unset
+     */
+    public record Bus(
+            @DefaultValue("none") Transport transport,
+            @DefaultValue("catalog") String channel,
+            @DefaultValue("239.255.42.99") String group,
+            @DefaultValue("45566") int port,
+            String networkInterface) {
+    }
+}
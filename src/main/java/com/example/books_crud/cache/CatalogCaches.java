@@ -0,0 +1,54 @@
+package com.example.books_crud.cache;
+
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+
+import java.util.List;
+
+/**
+ * Names of the in-process catalog caches and how their values are versioned
+ */
+public final class CatalogCaches {
+
+    /**
+     * Creators by id
+     */
+    public static final String CREATORS = "creators";
+
+    /**
+     * The full creator list used by dropdowns
+     */
+    public static final String CREATOR_DIRECTORY = "creatorDirectory";
+
+    /**
+     * Works by id, loaded together with their creator
+     */
+    public static final String WORKS = "works";
+
+    private CatalogCaches() {
+    }
+
+    /**
+     * Copy of a value to store or hand out: entities, alone or in a list, are copied
+     * detached, so no caller shares an instance or its lazy state with another
+     */
+    public static Object copyOf(Object value) {
+        return switch (value) {
+            case Author creator -> creator.detachedCopy();
+            case Book work -> work.detachedCopy();
+            case List<?> values -> values.stream().map(CatalogCaches::copyOf).toList();
+            default -> value;
+        };
+    }
+
+    /**
+     * Optimistic-lock version of a cached entity, or {@link VersionedCache#UNVERSIONED} for other values
+     */
+    public static long versionOf(Object value) {
+        return switch (value) {
+            case Author creator -> creator.getVersion();
+            case Book work -> work.getVersion();
+            default -> VersionedCache.UNVERSIONED;
+        };
+    }
+}
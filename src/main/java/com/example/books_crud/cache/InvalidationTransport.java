@@ -0,0 +1,37 @@
+package com.example.books_crud.cache;
+
+import java.io.Closeable;
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between nodes.
+ * <p>
+ * Transports may deliver messages late, out of order, more than once, or (for
+ * datagram transports) not at all; {@link VersionedCache} tolerates all of these.
+ * Nodes may receive their own messages back and are expected to ignore them.
+ */
+public interface InvalidationTransport extends Closeable {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Transport for a single node: invalidations are only applied locally
+     */
+    static InvalidationTransport none() {
+        return new InvalidationTransport() {
+            @Override
+            public void publish(CacheInvalidation invalidation) {
+            }
+
+            @Override
+            public void subscribe(Consumer<CacheInvalidation> listener) {
+            }
+        };
+    }
+}
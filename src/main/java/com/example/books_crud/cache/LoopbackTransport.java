@@ -0,0 +1,48 @@
+package com.example.books_crud.cache;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM transport connecting every node that uses the same channel name, so
+ * several application contexts in one JVM (tests, local experiments) behave like
+ * separate instances. Delivery is synchronous on the publishing thread.
+ */
+public class LoopbackTransport implements InvalidationTransport {
+
+    private static final ConcurrentMap<String, Set<LoopbackTransport>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    public LoopbackTransport(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        for (LoopbackTransport member : CHANNELS.getOrDefault(channel, Set.of())) {
+            if (member != this) {
+                member.listeners.forEach(listener -> listener.accept(invalidation));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+        CHANNELS.computeIfAbsent(channel, name -> ConcurrentHashMap.newKeySet()).add(this);
+    }
+
+    @Override
+    public void close() {
+        CHANNELS.computeIfPresent(channel, (name, members) -> {
+            members.remove(this);
+            return members.isEmpty() ? null : members;
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.books_crud.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * UDP multicast transport for nodes on the same network segment.
+ * <p>
+ * Each invalidation is a single fixed-size datagram. Delivery is best effort: a
+ * lost datagram leaves the affected entry stale until it expires, which is why
+ * the catalog caches have a time-to-live.
+ */
+public class MulticastTransport implements InvalidationTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(MulticastTransport.class);
+
+    private static final int MESSAGE_SIZE = 2 * Long.BYTES + 1 + 2 * Long.BYTES;
+
+    private final InetSocketAddress group;
+    private final NetworkInterface networkInterface;
+    private final MulticastSocket socket;
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private Thread receiver;
+
+    public MulticastTransport(InetSocketAddress group, NetworkInterface networkInterface) throws IOException {
+        this.group = group;
+        this.networkInterface = networkInterface;
+        this.socket = new MulticastSocket(group.getPort());
+        if (networkInterface != null) {
+            socket.setNetworkInterface(networkInterface);
+        }
+        socket.joinGroup(group, networkInterface);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        byte[] message = encode(invalidation);
+        try {
+            socket.send(new DatagramPacket(message, message.length, group));
+        } catch (IOException e) {
+            logger.warn("Unable to broadcast {}, remote copies stay cached until they expire", invalidation, e);
+        }
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+        if (receiver == null) {
+            receiver = Thread.ofPlatform().daemon().name("cache-invalidation-receiver").start(this::receive);
+        }
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MESSAGE_SIZE];
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        while (!socket.isClosed()) {
+            try {
+                socket.receive(packet);
+                if (packet.getLength() == MESSAGE_SIZE) {
+                    CacheInvalidation invalidation = decode(ByteBuffer.wrap(buffer));
+                    listeners.forEach(listener -> listener.accept(invalidation));
+                }
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    logger.warn("Failed to receive cache invalidation", e);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Ignoring malformed cache invalidation", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.leaveGroup(group, networkInterface);
+        } catch (IOException e) {
+            logger.debug("Unable to leave multicast group {}", group, e);
+        }
+        socket.close();
+    }
+
+    private static byte[] encode(CacheInvalidation invalidation) {
+        return ByteBuffer.allocate(MESSAGE_SIZE)
+                .putLong(invalidation.origin().getMostSignificantBits())
+                .putLong(invalidation.origin().getLeastSignificantBits())
+                .put((byte) invalidation.region().ordinal())
+                .putLong(invalidation.id())
+                .putLong(invalidation.version())
+                .array();
+    }
+
+    private static CacheInvalidation decode(ByteBuffer message) {
+        UUID origin = new UUID(message.getLong(), message.getLong());
+        CacheInvalidation.Region region = CacheInvalidation.Region.values()[message.get()];
+        return new CacheInvalidation(origin, region, message.getLong(), message.getLong());
+    }
+}
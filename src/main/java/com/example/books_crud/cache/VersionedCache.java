@@ -0,0 +1,157 @@
+package com.example.books_crud.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-process cache whose entries can only move forward in version.
+ * <p>
+ * Invalidations name the version that made an entry stale. The cache remembers the
+ * highest such version per key and refuses to store anything older, so a late or
+ * reordered invalidation never evicts a newer entry and a load that read the row
+ * before the change committed never puts the old value back. Whole-cache
+ * invalidations bump a generation counter instead; values loaded under an earlier
+ * generation are dropped rather than stored. Entries also expire after a fixed time
+ * to bound staleness should an invalidation be lost in transit.
+ * <p>
+ * The per-key minimum versions are kept for the life of the cache, one long per
+ * key that has ever been invalidated.
+ * <p>
+ * Values pass through a copy function when stored and again on every hit, so each
+ * caller gets an instance of its own: a cached entity must not carry one request's
+ * persistence context, or its lazy state, into another thread.
+ */
+public class VersionedCache extends AbstractValueAdaptingCache {
+
+    /**
+     * Version of values that carry none, such as lists and not-found results
+     */
+    public static final long UNVERSIONED = -1;
+
+    private final String name;
+    private final ToLongFunction<Object> versionOf;
+    private final UnaryOperator<Object> copyOf;
+    private final long timeToLiveNanos;
+    private final LongSupplier clock;
+    private final ConcurrentMap<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, Long> minimumVersions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public VersionedCache(String name, ToLongFunction<Object> versionOf, Duration timeToLive, LongSupplier clock) {
+        this(name, versionOf, UnaryOperator.identity(), timeToLive, clock);
+    }
+
+    /**
+     * @param copyOf copies a value when it is stored and when it is handed out
+     */
+    public VersionedCache(String name, ToLongFunction<Object> versionOf, UnaryOperator<Object> copyOf,
+                          Duration timeToLive, LongSupplier clock) {
+        super(true);
+        this.name = name;
+        this.versionOf = versionOf;
+        this.copyOf = copyOf;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.storedAt() > timeToLiveNanos) {
+            entries.remove(key, entry);
+            return null;
+        }
+        Object stored = entry.storeValue();
+        return stored == NullValue.INSTANCE ? stored : copyOf.apply(stored);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        long loadGeneration = generation.get();
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        store(key, value, loadGeneration);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store(key, value, generation.get());
+    }
+
+    /**
+     * Drop the entry for a key if it is older than the given version, and refuse older values from now on
+     */
+    public void invalidate(Object key, long version) {
+        minimumVersions.merge(key, version, Math::max);
+        entries.computeIfPresent(key, (k, existing) -> existing.version() < version ? null : existing);
+    }
+
+    /**
+     * Drop every entry, including values currently being loaded
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    @Override
+    public void evict(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidateAll();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void store(Object key, Object value, long loadGeneration) {
+        long version = value == null ? UNVERSIONED : versionOf.applyAsLong(value);
+        entries.compute(key, (k, existing) -> {
+            if (generation.get() != loadGeneration
+                    || version < minimumVersions.getOrDefault(k, UNVERSIONED)
+                    || (existing != null && existing.version() > version)) {
+                return existing;
+            }
+            return new Entry(toStoreValue(value == null ? null : copyOf.apply(value)), version, clock.getAsLong());
+        });
+    }
+
+    private record Entry(Object storeValue, long version, long storedAt) {
+    }
+}
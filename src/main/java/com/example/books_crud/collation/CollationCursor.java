@@ -0,0 +1,33 @@
+package com.example.books_crud.collation;
+
+import java.util.Base64;
+
+/**
+ * Position in a collated keyset page sequence: the sort key and id of the last row
+ * shown, as an opaque URL-safe token
+ *
+ * @param sortKey sort key of the last row
+ * @param id      id of the last row, which breaks ties between equal keys
+ */
+public record CollationCursor(byte[] sortKey, long id) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sortKey) + "." + id;
+    }
+
+    /**
+     * @throws IllegalArgumentException for a token that was not made by {@link #encode()}
+     */
+    public static CollationCursor decode(String token) {
+        int dot = token.lastIndexOf('.');
+        if (dot < 0) {
+            throw new IllegalArgumentException("Malformed page cursor: " + token);
+        }
+        try {
+            return new CollationCursor(Base64.getUrlDecoder().decode(token.substring(0, dot)),
+                                       Long.parseLong(token.substring(dot + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed page cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.books_crud.collation;
+
+import com.example.books_crud.sharding.ShardContext;
+import com.example.books_crud.warmup.CatalogWarmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gives a sort key to every work and creator written without one: by the journal
+ * replay, the synthetic data generator or straight to the database. Runs once the
+ * application is ready, after those startup writes.
+ * <p>
+ * A key is only written while the row still has none, so a title changed through JPA
+ * in the meantime keeps the key computed from the new title. After changing
+ * {@code catalog.collation.locale}, clear the sort key columns and restart. A sharded
+ * catalog is filled in one shard after another.
+ */
+public class CollationKeyBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(CollationKeyBackfill.class);
+
+    private static final List<Target> TARGETS = List.of(
+            new Target("literary_work", "work_id", "work_title", "title_sort_key"),
+            new Target("literary_creator", "creator_id", "full_name", "name_sort_key"));
+
+    private final DataSource dataSource;
+    private final int shardCount;
+    private final CatalogCollation collation;
+    private final int batchSize;
+
+    /**
+     * @param shardCount shards the catalog is split over, one when it is not sharded
+     */
+    public CollationKeyBackfill(DataSource dataSource, int shardCount, CatalogCollation collation, int batchSize) {
+        this.dataSource = dataSource;
+        this.shardCount = shardCount;
+        this.collation = collation;
+        this.batchSize = batchSize;
+    }
+
+    @Order(CatalogWarmup.BEFORE_WARMUP)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long startedAt = System.nanoTime();
+        long filled = 0;
+        try {
+            for (long shardFilled : ShardContext.callOnEachShard(shardCount, this::backfillShard)) {
+                filled += shardFilled;
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not fill in missing collation sort keys", e);
+            return;
+        }
+        if (filled > 0) {
+            logger.info("Filled in {} missing {} collation sort keys in {} ms", filled, collation.locale(),
+                        (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+
+    private long backfillShard() throws SQLException {
+        long filled = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            for (Target target : TARGETS) {
+                filled += backfill(connection, target);
+            }
+        }
+        return filled;
+    }
+
+    private long backfill(Connection connection, Target target) throws SQLException {
+        String select = "SELECT " + target.id() + ", " + target.text() + " FROM " + target.table() + " WHERE "
+                + target.sortKey() + " IS NULL AND " + target.id() + " > ? ORDER BY " + target.id() + " LIMIT ?";
+        String update = "UPDATE " + target.table() + " SET " + target.sortKey() + " = ? WHERE " + target.id()
+                + " = ? AND " + target.sortKey() + " IS NULL";
+        long filled = 0;
+        long afterId = 0;
+        try (PreparedStatement missing = connection.prepareStatement(select);
+             PreparedStatement assign = connection.prepareStatement(update)) {
+            while (true) {
+                missing.setLong(1, afterId);
+                missing.setInt(2, batchSize);
+                List<Object[]> rows = new ArrayList<>(batchSize);
+                try (ResultSet result = missing.executeQuery()) {
+                    while (result.next()) {
+                        rows.add(new Object[]{result.getLong(1), result.getString(2)});
+                    }
+                }
+                if (rows.isEmpty()) {
+                    return filled;
+                }
+                for (Object[] row : rows) {
+                    assign.setBytes(1, collation.sortKey((String) row[1]));
+                    assign.setLong(2, (Long) row[0]);
+                    assign.addBatch();
+                    afterId = (Long) row[0];
+                }
+                for (int updated : assign.executeBatch()) {
+                    filled += Math.max(0, updated);
+                }
+            }
+        }
+    }
+
+    private record Target(String table, String id, String text, String sortKey) {
+    }
+}
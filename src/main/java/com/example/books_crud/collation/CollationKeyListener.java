@@ -0,0 +1,36 @@
+package com.example.books_crud.collation;
+
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Locale;
+
+/**
+ * Keeps the sort keys of works and creators in step with their titles and names on
+ * every insert and update through JPA. Hibernate obtains it from the Spring context;
+ * contexts without a {@link CatalogCollation}, such as JPA test slices, get the
+ * default English collation.
+ */
+public class CollationKeyListener {
+
+    private final CatalogCollation collation;
+
+    public CollationKeyListener(ObjectProvider<CatalogCollation> collation) {
+        this.collation = collation.getIfAvailable(
+                () -> new CatalogCollation(Locale.ENGLISH, CatalogCollation.Strength.TERTIARY));
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void assignSortKey(Object entity) {
+        switch (entity) {
+            case Book work -> work.setTitleSortKey(collation.sortKey(work.getTitle()));
+            case Author creator -> creator.setNameSortKey(collation.sortKey(creator.getName()));
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.books_crud.collation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Locale;
+
+/**
+ * Locale-aware ordering of titles and creator names ({@code catalog.collation.*})
+ *
+ * @param locale            locale whose collation rules order titles and names
+ * @param strength          which differences count: {@code primary} only letters, {@code secondary} also
+ *                          accents, {@code tertiary} also case
+ * @param backfillBatchSize rows given a missing sort key per statement batch at startup
+ */
+@ConfigurationProperties(prefix = "catalog.collation")
+public record CollationProperties(
+        @DefaultValue("en") Locale locale,
+        @DefaultValue("tertiary") CatalogCollation.Strength strength,
+        @DefaultValue("1000") int backfillBatchSize) {
+}
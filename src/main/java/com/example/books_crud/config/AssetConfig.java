@@ -0,0 +1,57 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.assets.AssetPipeline;
+import com.example.books_crud.assets.AssetProperties;
+import com.example.books_crud.assets.FingerprintedAssetResolver;
+import jakarta.servlet.ServletContext;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.ServletContextAware;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the stylesheets and scripts under {@code classpath:/assets/} minified, gzipped and
+ * under content-hashed URLs with {@code Cache-Control: immutable} ({@code catalog.assets.*}).
+ * <p>
+ * The views link them through the {@code assets} application attribute, which maps each
+ * logical path to its current URL: {@code <c:url value="${assets['css/site.css']}"/>}.
+ */
+@Configuration
+@EnableConfigurationProperties(AssetProperties.class)
+public class AssetConfig implements WebMvcConfigurer, ServletContextAware {
+
+    private static final String LOCATION = "classpath:/assets/";
+    private static final String URL_PREFIX = "/assets/";
+
+    private final AssetProperties properties;
+    private final AssetPipeline pipeline;
+
+    public AssetConfig(AssetProperties properties) {
+        this.properties = properties;
+        this.pipeline = AssetPipeline.build(new PathMatchingResourcePatternResolver(), LOCATION, URL_PREFIX,
+                                            properties.minify());
+    }
+
+    @Override
+    public void setServletContext(ServletContext servletContext) {
+        servletContext.setAttribute("assets", pipeline.urls());
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(URL_PREFIX + "**")
+                .addResourceLocations(LOCATION)
+                .setCacheControl(CacheControl.maxAge(properties.maxAge().toSeconds(), TimeUnit.SECONDS)
+                                         .cachePublic()
+                                         .immutable())
+                .setUseLastModified(false)
+                .setEtagGenerator(FingerprintedAssetResolver::etag)
+                .resourceChain(false)
+                .addResolver(new FingerprintedAssetResolver(pipeline));
+    }
+}
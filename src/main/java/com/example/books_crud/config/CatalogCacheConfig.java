@@ -0,0 +1,65 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.cache.CacheCoherence;
+import com.example.books_crud.cache.CatalogCacheProperties;
+import com.example.books_crud.cache.CatalogCaches;
+import com.example.books_crud.cache.InvalidationTransport;
+import com.example.books_crud.cache.LoopbackTransport;
+import com.example.books_crud.cache.MulticastTransport;
+import com.example.books_crud.cache.VersionedCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.util.List;
+
+/**
+ * Caches creator and work lookups in process and keeps them coherent across nodes
+ * when {@code catalog.cache.enabled=true} (the default). The caches keep detached
+ * copies of the entities and hand each caller a copy of its own.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CatalogCacheProperties.class)
+@ConditionalOnProperty(prefix = "catalog.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CatalogCacheConfig {
+
+    @Bean
+    public SimpleCacheManager cacheManager(CatalogCacheProperties properties) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                new VersionedCache(CatalogCaches.CREATORS, CatalogCaches::versionOf, CatalogCaches::copyOf,
+                                   properties.timeToLive(), System::nanoTime),
+                new VersionedCache(CatalogCaches.CREATOR_DIRECTORY, CatalogCaches::versionOf, CatalogCaches::copyOf,
+                                   properties.timeToLive(), System::nanoTime),
+                new VersionedCache(CatalogCaches.WORKS, CatalogCaches::versionOf, CatalogCaches::copyOf,
+                                   properties.timeToLive(), System::nanoTime)));
+        return cacheManager;
+    }
+
+    @Bean
+    public InvalidationTransport invalidationTransport(CatalogCacheProperties properties) throws IOException {
+        CatalogCacheProperties.Bus bus = properties.bus();
+        return switch (bus.transport()) {
+            case NONE -> InvalidationTransport.none();
+            case LOOPBACK -> new LoopbackTransport(bus.channel());
+            case MULTICAST -> new MulticastTransport(
+                    new InetSocketAddress(bus.group(), bus.port()),
+                    bus.networkInterface() != null ? NetworkInterface.getByName(bus.networkInterface()) : null);
+        };
+    }
+
+    @Bean
+    public CacheCoherence cacheCoherence(SimpleCacheManager cacheManager, InvalidationTransport transport) {
+        return new CacheCoherence(transport,
+                                  (VersionedCache) cacheManager.getCache(CatalogCaches.CREATORS),
+                                  (VersionedCache) cacheManager.getCache(CatalogCaches.CREATOR_DIRECTORY),
+                                  (VersionedCache) cacheManager.getCache(CatalogCaches.WORKS));
+    }
+}
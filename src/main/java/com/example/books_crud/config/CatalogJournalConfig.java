@@ -0,0 +1,43 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.journal.CatalogJournal;
+import com.example.books_crud.journal.CatalogJournalProperties;
+import com.example.books_crud.journal.CatalogJournalRecorder;
+import com.example.books_crud.journal.CatalogReplayer;
+import com.example.books_crud.journal.CatalogSnapshotStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires the durable catalog journal when {@code catalog.journal.enabled=true}
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(CatalogJournalProperties.class)
+@ConditionalOnProperty(prefix = "catalog.journal", name = "enabled", havingValue = "true")
+public class CatalogJournalConfig {
+
+    @Bean
+    public CatalogJournal catalogJournal(CatalogJournalProperties properties) {
+        return new CatalogJournal(properties.directory(), Math.toIntExact(properties.segmentSize().toBytes()));
+    }
+
+    @Bean
+    public CatalogSnapshotStore catalogSnapshotStore(CatalogJournalProperties properties) {
+        return new CatalogSnapshotStore(properties.directory());
+    }
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public CatalogJournalRecorder catalogJournalRecorder(CatalogJournal journal, CatalogSnapshotStore snapshotStore,
+                                                         DataSource dataSource, CatalogJournalProperties properties) {
+        CatalogReplayer replayer = new CatalogReplayer(dataSource, snapshotStore, properties.directory());
+        return new CatalogJournalRecorder(journal, snapshotStore, replayer, dataSource, properties);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.search.SearchProperties;
+import com.example.books_crud.search.UnifiedCatalogSearch;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Unified search over titles, ISBNs and creator names, tuned by {@code catalog.search.*}
+ */
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+public class CatalogSearchConfig {
+
+    @Bean
+    public UnifiedCatalogSearch unifiedCatalogSearch(BookService literaryService, AuthorService creatorService,
+                                                     SearchProperties properties) {
+        return new UnifiedCatalogSearch(literaryService, creatorService, properties.deadline(),
+                                        properties.maxResults());
+    }
+}
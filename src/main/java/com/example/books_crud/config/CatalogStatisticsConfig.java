@@ -0,0 +1,32 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.sharding.ShardRouter;
+import com.example.books_crud.statistics.CatalogStatisticsStore;
+import com.example.books_crud.statistics.StatisticsProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+/**
+ * Serves incrementally maintained catalog statistics on {@code /statistics} when
+ * {@code catalog.statistics.enabled=true} (the default)
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(StatisticsProperties.class)
+@ConditionalOnProperty(prefix = "catalog.statistics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CatalogStatisticsConfig {
+
+    @Bean
+    public CatalogStatisticsStore catalogStatisticsStore(DataSource dataSource, ObjectProvider<ShardRouter> shardRouter,
+                                                         StatisticsProperties properties) {
+        return new CatalogStatisticsStore(dataSource, ShardRouter.shardCount(shardRouter), properties,
+                                          Clock.systemUTC());
+    }
+}
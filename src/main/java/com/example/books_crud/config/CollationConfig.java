@@ -0,0 +1,34 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.collation.CatalogCollation;
+import com.example.books_crud.collation.CollationKeyBackfill;
+import com.example.books_crud.collation.CollationProperties;
+import com.example.books_crud.sharding.ShardRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Orders the catalog and the creator directory by their titles and names under
+ * {@code catalog.collation.locale}. Always on: the sort key columns are part of the schema.
+ */
+@Configuration
+@EnableConfigurationProperties(CollationProperties.class)
+public class CollationConfig {
+
+    @Bean
+    public CatalogCollation catalogCollation(CollationProperties properties) {
+        return new CatalogCollation(properties.locale(), properties.strength());
+    }
+
+    @Bean
+    public CollationKeyBackfill collationKeyBackfill(DataSource dataSource, ObjectProvider<ShardRouter> shardRouter,
+                                                     CatalogCollation catalogCollation,
+                                                     CollationProperties properties) {
+        return new CollationKeyBackfill(dataSource, ShardRouter.shardCount(shardRouter), catalogCollation,
+                                        properties.backfillBatchSize());
+    }
+}
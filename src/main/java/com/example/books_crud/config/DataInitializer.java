@@ -8,6 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
@@ -15,10 +16,12 @@ import java.util.Arrays;
 import java.util.List;
 
 /**
- * Initializes sample data for development and testing purposes
+ * Initializes sample data for development and testing purposes; steps aside when
+ * {@link SyntheticDatasetConfig} generates a synthetic catalog instead
  */
 @Component
 @Profile("!production")
+@ConditionalOnProperty(prefix = "catalog.synthetic-data", name = "enabled", havingValue = "false", matchIfMissing = true)
 public class DataInitializer implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
@@ -34,6 +37,10 @@ public class DataInitializer implements CommandLineRunner {
 
     @Override
     public void run(String... args) {
+        if (creatorService.hasCreators()) {
+            logger.info("Catalog already populated, skipping sample data initialization");
+            return;
+        }
         logger.info("Initializing sample literary data...");
         
         // Create sample literary creators
@@ -0,0 +1,45 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.datasource.DataSourceDecorator;
+import com.example.books_crud.datasource.PoolDecorator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Comparator;
+
+/**
+ * Wraps every {@link DataSourceDecorator} bean around the application DataSource, the
+ * bean named {@code dataSource}, whichever configuration defined it. When that bean is a
+ * Hikari pool itself, the {@link PoolDecorator} beans go on it first, as {@code primary}.
+ * <p>
+ * This is the only place the DataSource is wrapped, so the proxies always nest in the
+ * order of {@link DataSourceDecorator.Layer} however the bean definitions are ordered.
+ * Decorators are only looked up once the DataSource is built.
+ */
+@Configuration
+public class DataSourceDecorationConfig {
+
+    @Bean
+    static BeanPostProcessor dataSourceDecoration(ObjectProvider<PoolDecorator> poolDecorators,
+                                                  ObjectProvider<DataSourceDecorator> decorators) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !beanName.equals("dataSource")) {
+                    return bean;
+                }
+                DataSource decorated = dataSource instanceof HikariDataSource pool
+                        ? PoolDecorator.decorateAll(poolDecorators, "primary", pool) : dataSource;
+                for (DataSourceDecorator decorator : decorators.stream()
+                        .sorted(Comparator.comparing(DataSourceDecorator::layer)).toList()) {
+                    decorated = decorator.wrapper().apply(decorated);
+                }
+                return decorated;
+            }
+        };
+    }
+}
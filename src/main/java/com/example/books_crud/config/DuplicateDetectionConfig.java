@@ -0,0 +1,47 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.duplicates.CreatorDuplicateClusterer;
+import com.example.books_crud.duplicates.CreatorDuplicateIndex;
+import com.example.books_crud.duplicates.DuplicateDetectionProperties;
+import com.example.books_crud.duplicates.NameMinHash;
+import com.example.books_crud.sharding.ShardRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Flags creators registered under a near-duplicate of an existing name and clusters
+ * existing duplicates when {@code catalog.duplicates.enabled=true} (the default)
+ */
+@Configuration
+@EnableConfigurationProperties(DuplicateDetectionProperties.class)
+@ConditionalOnProperty(prefix = "catalog.duplicates", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DuplicateDetectionConfig {
+
+    @Bean
+    public NameMinHash nameMinHash(DuplicateDetectionProperties properties) {
+        return new NameMinHash(properties.bands(), properties.rows());
+    }
+
+    @Bean
+    public CreatorDuplicateIndex creatorDuplicateIndex(DataSource dataSource, ObjectProvider<ShardRouter> shardRouter,
+                                                       NameMinHash nameMinHash,
+                                                       DuplicateDetectionProperties properties) {
+        return new CreatorDuplicateIndex(dataSource, ShardRouter.shardCount(shardRouter), nameMinHash,
+                                         properties.similarityThreshold(), properties.maxCandidates(),
+                                         properties.scanThreads());
+    }
+
+    @Bean
+    public CreatorDuplicateClusterer creatorDuplicateClusterer(DataSource dataSource,
+                                                               ObjectProvider<ShardRouter> shardRouter,
+                                                               NameMinHash nameMinHash,
+                                                               DuplicateDetectionProperties properties) {
+        return new CreatorDuplicateClusterer(dataSource, ShardRouter.shardCount(shardRouter), nameMinHash,
+                                             properties.similarityThreshold(), properties.scanThreads());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.flight.CatalogOperationRecorder;
+import com.example.books_crud.flight.CatalogRequestRecorder;
+import com.example.books_crud.flight.FlightRecorderProperties;
+import com.example.books_crud.flight.FlightRecordingEndpoint;
+import com.example.books_crud.flight.FlightRecordings;
+import com.example.books_crud.flight.PhaseTimingSessionListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Emits JDK Flight Recorder events for catalog requests and service calls, and lets
+ * recordings be started and downloaded on the {@code flightrecordings} actuator endpoint
+ * once it is exposed, when {@code catalog.flight-recorder.enabled=true} (the default).
+ * <p>
+ * The service advice runs inside read deduplication and outside the transaction, so an
+ * operation's events include its connection acquisition and the flush at commit.
+ */
+@Configuration
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+@ConditionalOnProperty(prefix = "catalog.flight-recorder", name = "enabled", havingValue = "true",
+                       matchIfMissing = true)
+public class FlightRecorderConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new CatalogRequestRecorder());
+    }
+
+    @Bean
+    public FlightRecordings flightRecordings(FlightRecorderProperties properties) {
+        return new FlightRecordings(properties);
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public FlightRecordingEndpoint flightRecordingEndpoint(FlightRecordings flightRecordings) {
+        return new FlightRecordingEndpoint(flightRecordings);
+    }
+
+    /**
+     * Static, as infrastructure advisors are created with the bean post-processors and
+     * would otherwise bring this configuration in before it can be post-processed
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor catalogOperationRecorderAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return AnnotatedElementUtils.hasAnnotation(targetClass, Service.class)
+                        && Modifier.isPublic(method.getModifiers())
+                        && method.getDeclaringClass() != Object.class;
+            }
+        }, new CatalogOperationRecorder());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+
+    /**
+     * Times connection acquisition, statements and flushes in every Hibernate session
+     */
+    @Bean
+    public HibernatePropertiesCustomizer phaseTimingSessionListener() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                                                              PhaseTimingSessionListener.class.getName());
+    }
+}
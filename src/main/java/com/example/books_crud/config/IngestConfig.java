@@ -0,0 +1,27 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.ingest.IngestProperties;
+import com.example.books_crud.ingest.IngestQueue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Accepts registrations asynchronously on the {@code /ingest} endpoints when
+ * {@code catalog.ingest.enabled=true} (the default). The form endpoints keep
+ * registering synchronously.
+ */
+@Configuration
+@EnableConfigurationProperties(IngestProperties.class)
+@ConditionalOnProperty(prefix = "catalog.ingest", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IngestConfig {
+
+    @Bean
+    public IngestQueue ingestQueue(IngestProperties properties) {
+        return new IngestQueue(properties.workers(), properties.queueCapacity(), properties.retention(),
+                               properties.shutdownTimeout(), Clock.systemUTC());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.pool.AdaptivePoolSizer;
+import com.example.books_crud.pool.PoolCaller;
+import com.example.books_crud.pool.PoolSizeController;
+import com.example.books_crud.pool.PoolSizingProperties;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+
+/**
+ * Records per-caller connection waits and resizes the connection pools within
+ * {@code catalog.pool-sizing.min-size} and {@code max-size} when
+ * {@code catalog.pool-sizing.enabled=true} (the default).
+ * <p>
+ * Every Hikari pool the application borrows from is timed and sized on its own: the pool
+ * behind the application DataSource, or with read replicas the primary's and each
+ * replica's, or with sharding each shard's.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(PoolSizingProperties.class)
+@ConditionalOnProperty(prefix = "catalog.pool-sizing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PoolSizingConfig {
+
+    /**
+     * Static, so that creating the advisor with the bean post-processors does not create
+     * this configuration before it can be post-processed
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor poolCallerAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return AnnotatedElementUtils.hasAnnotation(targetClass, Service.class)
+                        && Modifier.isPublic(method.getModifiers())
+                        && method.getDeclaringClass() != Object.class;
+            }
+        }, new PoolCaller());
+        // Outside the transaction, which borrows the connection
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return advisor;
+    }
+
+    @Bean
+    public PoolSizeController poolSizeController(PoolSizingProperties properties, Environment environment) {
+        return new PoolSizeController(() -> new AdaptivePoolSizer(properties.minSize(), properties.maxSize(),
+                                                                  properties.targetWait().toNanos(),
+                                                                  properties.latencyTolerance(),
+                                                                  properties.shrinkAfter()),
+                                      environment.getProperty("spring.datasource.hikari.connection-timeout",
+                                                              Duration.class, Duration.ofSeconds(30)));
+    }
+}
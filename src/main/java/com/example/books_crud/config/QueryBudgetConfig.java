@@ -0,0 +1,33 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.budget.QueryBudgetDataSource;
+import com.example.books_crud.budget.QueryBudgetInterceptor;
+import com.example.books_crud.budget.QueryBudgetProperties;
+import com.example.books_crud.datasource.DataSourceDecorator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caps the rows and the statement time of every repository call ({@code catalog.query-budget.*}).
+ * <p>
+ * The limits are set on the JDBC statements themselves, so an oversized result is
+ * never read into memory and a runaway query gives its pool connection back after
+ * the timeout instead of holding it until it finishes.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+@ConditionalOnProperty(prefix = "catalog.query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetConfig {
+
+    @Bean
+    public QueryBudgetInterceptor queryBudgetInterceptor(QueryBudgetProperties properties) {
+        return new QueryBudgetInterceptor(properties.maxRows(), properties.timeout());
+    }
+
+    @Bean
+    static DataSourceDecorator queryBudgetDataSource() {
+        return new DataSourceDecorator(DataSourceDecorator.Layer.QUERY_BUDGET, QueryBudgetDataSource::new);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.dedup.ReadDeduplicationInterceptor;
+import com.example.books_crud.dedup.ReadDeduplicationProperties;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.reflect.Method;
+
+/**
+ * Collapses identical read-only service calls when {@code catalog.read-dedup.enabled=true} (the default).
+ * <p>
+ * The interceptor is applied to every {@code @Transactional(readOnly = true)} method of
+ * the {@code @Service} classes, outside their cache and transaction advice, so a
+ * collapsed call neither looks up a cache nor opens a transaction.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadDeduplicationProperties.class)
+@ConditionalOnProperty(prefix = "catalog.read-dedup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReadDeduplicationConfig {
+
+    @Bean
+    public ReadDeduplicationInterceptor readDeduplicationInterceptor(ReadDeduplicationProperties properties) {
+        return new ReadDeduplicationInterceptor(properties.requestMemo());
+    }
+
+    /**
+     * Infrastructure role, so the auto-proxy creator that applies the transaction and
+     * cache advisors picks this one up as well. Advisors are created along with the
+     * bean post-processors, so the method is static and the interceptor is looked up on
+     * the first call; neither this configuration nor the interceptor and its properties
+     * are created that early, which would keep them from being post-processed.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor readDeduplicationAdvisor(
+            ObjectProvider<ReadDeduplicationInterceptor> readDeduplicationInterceptor) {
+        SingletonSupplier<ReadDeduplicationInterceptor> interceptor =
+                SingletonSupplier.of(readDeduplicationInterceptor::getObject);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                if (!AnnotatedElementUtils.hasAnnotation(targetClass, Service.class)) {
+                    return false;
+                }
+                Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(method, Transactional.class);
+                return transactional != null && transactional.readOnly();
+            }
+        }, (MethodInterceptor) invocation -> interceptor.obtain().invoke(invocation));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.datasource.PoolDecorator;
+import com.example.books_crud.routing.ReadReplicaProperties;
+import com.example.books_crud.routing.ReadYourWritesFilter;
+import com.example.books_crud.routing.ReplicaPool;
+import com.example.books_crud.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to read replicas when {@code catalog.read-replicas.enabled=true}.
+ * <p>
+ * The application DataSource becomes a lazy proxy over {@link ReplicaRoutingDataSource},
+ * so a transaction's connection is only fetched once the transaction is known to
+ * be read-only or not.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(prefix = "catalog.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(ReadReplicaProperties properties, ObjectProvider<PoolDecorator> poolDecorators) {
+        List<ReplicaPool.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.nodes().size(); i++) {
+            ReadReplicaProperties.Node node = properties.nodes().get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(node.url())
+                    .username(node.username())
+                    .password(node.password())
+                    .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setMaximumPoolSize(node.maximumPoolSize());
+            dataSource.setReadOnly(true);
+            // Replicas may be down at startup; do not fail the application over it
+            dataSource.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaPool.Replica("replica-" + i,
+                                                 PoolDecorator.decorateAll(poolDecorators, "replica-" + i, dataSource)));
+        }
+        return new ReplicaPool(replicas, properties.healthCheckQuery(), properties.healthCheckTimeout());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool,
+                                 ObjectProvider<PoolDecorator> poolDecorators) {
+        DataSource primary = PoolDecorator.decorateAll(poolDecorators, "primary", primaryDataSource);
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(replicaPool, primary));
+    }
+
+    /**
+     * Return connections after every transaction, so that each transaction of a
+     * request (open-in-view keeps the EntityManager for all of them) is routed on its own
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadReplicaProperties properties) {
+        return new ReadYourWritesFilter(properties.readYourWritesWindow(), Clock.systemUTC());
+    }
+}
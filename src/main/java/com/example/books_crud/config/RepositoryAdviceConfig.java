@@ -0,0 +1,56 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.repository.RepositoryAdvice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Wraps every {@link RepositoryAdvice} bean around the repository proxies.
+ * <p>
+ * The advice goes right behind {@link ExposeInvocationInterceptor}, ahead of the
+ * repository's own transaction handling, so an advice that re-runs the invocation
+ * (e.g. once per shard) replays the complete chain. Advice beans are only looked up
+ * on first use, which keeps their dependencies out of repository creation.
+ */
+@Configuration
+public class RepositoryAdviceConfig {
+
+    @Bean
+    static BeanPostProcessor repositoryAdvice(ConfigurableListableBeanFactory beanFactory) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactory) {
+                    repositoryFactory.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxy, repository) -> {
+                                int position = proxy.indexOf(ExposeInvocationInterceptor.ADVISOR) + 1;
+                                for (String adviceName : adviceBeanNames(beanFactory)) {
+                                    SingletonSupplier<RepositoryAdvice> advice = SingletonSupplier.of(
+                                            () -> beanFactory.getBean(adviceName, RepositoryAdvice.class));
+                                    proxy.addAdvice(position++,
+                                                    (MethodInterceptor) invocation -> advice.obtain().invoke(invocation));
+                                }
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static List<String> adviceBeanNames(ConfigurableListableBeanFactory beanFactory) {
+        return Arrays.stream(beanFactory.getBeanNamesForType(RepositoryAdvice.class, false, false))
+                .sorted(Comparator.comparingInt(name -> OrderUtils.getOrder(beanFactory.getType(name, false), 0)))
+                .toList();
+    }
+}
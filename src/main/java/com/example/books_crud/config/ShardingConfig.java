@@ -0,0 +1,110 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.datasource.PoolDecorator;
+import com.example.books_crud.sharding.ShardRouter;
+import com.example.books_crud.sharding.ShardRoutingDataSource;
+import com.example.books_crud.sharding.ShardSchemaInitializer;
+import com.example.books_crud.sharding.ShardedRepositoryInterceptor;
+import com.example.books_crud.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partitions the catalog by creator across several databases when {@code catalog.sharding.enabled=true}.
+ * <p>
+ * Routing happens underneath the repositories: {@link ShardedRepositoryInterceptor} is
+ * repository advice that pins each call's transaction to a shard or fans the call out
+ * to all of them. The application DataSource becomes a lazy proxy over
+ * {@link ShardRoutingDataSource}, so connections are fetched only once the
+ * transaction knows its shard.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "catalog.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    public ShardingConfig(Environment environment) {
+        // These replay, route or insert against one logical database and would bypass the shard layout
+        for (String exclusive : List.of("catalog.journal.enabled", "catalog.read-replicas.enabled",
+                                        "catalog.synthetic-data.enabled")) {
+            if (environment.getProperty(exclusive, Boolean.class, false)) {
+                throw new IllegalStateException("catalog.sharding cannot be combined with " + exclusive);
+            }
+        }
+    }
+
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        if (properties.shards().isEmpty()) {
+            throw new IllegalStateException("catalog.sharding.shards must list at least one shard");
+        }
+        return new ShardRouter(properties.shards().size());
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties,
+                                                         ObjectProvider<PoolDecorator> poolDecorators) {
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < properties.shards().size(); i++) {
+            ShardingProperties.Shard shard = properties.shards().get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build();
+            dataSource.setPoolName("shard-" + i);
+            dataSource.setMaximumPoolSize(shard.maximumPoolSize());
+            shards.add(PoolDecorator.decorateAll(poolDecorators, "shard-" + i, dataSource));
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * Return connections after every transaction, so that each transaction of a
+     * request (open-in-view keeps the EntityManager for all of them) picks its own shard
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseShardConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ShardedRepositoryInterceptor shardedRepositoryInterceptor(ShardRouter shardRouter,
+                                                                     PlatformTransactionManager transactionManager,
+                                                                     ShardingProperties properties) {
+        return new ShardedRepositoryInterceptor(shardRouter, transactionManager, properties.scatterTimeout());
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(ShardRouter shardRouter,
+                                                         ShardRoutingDataSource shardRoutingDataSource,
+                                                         DataSource dataSource,
+                                                         EntityManagerFactory entityManagerFactory) {
+        return new ShardSchemaInitializer(shardRouter, shardRoutingDataSource, dataSource, entityManagerFactory);
+    }
+}
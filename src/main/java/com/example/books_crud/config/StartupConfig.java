@@ -0,0 +1,35 @@
+package com.example.books_crud.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+
+/**
+ * Startup tuning shared by all run modes.
+ * <p>
+ * When lazy initialization is switched on (the {@code faststart} profile), only beans
+ * that are off the request path are deferred; everything the first request needs is
+ * still created during startup so time-to-first-request does not regress.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter requestPathBeansStayEager() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)
+                    || AnnotatedElementUtils.hasAnnotation(beanType, Service.class)
+                    || RepositoryFactoryBeanSupport.class.isAssignableFrom(beanType)
+                    || AbstractEntityManagerFactoryBean.class.isAssignableFrom(beanType)
+                    || DataSource.class.isAssignableFrom(beanType)
+                    || SmartInitializingSingleton.class.isAssignableFrom(beanType));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.stateless.SessionlessRequestFilter;
+import com.example.books_crud.stateless.SignedCookieFlashMapManager;
+import com.example.books_crud.stateless.StatelessProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.FlashMapManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+/**
+ * Runs the application without HTTP sessions when {@code catalog.stateless.enabled=true}
+ * (the default): flash attributes travel in a signed cookie, and any attempt to create a
+ * session fails.
+ */
+@Configuration
+@EnableConfigurationProperties(StatelessProperties.class)
+@ConditionalOnProperty(prefix = "catalog.stateless", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StatelessConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatelessConfig.class);
+
+    /**
+     * Replaces the session-backed flash map manager, which Spring Boot only defines when
+     * there is no bean of this name
+     */
+    @Bean(DispatcherServlet.FLASH_MAP_MANAGER_BEAN_NAME)
+    public FlashMapManager flashMapManager(StatelessProperties properties) {
+        byte[] secret = properties.secret().getBytes(StandardCharsets.UTF_8);
+        if (secret.length == 0) {
+            logger.warn("No catalog.stateless.secret set; flash messages only survive redirects to this node");
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        }
+        return new SignedCookieFlashMapManager(secret, (int) properties.flashTimeToLive().toSeconds());
+    }
+
+    @Bean
+    public FilterRegistrationBean<SessionlessRequestFilter> sessionlessRequestFilter() {
+        FilterRegistrationBean<SessionlessRequestFilter> registration =
+                new FilterRegistrationBean<>(new SessionlessRequestFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
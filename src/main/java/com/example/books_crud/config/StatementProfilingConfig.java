@@ -0,0 +1,49 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.datasource.DataSourceDecorator;
+import com.example.books_crud.profiling.StatementProfilingDataSource;
+import com.example.books_crud.profiling.StatementProfilingInterceptor;
+import com.example.books_crud.profiling.StatementProfilingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Attributes every SQL statement to the controller handler whose request executed it
+ * ({@code catalog.statement-profiling.*}), logs slow statements with their bind
+ * parameters and checks handlers against their {@code @StatementBudget}.
+ */
+@Configuration
+@EnableConfigurationProperties(StatementProfilingProperties.class)
+@ConditionalOnProperty(prefix = "catalog.statement-profiling", name = "enabled", havingValue = "true",
+                       matchIfMissing = true)
+public class StatementProfilingConfig implements WebMvcConfigurer {
+
+    private final StatementProfilingInterceptor interceptor;
+
+    public StatementProfilingConfig(StatementProfilingProperties properties, MeterRegistry meterRegistry) {
+        this.interceptor = new StatementProfilingInterceptor(meterRegistry, properties.enforceBudgets());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor);
+    }
+
+    @Bean
+    static DataSourceDecorator statementProfilingDataSource(Environment environment) {
+        Duration slowThreshold = Binder.get(environment)
+                .bindOrCreate("catalog.statement-profiling", StatementProfilingProperties.class)
+                .slowThreshold();
+        return new DataSourceDecorator(DataSourceDecorator.Layer.STATEMENT_PROFILING,
+                                       dataSource -> new StatementProfilingDataSource(dataSource, slowThreshold));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.dataset.SyntheticDatasetGenerator;
+import com.example.books_crud.dataset.SyntheticDatasetProperties;
+import com.example.books_crud.service.AuthorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Generates a synthetic catalog at startup when {@code catalog.synthetic-data.enabled=true}
+ * (or the {@code synthetic} profile is active), in place of {@link DataInitializer}'s sample data.
+ * Like the sample data, it is only generated into an empty catalog.
+ */
+@Configuration
+@EnableConfigurationProperties(SyntheticDatasetProperties.class)
+@ConditionalOnProperty(prefix = "catalog.synthetic-data", name = "enabled", havingValue = "true")
+public class SyntheticDatasetConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDatasetConfig.class);
+
+    @Bean
+    public SyntheticDatasetGenerator syntheticDatasetGenerator(DataSource dataSource,
+                                                               SyntheticDatasetProperties properties) {
+        return new SyntheticDatasetGenerator(dataSource, properties);
+    }
+
+    @Bean
+    public CommandLineRunner syntheticDatasetRunner(SyntheticDatasetGenerator generator, AuthorService creatorService) {
+        return args -> {
+            if (creatorService.hasCreators()) {
+                logger.info("Catalog already populated, skipping synthetic data generation");
+                return;
+            }
+            generator.generate();
+        };
+    }
+}
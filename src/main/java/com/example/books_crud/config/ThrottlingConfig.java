@@ -0,0 +1,59 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.throttling.AdaptiveConcurrencyLimiter;
+import com.example.books_crud.throttling.ClientAddressResolver;
+import com.example.books_crud.throttling.ClientRateLimiter;
+import com.example.books_crud.throttling.ThrottlingInterceptor;
+import com.example.books_crud.throttling.ThrottlingMetrics;
+import com.example.books_crud.throttling.ThrottlingProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Guards the expensive endpoints listed under {@code catalog.throttling.endpoints}
+ * with per-client token buckets and a shared adaptive concurrency limit
+ */
+@Configuration
+@EnableConfigurationProperties(ThrottlingProperties.class)
+@ConditionalOnProperty(prefix = "catalog.throttling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ThrottlingConfig implements WebMvcConfigurer {
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final List<ThrottlingInterceptor> interceptors = new ArrayList<>();
+    private final List<String> paths = new ArrayList<>();
+
+    public ThrottlingConfig(ThrottlingProperties properties) {
+        ThrottlingProperties.Concurrency concurrency = properties.concurrency();
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(concurrency.initialLimit(), concurrency.minLimit(),
+                                                                 concurrency.maxLimit(), concurrency.tolerance(),
+                                                                 concurrency.smoothing());
+        ClientAddressResolver clients = new ClientAddressResolver(properties.clientAddressHeader(),
+                                                                  properties.trustedProxies());
+        properties.endpoints().forEach((name, endpoint) -> {
+            ClientRateLimiter rateLimiter = new ClientRateLimiter(endpoint.permitsPerSecond(), endpoint.burst(),
+                                                                  properties.maxClients(), System::nanoTime);
+            interceptors.add(new ThrottlingInterceptor(name, clients, rateLimiter, concurrencyLimiter,
+                                                       System::nanoTime));
+            paths.add(endpoint.path());
+        });
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        for (int i = 0; i < interceptors.size(); i++) {
+            registry.addInterceptor(interceptors.get(i)).addPathPatterns(paths.get(i));
+        }
+    }
+
+    @Bean
+    public ThrottlingMetrics throttlingMetrics() {
+        return new ThrottlingMetrics(concurrencyLimiter, interceptors);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.books_crud.config;
+
+import com.example.books_crud.search.UnifiedCatalogSearch;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import com.example.books_crud.warmup.CatalogWarmup;
+import com.example.books_crud.warmup.WarmupProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Warms up connections, caches, query plans, the JIT and the JSPs before the application
+ * reports readiness when {@code catalog.warmup.enabled=true} (the default)
+ */
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+@ConditionalOnProperty(prefix = "catalog.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupConfig {
+
+    @Bean
+    public CatalogWarmup catalogWarmup(BookService literaryService, AuthorService creatorService,
+                                       ObjectProvider<UnifiedCatalogSearch> catalogSearch, DataSource dataSource,
+                                       WarmupProperties properties) {
+        return new CatalogWarmup(literaryService, creatorService, catalogSearch, dataSource, properties);
+    }
+}
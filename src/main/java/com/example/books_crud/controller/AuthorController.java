@@ -1,15 +1,24 @@
 package com.example.books_crud.controller;
 
+import com.example.books_crud.budget.TruncatedList;
+import com.example.books_crud.duplicates.CreatorDuplicateIndex;
+import com.example.books_crud.duplicates.DuplicateCandidate;
 import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.profiling.StatementBudget;
 import com.example.books_crud.service.AuthorService;
 import com.example.books_crud.service.BookService;
+import com.example.books_crud.service.CollatedPage;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Controller for managing literary creators
@@ -18,21 +27,36 @@ import java.util.Optional;
 @RequestMapping("/creators")
 public class AuthorController {
 
+    private static final int DIRECTORY_PAGE_SIZE = 50;
+
     private final AuthorService creatorService;
     private final BookService literaryService;
+    private final ObjectProvider<CreatorDuplicateIndex> duplicateIndex;
 
     @Autowired
-    public AuthorController(AuthorService creatorService, BookService literaryService) {
+    public AuthorController(AuthorService creatorService, BookService literaryService,
+                            ObjectProvider<CreatorDuplicateIndex> duplicateIndex) {
         this.creatorService = creatorService;
         this.literaryService = literaryService;
+        this.duplicateIndex = duplicateIndex;
     }
 
     /**
-     * Display the directory of literary creators
+     * Display the directory of literary creators in collated name order, one page at a time;
+     * a cursor that no page handed out starts over from the first page
      */
+    @StatementBudget(1)
     @GetMapping
-    public String displayCreatorDirectory(Model model) {
-        model.addAttribute("creatorDirectory", creatorService.findAllCreators());
+    public String displayCreatorDirectory(@RequestParam(value = "from", required = false) String fromCursor,
+                                          Model model) {
+        CollatedPage<Author> page;
+        try {
+            page = creatorService.browseCreatorDirectory(fromCursor, DIRECTORY_PAGE_SIZE);
+        } catch (IllegalArgumentException e) {
+            page = creatorService.browseCreatorDirectory(null, DIRECTORY_PAGE_SIZE);
+        }
+        model.addAttribute("creatorDirectory", page.items());
+        model.addAttribute("nextCursor", page.nextCursor());
         return "creatorDirectory";
     }
 
@@ -52,8 +76,9 @@ public class AuthorController {
     public String processCreatorRegistration(@ModelAttribute("literaryCreator") Author creator,
                                            RedirectAttributes notification) {
         try {
-            creatorService.registerCreator(creator);
-            notification.addFlashAttribute("notification", "Literary creator registered successfully");
+            Author registered = creatorService.registerCreator(creator);
+            notification.addFlashAttribute("notification", "Literary creator registered successfully"
+                    + possibleDuplicates(registered));
             return "redirect:/creators";
         } catch (Exception e) {
             notification.addFlashAttribute("errorMessage",
@@ -98,13 +123,16 @@ public class AuthorController {
     /**
      * View a creator's published works
      */
+    @StatementBudget(2)
     @GetMapping("/{creatorId}/works")
     public String viewCreatorWorks(@PathVariable Long creatorId, Model model,
                                   RedirectAttributes notification) {
         Optional<Author> creator = creatorService.findCreatorById(creatorId);
         if (creator.isPresent()) {
             model.addAttribute("creator", creator.get());
-            model.addAttribute("publishedWorks", literaryService.findWorksByCreator(creatorId));
+            List<Book> publishedWorks = literaryService.findWorksByCreator(creatorId);
+            model.addAttribute("publishedWorks", publishedWorks);
+            model.addAttribute("resultsTruncated", TruncatedList.isTruncated(publishedWorks));
             return "creatorWorks";
         } else {
             notification.addFlashAttribute("errorMessage", "Creator not found");
@@ -117,9 +145,25 @@ public class AuthorController {
      */
     @GetMapping("/search")
     public String searchCreators(@RequestParam("query") String searchQuery, Model model) {
-        model.addAttribute("creatorDirectory", creatorService.searchCreatorsByName(searchQuery));
+        List<Author> matchingCreators = creatorService.searchCreatorsByName(searchQuery);
+        model.addAttribute("creatorDirectory", matchingCreators);
+        model.addAttribute("resultsTruncated", TruncatedList.isTruncated(matchingCreators));
         model.addAttribute("searchPerformed", true);
         model.addAttribute("searchQuery", searchQuery);
         return "creatorDirectory";
     }
-}
\ No newline at end of file
+
+    /**
+     * Warning naming the existing creators the new one probably duplicates, if any
+     */
+    private String possibleDuplicates(Author registered) {
+        CreatorDuplicateIndex index = duplicateIndex.getIfAvailable();
+        List<DuplicateCandidate> candidates = index != null ? index.candidatesOf(registered.getCreatorId()) : List.of();
+        if (candidates.isEmpty()) {
+            return "";
+        }
+        return candidates.stream()
+                .map(candidate -> candidate.name() + " (#" + candidate.creatorId() + ")")
+                .collect(Collectors.joining(", ", "; possible duplicate of ", ""));
+    }
+}
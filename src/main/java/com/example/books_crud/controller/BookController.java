@@ -1,8 +1,12 @@
 package com.example.books_crud.controller;
 
+import com.example.books_crud.budget.TruncatedList;
 import com.example.books_crud.model.Book;
+import com.example.books_crud.profiling.StatementBudget;
 import com.example.books_crud.service.AuthorService;
 import com.example.books_crud.service.BookService;
+import com.example.books_crud.service.CatalogPage;
+import com.example.books_crud.service.CollatedPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -19,6 +23,8 @@ import java.util.Optional;
 @RequestMapping("/catalog")
 public class BookController {
 
+    private static final int CATALOG_PAGE_SIZE = 50;
+
     private final BookService literaryService;
     private final AuthorService creatorService;
 
@@ -29,11 +35,29 @@ public class BookController {
     }
 
     /**
-     * Display the complete catalog of literary works
+     * Display the catalog of literary works, one page at a time: in id order by default, or
+     * with {@code sort=title} in collated title order, where a cursor that no page handed out
+     * starts over from the first page
      */
+    @StatementBudget(2)
     @GetMapping
-    public String displayCatalog(Model model) {
-        model.addAttribute("literaryWorks", literaryService.browseCatalog());
+    public String displayCatalog(@RequestParam(value = "after", required = false) Long afterWorkId,
+                                 @RequestParam(value = "sort", required = false) String sort,
+                                 @RequestParam(value = "from", required = false) String fromCursor, Model model) {
+        if ("title".equals(sort)) {
+            CollatedPage<Book> page;
+            try {
+                page = literaryService.browseCatalogByTitle(fromCursor, CATALOG_PAGE_SIZE);
+            } catch (IllegalArgumentException e) {
+                page = literaryService.browseCatalogByTitle(null, CATALOG_PAGE_SIZE);
+            }
+            model.addAttribute("literaryWorks", page.items());
+            model.addAttribute("nextCursor", page.nextCursor());
+            return "catalogView";
+        }
+        CatalogPage page = literaryService.browseCatalogPage(afterWorkId, CATALOG_PAGE_SIZE);
+        model.addAttribute("literaryWorks", page.works());
+        model.addAttribute("nextCursor", page.nextCursor());
         return "catalogView";
     }
     
@@ -44,6 +68,7 @@ public class BookController {
     public String detailedCatalogView(Model model) {
         List<Object[]> catalogWithCreators = literaryService.getCatalogWithCreators();
         model.addAttribute("catalogItems", catalogWithCreators);
+        model.addAttribute("resultsTruncated", TruncatedList.isTruncated(catalogWithCreators));
         return "detailedCatalogView";
     }
 
@@ -77,6 +102,7 @@ public class BookController {
     /**
      * Show form to edit literary work details
      */
+    @StatementBudget(2)
     @GetMapping("/edit/{workId}")
     public String showEditForm(@PathVariable Long workId, Model model, 
                               RedirectAttributes notification) {
@@ -111,9 +137,13 @@ public class BookController {
     /**
      * Search literary works by title
      */
+    @StatementBudget(2)
     @GetMapping("/search")
-    public String searchWorks(@RequestParam("query") String searchQuery, Model model) {
-        model.addAttribute("literaryWorks", literaryService.searchByTitle(searchQuery));
+    public String searchWorks(@RequestParam("query") String searchQuery,
+                              @RequestParam(value = "after", required = false) Long afterWorkId, Model model) {
+        CatalogPage page = literaryService.searchByTitlePage(searchQuery, afterWorkId, CATALOG_PAGE_SIZE);
+        model.addAttribute("literaryWorks", page.works());
+        model.addAttribute("nextCursor", page.nextCursor());
         model.addAttribute("searchPerformed", true);
         model.addAttribute("searchQuery", searchQuery);
         return "catalogView";
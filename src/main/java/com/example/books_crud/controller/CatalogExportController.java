@@ -0,0 +1,75 @@
+package com.example.books_crud.controller;
+
+import com.example.books_crud.service.BookService;
+import com.example.books_crud.wire.CatalogRowWriter;
+import com.example.books_crud.wire.ColumnarCatalogFormat;
+import com.example.books_crud.wire.ColumnarCatalogWriter;
+import com.example.books_crud.wire.JsonCatalogWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Full catalog export for machine-to-machine sync, as JSON or, for clients that accept
+ * {@value ColumnarCatalogFormat#MEDIA_TYPE_VALUE}, in the compact columnar format.
+ * <p>
+ * Rows are streamed from the database straight into the response in work id order, so
+ * the export never holds the catalog in memory; {@code after} resumes after the last
+ * work id received.
+ */
+@RestController
+@RequestMapping("/catalog/export")
+public class CatalogExportController {
+
+    private final BookService literaryService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public CatalogExportController(BookService literaryService, ObjectMapper objectMapper) {
+        this.literaryService = literaryService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Every work after the given id as a JSON array
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportJson(
+            @RequestParam(value = "after", defaultValue = "0") long afterWorkId) {
+        return export(afterWorkId, MediaType.APPLICATION_JSON,
+                      out -> new JsonCatalogWriter(objectMapper.getFactory(), out));
+    }
+
+    /**
+     * Every work after the given id in the columnar format
+     */
+    @GetMapping(produces = ColumnarCatalogFormat.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportColumnar(
+            @RequestParam(value = "after", defaultValue = "0") long afterWorkId) {
+        return export(afterWorkId, ColumnarCatalogFormat.MEDIA_TYPE, ColumnarCatalogWriter::new);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(long afterWorkId, MediaType mediaType,
+                                                         WriterFactory writerFactory) {
+        StreamingResponseBody body = out -> {
+            CatalogRowWriter writer = writerFactory.open(out);
+            literaryService.exportCatalog(afterWorkId, writer);
+            writer.finish();
+        };
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    @FunctionalInterface
+    private interface WriterFactory {
+        CatalogRowWriter open(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.books_crud.controller;
+
+import com.example.books_crud.duplicates.CreatorDuplicateClusterer;
+import com.example.books_crud.duplicates.CreatorDuplicateIndex;
+import com.example.books_crud.duplicates.DuplicateCandidate;
+import com.example.books_crud.duplicates.DuplicateClusterReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Near-duplicate creator names: candidates for a name or an existing creator from the
+ * LSH index, and the clustering of all creators as an on-demand batch job
+ */
+@RestController
+@RequestMapping("/duplicates/creators")
+@ConditionalOnProperty(prefix = "catalog.duplicates", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DuplicateCreatorController {
+
+    private final CreatorDuplicateIndex duplicateIndex;
+    private final CreatorDuplicateClusterer clusterer;
+
+    @Autowired
+    public DuplicateCreatorController(CreatorDuplicateIndex duplicateIndex, CreatorDuplicateClusterer clusterer) {
+        this.duplicateIndex = duplicateIndex;
+        this.clusterer = clusterer;
+    }
+
+    /**
+     * Existing creators probably having this name, e.g. before importing it
+     */
+    @GetMapping
+    public ResponseEntity<?> candidatesForName(@RequestParam(value = "name", required = false) String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Name cannot be empty"));
+        }
+        return ResponseEntity.ok(duplicateIndex.candidates(name));
+    }
+
+    /**
+     * Other creators probably being the same person as this one
+     */
+    @GetMapping("/{creatorId}")
+    public List<DuplicateCandidate> candidatesOfCreator(@PathVariable long creatorId) {
+        return duplicateIndex.candidatesOf(creatorId);
+    }
+
+    /**
+     * Cluster every creator in the catalog by name; runs on the calling thread plus
+     * {@code catalog.duplicates.scan-threads} workers
+     */
+    @PostMapping("/clusters")
+    public DuplicateClusterReport clusterCreators() throws SQLException {
+        return clusterer.cluster();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.books_crud.controller;
+
+import com.example.books_crud.ingest.IngestOperation;
+import com.example.books_crud.ingest.IngestProperties;
+import com.example.books_crud.ingest.IngestQueue;
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Asynchronous registration of works and creators.
+ * <p>
+ * A registration is validated, queued and answered with 202 Accepted and the
+ * operation to poll, without waiting for the database. A full queue is answered
+ * with 503 and {@code Retry-After}.
+ */
+@RestController
+@RequestMapping("/ingest")
+@ConditionalOnProperty(prefix = "catalog.ingest", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IngestController {
+
+    private final IngestQueue ingestQueue;
+    private final BookService literaryService;
+    private final AuthorService creatorService;
+    private final long retryAfterSeconds;
+
+    @Autowired
+    public IngestController(IngestQueue ingestQueue, BookService literaryService, AuthorService creatorService,
+                            IngestProperties properties) {
+        this.ingestQueue = ingestQueue;
+        this.literaryService = literaryService;
+        this.creatorService = creatorService;
+        this.retryAfterSeconds = Math.max(1, properties.retryAfter().toSeconds());
+    }
+
+    /**
+     * Queue the registration of a literary work
+     */
+    @PostMapping("/works")
+    public ResponseEntity<?> registerWork(@RequestParam(value = "title", required = false) String title,
+                                          @RequestParam(value = "isbn", required = false) String isbn,
+                                          @RequestParam(value = "creatorId", required = false) Long creatorId) {
+        if (title == null || title.trim().isEmpty()) {
+            return invalid("Literary work must have a title");
+        }
+        if (creatorId == null) {
+            return invalid("Literary work must have a creator");
+        }
+        return accept("work", () -> {
+            Author creator = creatorService.findCreatorById(creatorId)
+                    .orElseThrow(() -> new IllegalArgumentException("Creator " + creatorId + " does not exist"));
+            return literaryService.registerLiteraryWork(new Book(title, isbn, creator)).getId();
+        });
+    }
+
+    /**
+     * Queue the registration of a literary creator
+     */
+    @PostMapping("/creators")
+    public ResponseEntity<?> registerCreator(@RequestParam(value = "name", required = false) String name,
+                                             @RequestParam(value = "bio", required = false) String bio) {
+        if (name == null || name.trim().isEmpty()) {
+            return invalid("Creator name cannot be empty");
+        }
+        return accept("creator", () -> {
+            Author creator = new Author();
+            creator.setName(name);
+            creator.setBio(bio);
+            return creatorService.registerCreator(creator).getCreatorId();
+        });
+    }
+
+    /**
+     * Report whether a queued registration is still pending, succeeded or failed
+     */
+    @GetMapping("/operations/{operationId}")
+    public ResponseEntity<IngestOperation> operationStatus(@PathVariable UUID operationId) {
+        return ResponseEntity.of(ingestQueue.status(operationId));
+    }
+
+    private ResponseEntity<?> accept(String kind, Callable<Long> registration) {
+        try {
+            IngestOperation operation = ingestQueue.submit(kind, registration);
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                                      .path("/ingest/operations/{operationId}")
+                                      .buildAndExpand(operation.id()).toUri())
+                    .body(operation);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                    .body(Map.of("error", "Ingest queue is full, retry in " + retryAfterSeconds + "s"));
+        }
+    }
+
+    private static ResponseEntity<Map<String, String>> invalid(String error) {
+        return ResponseEntity.badRequest().body(Map.of("error", error));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.books_crud.controller;
+
+import com.example.books_crud.profiling.StatementBudget;
+import com.example.books_crud.search.UnifiedCatalogSearch;
+import com.example.books_crud.search.UnifiedSearchResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Controller for the single search box over works and creators
+ */
+@Controller
+@RequestMapping("/search")
+public class SearchController {
+
+    private final UnifiedCatalogSearch catalogSearch;
+
+    @Autowired
+    public SearchController(UnifiedCatalogSearch catalogSearch) {
+        this.catalogSearch = catalogSearch;
+    }
+
+    /**
+     * Search titles, ISBNs and creator names together
+     */
+    @StatementBudget(3)
+    @GetMapping
+    public String searchCatalog(@RequestParam("query") String searchQuery, Model model) {
+        UnifiedSearchResult result = catalogSearch.search(searchQuery);
+        model.addAttribute("searchHits", result.hits());
+        model.addAttribute("creatorHits", result.creators());
+        model.addAttribute("partialResults", result.partial());
+        model.addAttribute("incompleteLegs", result.incompleteLegs());
+        model.addAttribute("resultsTruncated", result.truncated());
+        model.addAttribute("searchQuery", searchQuery);
+        return "unifiedSearchView";
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.books_crud.controller;
+
+import com.example.books_crud.statistics.CatalogStatistics;
+import com.example.books_crud.statistics.CatalogStatisticsStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Catalog totals, works-per-creator distribution, top creators and recent additions
+ * for operations dashboards, served from memory without querying the database
+ */
+@RestController
+@RequestMapping("/statistics")
+@ConditionalOnProperty(prefix = "catalog.statistics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StatisticsController {
+
+    private final CatalogStatisticsStore statisticsStore;
+
+    @Autowired
+    public StatisticsController(CatalogStatisticsStore statisticsStore) {
+        this.statisticsStore = statisticsStore;
+    }
+
+    /**
+     * Current statistics, or 503 until they have first been built at startup
+     */
+    @GetMapping
+    public ResponseEntity<CatalogStatistics> catalogStatistics() {
+        return statisticsStore.statistics()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.books_crud.dataset;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plausible creator names, biographies, titles and ISBNs for synthetic catalogs.
+ * Everything is drawn from the caller's random source, so a seeded source always
+ * gives the same words.
+ */
+public final class CatalogVocabulary {
+
+    private static final String[] FIRST_NAMES = {
+            "Ada", "Amara", "Bruno", "Chiara", "Dmitri", "Elena", "Farid", "Grace", "Hiroshi", "Ines",
+            "Jonas", "Kwame", "Leila", "Mateo", "Nadia", "Olu", "Priya", "Quentin", "Rosa", "Sven",
+            "Tomás", "Ursula", "Viktor", "Wen", "Yusuf", "Zofia"};
+    private static final String[] LAST_NAMES = {
+            "Abara", "Bergström", "Castellano", "Dubois", "Eriksen", "Fontaine", "García", "Hoffmann", "Ivanova",
+            "Jansen", "Kowalski", "Lindqvist", "Moreau", "Nakamura", "Okafor", "Petrov", "Quiroga", "Rossi",
+            "Schmidt", "Tanaka", "Umarov", "Valdés", "Weiss", "Xu", "Yilmaz", "Zimmermann"};
+    private static final String[] ADJECTIVES = {
+            "Silent", "Crimson", "Forgotten", "Distant", "Hollow", "Golden", "Broken", "Winter", "Burning",
+            "Hidden", "Last", "Paper", "Northern", "Quiet", "Salt", "Glass", "Wandering", "Borrowed"};
+    private static final String[] NOUNS = {
+            "River", "House", "Garden", "Orchard", "Lighthouse", "Harbor", "Library", "Mountain", "Kingdom",
+            "Daughter", "Cartographer", "Letter", "Island", "Archive", "Season", "Bridge", "Clockmaker", "Tide"};
+    private static final String[] PLACES = {
+            "Lisbon", "the North", "Samarkand", "the Delta", "Kyoto", "the Steppe", "Valparaíso", "the Marsh",
+            "Alexandria", "the Coast"};
+    private static final String[] GENRES = {
+            "novelist", "poet", "essayist", "short-story writer", "playwright", "historian", "travel writer"};
+
+    /** Step through the 9-digit ISBN bodies; prime, so every body is visited once per billion serials */
+    private static final long ISBN_STRIDE = 999_999_937L;
+    private static final long ISBN_BODIES = 1_000_000_000L;
+
+    private CatalogVocabulary() {
+    }
+
+    public static String creatorName(SplittableRandom random) {
+        return pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+    }
+
+    public static String biography(SplittableRandom random) {
+        return "A " + pick(random, GENRES) + " from " + pick(random, PLACES) + ", writing about "
+                + pick(random, NOUNS).toLowerCase() + "s and " + pick(random, ADJECTIVES).toLowerCase() + " things.";
+    }
+
+    public static String title(SplittableRandom random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> "The " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS);
+            case 1 -> "The " + pick(random, NOUNS) + " of " + pick(random, PLACES);
+            case 2 -> pick(random, ADJECTIVES) + " " + pick(random, NOUNS) + "s";
+            default -> "A " + pick(random, NOUNS) + " in " + pick(random, PLACES);
+        };
+    }
+
+    /**
+     * A word that appears in generated titles, as a user might search for it
+     */
+    public static String searchTerm(SplittableRandom random) {
+        return random.nextBoolean() ? pick(random, NOUNS) : pick(random, ADJECTIVES);
+    }
+
+    /**
+     * A valid ISBN-13 in the {@code 979} range, different for every serial below a billion.
+     * Real books in the sample data use {@code 978}, so synthetic codes never collide with them.
+     */
+    public static String isbn(long serial) {
+        long body = Math.floorMod(serial * ISBN_STRIDE, ISBN_BODIES);
+        String digits = "979" + String.format("%09d", body);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+
+    private static String pick(SplittableRandom random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+}
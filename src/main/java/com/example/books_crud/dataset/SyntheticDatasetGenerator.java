@@ -0,0 +1,199 @@
+package com.example.books_crud.dataset;
+
+import com.example.books_crud.model.AuthorBiography;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills the catalog with a large synthetic dataset straight through JDBC.
+ * <p>
+ * Ids come from a block reserved up front after the highest id already stored, so rows can
+ * be built without asking the database for generated keys and works can point at their
+ * creators directly. The identity columns are restarted after the block once the rows are
+ * in. Rows are split into fixed-size chunks; each chunk is inserted in batches on its own
+ * connection and transaction, several chunks at a time, and draws from a random source
+ * seeded by its index, so the data does not depend on how the chunks were scheduled.
+ * Works are assigned to creators with a Zipf distribution: low creator ids are prolific.
+ * <p>
+ * The inserts bypass the services, so no catalog change events are published; generate
+ * before the caches, journal or search see any traffic. The identity statements are H2 syntax.
+ */
+public class SyntheticDatasetGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDatasetGenerator.class);
+
+    private static final long CREATOR_STREAM = 1;
+    private static final long WORK_STREAM = 2;
+
+    private final DataSource dataSource;
+    private final SyntheticDatasetProperties properties;
+
+    public SyntheticDatasetGenerator(DataSource dataSource, SyntheticDatasetProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    /**
+     * Insert the configured number of creators and works
+     */
+    public GeneratedDataset generate() {
+        long start = System.nanoTime();
+        long firstCreatorId = nextId("literary_creator", "creator_id");
+        long firstWorkId = nextId("literary_work", "work_id");
+        int creatorCount = properties.creators();
+        int workCount = properties.works();
+        ZipfSampler creatorPopularity = new ZipfSampler(creatorCount, properties.zipfExponent());
+
+        try (ExecutorService inserters = Executors.newFixedThreadPool(
+                properties.threads(), Thread.ofPlatform().name("catalog-dataset-", 0).factory())) {
+            runChunks(inserters, creatorCount, (chunkStart, chunkEnd, random) -> insertCreators(
+                    firstCreatorId + chunkStart, firstCreatorId + chunkEnd, random), CREATOR_STREAM);
+            runChunks(inserters, workCount, (chunkStart, chunkEnd, random) -> insertWorks(
+                    firstWorkId + chunkStart, firstWorkId + chunkEnd, firstCreatorId, creatorPopularity, random),
+                      WORK_STREAM);
+        }
+        restartIdentity("literary_creator", "creator_id", firstCreatorId + creatorCount);
+        restartIdentity("literary_work", "work_id", firstWorkId + workCount);
+
+        GeneratedDataset dataset = new GeneratedDataset(firstCreatorId, creatorCount, firstWorkId, workCount,
+                                                        Duration.ofNanos(System.nanoTime() - start));
+        logger.info("Generated {} creators and {} works in {} ms ({} rows/s, seed {})", creatorCount, workCount,
+                    dataset.elapsed().toMillis(), Math.round(dataset.rowsPerSecond()), properties.seed());
+        return dataset;
+    }
+
+    private void runChunks(ExecutorService inserters, int rows, ChunkInsert insert, long stream) {
+        int chunkSize = properties.chunkSize();
+        List<Future<Void>> chunks = new ArrayList<>();
+        for (int chunk = 0; (long) chunk * chunkSize < rows; chunk++) {
+            int chunkStart = chunk * chunkSize;
+            int chunkEnd = Math.min(rows, chunkStart + chunkSize);
+            SplittableRandom random = chunkRandom(stream, chunk);
+            Callable<Void> task = () -> {
+                insert.insert(chunkStart, chunkEnd, random);
+                return null;
+            };
+            chunks.add(inserters.submit(task));
+        }
+        try {
+            for (Future<Void> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Synthetic dataset generation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Synthetic dataset generation interrupted", e);
+        }
+    }
+
+    private void insertCreators(long fromId, long toId, SplittableRandom random) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO literary_creator (creator_id, full_name, biography_checksum, row_version) "
+                            + "VALUES (?, ?, ?, 0)");
+                 PreparedStatement insertBiography = connection.prepareStatement(
+                         "INSERT INTO creator_biography (creator_id, compressed_text) VALUES (?, ?)")) {
+                for (long id = fromId; id < toId; id++) {
+                    String name = CatalogVocabulary.creatorName(random);
+                    byte[] biography = AuthorBiography.compress(CatalogVocabulary.biography(random));
+                    insert.setLong(1, id);
+                    insert.setString(2, name);
+                    insert.setInt(3, AuthorBiography.checksum(biography));
+                    addToBatch(insert, id - fromId + 1);
+                    insertBiography.setLong(1, id);
+                    insertBiography.setBytes(2, biography);
+                    addToBatch(insertBiography, id - fromId + 1);
+                }
+                insert.executeBatch();
+                insertBiography.executeBatch();
+            }
+            connection.commit();
+        }
+    }
+
+    private void insertWorks(long fromId, long toId, long firstCreatorId, ZipfSampler creatorPopularity,
+                             SplittableRandom random) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO literary_work (work_id, work_title, international_code, row_version, creator_id) "
+                            + "VALUES (?, ?, ?, 0, ?)")) {
+                for (long id = fromId; id < toId; id++) {
+                    insert.setLong(1, id);
+                    insert.setString(2, CatalogVocabulary.title(random));
+                    insert.setString(3, CatalogVocabulary.isbn(id));
+                    insert.setLong(4, firstCreatorId + creatorPopularity.sample(random));
+                    addToBatch(insert, id - fromId + 1);
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        }
+    }
+
+    private void addToBatch(PreparedStatement insert, long rowsInChunk) throws SQLException {
+        insert.addBatch();
+        if (rowsInChunk % properties.batchSize() == 0) {
+            insert.executeBatch();
+        }
+    }
+
+    private SplittableRandom chunkRandom(long stream, int chunk) {
+        return new SplittableRandom(properties.seed() * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + chunk);
+    }
+
+    private long nextId(String table, String column) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table)) {
+            rows.next();
+            return rows.getLong(1) + 1;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to reserve ids in " + table, e);
+        }
+    }
+
+    private void restartIdentity(String table, String column, long next) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to restart the identity of " + table, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkInsert {
+        void insert(int chunkStart, int chunkEnd, SplittableRandom random) throws SQLException;
+    }
+
+    /**
+     * Id ranges the generated rows occupy and how long inserting them took
+     */
+    public record GeneratedDataset(long firstCreatorId, int creators, long firstWorkId, int works, Duration elapsed) {
+
+        public double rowsPerSecond() {
+            return (creators + works) / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.books_crud.dataset;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Synthetic catalog generated at startup in place of the sample data ({@code catalog.synthetic-data.*})
+ *
+ * @param enabled      whether to generate the catalog; the sample data initializer steps aside when it is
+ * @param creators     creators to insert
+ * @param works        works to insert, spread over the creators
+ * @param seed         seed every name, title and creator assignment is derived from
+ * @param zipfExponent skew of works per creator; 0 spreads them evenly, around 1 gives a few prolific creators
+ * @param chunkSize    rows per parallel task and per transaction; part of what the seed reproduces
+ * @param batchSize    rows per JDBC batch within a chunk
+ * @param threads      chunks inserted at once, each on its own connection
+ */
+@ConfigurationProperties(prefix = "catalog.synthetic-data")
+public record SyntheticDatasetProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") int creators,
+        @DefaultValue("100000") int works,
+        @DefaultValue("42") long seed,
+        @DefaultValue("1.0") double zipfExponent,
+        @DefaultValue("50000") int chunkSize,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("4") int threads) {
+}
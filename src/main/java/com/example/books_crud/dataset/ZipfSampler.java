@@ -0,0 +1,48 @@
+package com.example.books_crud.dataset;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks {@code 0..n-1} with probability proportional to {@code 1 / (rank + 1)^exponent},
+ * so a few ranks are very popular and most are rarely picked
+ */
+public final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Need at least one rank");
+        }
+        double[] shares = shares(n, exponent);
+        cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += shares[rank];
+            cumulative[rank] = total;
+        }
+        cumulative[n - 1] = 1.0;
+    }
+
+    public int sample(SplittableRandom random) {
+        int position = Arrays.binarySearch(cumulative, random.nextDouble());
+        return position >= 0 ? position : -position - 1;
+    }
+
+    /**
+     * Share of each rank in the distribution; the shares add up to one
+     */
+    public static double[] shares(int n, double exponent) {
+        double[] shares = new double[n];
+        double normalizer = 0;
+        for (int rank = 0; rank < n; rank++) {
+            shares[rank] = 1.0 / Math.pow(rank + 1, exponent);
+            normalizer += shares[rank];
+        }
+        for (int rank = 0; rank < n; rank++) {
+            shares[rank] /= normalizer;
+        }
+        return shares;
+    }
+}
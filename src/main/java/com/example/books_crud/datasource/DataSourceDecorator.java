@@ -0,0 +1,36 @@
+package com.example.books_crud.datasource;
+
+import javax.sql.DataSource;
+import java.util.function.UnaryOperator;
+
+/**
+ * One layer of JDBC proxies around the application DataSource.
+ * <p>
+ * Decorator beans are picked up by {@link com.example.books_crud.config.DataSourceDecorationConfig}
+ * and applied in the order of their {@link Layer}, whichever configuration defined the
+ * DataSource. Proxies that measure a connection pool are {@link PoolDecorator}s instead,
+ * which sit on each pool.
+ *
+ * @param layer   where the proxy goes among the others
+ * @param wrapper wraps the DataSource built so far
+ */
+public record DataSourceDecorator(Layer layer, UnaryOperator<DataSource> wrapper) {
+
+    /**
+     * Layers around the application DataSource, innermost first
+     */
+    public enum Layer {
+
+        /**
+         * Limits statements as the driver creates them, and resets the connection right before
+         * it goes back to the pool
+         */
+        QUERY_BUDGET,
+
+        /**
+         * Outermost, so statements are timed and attributed as the application runs them,
+         * limits included
+         */
+        STATEMENT_PROFILING
+    }
+}
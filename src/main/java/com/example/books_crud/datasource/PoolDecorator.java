@@ -0,0 +1,38 @@
+package com.example.books_crud.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps each Hikari connection pool the application borrows from, before any routing.
+ * <p>
+ * Routing proxies hand out connections of different pools, and a lazy proxy only fetches
+ * one when a statement needs it, so a proxy that measures a pool has to sit on the pool.
+ * {@link com.example.books_crud.config.DataSourceDecorationConfig} applies decorators to
+ * the application DataSource when it is a pool, as {@code primary}; the read replica and
+ * sharding configurations apply them to the pools they build. They go inside every
+ * {@link DataSourceDecorator} layer.
+ */
+@FunctionalInterface
+public interface PoolDecorator {
+
+    /**
+     * @param poolName   name the pool is known by in metrics and logs
+     * @param pool       the pool, to measure and resize
+     * @param dataSource the pool as wrapped by the decorators so far
+     */
+    DataSource decorate(String poolName, HikariDataSource pool, DataSource dataSource);
+
+    /**
+     * Wrap a pool with every decorator bean, in their order
+     */
+    static DataSource decorateAll(ObjectProvider<PoolDecorator> decorators, String poolName, HikariDataSource pool) {
+        DataSource decorated = pool;
+        for (PoolDecorator decorator : decorators.orderedStream().toList()) {
+            decorated = decorator.decorate(poolName, pool, decorated);
+        }
+        return decorated;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.books_crud.dedup;
+
+import jakarta.persistence.Entity;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Finds JPA entities in service results.
+ * <p>
+ * An entity a read returns belongs to the persistence context of the thread that read
+ * it, which open-in-view keeps open until that thread's request ends. Another thread
+ * using it could initialize a lazy association through that context while its owner
+ * does the same, or after the owner closed it; such results stay on the thread that
+ * read them.
+ */
+final class ManagedEntities {
+
+    private ManagedEntities() {
+    }
+
+    /**
+     * Whether values of a declared return type, e.g. {@code List<Book>} or a record holding
+     * one, contain entities; {@code Object} and other open types are left to {@link #heldBy(Object)}
+     */
+    static boolean declaredIn(Type type) {
+        return declaredIn(type, new HashSet<>());
+    }
+
+    /**
+     * Whether a result holds an entity or an entity association, looking through
+     * collections, maps, arrays, optionals and records without loading anything
+     */
+    static boolean heldBy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof HibernateProxy || value instanceof PersistentCollection<?> || isEntity(value.getClass())) {
+            return true;
+        }
+        if (value instanceof Collection<?> elements) {
+            return elements.stream().anyMatch(ManagedEntities::heldBy);
+        }
+        if (value instanceof Map<?, ?> entries) {
+            return entries.keySet().stream().anyMatch(ManagedEntities::heldBy)
+                    || entries.values().stream().anyMatch(ManagedEntities::heldBy);
+        }
+        if (value instanceof Object[] elements) {
+            for (Object element : elements) {
+                if (heldBy(element)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (value instanceof Optional<?> optional) {
+            return heldBy(optional.orElse(null));
+        }
+        if (value instanceof Record) {
+            for (RecordComponent component : value.getClass().getRecordComponents()) {
+                try {
+                    if (heldBy(component.getAccessor().invoke(value))) {
+                        return true;
+                    }
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    // Cannot look inside; assume it holds one
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean declaredIn(Type type, Set<Class<?>> seen) {
+        if (type instanceof Class<?> declared) {
+            if (isEntity(declared)) {
+                return true;
+            }
+            if (declared.isArray()) {
+                return declaredIn(declared.getComponentType(), seen);
+            }
+            if (declared.isRecord() && seen.add(declared)) {
+                for (RecordComponent component : declared.getRecordComponents()) {
+                    if (declaredIn(component.getGenericType(), seen)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            if (declaredIn(parameterized.getRawType(), seen)) {
+                return true;
+            }
+            for (Type argument : parameterized.getActualTypeArguments()) {
+                if (declaredIn(argument, seen)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (type instanceof GenericArrayType array) {
+            return declaredIn(array.getGenericComponentType(), seen);
+        }
+        if (type instanceof WildcardType wildcard) {
+            for (Type bound : wildcard.getUpperBounds()) {
+                if (declaredIn(bound, seen)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (type instanceof TypeVariable<?> variable) {
+            for (Type bound : variable.getBounds()) {
+                if (declaredIn(bound, seen)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEntity(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            if (current.isAnnotationPresent(Entity.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
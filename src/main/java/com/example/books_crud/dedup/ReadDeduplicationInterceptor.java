@@ -0,0 +1,135 @@
+package com.example.books_crud.dedup;
+
+import com.example.books_crud.event.CatalogChangeEvent;
+import com.example.books_crud.routing.ReadYourWrites;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collapses identical read-only service calls.
+ * <p>
+ * A read already answered in the current HTTP request is served from the request's
+ * memo, and concurrent identical reads from any thread share one call through
+ * {@link SingleFlight}. Reads are keyed by method, arguments, read-your-writes
+ * pinning and the catalog version, which every committed change bumps: a read that
+ * starts after a change never reuses an answer from before it, including the
+ * request's own writes.
+ * <p>
+ * Only results without entities cross threads ({@link ManagedEntities}). Methods declared
+ * to return entities are not collapsed with other threads at all, and a result that turns
+ * out to hold one is kept by the thread that read it while the others run their own call.
+ * The memo never leaves its request's thread, whose persistence context the memoized
+ * entities belong to anyway.
+ * <p>
+ * Collapsed callers get the same objects, so results must be treated as read-only,
+ * as with the catalog caches.
+ */
+public class ReadDeduplicationInterceptor implements MethodInterceptor, MeterBinder {
+
+    private static final String MEMO_ATTRIBUTE = ReadDeduplicationInterceptor.class.getName() + ".memo";
+
+    private final boolean requestMemo;
+    private final SingleFlight<ReadKey, Object> singleFlight = new SingleFlight<>();
+    private final Map<Method, Boolean> returnsEntities = new ConcurrentHashMap<>();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final LongAdder ranAlone = new LongAdder();
+    private final LongAdder memoized = new LongAdder();
+
+    public ReadDeduplicationInterceptor(boolean requestMemo) {
+        this.requestMemo = requestMemo;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ReadKey key = new ReadKey(invocation.getMethod(), Arrays.asList(invocation.getArguments()),
+                                  ReadYourWrites.pinnedToPrimary(), catalogVersion.get());
+        Map<ReadKey, Object> memo = requestMemo ? currentRequestMemo() : null;
+        if (memo != null && memo.containsKey(key)) {
+            memoized.increment();
+            return memo.get(key);
+        }
+        Object result;
+        if (returnsEntities.computeIfAbsent(invocation.getMethod(),
+                                            method -> ManagedEntities.declaredIn(method.getGenericReturnType()))) {
+            ranAlone.increment();
+            result = proceed(invocation);
+        } else {
+            result = singleFlight.execute(key, () -> proceed(invocation), value -> !ManagedEntities.heldBy(value));
+        }
+        if (memo != null) {
+            memo.put(key, result);
+        }
+        return result;
+    }
+
+    private static Object proceed(MethodInvocation invocation) throws Exception {
+        try {
+            return invocation.proceed();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    /**
+     * Retire the answers of earlier reads once a change has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void catalogChanged(CatalogChangeEvent event) {
+        catalogVersion.incrementAndGet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<ReadKey, Object> currentRequestMemo() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return null;
+        }
+        Object memo = request.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<ReadKey, Object>();
+            request.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<ReadKey, Object>) memo;
+    }
+
+    private long executed() {
+        return singleFlight.executed() + ranAlone.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("catalog.read-dedup.calls", this, ReadDeduplicationInterceptor::executed)
+                .tag("outcome", "executed")
+                .description("Service reads that ran")
+                .register(registry);
+        FunctionCounter.builder("catalog.read-dedup.calls", singleFlight, SingleFlight::joined)
+                .tag("outcome", "joined")
+                .description("Service reads that shared an identical read already in flight")
+                .register(registry);
+        FunctionCounter.builder("catalog.read-dedup.calls", memoized, LongAdder::sum)
+                .tag("outcome", "memoized")
+                .description("Service reads answered from the request's memo")
+                .register(registry);
+    }
+
+    private record ReadKey(Method method, List<Object> arguments, boolean pinnedToPrimary, long catalogVersion) {
+    }
+}
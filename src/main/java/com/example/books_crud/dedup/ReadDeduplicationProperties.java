@@ -0,0 +1,16 @@
+package com.example.books_crud.dedup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Collapsing of identical service reads ({@code catalog.read-dedup.*})
+ *
+ * @param enabled     whether concurrent identical reads share one call
+ * @param requestMemo whether a read repeated within one HTTP request is answered from that request's memo
+ */
+@ConfigurationProperties(prefix = "catalog.read-dedup")
+public record ReadDeduplicationProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("true") boolean requestMemo) {
+}
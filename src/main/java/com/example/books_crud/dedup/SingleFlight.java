@@ -0,0 +1,86 @@
+package com.example.books_crud.dedup;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Collapses concurrent calls for the same key into one.
+ * <p>
+ * The first caller for a key runs the call; callers arriving while it is in flight
+ * wait for it and get the same result, or the same exception. A result that may not
+ * be handed to other threads is kept by the first caller, and the waiting callers run
+ * the call themselves. Nothing is kept once the call completes, so the next caller
+ * runs it again.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<Outcome<V>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+
+    public V execute(K key, Callable<? extends V> call) throws Exception {
+        return execute(key, call, value -> true);
+    }
+
+    /**
+     * @param shareable tested on the caller's thread that ran the call; whether its result may go to the waiting callers
+     */
+    public V execute(K key, Callable<? extends V> call, Predicate<? super V> shareable) throws Exception {
+        CompletableFuture<Outcome<V>> flight = new CompletableFuture<>();
+        CompletableFuture<Outcome<V>> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            joined.increment();
+            Outcome<V> outcome = await(leader);
+            if (outcome.shared()) {
+                return outcome.value();
+            }
+            joined.decrement();
+            executed.increment();
+            return call.call();
+        }
+        executed.increment();
+        try {
+            V value = call.call();
+            flight.complete(shareable.test(value) ? new Outcome<>(value, true) : new Outcome<>(null, false));
+            return value;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static <V> Outcome<V> await(CompletableFuture<Outcome<V>> leader) throws Exception {
+        try {
+            return leader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (Exception) e.getCause();
+        }
+    }
+
+    /**
+     * Calls that were run
+     */
+    public long executed() {
+        return executed.sum();
+    }
+
+    /**
+     * Calls that were answered by another caller's call in flight
+     */
+    public long joined() {
+        return joined.sum();
+    }
+
+    private record Outcome<V>(V value, boolean shared) {
+    }
+}
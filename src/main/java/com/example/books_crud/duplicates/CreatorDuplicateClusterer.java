@@ -0,0 +1,209 @@
+package com.example.books_crud.duplicates;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Batch job grouping all existing creators into clusters of probable duplicates.
+ * <p>
+ * Names are hashed in parallel, then band by band the (band key, creator) pairs are
+ * sorted so that each LSH bucket becomes a run of equal keys. Runs are verified in
+ * parallel: each member is compared against the bucket's representatives, joining the
+ * first one similar enough or becoming a representative itself, so a bucket of a
+ * thousand identical names costs a thousand comparisons rather than half a million.
+ * Matches are merged into a union-find between bands, which also links pairs that
+ * only met through a third name. Memory is a few arrays of one entry per creator.
+ */
+public class CreatorDuplicateClusterer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreatorDuplicateClusterer.class);
+
+    private static final int MAX_REPRESENTATIVES = 256;
+
+    private final DataSource dataSource;
+    private final int shardCount;
+    private final NameMinHash minHash;
+    private final double similarityThreshold;
+    private final int threads;
+
+    /**
+     * @param shardCount shards the catalog is split over, one when it is not sharded
+     */
+    public CreatorDuplicateClusterer(DataSource dataSource, int shardCount, NameMinHash minHash,
+                                     double similarityThreshold, int threads) {
+        this.dataSource = dataSource;
+        this.shardCount = shardCount;
+        this.minHash = minHash;
+        this.similarityThreshold = similarityThreshold;
+        this.threads = Math.max(1, threads);
+    }
+
+    public DuplicateClusterReport cluster() throws SQLException {
+        long startedAt = System.nanoTime();
+        CreatorNames creators = CreatorNames.load(dataSource, shardCount, minHash, threads);
+        int[] parent = new int[creators.size()];
+        Arrays.setAll(parent, i -> i);
+        long[] entries = new long[creators.size()];
+        try (ExecutorService verifiers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "creator-duplicate-verifier");
+            thread.setDaemon(true);
+            return thread;
+        })) {
+            for (int band = 0; band < minHash.bands(); band++) {
+                int length = 0;
+                for (int i = 0; i < creators.size(); i++) {
+                    if (creators.bandKeys[i].length > 0) {
+                        entries[length++] = (long) creators.bandKeys[i][band] << 32 | i;
+                    }
+                }
+                Arrays.parallelSort(entries, 0, length);
+                for (long pair : verifyBuckets(verifiers, creators, parent, entries, length)) {
+                    union(parent, (int) (pair >>> 32), (int) pair);
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Verifying duplicate candidates failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while clustering creators", e);
+        }
+        DuplicateClusterReport report = report(creators, parent, (System.nanoTime() - startedAt) / 1_000_000);
+        logger.info("Found {} clusters of probable duplicates covering {} of {} creators in {} ms",
+                    report.clusters().size(), report.creatorsInClusters(), report.creatorsScanned(),
+                    report.elapsedMillis());
+        return report;
+    }
+
+    /**
+     * Split the sorted entries of one band into tasks on bucket boundaries and collect the pairs they verify
+     */
+    private List<Long> verifyBuckets(ExecutorService verifiers, CreatorNames creators, int[] parent, long[] entries,
+                                     int length) throws ExecutionException, InterruptedException {
+        int taskSize = Math.max(1024, length / (threads * 4) + 1);
+        List<Future<List<Long>>> tasks = new ArrayList<>();
+        int start = 0;
+        while (start < length) {
+            int end = Math.min(length, start + taskSize);
+            while (end < length && key(entries[end]) == key(entries[end - 1])) {
+                end++;
+            }
+            int from = start;
+            int to = end;
+            tasks.add(verifiers.submit(() -> verifyRange(creators, parent, entries, from, to)));
+            start = end;
+        }
+        List<Long> pairs = new ArrayList<>();
+        for (Future<List<Long>> task : tasks) {
+            pairs.addAll(task.get());
+        }
+        return pairs;
+    }
+
+    private List<Long> verifyRange(CreatorNames creators, int[] parent, long[] entries, int from, int to) {
+        List<Long> pairs = new ArrayList<>();
+        List<Integer> representatives = new ArrayList<>();
+        int bucketStart = from;
+        while (bucketStart < to) {
+            int bucketEnd = bucketStart + 1;
+            while (bucketEnd < to && key(entries[bucketEnd]) == key(entries[bucketStart])) {
+                bucketEnd++;
+            }
+            representatives.clear();
+            for (int entry = bucketStart; entry < bucketEnd; entry++) {
+                int member = (int) entries[entry];
+                boolean placed = false;
+                for (int representative : representatives) {
+                    // Parents only change between bands, so reading them here is safe
+                    if (root(parent, representative) == root(parent, member)) {
+                        placed = true;
+                        break;
+                    }
+                    if (NameMinHash.similarity(creators.shingles[representative], creators.shingles[member])
+                            >= similarityThreshold) {
+                        pairs.add((long) representative << 32 | member);
+                        placed = true;
+                        break;
+                    }
+                }
+                if (!placed && representatives.size() < MAX_REPRESENTATIVES) {
+                    representatives.add(member);
+                }
+            }
+            bucketStart = bucketEnd;
+        }
+        return pairs;
+    }
+
+    private static int key(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    private static int root(int[] parent, int node) {
+        while (parent[node] != node) {
+            node = parent[node];
+        }
+        return node;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = compress(parent, a);
+        int rootB = compress(parent, b);
+        if (rootA != rootB) {
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    private static int compress(int[] parent, int node) {
+        int root = root(parent, node);
+        while (parent[node] != root) {
+            int next = parent[node];
+            parent[node] = root;
+            node = next;
+        }
+        return root;
+    }
+
+    private static DuplicateClusterReport report(CreatorNames creators, int[] parent, long elapsedMillis) {
+        int[] sizes = new int[creators.size()];
+        for (int i = 0; i < creators.size(); i++) {
+            sizes[compress(parent, i)]++;
+        }
+        List<List<DuplicateClusterReport.Member>> byRoot = new ArrayList<>();
+        int[] clusterOfRoot = new int[creators.size()];
+        int creatorsInClusters = 0;
+        for (int i = 0; i < creators.size(); i++) {
+            int root = parent[i];
+            if (sizes[root] < 2) {
+                continue;
+            }
+            if (root == i) {
+                clusterOfRoot[root] = byRoot.size();
+                byRoot.add(new ArrayList<>(sizes[root]));
+            }
+            // Roots are the smallest index of their set, so they are always seen first
+            byRoot.get(clusterOfRoot[root]).add(new DuplicateClusterReport.Member(creators.creatorIds[i],
+                                                                                  creators.names[i]));
+            creatorsInClusters++;
+        }
+        List<DuplicateClusterReport.DuplicateCluster> clusters = new ArrayList<>(byRoot.size());
+        for (List<DuplicateClusterReport.Member> members : byRoot) {
+            members.sort(Comparator.comparingLong(DuplicateClusterReport.Member::creatorId));
+            clusters.add(new DuplicateClusterReport.DuplicateCluster(List.copyOf(members)));
+        }
+        clusters.sort(Comparator.comparingInt((DuplicateClusterReport.DuplicateCluster cluster) ->
+                                                      -cluster.creators().size())
+                              .thenComparingLong(cluster -> cluster.creators().get(0).creatorId()));
+        return new DuplicateClusterReport(creators.size(), creatorsInClusters, List.copyOf(clusters), elapsedMillis);
+    }
+}
@@ -0,0 +1,368 @@
+package com.example.books_crud.duplicates;
+
+import com.example.books_crud.event.CatalogChangeEvent;
+import com.example.books_crud.warmup.CatalogWarmup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing index over the names of all creators, answering "which
+ * existing creators probably have this name" by looking at a handful of LSH buckets
+ * instead of comparing against every creator.
+ * <p>
+ * Every name is filed under its {@link NameMinHash#bandKeys band keys}; the creators
+ * sharing a band key with the queried name are the candidates, and only those whose
+ * trigram similarity reaches the threshold are returned. Buckets are chains of
+ * postings in primitive arrays, about 16 bytes per posting, so a million creators with
+ * 16 bands take some 250 MB less the names.
+ * <p>
+ * The index is built from the database, from every shard of a sharded catalog, when
+ * the application is ready and then follows committed creator events. A newly
+ * registered creator with candidates is logged and counted in
+ * {@code catalog.duplicates.flagged}, whichever path registered it. Renamed creators
+ * keep their old postings, which only cost a failed similarity check; removed creators
+ * leave a free slot behind. Both are reclaimed by {@link #build()}.
+ */
+public class CreatorDuplicateIndex implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreatorDuplicateIndex.class);
+
+    private static final long REMOVED = 0;
+
+    private final DataSource dataSource;
+    private final int shardCount;
+    private final NameMinHash minHash;
+    private final double similarityThreshold;
+    private final int maxCandidates;
+    private final int buildThreads;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock: one slot per creator
+    private long[] creatorIds = new long[1024];
+    private String[] names = new String[1024];
+    private int[][] shingles = new int[1024][];
+    private int slots;
+    private final Map<Long, Integer> slotByCreator = new HashMap<>();
+
+    // Guarded by lock: band key -> first posting, and postings chained to the next one in the bucket
+    private int[] bucketKeys = new int[2048];
+    private int[] bucketHeads = new int[2048];
+    private int buckets;
+    private int[] postingSlots = new int[4096];
+    private int[] postingNext = new int[4096];
+    private int postings;
+
+    // Guarded by lock: events committed while the index is first built
+    private List<CatalogChangeEvent> duringBuild = new ArrayList<>();
+
+    private Counter flaggedCounter;
+
+    /**
+     * @param shardCount shards the catalog is split over, one when it is not sharded
+     */
+    public CreatorDuplicateIndex(DataSource dataSource, int shardCount, NameMinHash minHash,
+                                 double similarityThreshold, int maxCandidates, int buildThreads) {
+        this.dataSource = dataSource;
+        this.shardCount = shardCount;
+        this.minHash = minHash;
+        this.similarityThreshold = similarityThreshold;
+        this.maxCandidates = maxCandidates;
+        this.buildThreads = buildThreads;
+    }
+
+    /**
+     * Existing creators whose names are probably the same as this one, most similar first
+     */
+    public List<DuplicateCandidate> candidates(String name) {
+        return candidates(name, REMOVED);
+    }
+
+    /**
+     * Other creators whose names are probably the same as this creator's, most similar first
+     */
+    public List<DuplicateCandidate> candidatesOf(long creatorId) {
+        String name;
+        lock.readLock().lock();
+        try {
+            Integer slot = slotByCreator.get(creatorId);
+            if (slot == null) {
+                return List.of();
+            }
+            name = names[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+        return candidates(name, creatorId);
+    }
+
+    private List<DuplicateCandidate> candidates(String name, long excludedCreatorId) {
+        int[] queried = NameMinHash.shingles(NameMinHash.normalize(name));
+        int[] keys = minHash.bandKeys(queried);
+        List<DuplicateCandidate> candidates = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Integer> seen = new HashSet<>();
+            for (int key : keys) {
+                int bucket = findBucket(key);
+                if (bucketHeads[bucket] == 0) {
+                    continue;
+                }
+                for (int posting = bucketHeads[bucket] - 1; posting >= 0; posting = postingNext[posting] - 1) {
+                    int slot = postingSlots[posting];
+                    long creatorId = creatorIds[slot];
+                    if (creatorId == REMOVED || creatorId == excludedCreatorId || !seen.add(slot)) {
+                        continue;
+                    }
+                    double similarity = NameMinHash.similarity(queried, shingles[slot]);
+                    if (similarity >= similarityThreshold) {
+                        candidates.add(new DuplicateCandidate(creatorId, names[slot], similarity));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        candidates.sort(Comparator.comparingDouble(DuplicateCandidate::similarity).reversed()
+                                .thenComparingLong(DuplicateCandidate::creatorId));
+        return candidates.size() > maxCandidates ? List.copyOf(candidates.subList(0, maxCandidates))
+                : List.copyOf(candidates);
+    }
+
+    /**
+     * Index a committed creator registration or rename, flagging new creators that have candidates
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (duringBuild != null) {
+                duringBuild.add(event);
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        apply(event);
+    }
+
+    private void apply(CatalogChangeEvent event) {
+        switch (event) {
+            case CatalogChangeEvent.CreatorSaved creator -> {
+                boolean registered = index(creator.creatorId(), creator.name());
+                if (registered) {
+                    flag(creator.creatorId(), creator.name());
+                }
+            }
+            case CatalogChangeEvent.CreatorRemoved creator -> remove(creator.creatorId());
+            default -> {
+            }
+        }
+    }
+
+    private void flag(long creatorId, String name) {
+        List<DuplicateCandidate> candidates = candidatesOf(creatorId);
+        if (!candidates.isEmpty()) {
+            if (flaggedCounter != null) {
+                flaggedCounter.increment();
+            }
+            logger.info("Creator {} '{}' may duplicate {}", creatorId, name, candidates);
+        }
+    }
+
+    /**
+     * (Re)index every creator in the database, hashing their names in parallel before
+     * taking the lock; rebuilding also drops the postings of renamed and removed creators
+     */
+    @Order(CatalogWarmup.BEFORE_WARMUP)
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long startedAt = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            if (duringBuild == null) {
+                duringBuild = new ArrayList<>();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        CreatorNames loaded = null;
+        try {
+            loaded = CreatorNames.load(dataSource, shardCount, minHash, buildThreads);
+        } catch (SQLException | RuntimeException e) {
+            logger.warn("Could not build the creator duplicate index from the database", e);
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded != null) {
+                clear(loaded.size());
+                for (int i = 0; i < loaded.size(); i++) {
+                    add(loaded.creatorIds[i], loaded.names[i], loaded.shingles[i], loaded.bandKeys[i]);
+                }
+            }
+            // Still holding the lock, so no later event can overtake the ones that raced with the build
+            List<CatalogChangeEvent> raced = duringBuild;
+            duringBuild = null;
+            raced.forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Indexed {} creator names for duplicate detection in {} ms", size(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private void clear(int expectedCreators) {
+        int capacity = Math.max(1024, expectedCreators + expectedCreators / 4);
+        creatorIds = new long[capacity];
+        names = new String[capacity];
+        shingles = new int[capacity][];
+        slots = 0;
+        slotByCreator.clear();
+        int expectedPostings = capacity * minHash.bands();
+        bucketKeys = new int[Integer.highestOneBit(expectedPostings * 2 - 1) << 1];
+        bucketHeads = new int[bucketKeys.length];
+        buckets = 0;
+        postingSlots = new int[expectedPostings];
+        postingNext = new int[expectedPostings];
+        postings = 0;
+    }
+
+    /**
+     * @return whether the creator was not indexed before
+     */
+    boolean index(long creatorId, String name) {
+        int[] nameShingles = NameMinHash.shingles(NameMinHash.normalize(name));
+        int[] keys = minHash.bandKeys(nameShingles);
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByCreator.get(creatorId);
+            if (slot == null) {
+                add(creatorId, name, nameShingles, keys);
+                return true;
+            }
+            if (!Arrays.equals(shingles[slot], nameShingles)) {
+                shingles[slot] = nameShingles;
+                for (int key : keys) {
+                    post(key, slot);
+                }
+            }
+            names[slot] = name;
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long creatorId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByCreator.remove(creatorId);
+            if (slot != null) {
+                creatorIds[slot] = REMOVED;
+                names[slot] = null;
+                shingles[slot] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByCreator.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(long creatorId, String name, int[] nameShingles, int[] keys) {
+        if (slots == creatorIds.length) {
+            creatorIds = Arrays.copyOf(creatorIds, slots * 2);
+            names = Arrays.copyOf(names, slots * 2);
+            shingles = Arrays.copyOf(shingles, slots * 2);
+        }
+        int slot = slots++;
+        creatorIds[slot] = creatorId;
+        names[slot] = name;
+        shingles[slot] = nameShingles;
+        slotByCreator.put(creatorId, slot);
+        for (int key : keys) {
+            post(key, slot);
+        }
+    }
+
+    private void post(int key, int slot) {
+        if (postings == postingSlots.length) {
+            postingSlots = Arrays.copyOf(postingSlots, postings * 2);
+            postingNext = Arrays.copyOf(postingNext, postings * 2);
+        }
+        int bucket = findBucket(key);
+        if (bucketHeads[bucket] == 0) {
+            bucketKeys[bucket] = key;
+            buckets++;
+        }
+        postingSlots[postings] = slot;
+        postingNext[postings] = bucketHeads[bucket];
+        bucketHeads[bucket] = ++postings;
+        if (buckets * 2 > bucketKeys.length) {
+            resizeBuckets();
+        }
+    }
+
+    /**
+     * Bucket holding a band key, or the free one it would go into; heads are posting index + 1, 0 when free
+     */
+    private int findBucket(int key) {
+        int mask = bucketKeys.length - 1;
+        int bucket = (key * 0x9E3779B9) >>> 1 & mask;
+        while (bucketHeads[bucket] != 0 && bucketKeys[bucket] != key) {
+            bucket = (bucket + 1) & mask;
+        }
+        return bucket;
+    }
+
+    private void resizeBuckets() {
+        int[] oldKeys = bucketKeys;
+        int[] oldHeads = bucketHeads;
+        bucketKeys = new int[oldKeys.length * 2];
+        bucketHeads = new int[oldKeys.length * 2];
+        for (int bucket = 0; bucket < oldKeys.length; bucket++) {
+            if (oldHeads[bucket] != 0) {
+                int target = findBucket(oldKeys[bucket]);
+                bucketKeys[target] = oldKeys[bucket];
+                bucketHeads[target] = oldHeads[bucket];
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        flaggedCounter = Counter.builder("catalog.duplicates.flagged")
+                .description("Newly registered creators whose names matched existing creators")
+                .register(registry);
+        Gauge.builder("catalog.duplicates.indexed", this, CreatorDuplicateIndex::size)
+                .description("Creator names in the duplicate index")
+                .register(registry);
+    }
+}
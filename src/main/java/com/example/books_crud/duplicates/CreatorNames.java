@@ -0,0 +1,113 @@
+package com.example.books_crud.duplicates;
+
+import com.example.books_crud.sharding.ShardContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Every creator's id and name read from the database in one pass over each shard, with
+ * their shingles and band keys computed in parallel
+ */
+final class CreatorNames {
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final int CHUNK_SIZE = 10_000;
+
+    final long[] creatorIds;
+    final String[] names;
+    final int[][] shingles;
+    final int[][] bandKeys;
+
+    private CreatorNames(long[] creatorIds, String[] names) {
+        this.creatorIds = creatorIds;
+        this.names = names;
+        this.shingles = new int[names.length][];
+        this.bandKeys = new int[names.length][];
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    /**
+     * @param shardCount shards the catalog is split over, one when it is not sharded
+     */
+    static CreatorNames load(DataSource dataSource, int shardCount, NameMinHash minHash, int threads)
+            throws SQLException {
+        List<CreatorNames> shards = ShardContext.callOnEachShard(shardCount, () -> read(dataSource));
+        CreatorNames loaded = shards.size() == 1 ? shards.get(0) : concat(shards);
+        loaded.hash(minHash, threads);
+        return loaded;
+    }
+
+    private static CreatorNames read(DataSource dataSource) throws SQLException {
+        long[] creatorIds = new long[1024];
+        List<String> names = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rows = statement.executeQuery("SELECT creator_id, full_name FROM literary_creator")) {
+                while (rows.next()) {
+                    if (names.size() == creatorIds.length) {
+                        creatorIds = Arrays.copyOf(creatorIds, creatorIds.length * 2);
+                    }
+                    creatorIds[names.size()] = rows.getLong(1);
+                    names.add(rows.getString(2));
+                }
+            }
+        }
+        return new CreatorNames(Arrays.copyOf(creatorIds, names.size()), names.toArray(String[]::new));
+    }
+
+    private static CreatorNames concat(List<CreatorNames> shards) {
+        int size = shards.stream().mapToInt(CreatorNames::size).sum();
+        long[] creatorIds = new long[size];
+        String[] names = new String[size];
+        int offset = 0;
+        for (CreatorNames shard : shards) {
+            System.arraycopy(shard.creatorIds, 0, creatorIds, offset, shard.size());
+            System.arraycopy(shard.names, 0, names, offset, shard.size());
+            offset += shard.size();
+        }
+        return new CreatorNames(creatorIds, names);
+    }
+
+    private void hash(NameMinHash minHash, int threads) {
+        try (ExecutorService hashers = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "creator-name-hasher");
+            thread.setDaemon(true);
+            return thread;
+        })) {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int start = 0; start < names.length; start += CHUNK_SIZE) {
+                int from = start;
+                int to = Math.min(names.length, start + CHUNK_SIZE);
+                chunks.add(hashers.submit(() -> {
+                    for (int i = from; i < to; i++) {
+                        shingles[i] = NameMinHash.shingles(NameMinHash.normalize(names[i]));
+                        bandKeys[i] = minHash.bandKeys(shingles[i]);
+                    }
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Hashing creator names failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing creator names", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.books_crud.duplicates;
+
+/**
+ * Existing creator whose name is probably the same as another one
+ *
+ * @param creatorId  the existing creator
+ * @param name       their name as registered
+ * @param similarity Jaccard similarity of the two normalized names' trigrams, from 0 to 1
+ */
+public record DuplicateCandidate(long creatorId, String name, double similarity) {
+}
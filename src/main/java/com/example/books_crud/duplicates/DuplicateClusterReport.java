@@ -0,0 +1,24 @@
+package com.example.books_crud.duplicates;
+
+import java.util.List;
+
+/**
+ * Outcome of clustering all creators by name
+ *
+ * @param creatorsScanned    creators read from the database
+ * @param creatorsInClusters creators that have at least one probable duplicate
+ * @param clusters           groups of creators that are probably the same person, largest first
+ * @param elapsedMillis      how long the job took
+ */
+public record DuplicateClusterReport(int creatorsScanned, int creatorsInClusters, List<DuplicateCluster> clusters,
+                                     long elapsedMillis) {
+
+    /**
+     * Creators whose names are linked by a chain of pairs at or above the similarity threshold
+     */
+    public record DuplicateCluster(List<Member> creators) {
+    }
+
+    public record Member(long creatorId, String name) {
+    }
+}
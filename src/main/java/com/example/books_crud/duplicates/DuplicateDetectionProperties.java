@@ -0,0 +1,24 @@
+package com.example.books_crud.duplicates;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for near-duplicate creator detection ({@code catalog.duplicates.*})
+ *
+ * @param enabled             whether creator names are indexed and new creators checked against them
+ * @param bands               LSH bands per name; more bands find less similar pairs at the cost of memory
+ * @param rows                MinHash values per band; more rows make candidates stricter
+ * @param similarityThreshold trigram similarity from which two names are reported as duplicates
+ * @param maxCandidates       candidates returned for one name, most similar first
+ * @param scanThreads         threads the clustering job hashes and verifies with
+ */
+@ConfigurationProperties(prefix = "catalog.duplicates")
+public record DuplicateDetectionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("16") int bands,
+        @DefaultValue("4") int rows,
+        @DefaultValue("0.7") double similarityThreshold,
+        @DefaultValue("10") int maxCandidates,
+        @DefaultValue("4") int scanThreads) {
+}
@@ -0,0 +1,136 @@
+package com.example.books_crud.duplicates;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+/**
+ * MinHash signatures of creator names, cut into bands for locality-sensitive hashing.
+ * <p>
+ * A name is normalized first: accents are folded ({@code García Márquez} becomes
+ * {@code garcia marquez}), case and punctuation dropped and the words sorted, so
+ * {@code Márquez, Gabriel García} normalizes the same. Its shingles are the character
+ * trigrams of that text. Two names whose shingle sets have Jaccard similarity {@code s}
+ * share at least one of {@code b} bands of {@code r} MinHash values with probability
+ * {@code 1 - (1 - s^r)^b}, so with 16 bands of 4 a pair at 0.8 similarity is found
+ * 99.9% of the time and one at 0.2 only 2.5% of the time.
+ */
+public final class NameMinHash {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+
+    public NameMinHash(int bands, int rows) {
+        if (bands < 1 || rows < 1) {
+            throw new IllegalArgumentException("Bands and rows must be positive: " + bands + "x" + rows);
+        }
+        this.bands = bands;
+        this.rows = rows;
+        // Fixed seeds, so band keys are comparable between runs and nodes
+        SplittableRandom random = new SplittableRandom(0x5EED_CAFEL);
+        this.seeds = new long[bands * rows];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    public int bands() {
+        return bands;
+    }
+
+    /**
+     * Accent-folded, lower-case words of a name in sorted order, separated by single spaces
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFKD)).replaceAll("");
+        String[] words = SEPARATORS.split(folded.toLowerCase(Locale.ROOT).strip());
+        Arrays.sort(words);
+        return String.join(" ", words).strip();
+    }
+
+    /**
+     * Sorted, distinct hashes of the character trigrams of a normalized name, padded
+     * with a space at both ends so one- and two-letter words still count
+     */
+    public static int[] shingles(String normalized) {
+        if (normalized.isEmpty()) {
+            return new int[0];
+        }
+        String padded = " " + normalized + " ";
+        int[] shingles = new int[padded.length() - 2];
+        for (int i = 0; i < shingles.length; i++) {
+            shingles[i] = (padded.charAt(i) * 31 + padded.charAt(i + 1)) * 31 + padded.charAt(i + 2);
+        }
+        Arrays.sort(shingles);
+        int distinct = 0;
+        for (int i = 0; i < shingles.length; i++) {
+            if (i == 0 || shingles[i] != shingles[i - 1]) {
+                shingles[distinct++] = shingles[i];
+            }
+        }
+        return Arrays.copyOf(shingles, distinct);
+    }
+
+    /**
+     * Jaccard similarity of two sorted shingle sets
+     */
+    public static double similarity(int[] a, int[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0;
+        }
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (a.length + b.length - shared);
+    }
+
+    /**
+     * One key per band; names sharing any band key are candidate duplicates.
+     * Empty for names without shingles, which have no candidates.
+     */
+    public int[] bandKeys(int[] shingles) {
+        if (shingles.length == 0) {
+            return new int[0];
+        }
+        int[] keys = new int[bands];
+        for (int band = 0; band < bands; band++) {
+            long key = band;
+            for (int row = 0; row < rows; row++) {
+                long seed = seeds[band * rows + row];
+                long minimum = Long.MAX_VALUE;
+                for (int shingle : shingles) {
+                    minimum = Math.min(minimum, mix(shingle ^ seed));
+                }
+                key = mix(key * 31 + minimum);
+            }
+            keys[band] = (int) (key ^ (key >>> 32));
+        }
+        return keys;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.books_crud.event;
+
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+
+/**
+ * Mutation of the literary catalog, published by the services and delivered to
+ * listeners once the surrounding transaction has committed.
+ * <p>
+ * Saved events carry the entity's optimistic-lock version after the change, which
+ * consumers use to order changes to the same row.
+ */
+public sealed interface CatalogChangeEvent {
+
+    /**
+     * A literary creator was registered or modified
+     */
+    record CreatorSaved(long creatorId, String name, String bio, long version) implements CatalogChangeEvent {
+    }
+
+    /**
+     * A literary creator, and with it all of their works, was removed
+     */
+    record CreatorRemoved(long creatorId) implements CatalogChangeEvent {
+    }
+
+    /**
+     * A literary work was registered or revised
+     */
+    record WorkSaved(long workId, String title, String isbn, Long creatorId, long version) implements CatalogChangeEvent {
+    }
+
+    /**
+     * A literary work was withdrawn from the catalog
+     */
+    record WorkRemoved(long workId) implements CatalogChangeEvent {
+    }
+
+    static CreatorSaved saved(Author creator) {
+        return new CreatorSaved(creator.getCreatorId(), creator.getName(), creator.getBio(), creator.getVersion());
+    }
+
+    static WorkSaved saved(Book work) {
+        Author creator = work.getCreator();
+        return new WorkSaved(work.getId(), work.getTitle(), work.getIsbn(),
+                             creator != null ? creator.getCreatorId() : null, work.getVersion());
+    }
+}
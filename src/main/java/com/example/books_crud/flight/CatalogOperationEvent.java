@@ -0,0 +1,57 @@
+package com.example.books_crud.flight;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One call of a catalog service method, with the entity it concerned, the rows it
+ * returned and the time it spent waiting for a connection, executing statements and
+ * flushing. The event's own duration is the whole call, transaction included.
+ */
+@Name("com.example.books_crud.CatalogOperation")
+@Label("Catalog Operation")
+@Category({"Catalog", "Service"})
+@Description("A call of a BookService or AuthorService method")
+@StackTrace(false)
+class CatalogOperationEvent extends Event {
+
+    @Label("Operation")
+    @Description("Service and method, such as BookService.registerLiteraryWork")
+    String operation;
+
+    @Label("Entity Id")
+    @Description("Id of the work or creator the call concerned, or 0 when it concerned none or several")
+    long entityId;
+
+    @Label("Rows")
+    @Description("Works or creators returned or changed")
+    long rows;
+
+    @Label("Failure")
+    @Description("Class of the exception the call ended with, if any")
+    String failure;
+
+    @Label("Connection Acquire Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long connectionAcquireTime;
+
+    @Label("Statements")
+    long statements;
+
+    @Label("Statement Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long statementTime;
+
+    @Label("Flush Time")
+    @Description("Time spent flushing changes, the statements the flushes executed included")
+    @Timespan(Timespan.NANOSECONDS)
+    long flushTime;
+
+    @Label("Flushed Entities")
+    long flushedEntities;
+}
@@ -0,0 +1,79 @@
+package com.example.books_crud.flight;
+
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.service.CatalogPage;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Emits a {@link CatalogOperationEvent} for every service call while a flight
+ * recording with the event enabled is running, and does nothing otherwise.
+ */
+public class CatalogOperationRecorder implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        CatalogOperationEvent event = new CatalogOperationEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        OperationPhases phases = OperationPhases.begin();
+        event.begin();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable failure) {
+            event.failure = failure.getClass().getName();
+            throw failure;
+        } finally {
+            phases.end();
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = invocation.getMethod().getDeclaringClass().getSimpleName() + "."
+                        + invocation.getMethod().getName();
+                event.entityId = entityId(result, invocation.getArguments());
+                event.rows = rows(result);
+                event.connectionAcquireTime = phases.connectionAcquireNanos();
+                event.statements = phases.statements();
+                event.statementTime = phases.statementNanos();
+                event.flushTime = phases.flushNanos();
+                event.flushedEntities = phases.flushedEntities();
+                event.commit();
+            }
+        }
+    }
+
+    private static long entityId(Object result, Object[] arguments) {
+        long id = id(result instanceof Optional<?> optional ? optional.orElse(null) : result);
+        if (id == 0 && arguments.length > 0) {
+            id = arguments[0] instanceof Number number ? number.longValue() : id(arguments[0]);
+        }
+        return id;
+    }
+
+    private static long id(Object entity) {
+        Long id = switch (entity) {
+            case Book work -> work.getId();
+            case Author creator -> creator.getCreatorId();
+            case null, default -> null;
+        };
+        return id != null ? id : 0;
+    }
+
+    private static long rows(Object result) {
+        return switch (result) {
+            case Collection<?> collection -> collection.size();
+            case CatalogPage page -> page.works().size();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            case Book work -> 1;
+            case Author creator -> 1;
+            case Number count -> count.longValue();
+            case null, default -> 0;
+        };
+    }
+}
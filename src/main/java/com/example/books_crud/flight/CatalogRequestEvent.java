@@ -0,0 +1,60 @@
+package com.example.books_crud.flight;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One request handled by a controller method, from the handler being picked until the
+ * response was complete, split into the phases it spent waiting for a connection,
+ * executing statements, flushing and rendering its view.
+ */
+@Name("com.example.books_crud.CatalogRequest")
+@Label("Catalog Request")
+@Category({"Catalog", "Web"})
+@Description("A request handled by a catalog controller method")
+@StackTrace(false)
+class CatalogRequestEvent extends Event {
+
+    @Label("Handler")
+    @Description("Controller and method, such as BookController.showCatalog")
+    String handler;
+
+    @Label("Method")
+    String method;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Status")
+    int status;
+
+    @Label("Entity Id")
+    @Description("The id path variable or request parameter, or 0 without one")
+    long entityId;
+
+    @Label("Connection Acquire Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long connectionAcquireTime;
+
+    @Label("Statements")
+    long statements;
+
+    @Label("Statement Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long statementTime;
+
+    @Label("Flush Time")
+    @Description("Time spent flushing changes, the statements the flushes executed included")
+    @Timespan(Timespan.NANOSECONDS)
+    long flushTime;
+
+    @Label("Render Time")
+    @Description("Time from the handler returning until the response was complete")
+    @Timespan(Timespan.NANOSECONDS)
+    long renderTime;
+}
@@ -0,0 +1,99 @@
+package com.example.books_crud.flight;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Map;
+
+/**
+ * Emits a {@link CatalogRequestEvent} for every request that reaches a controller
+ * method while a flight recording with the event enabled is running.
+ */
+public class CatalogRequestRecorder implements HandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = CatalogRequestRecorder.class.getName() + ".event";
+    private static final String PHASES_ATTRIBUTE = CatalogRequestRecorder.class.getName() + ".phases";
+    private static final String HANDLED_ATTRIBUTE = CatalogRequestRecorder.class.getName() + ".handled";
+    private static final String[] ID_PARAMETERS = {"id", "workId", "creatorId"};
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || request.getAttribute(EVENT_ATTRIBUTE) != null) {
+            return true;
+        }
+        CatalogRequestEvent event = new CatalogRequestEvent();
+        if (event.isEnabled()) {
+            request.setAttribute(PHASES_ATTRIBUTE, OperationPhases.begin());
+            request.setAttribute(EVENT_ATTRIBUTE, event);
+            event.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (request.getAttribute(EVENT_ATTRIBUTE) != null) {
+            request.setAttribute(HANDLED_ATTRIBUTE, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception exception) {
+        if (!(request.getAttribute(EVENT_ATTRIBUTE) instanceof CatalogRequestEvent event)) {
+            return;
+        }
+        request.removeAttribute(EVENT_ATTRIBUTE);
+        OperationPhases phases = (OperationPhases) request.getAttribute(PHASES_ATTRIBUTE);
+        phases.end();
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        HandlerMethod method = (HandlerMethod) handler;
+        event.handler = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        event.method = request.getMethod();
+        event.uri = request.getRequestURI();
+        event.status = response.getStatus();
+        event.entityId = entityId(request);
+        event.connectionAcquireTime = phases.connectionAcquireNanos();
+        event.statements = phases.statements();
+        event.statementTime = phases.statementNanos();
+        event.flushTime = phases.flushNanos();
+        if (request.getAttribute(HANDLED_ATTRIBUTE) instanceof Long handled) {
+            event.renderTime = System.nanoTime() - handled;
+        }
+        event.commit();
+    }
+
+    private static long entityId(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables) {
+            for (Object value : variables.values()) {
+                long id = parse(String.valueOf(value));
+                if (id != 0) {
+                    return id;
+                }
+            }
+        }
+        for (String name : ID_PARAMETERS) {
+            long id = parse(request.getParameter(name));
+            if (id != 0) {
+                return id;
+            }
+        }
+        return 0;
+    }
+
+    private static long parse(String value) {
+        try {
+            return value != null ? Long.parseLong(value) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.books_crud.flight;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * JDK Flight Recorder events for catalog operations and recordings on demand ({@code catalog.flight-recorder.*})
+ *
+ * @param enabled             whether catalog events are emitted and the {@code flightrecordings} endpoint can be exposed
+ * @param continuous          whether a background recording runs from startup, to be dumped after a latency spike
+ * @param continuousMaxAge    how far back the background recording keeps events
+ * @param continuousMaxSize   most disk the background recording keeps
+ * @param continuousThreshold catalog requests and operations shorter than this are left out of the background recording
+ * @param settings            JFR settings of recordings started on demand, {@code default} or {@code profile}
+ * @param maxDuration         longest a recording started on demand may run before it stops by itself
+ * @param maxSize             most disk a recording started on demand keeps
+ * @param retained            finished recordings kept for download; the oldest are discarded beyond that
+ */
+@ConfigurationProperties(prefix = "catalog.flight-recorder")
+public record FlightRecorderProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("true") boolean continuous,
+        @DefaultValue("30m") Duration continuousMaxAge,
+        @DefaultValue("100MB") DataSize continuousMaxSize,
+        @DefaultValue("10ms") Duration continuousThreshold,
+        @DefaultValue("profile") String settings,
+        @DefaultValue("5m") Duration maxDuration,
+        @DefaultValue("250MB") DataSize maxSize,
+        @DefaultValue("3") int retained) {
+}
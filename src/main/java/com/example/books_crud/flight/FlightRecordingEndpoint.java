@@ -0,0 +1,101 @@
+package com.example.books_crud.flight;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded JDK Flight Recorder recordings on a live node, as the {@code flightrecordings}
+ * actuator endpoint: start one, stop it early and download it as a {@code .jfr} file for
+ * JDK Mission Control or {@code jfr print}.
+ * <p>
+ * An actuator endpoint, so it is only reachable once it is exposed, and on the management
+ * port when one is set: a recording holds the inner workings of the node and takes CPU
+ * and disk while it runs.
+ */
+@Endpoint(id = "flightrecordings")
+public class FlightRecordingEndpoint {
+
+    private static final String RECORDING_FILE = "file";
+
+    private final FlightRecordings flightRecordings;
+
+    public FlightRecordingEndpoint(FlightRecordings flightRecordings) {
+        this.flightRecordings = flightRecordings;
+    }
+
+    /**
+     * Start a recording that stops by itself after {@code duration}
+     */
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@Nullable Duration duration, @Nullable String settings) {
+        try {
+            return new WebEndpointResponse<>(flightRecordings.start(duration, settings), HttpStatus.CREATED.value());
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), HttpStatus.CONFLICT.value());
+        }
+    }
+
+    @ReadOperation
+    public List<FlightRecordingInfo> list() {
+        return flightRecordings.list();
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<FlightRecordingInfo> info(@Selector long id) {
+        return found(flightRecordings.info(id));
+    }
+
+    /**
+     * Stop a running recording early
+     */
+    @WriteOperation
+    public WebEndpointResponse<FlightRecordingInfo> stop(@Selector long id) {
+        return found(flightRecordings.stop(id));
+    }
+
+    /**
+     * Download what a recording has recorded so far, on {@code {id}/file}; a running recording keeps running
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id, @Selector String file) throws IOException {
+        if (!RECORDING_FILE.equals(file)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Optional<InputStream> recording = flightRecordings.open(id);
+        return found(recording.map(stream -> new InputStreamResource(stream) {
+            @Override
+            public long contentLength() {
+                // Unknown up front; reading the stream to count it would leave nothing to send
+                return -1;
+            }
+        }));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> discard(@Selector long id) {
+        return new WebEndpointResponse<>(flightRecordings.discard(id) ? WebEndpointResponse.STATUS_NO_CONTENT
+                                                 : WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    private static <T> WebEndpointResponse<T> found(Optional<? extends T> body) {
+        return body.<WebEndpointResponse<T>>map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.books_crud.flight;
+
+import jdk.jfr.Recording;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * State of one flight recording, as listed by the {@code flightrecordings} endpoint
+ *
+ * @param id        recording id, used in the endpoint paths
+ * @param name      {@code continuous} for the background recording, else the settings it was started with
+ * @param state     JFR recording state, {@code RUNNING} until it is stopped or reaches its duration
+ * @param startedAt when it started
+ * @param stoppedAt when it stopped, if it has
+ * @param duration  how long it runs before stopping by itself, {@code null} for the background recording
+ * @param size      bytes recorded so far
+ */
+public record FlightRecordingInfo(long id, String name, String state, Instant startedAt, Instant stoppedAt,
+                                  Duration duration, long size) {
+
+    static FlightRecordingInfo of(Recording recording) {
+        return new FlightRecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                                       recording.getStartTime(), recording.getStopTime(), recording.getDuration(),
+                                       recording.getSize());
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.books_crud.flight;
+
+import com.example.books_crud.warmup.CatalogWarmup;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Flight recordings started, stopped and downloaded on a live node.
+ * <p>
+ * At most one recording started on demand runs at a time, and every one is bounded: it
+ * stops by itself after its duration and keeps at most {@code maxSize} on disk. The
+ * {@code retained} most recent finished recordings stay available for download. Next to
+ * them a background recording of the last {@code continuousMaxAge} can run from
+ * startup; it records only the catalog requests and operations that took at least
+ * {@code continuousThreshold}, and can be downloaded at any time without stopping it.
+ * <p>
+ * No recording captures the JVM's environment variables, system properties, arguments or
+ * the other processes on the host: those carry the datasource password and the session
+ * secret, and a recording is a file that gets passed around.
+ */
+public class FlightRecordings implements MeterBinder, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordings.class);
+
+    static final String CONTINUOUS = "continuous";
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation", "jdk.SystemProcess");
+
+    private final FlightRecorderProperties properties;
+
+    // Guarded by this: recordings by id, in the order they were started
+    private final Map<Long, Recording> recordings = new LinkedHashMap<>();
+
+    public FlightRecordings(FlightRecorderProperties properties) {
+        if (!SETTINGS.contains(properties.settings())) {
+            throw new IllegalArgumentException("Unknown flight recorder settings: " + properties.settings());
+        }
+        this.properties = properties;
+    }
+
+    /**
+     * Start the background recording, if it is enabled and the JVM supports flight recording
+     */
+    @Order(CatalogWarmup.BEFORE_WARMUP)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startContinuous() {
+        if (!properties.continuous() || !FlightRecorder.isAvailable() || find(CONTINUOUS).isPresent()) {
+            return;
+        }
+        Recording recording = new Recording(settings("default"));
+        recording.setName(CONTINUOUS);
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.continuousMaxAge());
+        recording.setMaxSize(properties.continuousMaxSize().toBytes());
+        recording.enable(CatalogRequestEvent.class).withThreshold(properties.continuousThreshold());
+        recording.enable(CatalogOperationEvent.class).withThreshold(properties.continuousThreshold());
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        logger.info("Started background flight recording {} keeping {} of events", recording.getId(),
+                    properties.continuousMaxAge());
+    }
+
+    /**
+     * Start a recording on demand that stops by itself after the given duration, capped at {@code maxDuration}
+     *
+     * @param settings JFR settings to record with, or {@code null} for the configured ones
+     * @throws IllegalArgumentException for settings other than {@code default} and {@code profile}
+     * @throws IllegalStateException    when another recording started on demand is still running,
+     *                                  or the JVM cannot record
+     */
+    public synchronized FlightRecordingInfo start(Duration duration, String settings) {
+        String name = settings != null ? settings : properties.settings();
+        if (!SETTINGS.contains(name)) {
+            throw new IllegalArgumentException("Settings must be one of " + SETTINGS + ": " + name);
+        }
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight recording is not available in this JVM");
+        }
+        for (Recording running : recordings.values()) {
+            if (!running.getName().equals(CONTINUOUS) && running.getState() == RecordingState.RUNNING) {
+                throw new IllegalStateException("Recording " + running.getId() + " is still running");
+            }
+        }
+        Duration bounded = duration == null || duration.isNegative() || duration.isZero()
+                || duration.compareTo(properties.maxDuration()) > 0 ? properties.maxDuration() : duration;
+        Recording recording = new Recording(settings(name));
+        recording.setName(name);
+        recording.setToDisk(true);
+        recording.setDuration(bounded);
+        recording.setMaxSize(properties.maxSize().toBytes());
+        // Explicitly, or the events would take the background recording's threshold
+        recording.enable(CatalogRequestEvent.class).withThreshold(Duration.ZERO);
+        recording.enable(CatalogOperationEvent.class).withThreshold(Duration.ZERO);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        discardFinished();
+        logger.info("Started flight recording {} with {} settings for {}", recording.getId(), name, bounded);
+        return FlightRecordingInfo.of(recording);
+    }
+
+    public synchronized List<FlightRecordingInfo> list() {
+        return recordings.values().stream().map(FlightRecordingInfo::of).toList();
+    }
+
+    public synchronized Optional<FlightRecordingInfo> info(long id) {
+        return Optional.ofNullable(recordings.get(id)).map(FlightRecordingInfo::of);
+    }
+
+    /**
+     * Stop a running recording, keeping what it recorded for download
+     */
+    public synchronized Optional<FlightRecordingInfo> stop(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return Optional.empty();
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            logger.info("Stopped flight recording {} after {} bytes", id, recording.getSize());
+        }
+        return Optional.of(FlightRecordingInfo.of(recording));
+    }
+
+    /**
+     * Stop a recording if it is running and discard it
+     */
+    public synchronized boolean discard(long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            return false;
+        }
+        recording.close();
+        return true;
+    }
+
+    /**
+     * What a recording has recorded so far, as a {@code .jfr} file that is deleted when the stream is closed
+     */
+    public Optional<InputStream> open(long id) throws IOException {
+        Recording recording;
+        synchronized (this) {
+            recording = recordings.get(id);
+        }
+        if (recording == null) {
+            return Optional.empty();
+        }
+        Path file = Files.createTempFile("catalog-recording-" + id + "-", ".jfr");
+        try {
+            recording.dump(file);
+            return Optional.of(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private Optional<Recording> find(String name) {
+        return recordings.values().stream().filter(recording -> recording.getName().equals(name)).findFirst();
+    }
+
+    private void discardFinished() {
+        List<Recording> finished = new ArrayList<>();
+        for (Recording recording : recordings.values()) {
+            if (!recording.getName().equals(CONTINUOUS) && recording.getState() != RecordingState.RUNNING) {
+                finished.add(recording);
+            }
+        }
+        finished.sort(Comparator.comparingLong(Recording::getId));
+        for (int i = 0; i < finished.size() - properties.retained(); i++) {
+            discard(finished.get(i).getId());
+        }
+    }
+
+    private synchronized int running() {
+        return (int) recordings.values().stream()
+                .filter(recording -> recording.getState() == RecordingState.RUNNING)
+                .count();
+    }
+
+    /**
+     * The JDK settings of that name, with the events that could capture secrets disabled
+     */
+    private static Map<String, String> settings(String name) {
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(name).getSettings());
+            SENSITIVE_EVENTS.forEach(event -> settings.put(event + "#enabled", "false"));
+            return settings;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Unreadable flight recorder settings " + name, e);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.flight-recorder.running", this, FlightRecordings::running)
+                .description("Flight recordings currently running, the background recording included")
+                .register(registry);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.books_crud.flight;
+
+/**
+ * Time the operation running on the current thread spent in each phase, fed by
+ * {@link PhaseTimingSessionListener} and read by the flight recorder events.
+ * <p>
+ * Phases are only collected while an operation is being recorded. Operations nest: a
+ * service call made by a controller handler opens its own phases, and adds them to the
+ * handler's when it ends.
+ */
+public final class OperationPhases {
+
+    private static final ThreadLocal<OperationPhases> CURRENT = new ThreadLocal<>();
+
+    private final OperationPhases enclosing;
+    private long connectionAcquireNanos;
+    private long statementNanos;
+    private int statements;
+    private long flushNanos;
+    private int flushedEntities;
+
+    private OperationPhases(OperationPhases enclosing) {
+        this.enclosing = enclosing;
+    }
+
+    /**
+     * Collect the phases of this thread until {@link #end()} is called on the result
+     */
+    static OperationPhases begin() {
+        OperationPhases phases = new OperationPhases(CURRENT.get());
+        CURRENT.set(phases);
+        return phases;
+    }
+
+    /**
+     * Phases of the operation being recorded on this thread, or {@code null} when none is
+     */
+    static OperationPhases current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop collecting, handing the phases on to the enclosing operation
+     */
+    void end() {
+        if (enclosing != null) {
+            enclosing.connectionAcquireNanos += connectionAcquireNanos;
+            enclosing.statementNanos += statementNanos;
+            enclosing.statements += statements;
+            enclosing.flushNanos += flushNanos;
+            enclosing.flushedEntities += flushedEntities;
+            CURRENT.set(enclosing);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    void connectionAcquired(long nanos) {
+        connectionAcquireNanos += nanos;
+    }
+
+    void statementExecuted(long nanos) {
+        statementNanos += nanos;
+        statements++;
+    }
+
+    void flushed(long nanos, int entities) {
+        flushNanos += nanos;
+        flushedEntities += entities;
+    }
+
+    long connectionAcquireNanos() {
+        return connectionAcquireNanos;
+    }
+
+    long statementNanos() {
+        return statementNanos;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long flushNanos() {
+        return flushNanos;
+    }
+
+    int flushedEntities() {
+        return flushedEntities;
+    }
+}
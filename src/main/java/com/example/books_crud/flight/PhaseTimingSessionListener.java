@@ -0,0 +1,84 @@
+package com.example.books_crud.flight;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times connection acquisition, statement execution and flushes of a Hibernate
+ * session for the {@link OperationPhases} of the thread doing them.
+ * <p>
+ * Hibernate creates one listener per session ({@code hibernate.session.events.auto}),
+ * and a session is used by one thread at a time.
+ */
+public class PhaseTimingSessionListener implements SessionEventListener {
+
+    private long acquisitionStart;
+    private long statementStart;
+    private long batchStart;
+    private long flushStart;
+    private long partialFlushStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquisitionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        OperationPhases phases = OperationPhases.current();
+        if (phases != null) {
+            phases.connectionAcquired(System.nanoTime() - acquisitionStart);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        OperationPhases phases = OperationPhases.current();
+        if (phases != null) {
+            phases.statementExecuted(System.nanoTime() - statementStart);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        OperationPhases phases = OperationPhases.current();
+        if (phases != null) {
+            phases.statementExecuted(System.nanoTime() - batchStart);
+        }
+    }
+
+    @Override
+    public void flushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        OperationPhases phases = OperationPhases.current();
+        if (phases != null) {
+            phases.flushed(System.nanoTime() - flushStart, numberOfEntities);
+        }
+    }
+
+    @Override
+    public void partialFlushStart() {
+        partialFlushStart = System.nanoTime();
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        OperationPhases phases = OperationPhases.current();
+        if (phases != null) {
+            phases.flushed(System.nanoTime() - partialFlushStart, numberOfEntities);
+        }
+    }
+}
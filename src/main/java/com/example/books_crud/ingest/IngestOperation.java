@@ -0,0 +1,43 @@
+package com.example.books_crud.ingest;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * State of one accepted registration, as reported by the status endpoint
+ *
+ * @param id          operation id returned with the 202
+ * @param kind        what is being registered, e.g. {@code work}
+ * @param state       where the registration is
+ * @param resourceId  id of the registered work or creator once it succeeded
+ * @param error       why it failed, if it did
+ * @param acceptedAt  when it was queued
+ * @param completedAt when it succeeded or failed
+ */
+public record IngestOperation(UUID id, String kind, State state, Long resourceId, String error,
+                              Instant acceptedAt, Instant completedAt) {
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    static IngestOperation queued(String kind, Instant now) {
+        return new IngestOperation(UUID.randomUUID(), kind, State.QUEUED, null, null, now, null);
+    }
+
+    IngestOperation running() {
+        return new IngestOperation(id, kind, State.RUNNING, null, null, acceptedAt, null);
+    }
+
+    IngestOperation succeeded(Long resourceId, Instant now) {
+        return new IngestOperation(id, kind, State.SUCCEEDED, resourceId, null, acceptedAt, now);
+    }
+
+    IngestOperation failed(String error, Instant now) {
+        return new IngestOperation(id, kind, State.FAILED, null, error, acceptedAt, now);
+    }
+
+    public boolean finished() {
+        return state == State.SUCCEEDED || state == State.FAILED;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.books_crud.ingest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Asynchronous registration of works and creators ({@code catalog.ingest.*})
+ *
+ * @param enabled         whether the {@code /ingest} endpoints are available
+ * @param workers         threads draining the ingest queue, and so the most registrations committing at once
+ * @param queueCapacity   registrations that may wait for a worker before new ones are refused
+ * @param retention       how long the status of a finished registration can still be polled
+ * @param retryAfter      {@code Retry-After} sent with a refusal when the queue is full
+ * @param shutdownTimeout how long shutdown waits for accepted registrations to finish
+ */
+@ConfigurationProperties(prefix = "catalog.ingest")
+public record IngestProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("4") int workers,
+        @DefaultValue("200") int queueCapacity,
+        @DefaultValue("10m") Duration retention,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue("30s") Duration shutdownTimeout) {
+}
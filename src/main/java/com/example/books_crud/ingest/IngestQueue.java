@@ -0,0 +1,172 @@
+package com.example.books_crud.ingest;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded queue of registrations, committed by a fixed set of worker threads.
+ * <p>
+ * Callers get an {@link IngestOperation} back as soon as the registration is queued
+ * and poll it for the outcome. When every worker is busy and the queue is full, a
+ * new registration is refused at once with a {@link RejectedExecutionException},
+ * so a slow database shows up as explicit refusals rather than as request threads
+ * piling up behind it. Finished operations are forgotten after the retention period,
+ * checked whenever an operation is submitted or looked up. Registrations still queued
+ * when shutdown gives up waiting for them are marked failed.
+ */
+public class IngestQueue implements DisposableBean, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestQueue.class);
+
+    private final ThreadPoolExecutor workers;
+    private final Duration retention;
+    private final Duration shutdownTimeout;
+    private final Clock clock;
+    private final Map<UUID, IngestOperation> operations = new ConcurrentHashMap<>();
+    private final Queue<IngestOperation> finished = new ConcurrentLinkedQueue<>();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public IngestQueue(int workerCount, int queueCapacity, Duration retention, Duration shutdownTimeout, Clock clock) {
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                                              new ArrayBlockingQueue<>(queueCapacity),
+                                              Thread.ofPlatform().name("catalog-ingest-", 0).factory(),
+                                              new ThreadPoolExecutor.AbortPolicy());
+        this.retention = retention;
+        this.shutdownTimeout = shutdownTimeout;
+        this.clock = clock;
+    }
+
+    /**
+     * Queue a registration that returns the id of what it registered
+     *
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public IngestOperation submit(String kind, Callable<Long> registration) {
+        forgetExpired();
+        IngestOperation operation = IngestOperation.queued(kind, clock.instant());
+        operations.put(operation.id(), operation);
+        try {
+            workers.execute(new Registration(operation.id(), registration));
+        } catch (RejectedExecutionException e) {
+            operations.remove(operation.id());
+            rejected.increment();
+            throw e;
+        }
+        accepted.increment();
+        return operation;
+    }
+
+    /**
+     * Current state of an operation, or empty once it is unknown or expired
+     */
+    public Optional<IngestOperation> status(UUID operationId) {
+        forgetExpired();
+        return Optional.ofNullable(operations.get(operationId));
+    }
+
+    private void run(UUID operationId, Callable<Long> registration) {
+        operations.computeIfPresent(operationId, (id, operation) -> operation.running());
+        IngestOperation outcome;
+        try {
+            Long resourceId = registration.call();
+            succeeded.increment();
+            outcome = operations.computeIfPresent(operationId,
+                    (id, operation) -> operation.succeeded(resourceId, clock.instant()));
+        } catch (Exception e) {
+            failed.increment();
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            logger.warn("Ingest operation {} failed: {}", operationId, error);
+            outcome = operations.computeIfPresent(operationId,
+                    (id, operation) -> operation.failed(error, clock.instant()));
+        }
+        if (outcome != null) {
+            finished.add(outcome);
+        }
+    }
+
+    private void forgetExpired() {
+        Instant cutoff = clock.instant().minus(retention);
+        IngestOperation oldest;
+        while ((oldest = finished.peek()) != null && oldest.completedAt().isBefore(cutoff)) {
+            if (finished.remove(oldest)) {
+                operations.remove(oldest.id());
+            }
+        }
+    }
+
+    /**
+     * Stop accepting registrations and give the queued ones time to commit
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        workers.shutdown();
+        if (workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            return;
+        }
+        List<Runnable> abandoned = workers.shutdownNow();
+        logger.warn("Abandoning {} queued registrations after {} s", abandoned.size(), shutdownTimeout.toSeconds());
+        for (Runnable task : abandoned) {
+            if (task instanceof Registration registration) {
+                failed.increment();
+                operations.computeIfPresent(registration.operationId,
+                        (id, operation) -> operation.failed("Abandoned at shutdown", clock.instant()));
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.ingest.queue.depth", workers, executor -> executor.getQueue().size())
+                .description("Registrations waiting for a worker")
+                .register(registry);
+        Map.of("accepted", accepted, "rejected", rejected, "succeeded", succeeded, "failed", failed)
+                .forEach((outcome, count) -> FunctionCounter.builder("catalog.ingest.operations", count, LongAdder::sum)
+                        .tag("outcome", outcome)
+                        .description("Asynchronous registrations by outcome")
+                        .register(registry));
+    }
+
+    /**
+     * Queued task of one operation, so its operation can be found when the task is abandoned
+     */
+    private final class Registration implements Runnable {
+
+        private final UUID operationId;
+        private final Callable<Long> call;
+
+        Registration(UUID operationId, Callable<Long> call) {
+            this.operationId = operationId;
+            this.call = call;
+        }
+
+        @Override
+        public void run() {
+            IngestQueue.this.run(operationId, call);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.books_crud.journal;
+
+import com.example.books_crud.event.CatalogChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of catalog mutations backed by memory-mapped segment files.
+ * <p>
+ * Each segment is named after the sequence number of its first entry and holds
+ * entries framed as {@code [int length][int crc32c][long sequence][event]}. A zero
+ * length marks the end of the written region; a checksum mismatch marks a torn write.
+ */
+public class CatalogJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogJournal.class);
+
+    private static final String SEGMENT_PREFIX = "catalog-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int FRAME_HEADER_BYTES = Integer.BYTES * 2;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final CRC32C checksum = new CRC32C();
+
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long lastSequence;
+    private long bytesAppended;
+    private boolean unsynced;
+
+    public CatalogJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Start appending in a fresh segment, continuing after the given sequence number
+     */
+    public synchronized void open(long afterSequence) throws IOException {
+        Files.createDirectories(directory);
+        lastSequence = afterSequence;
+        startSegment();
+    }
+
+    /**
+     * Append a committed catalog mutation and return its sequence number
+     */
+    public synchronized long append(CatalogChangeEvent event) {
+        if (segment == null) {
+            throw new IllegalStateException("Catalog journal is not open");
+        }
+        long sequence = lastSequence + 1;
+        ByteBuffer body = encode(sequence, event);
+        int frameSize = FRAME_HEADER_BYTES + body.remaining();
+        if (frameSize > segmentSize - Integer.BYTES) {
+            throw new IllegalArgumentException("Journal entry of " + frameSize + " bytes exceeds segment size");
+        }
+        if (segment.remaining() < frameSize + Integer.BYTES) {
+            rollSegment();
+        }
+        checksum.reset();
+        checksum.update(body.duplicate());
+        segment.putInt(body.remaining());
+        segment.putInt((int) checksum.getValue());
+        segment.put(body);
+        lastSequence = sequence;
+        bytesAppended += frameSize;
+        unsynced = true;
+        return sequence;
+    }
+
+    /**
+     * Close the current segment and continue in a new one, returning the last sequence
+     * number contained in the closed segments
+     */
+    public synchronized long roll() {
+        rollSegment();
+        return lastSequence;
+    }
+
+    /**
+     * Flush appended entries to the storage device
+     */
+    public synchronized void sync() {
+        if (segment != null && unsynced) {
+            segment.force();
+            unsynced = false;
+        }
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Number of bytes appended since the journal was opened or last compacted
+     */
+    public synchronized long bytesAppended() {
+        return bytesAppended;
+    }
+
+    /**
+     * Delete all segments whose entries are covered by a snapshot taken at the given sequence
+     */
+    public synchronized void discardThrough(long snapshotSequence) throws IOException {
+        List<Path> segments = listSegments(directory);
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequenceOf(segments.get(i + 1)) <= snapshotSequence + 1) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        }
+        bytesAppended = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Read every intact entry with a sequence number above the given one, in order.
+     * Returns the highest sequence number seen, or {@code afterSequence} if none.
+     */
+    public static long read(Path directory, long afterSequence, EntryConsumer consumer) throws IOException {
+        long highest = afterSequence;
+        CRC32C crc = new CRC32C();
+        for (Path segmentFile : listSegments(directory)) {
+            try (FileChannel readChannel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                while (buffer.remaining() >= FRAME_HEADER_BYTES) {
+                    int length = buffer.getInt();
+                    int expectedChecksum = buffer.getInt();
+                    if (length <= 0 || length > buffer.remaining()) {
+                        break;
+                    }
+                    ByteBuffer body = buffer.slice(buffer.position(), length);
+                    buffer.position(buffer.position() + length);
+                    crc.reset();
+                    crc.update(body.duplicate());
+                    if ((int) crc.getValue() != expectedChecksum) {
+                        logger.warn("Torn journal entry in {}, ignoring the rest of the segment", segmentFile);
+                        break;
+                    }
+                    long sequence = body.getLong();
+                    if (sequence > highest) {
+                        consumer.accept(sequence, JournalCodec.decode(body));
+                        highest = sequence;
+                    }
+                }
+            }
+        }
+        return highest;
+    }
+
+    private ByteBuffer encode(long sequence, CatalogChangeEvent event) {
+        int required = Long.BYTES + JournalCodec.maxEncodedSize(event);
+        if (scratch.capacity() < required) {
+            scratch = ByteBuffer.allocate(Math.max(required, scratch.capacity() * 2));
+        }
+        scratch.clear();
+        scratch.putLong(sequence);
+        JournalCodec.encode(event, scratch);
+        return scratch.flip();
+    }
+
+    private void rollSegment() {
+        try {
+            close();
+            startSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to roll catalog journal segment", e);
+        }
+    }
+
+    private void startSegment() throws IOException {
+        Path segmentFile = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, lastSequence + 1, SEGMENT_SUFFIX));
+        channel = FileChannel.open(segmentFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                   StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        logger.debug("Started catalog journal segment {}", segmentFile.getFileName());
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long firstSequenceOf(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Receives journal entries during replay
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long sequence, CatalogChangeEvent event) throws IOException;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.books_crud.journal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for the durable catalog journal ({@code catalog.journal.*})
+ *
+ * @param enabled           whether catalog mutations are journaled and replayed on startup
+ * @param directory         where journal segments and the snapshot are stored
+ * @param segmentSize       size of each memory-mapped journal segment
+ * @param syncEveryAppend   force each entry to disk before the committing request returns
+ * @param compactAfter      journal volume after which a new snapshot is written
+ * @param compactOnShutdown write a fresh snapshot on graceful shutdown so the next start only loads it
+ */
+@ConfigurationProperties(prefix = "catalog.journal")
+public record CatalogJournalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/journal") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("false") boolean syncEveryAppend,
+        @DefaultValue("256MB") DataSize compactAfter,
+        @DefaultValue("true") boolean compactOnShutdown) {
+}
@@ -0,0 +1,107 @@
+package com.example.books_crud.journal;
+
+import com.example.books_crud.event.CatalogChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+
+/**
+ * Keeps the catalog journal in step with the database: replays it before the
+ * application starts serving, appends every committed mutation, and periodically
+ * compacts the log into a fresh snapshot.
+ */
+public class CatalogJournalRecorder implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogJournalRecorder.class);
+
+    private final CatalogJournal journal;
+    private final CatalogSnapshotStore snapshotStore;
+    private final CatalogReplayer replayer;
+    private final DataSource dataSource;
+    private final CatalogJournalProperties properties;
+
+    public CatalogJournalRecorder(CatalogJournal journal, CatalogSnapshotStore snapshotStore,
+                                  CatalogReplayer replayer, DataSource dataSource,
+                                  CatalogJournalProperties properties) {
+        this.journal = journal;
+        this.snapshotStore = snapshotStore;
+        this.replayer = replayer;
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    /**
+     * Rebuild the in-memory catalog once the schema exists, before the web server starts
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            CatalogReplayer.ReplayResult result = replayer.replay();
+            journal.open(result.lastSequence());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to replay catalog journal", e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to replay catalog journal", e);
+        }
+    }
+
+    /**
+     * Append a committed catalog mutation to the journal
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void record(CatalogChangeEvent event) {
+        journal.append(event);
+        if (properties.syncEveryAppend()) {
+            journal.sync();
+        }
+    }
+
+    /**
+     * Flush recently appended entries to disk
+     */
+    @Scheduled(fixedDelayString = "${catalog.journal.sync-interval:1s}")
+    public void sync() {
+        journal.sync();
+    }
+
+    /**
+     * Write a new snapshot once enough journal has accumulated since the last one
+     */
+    @Scheduled(fixedDelayString = "${catalog.journal.compaction-check-interval:1m}")
+    public void compactIfDue() {
+        if (journal.bytesAppended() >= properties.compactAfter().toBytes()) {
+            compact();
+        }
+    }
+
+    /**
+     * Snapshot the catalog and drop the journal segments it covers
+     */
+    public synchronized void compact() {
+        long startedAt = System.nanoTime();
+        try {
+            long snapshotSequence = journal.roll();
+            long rows = snapshotStore.write(snapshotSequence, dataSource);
+            journal.discardThrough(snapshotSequence);
+            logger.info("Compacted catalog journal into a snapshot of {} rows at sequence {} in {} ms",
+                        rows, snapshotSequence, (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (IOException | SQLException e) {
+            logger.error("Catalog journal compaction failed, keeping existing segments", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (properties.compactOnShutdown()) {
+            compact();
+        }
+    }
+}
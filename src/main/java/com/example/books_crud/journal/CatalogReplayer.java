@@ -0,0 +1,415 @@
+package com.example.books_crud.journal;
+
+import com.example.books_crud.event.CatalogChangeEvent;
+import com.example.books_crud.event.CatalogChangeEvent.CreatorRemoved;
+import com.example.books_crud.event.CatalogChangeEvent.CreatorSaved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkRemoved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkSaved;
+import com.example.books_crud.model.AuthorBiography;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Rebuilds the catalog tables from the latest snapshot plus the journal tail.
+ * <p>
+ * Snapshot rows are bulk-inserted with batched JDBC on a single connection; tail
+ * entries are applied as idempotent upserts and deletes, so entries that were
+ * already captured by the snapshot can safely be applied again. An upsert only
+ * replaces an older row version. Identities restart above every id the snapshot
+ * issued and every id in the tail, removed ones included, so ids are never reused
+ * and a save journaled after the row's removal is stale and skipped. Replay runs
+ * before the application accepts requests and relies on H2 statements
+ * ({@code MERGE ... KEY}, {@code SET REFERENTIAL_INTEGRITY}).
+ */
+public class CatalogReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogReplayer.class);
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final String INSERT_CREATOR =
+            "INSERT INTO literary_creator (creator_id, full_name, biography_checksum, row_version) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_BIOGRAPHY =
+            "INSERT INTO creator_biography (creator_id, compressed_text) VALUES (?, ?)";
+    private static final String INSERT_WORK =
+            "INSERT INTO literary_work (work_id, work_title, international_code, creator_id, row_version) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+    // A tail record only replaces a row of an older version: the recorder appends after
+    // commit, so two updates of one row may reach the journal out of order
+    private static final String MERGE_CREATOR =
+            "MERGE INTO literary_creator t USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR), CAST(? AS INTEGER), "
+                    + "CAST(? AS BIGINT))) s (creator_id, full_name, biography_checksum, row_version) "
+                    + "ON t.creator_id = s.creator_id "
+                    + "WHEN MATCHED AND t.row_version < s.row_version THEN UPDATE SET t.full_name = s.full_name, "
+                    + "t.biography_checksum = s.biography_checksum, t.row_version = s.row_version "
+                    + "WHEN NOT MATCHED THEN INSERT (creator_id, full_name, biography_checksum, row_version) "
+                    + "VALUES (s.creator_id, s.full_name, s.biography_checksum, s.row_version)";
+    // Runs after MERGE_CREATOR: the biography is written only if the record's version is now the creator's
+    private static final String MERGE_BIOGRAPHY =
+            "MERGE INTO creator_biography t USING (SELECT creator_id, CAST(? AS VARBINARY) compressed_text "
+                    + "FROM literary_creator WHERE creator_id = ? AND row_version = ?) s "
+                    + "ON t.creator_id = s.creator_id "
+                    + "WHEN MATCHED THEN UPDATE SET t.compressed_text = s.compressed_text "
+                    + "WHEN NOT MATCHED THEN INSERT (creator_id, compressed_text) VALUES (s.creator_id, s.compressed_text)";
+    private static final String MERGE_WORK =
+            "MERGE INTO literary_work t USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR), CAST(? AS VARCHAR), "
+                    + "CAST(? AS BIGINT), CAST(? AS BIGINT))) "
+                    + "s (work_id, work_title, international_code, creator_id, row_version) "
+                    + "ON t.work_id = s.work_id "
+                    + "WHEN MATCHED AND t.row_version < s.row_version THEN UPDATE SET t.work_title = s.work_title, "
+                    + "t.international_code = s.international_code, t.creator_id = s.creator_id, "
+                    + "t.row_version = s.row_version "
+                    + "WHEN NOT MATCHED THEN INSERT (work_id, work_title, international_code, creator_id, row_version) "
+                    + "VALUES (s.work_id, s.work_title, s.international_code, s.creator_id, s.row_version)";
+    private static final String DELETE_CREATOR_WORKS = "DELETE FROM literary_work WHERE creator_id = ?";
+    private static final String DELETE_BIOGRAPHY = "DELETE FROM creator_biography WHERE creator_id = ?";
+    private static final String DELETE_CREATOR = "DELETE FROM literary_creator WHERE creator_id = ?";
+
+    /**
+     * A creator is a row in each of two tables; both are written by the same batch
+     */
+    private static final List<String> INSERT_CREATOR_ROWS = List.of(INSERT_CREATOR, INSERT_BIOGRAPHY);
+    private static final List<String> MERGE_CREATOR_ROWS = List.of(MERGE_CREATOR, MERGE_BIOGRAPHY);
+    private static final List<String> DELETE_CREATOR_ROWS = List.of(DELETE_BIOGRAPHY, DELETE_CREATOR);
+    private static final String DELETE_WORK = "DELETE FROM literary_work WHERE work_id = ?";
+
+    private final DataSource dataSource;
+    private final CatalogSnapshotStore snapshotStore;
+    private final Path journalDirectory;
+
+    public CatalogReplayer(DataSource dataSource, CatalogSnapshotStore snapshotStore, Path journalDirectory) {
+        this.dataSource = dataSource;
+        this.snapshotStore = snapshotStore;
+        this.journalDirectory = journalDirectory;
+    }
+
+    /**
+     * Load the snapshot and journal tail into empty catalog tables
+     */
+    public ReplayResult replay() throws IOException, SQLException {
+        long startedAt = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            if (!catalogIsEmpty(connection)) {
+                throw new IllegalStateException("Catalog tables already contain data, refusing to replay journal");
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (BatchWriter writer = new BatchWriter(connection)) {
+                // Unique indexes and foreign key checks dominate bulk insert cost, so the
+                // snapshot is loaded without them and the indexes are rebuilt in one pass
+                List<String> deferredConstraints = dropUniqueConstraints(connection, "LITERARY_WORK");
+                setReferentialIntegrity(connection, false);
+                OptionalLong snapshotSequence;
+                IssuedIds issued = new IssuedIds();
+                try {
+                    snapshotSequence = snapshotStore.read(new CatalogSnapshotStore.Visitor() {
+                        @Override
+                        public void nextIds(long nextCreatorId, long nextWorkId) {
+                            issued.nextCreatorId = nextCreatorId;
+                            issued.nextWorkId = nextWorkId;
+                        }
+
+                        @Override
+                        public void creator(CreatorSaved creator) throws IOException {
+                            writer.add(INSERT_CREATOR_ROWS, creator);
+                        }
+
+                        @Override
+                        public void work(WorkSaved work) throws IOException {
+                            writer.add(INSERT_WORK, work);
+                        }
+                    });
+                    writer.flush();
+                } finally {
+                    setReferentialIntegrity(connection, true);
+                    for (String constraint : deferredConstraints) {
+                        execute(connection, constraint);
+                    }
+                }
+                long snapshotRows = writer.rowCount;
+
+                long afterSequence = snapshotSequence.orElse(0L);
+                Tombstones removed = new Tombstones(new HashSet<>(), new HashSet<>());
+                long lastSequence = CatalogJournal.read(journalDirectory, afterSequence,
+                                                        (sequence, event) -> {
+                    issued.add(event);
+                    apply(writer, event, removed);
+                });
+                writer.flush();
+                long tailEntries = writer.rowCount - snapshotRows;
+                restartIdentity(connection, "literary_creator", "creator_id", issued.nextCreatorId);
+                restartIdentity(connection, "literary_work", "work_id", issued.nextWorkId);
+
+                ReplayResult result = new ReplayResult(afterSequence, lastSequence, snapshotRows, tailEntries,
+                                                       Duration.ofNanos(System.nanoTime() - startedAt));
+                logger.info("Replayed catalog journal: {} snapshot rows, {} tail entries up to sequence {} in {} ms",
+                            result.snapshotRows(), result.tailEntries(), result.lastSequence(),
+                            result.elapsed().toMillis());
+                return result;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private void apply(BatchWriter writer, CatalogChangeEvent event, Tombstones removed) throws IOException {
+        switch (event) {
+            case CreatorSaved creator -> {
+                if (!removed.creators().contains(creator.creatorId())) {
+                    writer.add(MERGE_CREATOR_ROWS, creator);
+                }
+            }
+            case WorkSaved work -> {
+                if (!removed.works().contains(work.workId())) {
+                    writer.add(MERGE_WORK, work);
+                }
+            }
+            case CreatorRemoved creator -> {
+                removed.creators().add(creator.creatorId());
+                writer.add(DELETE_CREATOR_WORKS, creator, false);
+                writer.add(DELETE_CREATOR_ROWS, creator);
+            }
+            case WorkRemoved work -> {
+                removed.works().add(work.workId());
+                writer.add(DELETE_WORK, work);
+            }
+        }
+    }
+
+    private static boolean catalogIsEmpty(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT (SELECT COUNT(*) FROM literary_creator) + (SELECT COUNT(*) FROM literary_work)")) {
+            rows.next();
+            return rows.getLong(1) == 0;
+        }
+    }
+
+    /**
+     * Drop the unique constraints of a table, returning the statements that recreate them
+     */
+    private static List<String> dropUniqueConstraints(Connection connection, String table) throws SQLException {
+        Map<String, List<String>> columnsByConstraint = new LinkedHashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT tc.CONSTRAINT_NAME, kcu.COLUMN_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc "
+                        + "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE kcu "
+                        + "ON tc.CONSTRAINT_SCHEMA = kcu.CONSTRAINT_SCHEMA AND tc.CONSTRAINT_NAME = kcu.CONSTRAINT_NAME "
+                        + "WHERE tc.TABLE_NAME = ? AND tc.CONSTRAINT_TYPE = 'UNIQUE' "
+                        + "ORDER BY tc.CONSTRAINT_NAME, kcu.ORDINAL_POSITION")) {
+            statement.setString(1, table);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    columnsByConstraint.computeIfAbsent(rows.getString(1), name -> new ArrayList<>())
+                            .add(rows.getString(2));
+                }
+            }
+        }
+        List<String> recreate = new ArrayList<>();
+        for (Map.Entry<String, List<String>> constraint : columnsByConstraint.entrySet()) {
+            execute(connection, "ALTER TABLE " + table + " DROP CONSTRAINT " + constraint.getKey());
+            recreate.add("ALTER TABLE " + table + " ADD CONSTRAINT " + constraint.getKey()
+                                 + " UNIQUE (" + String.join(", ", constraint.getValue()) + ")");
+        }
+        return recreate;
+    }
+
+    private static void setReferentialIntegrity(Connection connection, boolean enabled) throws SQLException {
+        execute(connection, "SET REFERENTIAL_INTEGRITY " + enabled);
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * Restart an identity above the ids in the table and at least at the given next id
+     */
+    private static void restartIdentity(Connection connection, String table, String column, long atLeast)
+            throws SQLException {
+        long next;
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) + 1 FROM " + table)) {
+            rows.next();
+            next = Math.max(rows.getLong(1), atLeast);
+        }
+        execute(connection, "ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+    }
+
+    /**
+     * Outcome of a replay, used to continue the journal after the last applied sequence
+     */
+    public record ReplayResult(long snapshotSequence, long lastSequence, long snapshotRows, long tailEntries,
+                               Duration elapsed) {
+    }
+
+    /**
+     * Ids removed earlier in the tail
+     */
+    private record Tombstones(Set<Long> creators, Set<Long> works) {
+    }
+
+    /**
+     * Lowest ids not issued yet, as far as the snapshot header and the tail show
+     */
+    private static final class IssuedIds {
+
+        private long nextCreatorId;
+        private long nextWorkId;
+
+        void add(CatalogChangeEvent event) {
+            switch (event) {
+                case CreatorSaved creator -> nextCreatorId = Math.max(nextCreatorId, creator.creatorId() + 1);
+                case CreatorRemoved creator -> nextCreatorId = Math.max(nextCreatorId, creator.creatorId() + 1);
+                case WorkSaved work -> nextWorkId = Math.max(nextWorkId, work.workId() + 1);
+                case WorkRemoved work -> nextWorkId = Math.max(nextWorkId, work.workId() + 1);
+            }
+        }
+    }
+
+    /**
+     * Groups consecutive statements of the same kind into JDBC batches while keeping their order
+     */
+    private static final class BatchWriter implements AutoCloseable {
+
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        private List<String> pending = List.of();
+        private int pendingCount;
+        private long rowCount;
+        private CreatorSaved biographyOf;
+        private byte[] biography;
+
+        private BatchWriter(Connection connection) {
+            this.connection = connection;
+        }
+
+        void add(String sql, CatalogChangeEvent event) throws IOException {
+            add(List.of(sql), event, true);
+        }
+
+        void add(String sql, CatalogChangeEvent event, boolean countsAsRow) throws IOException {
+            add(List.of(sql), event, countsAsRow);
+        }
+
+        void add(List<String> group, CatalogChangeEvent event) throws IOException {
+            add(group, event, true);
+        }
+
+        /**
+         * Add an event to the batch of each statement of the group; the batches run in
+         * group order when flushed
+         */
+        void add(List<String> group, CatalogChangeEvent event, boolean countsAsRow) throws IOException {
+            try {
+                if (!group.equals(pending)) {
+                    flush();
+                    pending = group;
+                }
+                for (String sql : group) {
+                    PreparedStatement statement = statements.get(sql);
+                    if (statement == null) {
+                        statement = connection.prepareStatement(sql);
+                        statements.put(sql, statement);
+                    }
+                    bind(statement, sql, event);
+                    statement.addBatch();
+                }
+                if (countsAsRow) {
+                    rowCount++;
+                }
+                if (++pendingCount == BATCH_SIZE) {
+                    flush();
+                }
+            } catch (SQLException e) {
+                throw new IOException("Unable to apply " + event, e);
+            }
+        }
+
+        void flush() throws SQLException {
+            if (pendingCount > 0) {
+                for (String sql : pending) {
+                    statements.get(sql).executeBatch();
+                }
+                connection.commit();
+            }
+            pendingCount = 0;
+        }
+
+        private void bind(PreparedStatement statement, String sql, CatalogChangeEvent event) throws SQLException {
+            switch (event) {
+                case CreatorSaved creator when sql.equals(INSERT_BIOGRAPHY) -> {
+                    statement.setLong(1, creator.creatorId());
+                    statement.setBytes(2, compressedBiography(creator));
+                }
+                case CreatorSaved creator when sql.equals(MERGE_BIOGRAPHY) -> {
+                    statement.setBytes(1, compressedBiography(creator));
+                    statement.setLong(2, creator.creatorId());
+                    statement.setLong(3, creator.version());
+                }
+                case CreatorSaved creator -> {
+                    statement.setLong(1, creator.creatorId());
+                    statement.setString(2, creator.name());
+                    Integer checksum = AuthorBiography.checksum(compressedBiography(creator));
+                    if (checksum != null) {
+                        statement.setInt(3, checksum);
+                    } else {
+                        statement.setNull(3, Types.INTEGER);
+                    }
+                    statement.setLong(4, creator.version());
+                }
+                case WorkSaved work -> {
+                    statement.setLong(1, work.workId());
+                    statement.setString(2, work.title());
+                    statement.setString(3, work.isbn());
+                    if (work.creatorId() != null) {
+                        statement.setLong(4, work.creatorId());
+                    } else {
+                        statement.setNull(4, Types.BIGINT);
+                    }
+                    statement.setLong(5, work.version());
+                }
+                case CreatorRemoved creator -> statement.setLong(1, creator.creatorId());
+                case WorkRemoved work -> statement.setLong(1, work.workId());
+            }
+        }
+
+        /**
+         * Both rows of a creator need the compressed biography; compress it once
+         */
+        private byte[] compressedBiography(CreatorSaved creator) {
+            if (biographyOf != creator) {
+                biographyOf = creator;
+                biography = AuthorBiography.compress(creator.bio());
+            }
+            return biography;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            for (PreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.books_crud.journal;
+
+import com.example.books_crud.event.CatalogChangeEvent.CreatorSaved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkSaved;
+import com.example.books_crud.model.AuthorBiography;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.OptionalLong;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compacted, point-in-time image of the catalog tables.
+ * <p>
+ * A snapshot records the journal sequence number it was started at and the next
+ * creator and work ids the database would issue, followed by every creator and then
+ * every work, and ends with the row count and a CRC32C of the preceding bytes. The
+ * next ids outlive the rows: a replay restarts the identities there, so ids of rows
+ * deleted before the snapshot are not issued again. Snapshots are written to a temporary file and atomically
+ * moved into place, so a crash during compaction leaves the previous one intact.
+ */
+public class CatalogSnapshotStore {
+
+    private static final long MAGIC = 0x4256534E41503033L; // "BVSNAP03"
+    private static final long MAGIC_WITHOUT_NEXT_IDS = 0x4256534E41503032L; // "BVSNAP02"
+    private static final String SNAPSHOT_FILE = "catalog.snapshot";
+    private static final byte CREATOR_ROW = 'C';
+    private static final byte WORK_ROW = 'W';
+    private static final byte END_OF_ROWS = 'E';
+    private static final int FETCH_SIZE = 5_000;
+
+    private final Path directory;
+
+    public CatalogSnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Start writing a new snapshot covering the journal up to the given sequence number
+     *
+     * @param nextCreatorId lowest creator id not yet issued, or 0 when unknown
+     * @param nextWorkId    lowest work id not yet issued, or 0 when unknown
+     */
+    public Writer openWriter(long sequence, long nextCreatorId, long nextWorkId) throws IOException {
+        Files.createDirectories(directory);
+        return new Writer(directory.resolve(SNAPSHOT_FILE + ".tmp"), directory.resolve(SNAPSHOT_FILE), sequence,
+                          nextCreatorId, nextWorkId);
+    }
+
+    /**
+     * Dump the catalog tables into a new snapshot, returning the number of rows written
+     */
+    public long write(long sequence, DataSource dataSource) throws IOException, SQLException {
+        try (Connection connection = dataSource.getConnection();
+             // Read before the rows: ids issued while they are dumped come with the journal tail
+             Writer writer = openWriter(sequence, nextIdentity(connection, "LITERARY_CREATOR", "CREATOR_ID"),
+                                        nextIdentity(connection, "LITERARY_WORK", "WORK_ID"));
+             Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT c.creator_id, c.full_name, b.compressed_text, c.row_version FROM literary_creator c "
+                            + "LEFT JOIN creator_biography b ON b.creator_id = c.creator_id ORDER BY c.creator_id")) {
+                while (rows.next()) {
+                    writer.creator(new CreatorSaved(rows.getLong(1), rows.getString(2),
+                                                    AuthorBiography.decompress(rows.getBytes(3)), rows.getLong(4)));
+                }
+            }
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT work_id, work_title, international_code, creator_id, row_version "
+                            + "FROM literary_work ORDER BY work_id")) {
+                while (rows.next()) {
+                    long creatorId = rows.getLong(4);
+                    Long creator = rows.wasNull() ? null : creatorId;
+                    writer.work(new WorkSaved(rows.getLong(1), rows.getString(2), rows.getString(3), creator,
+                                              rows.getLong(5)));
+                }
+            }
+            writer.commit();
+            return writer.rowCount;
+        }
+    }
+
+    /**
+     * Next value of an identity column, from H2's metadata
+     */
+    private static long nextIdentity(Connection connection, String table, String column) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT IDENTITY_BASE FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = ? AND COLUMN_NAME = ?")) {
+            statement.setString(1, table);
+            statement.setString(2, column);
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() ? rows.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Stream the current snapshot into the visitor, returning the sequence number it
+     * covers, or empty when no snapshot has been written yet
+     */
+    public OptionalLong read(Visitor visitor) throws IOException {
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshotFile)) {
+            return OptionalLong.empty();
+        }
+        CRC32C crc = new CRC32C();
+        try (CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotFile), 1 << 16), crc);
+             DataInputStream in = new DataInputStream(checked)) {
+            long magic = in.readLong();
+            if (magic != MAGIC && magic != MAGIC_WITHOUT_NEXT_IDS) {
+                throw new IOException("Not a catalog snapshot: " + snapshotFile);
+            }
+            long sequence = in.readLong();
+            if (magic == MAGIC) {
+                visitor.nextIds(in.readLong(), in.readLong());
+            }
+            long rowCount = 0;
+            byte tag;
+            while ((tag = in.readByte()) != END_OF_ROWS) {
+                switch (tag) {
+                    case CREATOR_ROW -> visitor.creator(JournalCodec.readCreator(in));
+                    case WORK_ROW -> visitor.work(JournalCodec.readWork(in));
+                    default -> throw new IOException("Corrupt catalog snapshot, unexpected row tag " + tag);
+                }
+                rowCount++;
+            }
+            long expectedRows = in.readLong();
+            int computedChecksum = (int) crc.getValue();
+            int expectedChecksum = in.readInt();
+            if (expectedRows != rowCount || expectedChecksum != computedChecksum) {
+                throw new IOException("Corrupt catalog snapshot " + snapshotFile);
+            }
+            return OptionalLong.of(sequence);
+        }
+    }
+
+    /**
+     * Receives snapshot rows in file order: all creators first, then all works
+     */
+    public interface Visitor {
+        /**
+         * Lowest creator and work ids not issued when the snapshot was taken, 0 when unknown
+         */
+        default void nextIds(long nextCreatorId, long nextWorkId) {
+        }
+
+        void creator(CreatorSaved creator) throws IOException;
+
+        void work(WorkSaved work) throws IOException;
+    }
+
+    /**
+     * Streams rows into a temporary file that only replaces the live snapshot on {@link #commit()}
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path temporaryFile;
+        private final Path targetFile;
+        private final FileOutputStream file;
+        private final CheckedOutputStream checked;
+        private final DataOutputStream out;
+        private long rowCount;
+        private boolean committed;
+
+        private Writer(Path temporaryFile, Path targetFile, long sequence, long nextCreatorId, long nextWorkId)
+                throws IOException {
+            this.temporaryFile = temporaryFile;
+            this.targetFile = targetFile;
+            this.file = new FileOutputStream(temporaryFile.toFile());
+            this.checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), new CRC32C());
+            this.out = new DataOutputStream(checked);
+            out.writeLong(MAGIC);
+            out.writeLong(sequence);
+            out.writeLong(nextCreatorId);
+            out.writeLong(nextWorkId);
+        }
+
+        public void creator(CreatorSaved creator) throws IOException {
+            out.writeByte(CREATOR_ROW);
+            JournalCodec.writeCreator(out, creator);
+            rowCount++;
+        }
+
+        public void work(WorkSaved work) throws IOException {
+            out.writeByte(WORK_ROW);
+            JournalCodec.writeWork(out, work);
+            rowCount++;
+        }
+
+        public void commit() throws IOException {
+            out.writeByte(END_OF_ROWS);
+            out.writeLong(rowCount);
+            out.flush();
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            file.getChannel().force(true);
+            out.close();
+            Files.move(temporaryFile, targetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(temporaryFile);
+            }
+        }
+    }
+}
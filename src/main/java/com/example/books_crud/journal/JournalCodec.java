@@ -0,0 +1,154 @@
+package com.example.books_crud.journal;
+
+import com.example.books_crud.event.CatalogChangeEvent;
+import com.example.books_crud.event.CatalogChangeEvent.CreatorRemoved;
+import com.example.books_crud.event.CatalogChangeEvent.CreatorSaved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkRemoved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkSaved;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of catalog change events shared by the journal and the snapshot files
+ */
+final class JournalCodec {
+
+    static final byte CREATOR_SAVED = 1;
+    static final byte CREATOR_REMOVED = 2;
+    static final byte WORK_SAVED = 3;
+    static final byte WORK_REMOVED = 4;
+
+    private static final long NO_CREATOR = -1L;
+
+    private JournalCodec() {
+    }
+
+    static void encode(CatalogChangeEvent event, ByteBuffer target) {
+        switch (event) {
+            case CreatorSaved creator -> {
+                target.put(CREATOR_SAVED);
+                target.putLong(creator.creatorId());
+                putString(target, creator.name());
+                putString(target, creator.bio());
+                target.putLong(creator.version());
+            }
+            case CreatorRemoved creator -> {
+                target.put(CREATOR_REMOVED);
+                target.putLong(creator.creatorId());
+            }
+            case WorkSaved work -> {
+                target.put(WORK_SAVED);
+                target.putLong(work.workId());
+                putString(target, work.title());
+                putString(target, work.isbn());
+                target.putLong(work.creatorId() != null ? work.creatorId() : NO_CREATOR);
+                target.putLong(work.version());
+            }
+            case WorkRemoved work -> {
+                target.put(WORK_REMOVED);
+                target.putLong(work.workId());
+            }
+        }
+    }
+
+    static CatalogChangeEvent decode(ByteBuffer source) {
+        byte type = source.get();
+        return switch (type) {
+            case CREATOR_SAVED -> new CreatorSaved(source.getLong(), getString(source), getString(source),
+                                                   source.getLong());
+            case CREATOR_REMOVED -> new CreatorRemoved(source.getLong());
+            case WORK_SAVED -> new WorkSaved(source.getLong(), getString(source), getString(source),
+                                             creatorOrNull(source.getLong()), source.getLong());
+            case WORK_REMOVED -> new WorkRemoved(source.getLong());
+            default -> throw new IllegalStateException("Unknown journal entry type " + type);
+        };
+    }
+
+    /**
+     * Upper bound of the encoded size of an event, used to size the scratch buffer
+     */
+    static int maxEncodedSize(CatalogChangeEvent event) {
+        return switch (event) {
+            case CreatorSaved creator -> 1 + 2 * Long.BYTES + maxStringSize(creator.name()) + maxStringSize(creator.bio());
+            case WorkSaved work -> 1 + 3 * Long.BYTES + maxStringSize(work.title()) + maxStringSize(work.isbn());
+            case CreatorRemoved ignored -> 1 + Long.BYTES;
+            case WorkRemoved ignored -> 1 + Long.BYTES;
+        };
+    }
+
+    static void writeCreator(DataOutput out, CreatorSaved creator) throws IOException {
+        out.writeLong(creator.creatorId());
+        writeString(out, creator.name());
+        writeString(out, creator.bio());
+        out.writeLong(creator.version());
+    }
+
+    static CreatorSaved readCreator(DataInput in) throws IOException {
+        return new CreatorSaved(in.readLong(), readString(in), readString(in), in.readLong());
+    }
+
+    static void writeWork(DataOutput out, WorkSaved work) throws IOException {
+        out.writeLong(work.workId());
+        writeString(out, work.title());
+        writeString(out, work.isbn());
+        out.writeLong(work.creatorId() != null ? work.creatorId() : NO_CREATOR);
+        out.writeLong(work.version());
+    }
+
+    static WorkSaved readWork(DataInput in) throws IOException {
+        return new WorkSaved(in.readLong(), readString(in), readString(in), creatorOrNull(in.readLong()),
+                             in.readLong());
+    }
+
+    private static Long creatorOrNull(long creatorId) {
+        return creatorId == NO_CREATOR ? null : creatorId;
+    }
+
+    private static int maxStringSize(String value) {
+        return Integer.BYTES + (value == null ? 0 : value.length() * 3);
+    }
+
+    private static void putString(ByteBuffer target, String value) {
+        if (value == null) {
+            target.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        target.putInt(bytes.length);
+        target.put(bytes);
+    }
+
+    private static String getString(ByteBuffer source) {
+        int length = source.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,23 +1,33 @@
 package com.example.books_crud.model;
 
+import com.example.books_crud.collation.CollationKeyListener;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.LazyInitializationException;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
 
 import java.util.HashSet;
 import java.util.Set;
 
 /**
- * Entity representing a literary creator in the system
+ * Entity representing a literary creator in the system.
+ * <p>
+ * Creators are equal when they are the same row and share one hash code, like {@link Book}.
  */
 @Entity
-@Table(name = "literary_creator")
+@Table(name = "literary_creator",
+       indexes = @Index(name = "idx_creator_name_order", columnList = "name_sort_key, creator_id"))
+@EntityListeners(CollationKeyListener.class)
 @Getter
 @Setter
-@ToString(exclude = "literaryWorks")
+@ToString(exclude = {"literaryWorks", "biography", "nameSortKey"})
 @NoArgsConstructor
 @AllArgsConstructor
 public class Author {
@@ -29,14 +39,95 @@ public class Author {
     @Column(name = "full_name", nullable = false)
     private String name;
 
-    @Column(name = "biography", length = 2000)
-    private String bio;
+    /**
+     * Collation sort key of the name, set from it on every write
+     */
+    @Column(name = "name_sort_key", length = 1024)
+    private byte[] nameSortKey;
+
+    /**
+     * Loaded on the first {@link #getBio()}, so lists of creators carry only their
+     * ids and names. Every creator has one; a new creator starts with an empty one. Only
+     * a {@link #detachedCopy()} of a creator whose biography was never loaded has none.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @OneToOne(mappedBy = "creator", fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL)
+    private AuthorBiography biography = new AuthorBiography(this);
+
+    /**
+     * Checksum of the stored biography. Keeping it in the creator row makes a new
+     * biography a change of the creator, so it moves {@link #version} like any other edit.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "biography_checksum")
+    private Integer bioChecksum;
 
+    @Version
+    @Column(name = "row_version", nullable = false)
+    private long version;
+
+    /**
+     * Extra-lazy: {@code size()} and {@code contains()} run a query instead of loading
+     * every work, and {@code add}/{@code remove} are queued for the flush. Hibernate 6
+     * deprecates {@code @LazyCollection} but has no other way to ask for this.
+     */
+    @SuppressWarnings("deprecation")
+    @LazyCollection(LazyCollectionOption.EXTRA)
     @OneToMany(mappedBy = "creator", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Book> literaryWorks = new HashSet<>();
 
+    public void setCreatorId(Long creatorId) {
+        this.creatorId = creatorId;
+        if (biography != null && Hibernate.isInitialized(biography)) {
+            biography.setCreatorId(creatorId);
+        }
+    }
+
     /**
-     * Associates a literary work with this creator
+     * Biography text, inflated on first access; loads the biography row unless it is
+     * already loaded
+     */
+    public String getBio() {
+        if (biography == null) {
+            throw new LazyInitializationException("The biography of creator " + creatorId
+                                                          + " was not loaded before it was copied");
+        }
+        return biography.getText();
+    }
+
+    /**
+     * Replace the biography. On a detached creator whose biography was never loaded,
+     * a fresh one takes its place and overwrites the stored text on merge.
+     */
+    public void setBio(String bio) {
+        if (biography == null || !Hibernate.isInitialized(biography)) {
+            biography = new AuthorBiography(this);
+        }
+        biography.setText(bio);
+        bioChecksum = AuthorBiography.checksum(biography.getCompressedText());
+    }
+
+    /**
+     * Copy of the creator that belongs to no persistence context and shares no state
+     * with this one, for handing the same creator to several threads. It carries the
+     * biography only if it was loaded, and none of the works: the works collection is
+     * empty, look them up by creator instead.
+     */
+    public Author detachedCopy() {
+        Author copy = new Author();
+        copy.creatorId = getCreatorId();
+        copy.name = getName();
+        copy.nameSortKey = getNameSortKey();
+        copy.version = getVersion();
+        copy.bioChecksum = bioChecksum;
+        copy.biography = biography != null && Hibernate.isInitialized(biography) ? biography.copyFor(copy) : null;
+        return copy;
+    }
+
+    /**
+     * Associates a literary work with this creator; does not load the creator's other works
      */
     public void linkLiteraryWork(Book literaryWork) {
         literaryWorks.add(literaryWork);
@@ -44,10 +135,27 @@ public class Author {
     }
 
     /**
-     * Removes association between a literary work and this creator
+     * Removes association between a literary work and this creator; the work is then an
+     * orphan and is deleted on flush
      */
     public void unlinkLiteraryWork(Book literaryWork) {
         literaryWorks.remove(literaryWork);
         literaryWork.setCreator(null);
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || Hibernate.getClass(this) != Hibernate.getClass(other)) {
+            return false;
+        }
+        return creatorId != null && creatorId.equals(((Author) other).getCreatorId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Author.class.hashCode();
+    }
 }
@@ -0,0 +1,161 @@
+package com.example.books_crud.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Biography of a creator, kept apart from {@link Author} so that listing creators
+ * reads only their ids and names.
+ * <p>
+ * The text is stored deflated and only inflated the first time {@link #getText()} is
+ * called, i.e. when a page actually shows it. Short texts that deflate does not make
+ * smaller are stored as plain UTF-8; the first byte tells which.
+ */
+@Entity
+@Table(name = "creator_biography")
+@Getter(AccessLevel.PACKAGE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AuthorBiography {
+
+    private static final byte STORED = 0;
+    private static final byte DEFLATED = 1;
+
+    /**
+     * Same as the creator's id
+     */
+    @Id
+    @Column(name = "creator_id")
+    private Long creatorId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "creator_id")
+    private Author creator;
+
+    @Column(name = "compressed_text", length = 8000)
+    private byte[] compressedText;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private String text;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean inflated;
+
+    AuthorBiography(Author creator) {
+        this.creator = creator;
+        this.creatorId = creator.getCreatorId();
+        this.inflated = true;
+    }
+
+    /**
+     * Copy of this biography for a detached copy of its creator
+     */
+    AuthorBiography copyFor(Author copy) {
+        AuthorBiography biography = new AuthorBiography(copy);
+        biography.compressedText = compressedText;
+        biography.text = text;
+        biography.inflated = inflated;
+        return biography;
+    }
+
+    void setCreatorId(Long creatorId) {
+        this.creatorId = creatorId;
+    }
+
+    String getText() {
+        if (!inflated) {
+            text = decompress(compressedText);
+            inflated = true;
+        }
+        return text;
+    }
+
+    void setText(String text) {
+        this.text = text;
+        this.inflated = true;
+        this.compressedText = compress(text);
+    }
+
+    /**
+     * Encode a biography the way it is stored, for writers that bypass JPA
+     */
+    public static byte[] compress(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+            byte[] buffer = new byte[utf8.length];
+            int length = deflater.deflate(buffer);
+            if (!deflater.finished() || length >= utf8.length) {
+                return withMarker(STORED, utf8, utf8.length);
+            }
+            return withMarker(DEFLATED, buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decode a stored biography, for readers that bypass JPA
+     */
+    public static String decompress(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (stored[0] == STORED) {
+            return new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(stored, 1, stored.length - 1);
+            ByteArrayOutputStream utf8 = new ByteArrayOutputStream(stored.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated biography of " + stored.length + " bytes");
+                }
+                utf8.write(buffer, 0, length);
+            }
+            return utf8.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt biography", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Checksum of an encoded biography, kept on the creator row
+     */
+    public static Integer checksum(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(stored);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] withMarker(byte marker, byte[] content, int length) {
+        byte[] stored = new byte[length + 1];
+        stored[0] = marker;
+        System.arraycopy(content, 0, stored, 1, length);
+        return stored;
+    }
+}
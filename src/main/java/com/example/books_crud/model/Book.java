@@ -1,20 +1,27 @@
 package com.example.books_crud.model;
 
+import com.example.books_crud.collation.CollationKeyListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.Hibernate;
 
 /**
- * Entity representing a literary work in the system
+ * Entity representing a literary work in the system.
+ * <p>
+ * Works are equal when they are the same row. A new work is only equal to itself
+ * until it is saved. The hash code is the same for every work, so a work put into a
+ * hashed collection before it is saved can still be found there once it has its id.
  */
 @Entity
-@Table(name = "literary_work")
+@Table(name = "literary_work", indexes = @Index(name = "idx_work_title_order", columnList = "title_sort_key, work_id"))
+@EntityListeners(CollationKeyListener.class)
 @Getter
 @Setter
-@ToString(exclude = "creator")
+@ToString(exclude = {"creator", "titleSortKey"})
 @NoArgsConstructor
 @AllArgsConstructor
 public class Book {
@@ -30,6 +37,16 @@ public class Book {
     @Column(name = "international_code", unique = true)
     private String isbn;
 
+    /**
+     * Collation sort key of the title, set from it on every write
+     */
+    @Column(name = "title_sort_key", length = 1024)
+    private byte[] titleSortKey;
+
+    @Version
+    @Column(name = "row_version", nullable = false)
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "creator_id")
     private Author creator;
@@ -42,4 +59,34 @@ public class Book {
         this.isbn = internationalCode;
         this.creator = creator;
     }
+
+    /**
+     * Copy of the work and its creator that belongs to no persistence context and shares
+     * no state with this one, for handing the same work to several threads
+     */
+    public Book detachedCopy() {
+        Book copy = new Book(getTitle(), getIsbn(), getCreator() == null ? null : getCreator().detachedCopy());
+        copy.id = getId();
+        copy.titleSortKey = getTitleSortKey();
+        copy.version = getVersion();
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || Hibernate.getClass(this) != Hibernate.getClass(other)) {
+            return false;
+        }
+        // getId() answers from the proxy without loading it
+        return id != null && id.equals(((Book) other).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // Constant, as the id is assigned on save and equality follows it
+        return Book.class.hashCode();
+    }
 }
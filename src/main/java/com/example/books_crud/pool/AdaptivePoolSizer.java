@@ -0,0 +1,96 @@
+package com.example.books_crud.pool;
+
+/**
+ * Decides the pool size for the next interval from the usage in the last one.
+ * <p>
+ * When callers wait for connections the pool grows at once to the size the load asks for:
+ * by Little's law, the rate connections are requested at times the usual hold time is
+ * the number in use if none had to wait, and the pool adds its square root for the
+ * spread of random arrivals, or grows by one if it is that large already. Counting
+ * requests rather than borrows keeps the estimate from being capped by the pool that made
+ * callers wait. The pool does not grow if the connections are also held much longer than
+ * usual: then the database, not the pool, is the bottleneck, and more connections would
+ * only slow every query further, so the pool shrinks by one instead. A pool that had no
+ * waits for {@code shrinkAfter} intervals in a row shrinks by one, as long as it keeps
+ * room for the connections in use on average plus twice their square root, which covers
+ * the usual spread around the mean without waits. The usual hold time is
+ * a moving average over intervals without waits only: learning it while callers wait
+ * would take an overloaded database's query times as the norm and let the pool grow on.
+ * <p>
+ * Not thread-safe; the controller calls it from one thread.
+ */
+public class AdaptivePoolSizer {
+
+    private final int minSize;
+    private final int maxSize;
+    private final long targetWaitNanos;
+    private final double latencyTolerance;
+    private final int shrinkAfter;
+
+    private double usualHoldNanos;
+    private int quietIntervals;
+
+    public AdaptivePoolSizer(int minSize, int maxSize, long targetWaitNanos, double latencyTolerance,
+                             int shrinkAfter) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Pool size bounds must satisfy 1 <= min <= max, got "
+                                                       + minSize + " and " + maxSize);
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetWaitNanos = targetWaitNanos;
+        this.latencyTolerance = latencyTolerance;
+        this.shrinkAfter = shrinkAfter;
+    }
+
+    /**
+     * @return the pool size for the next interval, within the bounds
+     */
+    public int nextSize(int size, PoolWindow window) {
+        size = clamp(size);
+        boolean waiting = window.waitP95Nanos() > targetWaitNanos;
+        boolean slow = usualHoldNanos > 0 && window.meanHoldNanos() > usualHoldNanos * latencyTolerance;
+        if (waiting) {
+            quietIntervals = 0;
+            return slow ? clamp(size - 1) : clamp(Math.max(size + 1, sizeFor(window)));
+        }
+        if (window.meanHoldNanos() > 0) {
+            usualHoldNanos = usualHoldNanos == 0 ? window.meanHoldNanos()
+                    : usualHoldNanos + (window.meanHoldNanos() - usualHoldNanos) * 0.2;
+        }
+        if (size - 1 < headroomFor(window.meanInUse())) {
+            quietIntervals = 0;
+            return size;
+        }
+        if (++quietIntervals < shrinkAfter) {
+            return size;
+        }
+        quietIntervals = 0;
+        return clamp(size - 1);
+    }
+
+    /**
+     * Moving average of how long connections are held, in nanoseconds
+     */
+    public double usualHoldNanos() {
+        return usualHoldNanos;
+    }
+
+    /**
+     * Connections needed to serve the requests in the window at the usual hold time, or at
+     * the window's own before the usual time is known
+     */
+    private int sizeFor(PoolWindow window) {
+        double holdNanos = usualHoldNanos > 0 ? usualHoldNanos : window.meanHoldNanos();
+        double inUse = window.requestRate() * holdNanos / 1e9;
+        return (int) Math.ceil(inUse + Math.sqrt(inUse));
+    }
+
+    private static double headroomFor(double meanInUse) {
+        return meanInUse + 2 * Math.sqrt(meanInUse);
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+}
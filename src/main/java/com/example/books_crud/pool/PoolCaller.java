@@ -0,0 +1,65 @@
+package com.example.books_crud.pool;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Names the service call on the current thread, which the connections it borrows are
+ * attributed to. The outermost call wins, so a service calling another is one caller.
+ */
+public class PoolCaller implements MethodInterceptor {
+
+    /**
+     * Caller of connections borrowed outside any service call
+     */
+    public static final String OTHER = "other";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (CURRENT.get() != null) {
+            return invocation.proceed();
+        }
+        CURRENT.set(invocation.getMethod().getDeclaringClass().getSimpleName() + "."
+                            + invocation.getMethod().getName());
+        try {
+            return invocation.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Service call running on this thread, or {@link #OTHER}
+     */
+    public static String current() {
+        String caller = CURRENT.get();
+        return caller == null ? OTHER : caller;
+    }
+
+    /**
+     * Wrap a task handed to another thread so the connections it borrows count towards the current caller
+     */
+    public static <T> Callable<T> carryOver(Callable<T> task) {
+        String caller = CURRENT.get();
+        if (caller == null) {
+            return task;
+        }
+        return () -> {
+            String previous = CURRENT.get();
+            CURRENT.set(caller);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+}
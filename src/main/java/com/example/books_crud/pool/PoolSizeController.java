@@ -0,0 +1,178 @@
+package com.example.books_crud.pool;
+
+import com.example.books_crud.datasource.PoolDecorator;
+import com.example.books_crud.warmup.CatalogWarmup;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Resizes each connection pool every {@code catalog.pool-sizing.interval} as its own
+ * {@link AdaptivePoolSizer} decides from the connections borrowed since the last time.
+ * <p>
+ * As a {@link PoolDecorator} it puts a {@link PoolWaitDataSource} on every pool the
+ * application borrows from, the primary and each read replica or shard, so waits are
+ * timed and pools sized underneath any routing.
+ * <p>
+ * Hikari applies a larger maximum at once and opens connections as callers wait for
+ * them. A smaller one takes effect as connections go idle: the minimum idle count is
+ * lowered with it, so idle connections above the new size are closed after the pool's
+ * idle timeout.
+ * <p>
+ * Connections borrowed while the application starts, for the schema, seed data, the
+ * first connections opened and the warm-up, say nothing about the load; the first
+ * interval starts once the application is ready, after the warm-up.
+ */
+public class PoolSizeController implements PoolDecorator, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PoolSizeController.class);
+
+    private final Supplier<AdaptivePoolSizer> sizers;
+    private final Duration maximumExpectedWait;
+    private final Map<String, SizedPool> pools = new LinkedHashMap<>();
+    private MeterRegistry registry;
+
+    /**
+     * @param sizers              creates the sizing policy for each pool
+     * @param maximumExpectedWait longest a caller can wait, the pools' connection timeout; bounds the histograms
+     */
+    public PoolSizeController(Supplier<AdaptivePoolSizer> sizers, Duration maximumExpectedWait) {
+        this.sizers = sizers;
+        this.maximumExpectedWait = maximumExpectedWait;
+    }
+
+    @Override
+    public synchronized DataSource decorate(String poolName, HikariDataSource pool, DataSource dataSource) {
+        SizedPool sized = new SizedPool(poolName, new PoolWaitRecorder(poolName, maximumExpectedWait),
+                                        sizers.get(), pool.getHikariConfigMXBean());
+        pools.put(poolName, sized);
+        if (registry != null) {
+            sized.bindTo(registry);
+        }
+        return new PoolWaitDataSource(dataSource, sized.recorder);
+    }
+
+    @Order(CatalogWarmup.AFTER_WARMUP)
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMeasuring() {
+        sizedPools().forEach(pool -> pool.recorder.drain());
+    }
+
+    @Scheduled(initialDelayString = "${catalog.pool-sizing.interval:5s}",
+               fixedDelayString = "${catalog.pool-sizing.interval:5s}")
+    public void resize() {
+        sizedPools().forEach(SizedPool::resize);
+    }
+
+    /**
+     * Maximum size of the named pool
+     */
+    public int size(String poolName) {
+        SizedPool pool;
+        synchronized (this) {
+            pool = pools.get(poolName);
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("No connection pool named " + poolName);
+        }
+        return pool.size();
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        pools.values().forEach(pool -> pool.bindTo(registry));
+    }
+
+    private synchronized List<SizedPool> sizedPools() {
+        return List.copyOf(pools.values());
+    }
+
+    /**
+     * One pool with its wait recorder, sizing policy and meters
+     */
+    private static final class SizedPool {
+
+        private final String name;
+        private final PoolWaitRecorder recorder;
+        private final AdaptivePoolSizer sizer;
+        private final HikariConfigMXBean pool;
+        private final int configuredMinimumIdle;
+        private volatile Counter grown;
+        private volatile Counter shrunk;
+
+        SizedPool(String name, PoolWaitRecorder recorder, AdaptivePoolSizer sizer, HikariConfigMXBean pool) {
+            this.name = name;
+            this.recorder = recorder;
+            this.sizer = sizer;
+            this.pool = pool;
+            this.configuredMinimumIdle = pool.getMinimumIdle();
+        }
+
+        void resize() {
+            PoolWindow window = recorder.drain();
+            int size = pool.getMaximumPoolSize();
+            int next = sizer.nextSize(size, window);
+            if (next == size) {
+                return;
+            }
+            if (next > size) {
+                pool.setMaximumPoolSize(next);
+                pool.setMinimumIdle(Math.min(configuredMinimumIdle, next));
+                if (grown != null) {
+                    grown.increment();
+                }
+            } else {
+                pool.setMinimumIdle(Math.min(configuredMinimumIdle, next));
+                pool.setMaximumPoolSize(next);
+                if (shrunk != null) {
+                    shrunk.increment();
+                }
+            }
+            logger.info("Resized connection pool {} from {} to {}: {} borrows ({} requested per second), p95 wait "
+                                + "{} µs, mean hold {} µs (usually {} µs), {} in use on average and {} at most",
+                        name, size, next, window.borrows(), String.format("%.1f", window.requestRate()),
+                        window.waitP95Nanos() / 1_000, window.meanHoldNanos() / 1_000,
+                        Math.round(sizer.usualHoldNanos() / 1_000), String.format("%.1f", window.meanInUse()),
+                        window.peakInUse());
+        }
+
+        int size() {
+            return pool.getMaximumPoolSize();
+        }
+
+        void bindTo(MeterRegistry registry) {
+            recorder.bindTo(registry);
+            Gauge.builder("catalog.pool.size", this, SizedPool::size)
+                    .description("Maximum size of the connection pool set by the sizing controller")
+                    .tag("pool", name)
+                    .register(registry);
+            grown = Counter.builder("catalog.pool.resizes")
+                    .description("Times the sizing controller resized the connection pool")
+                    .tag("pool", name)
+                    .tag("direction", "grow")
+                    .register(registry);
+            shrunk = Counter.builder("catalog.pool.resizes")
+                    .description("Times the sizing controller resized the connection pool")
+                    .tag("pool", name)
+                    .tag("direction", "shrink")
+                    .register(registry);
+        }
+    }
+}
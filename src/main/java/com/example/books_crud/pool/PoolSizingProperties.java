@@ -0,0 +1,29 @@
+package com.example.books_crud.pool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the adaptive sizing of the connection pool ({@code catalog.pool-sizing.*})
+ *
+ * @param enabled          whether connection waits are recorded and the pools are resized
+ * @param minSize          smallest maximum pool size the controller sets
+ * @param maxSize          largest maximum pool size the controller sets
+ * @param interval         how often each pool is resized, from the connections borrowed since the last time
+ * @param targetWait       95th percentile wait for a connection above which the pool grows
+ * @param latencyTolerance how many times their usual time connections may be held before growing the pool
+ *                         is taken to overload the database, and the pool shrinks instead
+ * @param shrinkAfter      intervals without waits and with connections to spare before the pool shrinks
+ */
+@ConfigurationProperties(prefix = "catalog.pool-sizing")
+public record PoolSizingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2") int minSize,
+        @DefaultValue("20") int maxSize,
+        @DefaultValue("5s") Duration interval,
+        @DefaultValue("2ms") Duration targetWait,
+        @DefaultValue("1.5") double latencyTolerance,
+        @DefaultValue("6") int shrinkAfter) {
+}
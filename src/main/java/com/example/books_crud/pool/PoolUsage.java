@@ -0,0 +1,91 @@
+package com.example.books_crud.pool;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection requests, waits and hold times since the last {@link #drain(long)}, cheap enough to
+ * record on every borrow. Waits go into power-of-two buckets; a percentile is placed
+ * within its bucket as if the bucket's waits were spread evenly between its bounds.
+ */
+public class PoolUsage {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder[] waitBuckets = new LongAdder[64];
+    private final LongAdder held = new LongAdder();
+    private final LongAdder holdNanos = new LongAdder();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+
+    public PoolUsage() {
+        for (int i = 0; i < waitBuckets.length; i++) {
+            waitBuckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * A caller asked for a connection
+     */
+    public void requested() {
+        requests.increment();
+    }
+
+    /**
+     * A connection was handed out after the caller waited this long
+     */
+    public void acquired(long waitNanos) {
+        waitBuckets[bucketOf(waitNanos)].increment();
+        peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * A connection went back to the pool after being held this long
+     */
+    public void released(long heldNanos) {
+        inUse.decrementAndGet();
+        held.increment();
+        holdNanos.add(heldNanos);
+    }
+
+    /**
+     * Usage since the last call, starting a new interval
+     *
+     * @param elapsedNanos how long ago the last call was
+     */
+    public PoolWindow drain(long elapsedNanos) {
+        long[] counts = new long[waitBuckets.length];
+        long borrows = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = waitBuckets[i].sumThenReset();
+            borrows += counts[i];
+        }
+        long waitP95 = 0;
+        long rank = (borrows * 95 + 99) / 100;
+        long seen = 0;
+        for (int i = 0; i < counts.length && borrows > 0; i++) {
+            if (seen + counts[i] >= rank) {
+                // Spread the bucket's waits evenly between its bounds
+                long lower = i == 0 ? 0 : 1L << (i - 1);
+                long upper = i == 0 ? 0 : 1L << i;
+                waitP95 = lower + Math.round((upper - lower) * (double) (rank - seen) / counts[i]);
+                break;
+            }
+            seen += counts[i];
+        }
+        long requested = requests.sumThenReset();
+        double requestRate = elapsedNanos <= 0 ? 0 : requested * 1e9 / elapsedNanos;
+        long returned = held.sumThenReset();
+        long totalHold = holdNanos.sumThenReset();
+        long meanHold = returned == 0 ? 0 : totalHold / returned;
+        double meanInUse = elapsedNanos <= 0 ? 0 : (double) totalHold / elapsedNanos;
+        int peak = peakInUse.getAndSet(inUse.get());
+        return new PoolWindow(borrows, requestRate, waitP95, meanHold, meanInUse, peak);
+    }
+
+    /**
+     * Bucket 0 holds waits of at most a nanosecond, bucket i those over 2^(i-1) and up to 2^i nanoseconds
+     */
+    private static int bucketOf(long nanos) {
+        return nanos <= 0 ? 0 : Math.min(63, 64 - Long.numberOfLeadingZeros(nanos - 1));
+    }
+}
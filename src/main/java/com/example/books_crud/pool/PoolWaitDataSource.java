@@ -0,0 +1,80 @@
+package com.example.books_crud.pool;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Times how long each caller waits for a connection of one pool and how long it holds
+ * it, for the per-caller wait histograms and the pool sizing controller. Closing it
+ * closes the pool.
+ */
+public class PoolWaitDataSource extends DelegatingDataSource implements Closeable {
+
+    private final PoolWaitRecorder recorder;
+
+    public PoolWaitDataSource(DataSource target, PoolWaitRecorder recorder) {
+        super(target);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        recorder.requested();
+        long startedAt = System.nanoTime();
+        return timed(obtainTargetDataSource().getConnection(), startedAt);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        recorder.requested();
+        long startedAt = System.nanoTime();
+        return timed(obtainTargetDataSource().getConnection(username, password), startedAt);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable pool) {
+            pool.close();
+        }
+    }
+
+    private Connection timed(Connection connection, long requestedAt) {
+        long acquiredAt = System.nanoTime();
+        recorder.acquired(PoolCaller.current(), acquiredAt - requestedAt);
+        boolean[] released = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                                                   new Class<?>[]{ConnectionProxy.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pool wait proxy for " + connection;
+                case "getTargetConnection":
+                    return connection;
+                case "close":
+                    if (!released[0]) {
+                        released[0] = true;
+                        recorder.released(System.nanoTime() - acquiredAt);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        });
+    }
+}
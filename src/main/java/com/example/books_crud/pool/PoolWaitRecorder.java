@@ -0,0 +1,74 @@
+package com.example.books_crud.pool;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records one pool's connection waits per caller as the {@code catalog.pool.wait} timer,
+ * tagged with the pool and the service call that borrowed the connection and published
+ * as a histogram, and feeds every borrow into the {@link PoolUsage} the sizing controller
+ * reads
+ */
+public class PoolWaitRecorder implements MeterBinder {
+
+    private final PoolUsage usage = new PoolUsage();
+    private final String pool;
+    private final Duration maximumExpectedWait;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+    private long lastDrain = System.nanoTime();
+
+    /**
+     * @param pool                name of the pool the waits are for
+     * @param maximumExpectedWait longest a caller can wait, the pool's connection timeout; bounds the histogram
+     */
+    public PoolWaitRecorder(String pool, Duration maximumExpectedWait) {
+        this.pool = pool;
+        this.maximumExpectedWait = maximumExpectedWait;
+    }
+
+    void requested() {
+        usage.requested();
+    }
+
+    void acquired(String caller, long waitNanos) {
+        usage.acquired(waitNanos);
+        MeterRegistry meters = registry;
+        if (meters != null) {
+            timers.computeIfAbsent(caller, name -> Timer.builder("catalog.pool.wait")
+                            .description("Time callers waited for a database connection")
+                            .tag("pool", pool)
+                            .tag("caller", name)
+                            .publishPercentileHistogram()
+                            .minimumExpectedValue(Duration.ofNanos(1_000))
+                            .maximumExpectedValue(maximumExpectedWait)
+                            .register(meters))
+                    .record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void released(long heldNanos) {
+        usage.released(heldNanos);
+    }
+
+    /**
+     * Usage since the last call, starting a new interval
+     */
+    public synchronized PoolWindow drain() {
+        long now = System.nanoTime();
+        PoolWindow window = usage.drain(now - lastDrain);
+        lastDrain = now;
+        return window;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+}
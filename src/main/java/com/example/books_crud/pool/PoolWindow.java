@@ -0,0 +1,14 @@
+package com.example.books_crud.pool;
+
+/**
+ * Connection pool usage over one sizing interval
+ *
+ * @param borrows       connections handed out
+ * @param requestRate   connections asked for per second, by callers served or still waiting
+ * @param waitP95Nanos  95th percentile of the time callers waited for a connection, interpolated within a power of two
+ * @param meanHoldNanos mean time connections returned in the interval were held
+ * @param meanInUse     connections held on average over the interval
+ * @param peakInUse     most connections held at once
+ */
+public record PoolWindow(long borrows, double requestRate, long waitP95Nanos, long meanHoldNanos, double meanInUse, int peakInUse) {
+}
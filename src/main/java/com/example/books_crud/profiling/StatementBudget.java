@@ -0,0 +1,21 @@
+package com.example.books_crud.profiling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL statements one request to the annotated handler may execute, view rendering included.
+ * <p>
+ * Going over budget is logged and counted; with {@code catalog.statement-profiling.enforce-budgets=true}
+ * (as in the tests) the statement that goes over fails with a {@link StatementBudgetExceededException}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    int value();
+}
@@ -0,0 +1,11 @@
+package com.example.books_crud.profiling;
+
+/**
+ * A handler tried to execute more statements than its {@link StatementBudget} allows
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(String handler, int budget, String sql) {
+        super(handler + " exceeded its budget of " + budget + " statements with: " + sql);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.books_crud.profiling;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statements, rows and statement time of the request running on the current thread,
+ * attributed to its controller handler.
+ * <p>
+ * Work the request hands to other threads (search legs, shard scatter) is counted
+ * towards the same profile when the task is wrapped with {@link #carryOver}.
+ */
+public final class StatementProfile {
+
+    private static final ThreadLocal<StatementProfile> CURRENT = new ThreadLocal<>();
+
+    private final String handler;
+    private final int budget;
+    private final boolean enforceBudget;
+    private final AtomicInteger statements = new AtomicInteger();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    StatementProfile(String handler, int budget, boolean enforceBudget) {
+        this.handler = handler;
+        this.budget = budget;
+        this.enforceBudget = enforceBudget;
+    }
+
+    /**
+     * Attribute the statements of this thread to a new profile until the returned scope is closed
+     *
+     * @param budget most statements allowed, or 0 for no budget
+     */
+    static Scope begin(String handler, int budget, boolean enforceBudget) {
+        return attach(new StatementProfile(handler, budget, enforceBudget));
+    }
+
+    private static Scope attach(StatementProfile profile) {
+        StatementProfile previous = CURRENT.get();
+        CURRENT.set(profile);
+        return new Scope(profile, previous);
+    }
+
+    /**
+     * Profile of the current request, or {@code null} outside one
+     */
+    static StatementProfile current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Wrap a task handed to another thread so its statements count towards the current request
+     */
+    public static <T> Callable<T> carryOver(Callable<T> task) {
+        StatementProfile profile = CURRENT.get();
+        if (profile == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = attach(profile)) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Count a statement about to execute
+     *
+     * @throws StatementBudgetExceededException when it goes over an enforced budget
+     */
+    void beforeExecution(String sql) {
+        int executed = statements.incrementAndGet();
+        if (enforceBudget && budget > 0 && executed > budget) {
+            throw new StatementBudgetExceededException(handler, budget, sql);
+        }
+    }
+
+    void afterExecution(long elapsedNanos, long affectedRows) {
+        nanos.add(elapsedNanos);
+        rows.add(affectedRows);
+    }
+
+    void rowRead() {
+        rows.increment();
+    }
+
+    public String handler() {
+        return handler;
+    }
+
+    public int budget() {
+        return budget;
+    }
+
+    public int statements() {
+        return statements.get();
+    }
+
+    public long rows() {
+        return rows.sum();
+    }
+
+    public long nanos() {
+        return nanos.sum();
+    }
+
+    public boolean overBudget() {
+        return budget > 0 && statements.get() > budget;
+    }
+
+    static final class Scope implements AutoCloseable {
+
+        private final StatementProfile profile;
+        private final StatementProfile previous;
+
+        private Scope(StatementProfile profile, StatementProfile previous) {
+            this.profile = profile;
+            this.previous = previous;
+        }
+
+        StatementProfile profile() {
+            return profile;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.books_crud.profiling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Times every statement executed on its connections and counts the rows it returned
+ * or changed, for the {@link StatementProfile} of the current request.
+ * <p>
+ * Statements at or above the slow threshold are logged with their bind parameters
+ * and the handler they ran for, whether or not a request is being profiled.
+ */
+public class StatementProfilingDataSource extends DelegatingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementProfilingDataSource.class);
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTIONS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    private final long slowThresholdNanos;
+
+    public StatementProfilingDataSource(DataSource target, Duration slowThreshold) {
+        super(target);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profiled(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profiled(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection profiled(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                                                   new Class<?>[]{ConnectionProxy.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Statement profiling proxy for " + connection;
+                case "getTargetConnection":
+                    return connection;
+                default:
+                    break;
+            }
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && STATEMENT_FACTORIES.contains(method.getName())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return profiled(statement, sql);
+            }
+            return result;
+        });
+    }
+
+    private Statement profiled(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                                                  new StatementHandler(statement, preparedSql));
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        private StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            }
+            if (!EXECUTIONS.contains(name)) {
+                Object result = StatementProfilingDataSource.invoke(statement, method, args);
+                return result instanceof ResultSet resultSet && name.equals("getResultSet")
+                        ? counted(resultSet, StatementProfile.current()) : result;
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            StatementProfile profile = StatementProfile.current();
+            if (profile != null) {
+                profile.beforeExecution(sql);
+            }
+            long start = System.nanoTime();
+            Object result = StatementProfilingDataSource.invoke(statement, method, args);
+            long elapsed = System.nanoTime() - start;
+            if (profile != null) {
+                profile.afterExecution(elapsed, affectedRows(result));
+            }
+            if (elapsed >= slowThresholdNanos) {
+                logger.warn("Slow statement ({} ms) in {}: {} with parameters {}", elapsed / 1_000_000,
+                            profile != null ? profile.handler() : "no request", sql, describe(parameters));
+            }
+            return result instanceof ResultSet resultSet ? counted(resultSet, profile) : result;
+        }
+    }
+
+    private static ResultSet counted(ResultSet resultSet, StatementProfile profile) {
+        if (profile == null) {
+            return resultSet;
+        }
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                                                  (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = invoke(resultSet, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                profile.rowRead();
+            }
+            return result;
+        });
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(0, count);
+        }
+        if (result instanceof Long count) {
+            return Math.max(0, count);
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                total += Math.max(0, count);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                total += Math.max(0, count);
+            }
+        }
+        return total;
+    }
+
+    private static String describe(Map<Integer, Object> parameters) {
+        StringBuilder description = new StringBuilder("[");
+        parameters.forEach((index, value) -> {
+            String text = value instanceof String string ? "'" + string + "'" : String.valueOf(value);
+            if (text.length() > MAX_PARAMETER_LENGTH) {
+                text = text.substring(0, MAX_PARAMETER_LENGTH) + "...";
+            }
+            description.append(description.length() > 1 ? ", " : "").append(index).append('=').append(text);
+        });
+        return description.append(']').toString();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
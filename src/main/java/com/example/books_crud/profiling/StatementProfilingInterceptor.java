@@ -0,0 +1,89 @@
+package com.example.books_crud.profiling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link StatementProfile} for every request that reaches a controller method
+ * and publishes it when the request completes, view rendering included.
+ * <p>
+ * Handlers are named {@code Controller.method}. Per handler, the statements, rows and
+ * statement time of each request go to {@code catalog.request.statements},
+ * {@code catalog.request.rows} and {@code catalog.request.statement-time}; requests
+ * that went over their {@link StatementBudget} are counted in
+ * {@code catalog.statement-budget.exceeded} and logged.
+ */
+public class StatementProfilingInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementProfilingInterceptor.class);
+
+    private static final String SCOPE_ATTRIBUTE = StatementProfilingInterceptor.class.getName() + ".scope";
+
+    private final MeterRegistry registry;
+    private final boolean enforceBudgets;
+
+    public StatementProfilingInterceptor(MeterRegistry registry, boolean enforceBudgets) {
+        this.registry = registry;
+        this.enforceBudgets = enforceBudgets;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method && request.getAttribute(SCOPE_ATTRIBUTE) == null) {
+            StatementBudget budget = method.getMethodAnnotation(StatementBudget.class);
+            String name = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+            request.setAttribute(SCOPE_ATTRIBUTE,
+                                 StatementProfile.begin(name, budget != null ? budget.value() : 0, enforceBudgets));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception exception) {
+        if (!(request.getAttribute(SCOPE_ATTRIBUTE) instanceof StatementProfile.Scope scope)) {
+            return;
+        }
+        request.removeAttribute(SCOPE_ATTRIBUTE);
+        scope.close();
+        StatementProfile profile = scope.profile();
+        String handlerName = profile.handler();
+        DistributionSummary.builder("catalog.request.statements")
+                .description("SQL statements executed per request")
+                .tag("handler", handlerName)
+                .register(registry)
+                .record(profile.statements());
+        DistributionSummary.builder("catalog.request.rows")
+                .description("Rows read or changed per request")
+                .tag("handler", handlerName)
+                .register(registry)
+                .record(profile.rows());
+        Timer.builder("catalog.request.statement-time")
+                .description("Time spent executing SQL statements per request")
+                .tag("handler", handlerName)
+                .register(registry)
+                .record(profile.nanos(), TimeUnit.NANOSECONDS);
+        if (profile.overBudget()) {
+            Counter.builder("catalog.statement-budget.exceeded")
+                    .description("Requests that executed more statements than their handler's budget")
+                    .tag("handler", handlerName)
+                    .register(registry)
+                    .increment();
+            logger.warn("{} executed {} statements, over its budget of {}", handlerName, profile.statements(),
+                        profile.budget());
+        } else {
+            logger.debug("{} executed {} statements reading or changing {} rows in {} ms", handlerName,
+                         profile.statements(), profile.rows(), profile.nanos() / 1_000_000);
+        }
+    }
+}
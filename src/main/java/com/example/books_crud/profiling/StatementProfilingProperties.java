@@ -0,0 +1,20 @@
+package com.example.books_crud.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Attribution of SQL statements to the controller handler that caused them ({@code catalog.statement-profiling.*})
+ *
+ * @param enabled        whether statements are counted per request
+ * @param slowThreshold  statements running at least this long are logged with their bind parameters
+ * @param enforceBudgets whether a handler going over its {@link StatementBudget} fails instead of only being logged
+ */
+@ConfigurationProperties(prefix = "catalog.statement-profiling")
+public record StatementProfilingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("200ms") Duration slowThreshold,
+        @DefaultValue("false") boolean enforceBudgets) {
+}
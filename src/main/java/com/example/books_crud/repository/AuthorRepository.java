@@ -1,17 +1,38 @@
 package com.example.books_crud.repository;
 
+import com.example.books_crud.budget.Uncapped;
 import com.example.books_crud.model.Author;
+import com.example.books_crud.sharding.ShardKey;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for managing literary creator data access
  */
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, Long> {
+
+    /**
+     * Find a creator with their biography, in one query; lists of creators leave the biography unloaded
+     */
+    @Override
+    @EntityGraph(attributePaths = "biography")
+    Optional<Author> findById(Long creatorId);
+
+    /**
+     * Every creator, for the creator choices of the work forms; not cut off at the row cap
+     */
+    @Override
+    @Uncapped
+    List<Author> findAll();
     
     /**
      * Find literary creators by name containing the specified text
@@ -19,13 +40,36 @@ public interface AuthorRepository extends JpaRepository<Author, Long> {
     List<Author> findByNameContainingIgnoreCase(String nameFragment);
     
     /**
-     * Find literary creators by biography containing the specified text
+     * First page of the creator directory in collated name order
      */
-    List<Author> findByBioContainingIgnoreCase(String bioFragment);
-    
+    List<Author> findByOrderByNameSortKeyAscCreatorIdAsc(Limit limit);
+
+    /**
+     * Keyset page of the creator directory in collated name order: the next creators after
+     * the given sort key and id, read off the (name sort key, id) index
+     */
+    @Query("SELECT a FROM Author a WHERE a.nameSortKey > :sortKey "
+            + "OR (a.nameSortKey = :sortKey AND a.creatorId > :afterCreatorId) ORDER BY a.nameSortKey, a.creatorId")
+    List<Author> findAfterNameSortKey(@Param("sortKey") byte[] sortKey, @Param("afterCreatorId") Long afterCreatorId,
+                                      Limit limit);
+
     /**
      * Count literary creators with works greater than the specified count
      */
     @Query("SELECT COUNT(a) FROM Author a WHERE SIZE(a.literaryWorks) > ?1")
     long countCreatorsWithMultipleWorks(int workCount);
+
+    /**
+     * Delete a creator's biography in one statement, before the creator row
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM AuthorBiography b WHERE b.creatorId = :creatorId")
+    int deleteBiographyByCreatorId(@ShardKey @Param("creatorId") Long creatorId);
+
+    /**
+     * Delete a creator row in one statement; their works and biography must already be gone
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Author a WHERE a.creatorId = :creatorId")
+    int deleteCreatorById(@ShardKey @Param("creatorId") Long creatorId);
 }
\ No newline at end of file
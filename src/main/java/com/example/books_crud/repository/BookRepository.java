@@ -1,18 +1,43 @@
 package com.example.books_crud.repository;
 
+import com.example.books_crud.budget.Uncapped;
 import com.example.books_crud.model.Book;
+import com.example.books_crud.sharding.ShardKey;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for managing literary work data access
  */
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
+
+    /**
+     * Find a literary work with its creator loaded, so it stays usable once detached
+     */
+    @Override
+    @EntityGraph(attributePaths = "creator")
+    Optional<Book> findById(Long workId);
+
+    /**
+     * Retrieve all literary works with their creators loaded
+     */
+    @Override
+    @EntityGraph(attributePaths = "creator")
+    List<Book> findAll();
     
     /**
      * Custom query to retrieve literary works with their creator information
@@ -23,16 +48,85 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     /**
      * Find literary works containing the given title substring
      */
+    @EntityGraph(attributePaths = "creator")
     List<Book> findByTitleContainingIgnoreCase(String titleFragment);
+
+    /**
+     * Keyset page of the catalog: the next works after the given id, in id order
+     */
+    @EntityGraph(attributePaths = "creator")
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long afterWorkId, Limit limit);
+
+    /**
+     * First page of the catalog in collated title order
+     */
+    @EntityGraph(attributePaths = "creator")
+    List<Book> findByOrderByTitleSortKeyAscIdAsc(Limit limit);
+
+    /**
+     * Keyset page of the catalog in collated title order: the next works after the given
+     * sort key and id, read off the (title sort key, id) index
+     */
+    @EntityGraph(attributePaths = "creator")
+    @Query("SELECT w FROM Book w WHERE w.titleSortKey > :sortKey OR (w.titleSortKey = :sortKey AND w.id > :afterWorkId) "
+            + "ORDER BY w.titleSortKey, w.id")
+    List<Book> findAfterTitleSortKey(@Param("sortKey") byte[] sortKey, @Param("afterWorkId") Long afterWorkId,
+                                     Limit limit);
+
+    /**
+     * Every work after the given id with its creator, in id order, as plain column values
+     * (id, title, ISBN, creator id, creator name, version) for streaming out without entities
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT w.id, w.title, w.isbn, c.creatorId, c.name, w.version FROM Book w LEFT JOIN w.creator c "
+            + "WHERE w.id > :afterWorkId ORDER BY w.id")
+    Stream<Object[]> streamCatalogRowsAfter(@Param("afterWorkId") long afterWorkId);
+
+    /**
+     * Keyset page of a title search: the next matching works after the given id, in id order
+     */
+    @EntityGraph(attributePaths = "creator")
+    List<Book> findByTitleContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(String titleFragment, Long afterWorkId,
+                                                                          Limit limit);
     
     /**
-     * Find literary works by ISBN code
+     * Find a literary work by ISBN code, with its creator loaded
      */
+    @EntityGraph(attributePaths = "creator")
     Book findByIsbn(String isbnCode);
     
     /**
      * Find all literary works by a specific creator ID
      */
-    @Query("SELECT w FROM Book w WHERE w.creator.creatorId = :creatorId")
-    List<Book> findAllWorksByCreatorId(@Param("creatorId") Long creatorId);
+    @Query("SELECT w FROM Book w JOIN FETCH w.creator WHERE w.creator.creatorId = :creatorId")
+    List<Book> findAllWorksByCreatorId(@ShardKey @Param("creatorId") Long creatorId);
+
+    /**
+     * Delete all works of a creator in one statement, without loading them
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Book w WHERE w.creator.creatorId = :creatorId")
+    int deleteAllWorksByCreatorId(@ShardKey @Param("creatorId") Long creatorId);
+
+    /**
+     * Ids of the given works that exist, all of them; no longer than the ids passed in
+     */
+    @Uncapped
+    @Query("SELECT w.id FROM Book w WHERE w.id IN :workIds")
+    List<Long> findExistingWorkIds(@ShardKey @Param("workIds") Collection<Long> workIds);
+
+    /**
+     * Delete the given works in one statement, without loading them
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Book w WHERE w.id IN :workIds")
+    int deleteAllWorksByIdIn(@ShardKey @Param("workIds") Collection<Long> workIds);
+
+    /**
+     * Delete a work only if it belongs to the given creator
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Book w WHERE w.id = :workId AND w.creator.creatorId = :creatorId")
+    int deleteWorkOfCreator(@ShardKey @Param("creatorId") Long creatorId, @Param("workId") Long workId);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.books_crud.repository;
+
+import org.aopalliance.intercept.MethodInterceptor;
+
+/**
+ * Around advice applied to every repository proxy, outside Spring Data's own
+ * transaction and query handling.
+ * <p>
+ * Advice beans of this type are picked up by
+ * {@link com.example.books_crud.config.RepositoryAdviceConfig} and wrapped around the
+ * repositories in {@link org.springframework.core.annotation.Order @Order} of their
+ * class: the lowest order runs outermost.
+ */
+public interface RepositoryAdvice extends MethodInterceptor {
+}
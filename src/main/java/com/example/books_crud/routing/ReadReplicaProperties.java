@@ -0,0 +1,38 @@
+package com.example.books_crud.routing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for routing read-only transactions to replicas ({@code catalog.read-replicas.*})
+ *
+ * @param enabled              whether read-only transactions may use the replicas
+ * @param nodes                replica databases, each with its own connection pool
+ * @param readYourWritesWindow how long a client that wrote keeps reading from the primary
+ * @param healthCheckQuery     probe a replica must answer to receive reads; it should touch the catalog schema
+ * @param healthCheckTimeout   how long a probe may take before the replica counts as down
+ */
+@ConfigurationProperties(prefix = "catalog.read-replicas")
+public record ReadReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        List<Node> nodes,
+        @DefaultValue("5s") Duration readYourWritesWindow,
+        @DefaultValue("SELECT COUNT(*) FROM literary_work WHERE 1 = 0") String healthCheckQuery,
+        @DefaultValue("1s") Duration healthCheckTimeout) {
+
+    public ReadReplicaProperties {
+        nodes = nodes == null ? List.of() : nodes;
+    }
+
+    /**
+     * @param url             JDBC URL of the replica
+     * @param username        replica user
+     * @param password        replica password
+     * @param maximumPoolSize connections kept for this replica
+     */
+    public record Node(String url, String username, String password, @DefaultValue("10") int maximumPoolSize) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.books_crud.routing;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Per-thread record of whether the current client must read from the primary.
+ * <p>
+ * A client is pinned while it is inside its read-your-writes window (signalled by
+ * a cookie) and from the moment one of its own writes commits, so it never reads
+ * a replica that may not have caught up with that write yet.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<State> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Whether reads on this thread have to go to the primary
+     */
+    public static boolean pinnedToPrimary() {
+        State state = CURRENT.get();
+        return state != null && state.pinned;
+    }
+
+    /**
+     * Wrap a task handed to another thread so its reads keep the current client's pinning
+     */
+    public static <T> Callable<T> carryOver(Callable<T> task) {
+        boolean pinned = pinnedToPrimary();
+        return () -> {
+            try (Scope ignored = begin(null, pinned)) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Track the client served by this thread until the returned scope is closed
+     */
+    static Scope begin(HttpServletResponse response, boolean pinned) {
+        State previous = CURRENT.get();
+        State state = new State(response);
+        state.pinned = pinned;
+        CURRENT.set(state);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * Pin the current client after one of its writes committed, returning the
+     * response to extend its window on, or {@code null} outside a request
+     */
+    static HttpServletResponse recordWrite() {
+        State state = CURRENT.get();
+        if (state == null) {
+            return null;
+        }
+        state.pinned = true;
+        return state.response;
+    }
+
+    interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class State {
+
+        private final HttpServletResponse response;
+        private boolean pinned;
+
+        private State(HttpServletResponse response) {
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.books_crud.routing;
+
+import com.example.books_crud.event.CatalogChangeEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Gives each client read-your-writes consistency on top of replica routing.
+ * <p>
+ * When a client's write commits, its response carries a cookie holding the time
+ * until which it has to read from the primary. Requests presenting a cookie that
+ * has not expired yet are pinned to the primary. The cookie carries no identity
+ * and no session is needed; a forged value can only send its owner's reads to
+ * the primary.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "catalog-primary-until";
+
+    private final Duration window;
+    private final Clock clock;
+
+    public ReadYourWritesFilter(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (ReadYourWrites.Scope ignored = ReadYourWrites.begin(response, insideWindow(request))) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Pin the client whose write just committed and extend its window
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommittedWrite(CatalogChangeEvent event) {
+        HttpServletResponse response = ReadYourWrites.recordWrite();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(clock.millis() + window.toMillis()));
+        cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setAttribute("SameSite", "Lax");
+        response.addCookie(cookie);
+    }
+
+    private boolean insideWindow(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > clock.millis();
+                } catch (NumberFormatException malformed) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.books_crud.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The read replicas and whether each is currently fit to serve reads.
+ * <p>
+ * Replicas start out unhealthy and only receive reads once a health check has
+ * run the probe query successfully, so a replica that is unreachable or has not
+ * received the schema yet never sees traffic. A replica that fails to hand out a
+ * connection is taken out of rotation until the next successful check.
+ */
+public class ReplicaPool implements MeterBinder, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaPool.class);
+
+    private final List<Replica> replicas;
+    private final String healthCheckQuery;
+    private final int healthCheckTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(List<Replica> replicas, String healthCheckQuery, Duration healthCheckTimeout) {
+        this.replicas = List.copyOf(replicas);
+        this.healthCheckQuery = healthCheckQuery;
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+    }
+
+    /**
+     * Connection from the next healthy replica in round-robin order, or empty if none can serve
+     */
+    public Optional<Connection> connection() {
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return Optional.of(replica.dataSource.getConnection());
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Probe every replica and update its health
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${catalog.read-replicas.health-check-interval:5s}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement probe = connection.createStatement()) {
+                probe.setQueryTimeout(healthCheckTimeoutSeconds);
+                probe.execute(healthCheckQuery);
+                if (!replica.healthy) {
+                    logger.info("Read replica {} is healthy, routing reads to it", replica.name);
+                    replica.healthy = true;
+                }
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    public long healthyCount() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.read-replicas.healthy", this, ReplicaPool::healthyCount)
+                .description("Read replicas currently receiving reads")
+                .register(registry);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable pooled) {
+                pooled.close();
+            }
+        }
+    }
+
+    private static void markDown(Replica replica, SQLException cause) {
+        if (replica.healthy) {
+            logger.warn("Read replica {} failed, routing its reads elsewhere: {}", replica.name, cause.getMessage());
+            replica.healthy = false;
+        }
+    }
+
+    /**
+     * One replica database and its connection pool
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.books_crud.routing;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Routes connections of read-only transactions to a healthy replica and everything
+ * else to the primary.
+ * <p>
+ * The decision reads the transaction's read-only flag, which Spring only exposes
+ * once the transaction has begun, so this DataSource has to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that
+ * defers fetching the connection until the first statement. Clients that have to
+ * read their own writes, and all reads while no replica is healthy, stay on the
+ * primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final ReplicaPool replicas;
+    private final DataSource primary;
+
+    public ReplicaRoutingDataSource(ReplicaPool replicas, DataSource primary) {
+        this.replicas = replicas;
+        this.primary = primary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWrites.pinnedToPrimary()) {
+            return primary.getConnection();
+        }
+        Optional<Connection> replica = replicas.connection();
+        return replica.isPresent() ? replica.get() : primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica routing uses the pools' configured credentials");
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.books_crud.search;
+
+import com.example.books_crud.model.Author;
+
+/**
+ * A literary creator found by a unified search, whether or not any of their works matched
+ *
+ * @param creator the matching creator
+ * @param score   relevance of the name match
+ */
+public record CreatorHit(Author creator, int score) {
+}
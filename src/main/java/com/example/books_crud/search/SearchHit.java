@@ -0,0 +1,15 @@
+package com.example.books_crud.search;
+
+import com.example.books_crud.model.Book;
+
+import java.util.Set;
+
+/**
+ * A literary work found by a unified search
+ *
+ * @param work      the matching work, with its creator loaded
+ * @param score     relevance summed over every leg that matched the work
+ * @param matchedOn legs that found the work
+ */
+public record SearchHit(Book work, int score, Set<SearchLeg> matchedOn) {
+}
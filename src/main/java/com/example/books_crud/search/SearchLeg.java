@@ -0,0 +1,13 @@
+package com.example.books_crud.search;
+
+/**
+ * Sub-queries a unified search is made of
+ */
+public enum SearchLeg {
+    /** works by title fragment */
+    TITLE,
+    /** the work with an ISBN, for ISBN-shaped queries */
+    ISBN,
+    /** creators by name fragment, returned as creator hits */
+    CREATOR
+}
@@ -0,0 +1,18 @@
+package com.example.books_crud.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the unified catalog search ({@code catalog.search.*})
+ *
+ * @param deadline   how long one search waits for its legs before answering with what has arrived
+ * @param maxResults hits returned per search after ranking
+ */
+@ConfigurationProperties(prefix = "catalog.search")
+public record SearchProperties(
+        @DefaultValue("500ms") Duration deadline,
+        @DefaultValue("50") int maxResults) {
+}
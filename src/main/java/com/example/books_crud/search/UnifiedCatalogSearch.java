@@ -0,0 +1,218 @@
+package com.example.books_crud.search;
+
+import com.example.books_crud.budget.StatementCanceller;
+import com.example.books_crud.budget.TruncatedList;
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.profiling.StatementProfile;
+import com.example.books_crud.routing.ReadYourWrites;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * One search box over titles, ISBNs and creator names.
+ * <p>
+ * The legs run concurrently on virtual threads, each in its own read-only
+ * transaction, and share one deadline per search. A leg that has not answered by
+ * then is cancelled together with its JDBC statements, so it gives its pool
+ * connection back at once, and one that fails is logged; either way the search
+ * answers with the legs that did complete and reports the missing ones, rather
+ * than failing or waiting for the slowest query. Works found by several legs are
+ * returned once, with the scores of all matching legs added up. Creators are
+ * returned as hits of their own, so a creator without works can be found too.
+ */
+public class UnifiedCatalogSearch implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnifiedCatalogSearch.class);
+
+    private static final Pattern ISBN = Pattern.compile("\\d{9}[\\dX]|\\d{13}");
+
+    private static final Comparator<CreatorHit> CREATORS_BY_RELEVANCE =
+            Comparator.comparingInt(CreatorHit::score).reversed()
+                    .thenComparing(hit -> hit.creator().getName(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(hit -> hit.creator().getCreatorId());
+
+    private static final Comparator<SearchHit> BY_RELEVANCE = Comparator.comparingInt(SearchHit::score).reversed()
+            .thenComparing(hit -> hit.work().getTitle(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(hit -> hit.work().getId());
+
+    private final BookService literaryService;
+    private final AuthorService creatorService;
+    private final Duration deadline;
+    private final int maxResults;
+    private final ExecutorService legExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("catalog-search-", 0).factory());
+
+    public UnifiedCatalogSearch(BookService literaryService, AuthorService creatorService, Duration deadline,
+                                int maxResults) {
+        this.literaryService = literaryService;
+        this.creatorService = creatorService;
+        this.deadline = deadline;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Search titles, ISBNs and creator names at once
+     */
+    public UnifiedSearchResult search(String query) {
+        String text = query == null ? "" : query.strip();
+        if (text.isEmpty()) {
+            return new UnifiedSearchResult(query, List.of(), List.of(), Set.of(), false);
+        }
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+
+        Map<SearchLeg, PendingLeg> legs = new EnumMap<>(SearchLeg.class);
+        legs.put(SearchLeg.TITLE, submit(() -> literaryService.searchByTitle(text)));
+        String isbn = normalizeIsbn(text);
+        if (isbn != null) {
+            legs.put(SearchLeg.ISBN, submit(() -> literaryService.findByIsbn(isbn).map(List::of).orElse(List.of())));
+        }
+        legs.put(SearchLeg.CREATOR, submit(() -> creatorService.searchCreatorsByName(text)));
+
+        Map<Long, RankedWork> ranked = new LinkedHashMap<>();
+        List<CreatorHit> creators = new ArrayList<>();
+        Set<SearchLeg> incomplete = EnumSet.noneOf(SearchLeg.class);
+        boolean truncated = false;
+        for (Map.Entry<SearchLeg, PendingLeg> leg : legs.entrySet()) {
+            PendingLeg pending = leg.getValue();
+            try {
+                List<?> rows = pending.result().get(Math.max(0, deadlineNanos - System.nanoTime()),
+                                                    TimeUnit.NANOSECONDS);
+                truncated |= TruncatedList.isTruncated(rows);
+                for (Object row : rows) {
+                    if (row instanceof Author creator) {
+                        creators.add(new CreatorHit(creator, score(creator, text)));
+                    } else if (row instanceof Book work) {
+                        ranked.computeIfAbsent(work.getId(), id -> new RankedWork(work))
+                                .matched(leg.getKey(), score(leg.getKey(), work, text));
+                    }
+                }
+            } catch (TimeoutException e) {
+                pending.abandon();
+                incomplete.add(leg.getKey());
+                logger.debug("Search leg {} missed the {} ms deadline for '{}'", leg.getKey(), deadline.toMillis(), text);
+            } catch (ExecutionException e) {
+                incomplete.add(leg.getKey());
+                logger.warn("Search leg {} failed for '{}'", leg.getKey(), text, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.abandon();
+                incomplete.add(leg.getKey());
+            }
+        }
+
+        List<SearchHit> hits = ranked.values().stream()
+                .map(RankedWork::toHit)
+                .sorted(BY_RELEVANCE)
+                .limit(maxResults)
+                .toList();
+        List<CreatorHit> creatorHits = creators.stream()
+                .sorted(CREATORS_BY_RELEVANCE)
+                .limit(maxResults)
+                .toList();
+        return new UnifiedSearchResult(query, hits, creatorHits, incomplete, truncated);
+    }
+
+    private PendingLeg submit(Callable<? extends List<?>> leg) {
+        StatementCanceller statements = new StatementCanceller();
+        Future<List<?>> result = legExecutor.submit(
+                statements.watch(StatementProfile.carryOver(ReadYourWrites.carryOver(leg::call))));
+        return new PendingLeg(result, statements);
+    }
+
+    /**
+     * The query as a bare ISBN-10 or ISBN-13, or {@code null} when it cannot be one
+     */
+    static String normalizeIsbn(String text) {
+        String compact = text.replace("-", "").replace(" ", "").toUpperCase(Locale.ROOT);
+        return ISBN.matcher(compact).matches() ? compact : null;
+    }
+
+    /**
+     * Relevance of a work for one leg: an ISBN match is decisive, title matches come
+     * next, exact before prefix before substring
+     */
+    static int score(SearchLeg leg, Book work, String text) {
+        return switch (leg) {
+            case ISBN -> 100;
+            case TITLE -> closeness(work.getTitle(), text, 60, 40, 25);
+            case CREATOR -> throw new IllegalArgumentException("The creator leg finds creators, not works");
+        };
+    }
+
+    /**
+     * Relevance of a creator, below a title match of the same closeness
+     */
+    static int score(Author creator, String text) {
+        return closeness(creator.getName(), text, 30, 20, 10);
+    }
+
+    private static int closeness(String value, String text, int exact, int prefix, int substring) {
+        if (value == null) {
+            return 0;
+        }
+        if (value.equalsIgnoreCase(text)) {
+            return exact;
+        }
+        return value.toLowerCase(Locale.ROOT).startsWith(text.toLowerCase(Locale.ROOT)) ? prefix : substring;
+    }
+
+    @Override
+    public void destroy() {
+        legExecutor.shutdownNow();
+    }
+
+    /**
+     * A leg still running, and the statements to cancel if it is given up on
+     */
+    private record PendingLeg(Future<List<?>> result, StatementCanceller statements) {
+
+        void abandon() {
+            result.cancel(true);
+            statements.cancel();
+        }
+    }
+
+    private static final class RankedWork {
+
+        private final Book work;
+        private final Set<SearchLeg> matchedOn = EnumSet.noneOf(SearchLeg.class);
+        private int score;
+
+        private RankedWork(Book work) {
+            this.work = work;
+        }
+
+        void matched(SearchLeg leg, int legScore) {
+            if (matchedOn.add(leg)) {
+                score += legScore;
+            }
+        }
+
+        SearchHit toHit() {
+            return new SearchHit(work, score, Set.copyOf(matchedOn));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.books_crud.search;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ranked outcome of a unified search
+ *
+ * @param query          the search text as entered
+ * @param hits           matching works, best first
+ * @param creators       creators whose name matches, best first
+ * @param incompleteLegs legs that missed the deadline or failed and contributed nothing
+ * @param truncated      whether a leg matched more rows than the query budget lets it return
+ */
+public record UnifiedSearchResult(String query, List<SearchHit> hits, List<CreatorHit> creators,
+                                  Set<SearchLeg> incompleteLegs, boolean truncated) {
+
+    /**
+     * Whether some legs are missing, so more matches may exist
+     */
+    public boolean partial() {
+        return !incompleteLegs.isEmpty();
+    }
+}
@@ -1,8 +1,16 @@
 package com.example.books_crud.service;
 
+import com.example.books_crud.cache.CatalogCaches;
+import com.example.books_crud.collation.CollationCursor;
+import com.example.books_crud.event.CatalogChangeEvent;
 import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
 import com.example.books_crud.repository.AuthorRepository;
+import com.example.books_crud.repository.BookRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,10 +24,15 @@ import java.util.Optional;
 public class AuthorService {
 
     private final AuthorRepository creatorRepository;
+    private final BookRepository literaryWorkRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public AuthorService(AuthorRepository creatorRepository) {
+    public AuthorService(AuthorRepository creatorRepository, BookRepository literaryWorkRepository,
+                         ApplicationEventPublisher eventPublisher) {
         this.creatorRepository = creatorRepository;
+        this.literaryWorkRepository = literaryWorkRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -31,19 +44,52 @@ public class AuthorService {
         if (creator.getName() == null || creator.getName().trim().isEmpty()) {
             throw new IllegalArgumentException("Creator name cannot be empty");
         }
-        return creatorRepository.save(creator);
+        Author registeredCreator = creatorRepository.save(creator);
+        eventPublisher.publishEvent(CatalogChangeEvent.saved(registeredCreator));
+        return registeredCreator;
     }
 
     /**
-     * Retrieve all literary creators
+     * Retrieve all literary creators, never cut off at the row cap
      */
+    @Cacheable(cacheNames = CatalogCaches.CREATOR_DIRECTORY, sync = true)
+    @Transactional(readOnly = true)
     public List<Author> findAllCreators() {
         return creatorRepository.findAll();
     }
 
+    /**
+     * Retrieve one page of the creator directory in collated name order, starting after the given cursor
+     *
+     * @throws IllegalArgumentException for a cursor that was not handed out by an earlier page
+     */
+    @Transactional(readOnly = true)
+    public CollatedPage<Author> browseCreatorDirectory(String fromCursor, int pageSize) {
+        Limit limit = Limit.of(pageSize + 1);
+        List<Author> rows;
+        if (fromCursor == null) {
+            rows = creatorRepository.findByOrderByNameSortKeyAscCreatorIdAsc(limit);
+        } else {
+            CollationCursor cursor = CollationCursor.decode(fromCursor);
+            rows = creatorRepository.findAfterNameSortKey(cursor.sortKey(), cursor.id(), limit);
+        }
+        return CollatedPage.of(rows, pageSize,
+                               creator -> new CollationCursor(creator.getNameSortKey(), creator.getCreatorId()));
+    }
+
+    /**
+     * Check whether any creator has been registered yet
+     */
+    @Transactional(readOnly = true)
+    public boolean hasCreators() {
+        return creatorRepository.count() > 0;
+    }
+
     /**
      * Locate a creator by their unique identifier
      */
+    @Cacheable(cacheNames = CatalogCaches.CREATORS, key = "#creatorId", sync = true)
+    @Transactional(readOnly = true)
     public Optional<Author> findCreatorById(Long creatorId) {
         return creatorRepository.findById(creatorId);
     }
@@ -58,20 +104,68 @@ public class AuthorService {
             !creatorRepository.existsById(updatedCreator.getCreatorId())) {
             throw new IllegalArgumentException("Cannot update non-existent creator");
         }
-        return creatorRepository.save(updatedCreator);
+        Author savedCreator = creatorRepository.save(updatedCreator);
+        // Flush so the published event carries the version assigned by this update
+        creatorRepository.flush();
+        eventPublisher.publishEvent(CatalogChangeEvent.saved(savedCreator));
+        return savedCreator;
+    }
+
+    /**
+     * Attach an existing work to a creator by id.
+     * <p>
+     * Only the work row is read and updated; the creator is referenced by id and none
+     * of their other works are loaded, however many there are.
+     */
+    @Transactional
+    public Book attachWork(long creatorId, long workId) {
+        if (!creatorRepository.existsById(creatorId)) {
+            throw new IllegalArgumentException("Cannot attach a work to a non-existent creator");
+        }
+        Book work = literaryWorkRepository.findById(workId)
+                .orElseThrow(() -> new IllegalArgumentException("Cannot attach a non-existent literary work"));
+        work.setCreator(creatorRepository.getReferenceById(creatorId));
+        // Flush so the published event carries the version assigned by this update
+        literaryWorkRepository.flush();
+        eventPublisher.publishEvent(CatalogChangeEvent.saved(work));
+        return work;
     }
 
     /**
-     * Remove a creator from the system
+     * Detach a work from its creator by id. A work cannot exist without its creator,
+     * so, like {@link Author#unlinkLiteraryWork}, this removes the work.
+     *
+     * @return whether the work belonged to the creator and was removed
+     */
+    @Transactional
+    public boolean detachWork(long creatorId, long workId) {
+        if (literaryWorkRepository.deleteWorkOfCreator(creatorId, workId) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(new CatalogChangeEvent.WorkRemoved(workId));
+        return true;
+    }
+
+    /**
+     * Remove a creator and all of their works from the system.
+     * <p>
+     * Bulk deletes, works and biography first, rather than {@code deleteById}: cascading
+     * through {@code Author.literaryWorks} would load every work and delete them one by one.
+     * The removal event drops the creator's cached works along with the creator.
      */
     @Transactional
     public void removeCreator(Long creatorId) {
-        creatorRepository.deleteById(creatorId);
+        literaryWorkRepository.deleteAllWorksByCreatorId(creatorId);
+        creatorRepository.deleteBiographyByCreatorId(creatorId);
+        if (creatorRepository.deleteCreatorById(creatorId) > 0) {
+            eventPublisher.publishEvent(new CatalogChangeEvent.CreatorRemoved(creatorId));
+        }
     }
     
     /**
      * Find creators by name fragment
      */
+    @Transactional(readOnly = true)
     public List<Author> searchCreatorsByName(String nameFragment) {
         return creatorRepository.findByNameContainingIgnoreCase(nameFragment);
     }
@@ -1,13 +1,25 @@
 package com.example.books_crud.service;
 
+import com.example.books_crud.cache.CatalogCaches;
+import com.example.books_crud.event.CatalogChangeEvent;
+import com.example.books_crud.collation.CollationCursor;
 import com.example.books_crud.model.Book;
 import com.example.books_crud.repository.BookRepository;
+import com.example.books_crud.wire.CatalogRowSink;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Service for managing literary works
@@ -15,11 +27,18 @@ import java.util.Optional;
 @Service
 public class BookService {
 
+    /**
+     * Most ids bound into one bulk delete
+     */
+    static final int WITHDRAW_BATCH_SIZE = 500;
+
     private final BookRepository literaryWorkRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public BookService(BookRepository literaryWorkRepository) {
+    public BookService(BookRepository literaryWorkRepository, ApplicationEventPublisher eventPublisher) {
         this.literaryWorkRepository = literaryWorkRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -34,19 +53,71 @@ public class BookService {
         if (literaryWork.getCreator() == null) {
             throw new IllegalArgumentException("Literary work must have a creator");
         }
-        return literaryWorkRepository.save(literaryWork);
+        Book registeredWork = literaryWorkRepository.save(literaryWork);
+        eventPublisher.publishEvent(CatalogChangeEvent.saved(registeredWork));
+        return registeredWork;
     }
 
     /**
      * Retrieve all literary works in the catalog
      */
+    @Transactional(readOnly = true)
     public List<Book> browseCatalog() {
         return literaryWorkRepository.findAll();
     }
 
+    /**
+     * Retrieve one page of the catalog, starting after the given work id
+     */
+    @Transactional(readOnly = true)
+    public CatalogPage browseCatalogPage(Long afterWorkId, int pageSize) {
+        return CatalogPage.of(literaryWorkRepository.findByIdGreaterThanOrderByIdAsc(
+                afterWorkId == null ? 0L : afterWorkId, Limit.of(pageSize + 1)), pageSize);
+    }
+
+    /**
+     * Retrieve one page of the catalog in collated title order, starting after the given cursor
+     *
+     * @throws IllegalArgumentException for a cursor that was not handed out by an earlier page
+     */
+    @Transactional(readOnly = true)
+    public CollatedPage<Book> browseCatalogByTitle(String fromCursor, int pageSize) {
+        Limit limit = Limit.of(pageSize + 1);
+        List<Book> rows;
+        if (fromCursor == null) {
+            rows = literaryWorkRepository.findByOrderByTitleSortKeyAscIdAsc(limit);
+        } else {
+            CollationCursor cursor = CollationCursor.decode(fromCursor);
+            rows = literaryWorkRepository.findAfterTitleSortKey(cursor.sortKey(), cursor.id(), limit);
+        }
+        return CollatedPage.of(rows, pageSize, work -> new CollationCursor(work.getTitleSortKey(), work.getId()));
+    }
+
+    /**
+     * Stream every work after the given id, with its creator, to a sink in id order
+     *
+     * @return the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportCatalog(long afterWorkId, CatalogRowSink sink) throws IOException {
+        long rows = 0;
+        try (Stream<Object[]> catalog = literaryWorkRepository.streamCatalogRowsAfter(afterWorkId)) {
+            Iterator<Object[]> iterator = catalog.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                sink.row((Long) row[0], (String) row[1], (String) row[2], (Long) row[3], (String) row[4],
+                         (Long) row[5]);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
     /**
      * Find a specific literary work by its identifier
      */
+    @Cacheable(cacheNames = CatalogCaches.WORKS, key = "#workId", sync = true)
+    @Transactional(readOnly = true)
     public Optional<Book> locateLiteraryWork(Long workId) {
         return literaryWorkRepository.findById(workId);
     }
@@ -61,20 +132,53 @@ public class BookService {
             !literaryWorkRepository.existsById(revisedWork.getId())) {
             throw new IllegalArgumentException("Cannot update non-existent literary work");
         }
-        return literaryWorkRepository.save(revisedWork);
+        Book savedWork = literaryWorkRepository.save(revisedWork);
+        // Flush so the published event carries the version assigned by this update
+        literaryWorkRepository.flush();
+        eventPublisher.publishEvent(CatalogChangeEvent.saved(savedWork));
+        return savedWork;
     }
 
     /**
-     * Remove a literary work from the catalog
+     * Remove a literary work from the catalog; an unknown id is skipped, and no removal
+     * event goes out for it
      */
     @Transactional
     public void withdrawFromCatalog(Long workId) {
+        if (!literaryWorkRepository.existsById(workId)) {
+            return;
+        }
         literaryWorkRepository.deleteById(workId);
+        eventPublisher.publishEvent(new CatalogChangeEvent.WorkRemoved(workId));
+    }
+
+    /**
+     * Withdraw many works at once, with one bulk delete per batch of ids. Each batch first
+     * selects which of its works exist, so removal events go out for those works only.
+     *
+     * @return the number of works that were withdrawn; unknown ids are skipped
+     */
+    @Transactional
+    public int withdrawWorks(Collection<Long> workIds) {
+        List<Long> distinctIds = workIds.stream().distinct().toList();
+        List<Long> removedIds = new ArrayList<>();
+        int withdrawn = 0;
+        for (int from = 0; from < distinctIds.size(); from += WITHDRAW_BATCH_SIZE) {
+            List<Long> existingIds = literaryWorkRepository.findExistingWorkIds(
+                    distinctIds.subList(from, Math.min(distinctIds.size(), from + WITHDRAW_BATCH_SIZE)));
+            if (!existingIds.isEmpty()) {
+                withdrawn += literaryWorkRepository.deleteAllWorksByIdIn(existingIds);
+                removedIds.addAll(existingIds);
+            }
+        }
+        removedIds.forEach(workId -> eventPublisher.publishEvent(new CatalogChangeEvent.WorkRemoved(workId)));
+        return withdrawn;
     }
     
     /**
      * Retrieve literary works with their creator information
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getCatalogWithCreators() {
         return literaryWorkRepository.retrieveWorksWithCreators();
     }
@@ -82,6 +186,7 @@ public class BookService {
     /**
      * Find works by a specific creator
      */
+    @Transactional(readOnly = true)
     public List<Book> findWorksByCreator(Long creatorId) {
         return literaryWorkRepository.findAllWorksByCreatorId(creatorId);
     }
@@ -89,7 +194,25 @@ public class BookService {
     /**
      * Search works by title keywords
      */
+    @Transactional(readOnly = true)
     public List<Book> searchByTitle(String titleFragment) {
         return literaryWorkRepository.findByTitleContainingIgnoreCase(titleFragment);
     }
+
+    /**
+     * Search works by title keywords, one page at a time
+     */
+    @Transactional(readOnly = true)
+    public CatalogPage searchByTitlePage(String titleFragment, Long afterWorkId, int pageSize) {
+        return CatalogPage.of(literaryWorkRepository.findByTitleContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(
+                titleFragment, afterWorkId == null ? 0L : afterWorkId, Limit.of(pageSize + 1)), pageSize);
+    }
+
+    /**
+     * Find the work registered under an ISBN
+     */
+    @Transactional(readOnly = true)
+    public Optional<Book> findByIsbn(String isbnCode) {
+        return Optional.ofNullable(literaryWorkRepository.findByIsbn(isbnCode));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.books_crud.service;
+
+import com.example.books_crud.model.Book;
+
+import java.util.List;
+
+/**
+ * One keyset page of literary works in id order
+ *
+ * @param works      the works on this page
+ * @param nextCursor id to pass as {@code after} for the following page, or {@code null} on the last page
+ */
+public record CatalogPage(List<Book> works, Long nextCursor) {
+
+    /**
+     * Build a page from up to {@code pageSize + 1} rows; the extra row only signals that another page follows
+     */
+    static CatalogPage of(List<Book> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new CatalogPage(rows, null);
+        }
+        List<Book> works = rows.subList(0, pageSize);
+        return new CatalogPage(List.copyOf(works), works.get(pageSize - 1).getId());
+    }
+}
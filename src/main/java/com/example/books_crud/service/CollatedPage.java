@@ -0,0 +1,27 @@
+package com.example.books_crud.service;
+
+import com.example.books_crud.collation.CollationCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset page of works or creators in collated order
+ *
+ * @param items      the works or creators on this page
+ * @param nextCursor token to pass as {@code from} for the following page, or {@code null} on the last page
+ * @param <T>        {@link com.example.books_crud.model.Book} or {@link com.example.books_crud.model.Author}
+ */
+public record CollatedPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Build a page from up to {@code pageSize + 1} rows; the extra row only signals that another page follows
+     */
+    static <T> CollatedPage<T> of(List<T> rows, int pageSize, Function<T, CollationCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CollatedPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new CollatedPage<>(List.copyOf(items), cursorOf.apply(items.get(pageSize - 1)).encode());
+    }
+}
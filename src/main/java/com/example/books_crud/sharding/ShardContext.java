@@ -0,0 +1,104 @@
+package com.example.books_crud.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The shard the current thread's transaction runs on.
+ * <p>
+ * A transaction is pinned to the first shard it touches and stays there until it
+ * completes, including the flush at commit, so every statement of one transaction
+ * reaches the same database. Touching a second shard from the same transaction is
+ * a programming error and fails instead of silently writing to the wrong database.
+ */
+public final class ShardContext {
+
+    private static final Object RESOURCE_KEY = ShardContext.class;
+
+    private ShardContext() {
+    }
+
+    /**
+     * Shard of the current transaction
+     *
+     * @throws IllegalStateException when the thread is not bound to a shard, so that work
+     *                               bypassing the repositories cannot quietly read or write
+     *                               a single shard
+     */
+    public static int currentShard() {
+        Object shard = TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (shard == null) {
+            throw new IllegalStateException("No catalog shard is bound to this thread; use the repositories, "
+                                                    + "or ShardContext.callOnEachShard for JDBC work");
+        }
+        return (Integer) shard;
+    }
+
+    /**
+     * Whether the thread is bound to a shard
+     */
+    static boolean isBound() {
+        return TransactionSynchronizationManager.hasResource(RESOURCE_KEY);
+    }
+
+    /**
+     * Pin the active transaction to a shard, or check that it already runs there
+     */
+    static void bindToTransaction(int shard) {
+        Object bound = TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (bound == null) {
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, shard);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+                }
+            });
+        } else if ((Integer) bound != shard) {
+            throw new IllegalStateException(
+                    "Transaction already runs on shard " + bound + " and cannot also use shard " + shard);
+        }
+    }
+
+    /**
+     * Run work outside of any transaction against one shard, e.g. schema maintenance
+     */
+    static <T, E extends Exception> T callOn(int shard, ShardCall<T, E> action) throws E {
+        if (isBound()) {
+            throw new IllegalStateException("Thread is already bound to shard " + currentShard());
+        }
+        TransactionSynchronizationManager.bindResource(RESOURCE_KEY, shard);
+        try {
+            return action.call();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(RESOURCE_KEY);
+        }
+    }
+
+    /**
+     * Run work against each shard in turn, outside of any transaction, for components that
+     * read or maintain the whole catalog over JDBC instead of through the repositories. Pass a shard
+     * count of one for an unsharded catalog.
+     *
+     * @return the result for each shard, in shard order
+     */
+    public static <T, E extends Exception> List<T> callOnEachShard(int shardCount, ShardCall<T, E> action) throws E {
+        List<T> results = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            results.add(callOn(shard, action));
+        }
+        return results;
+    }
+
+    /**
+     * Work run against a shard, throwing only what it declares
+     */
+    @FunctionalInterface
+    public interface ShardCall<T, E extends Exception> {
+
+        T call() throws E;
+    }
+}
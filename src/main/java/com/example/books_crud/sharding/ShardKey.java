@@ -0,0 +1,18 @@
+package com.example.books_crud.sharding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the repository method parameter holding the creator id that decides the shard,
+ * so the call goes to that one shard instead of being fanned out to all of them.
+ * A collection of creator or work ids sends each shard only the ids it owns
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+}
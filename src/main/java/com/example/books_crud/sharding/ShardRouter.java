@@ -0,0 +1,107 @@
+package com.example.books_crud.sharding;
+
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maps creators and works to shards.
+ * <p>
+ * Every shard issues identity values from its own interleaved series: shard {@code k}
+ * of {@code n} hands out {@code k + 1, k + 1 + n, k + 1 + 2n, ...}. The owning shard of
+ * any creator or work id is therefore {@code (id - 1) mod n}, without a lookup table.
+ * A work is stored on the shard of its creator, so all works of a creator can be read
+ * from one database. New creators are spread over the shards round robin.
+ */
+public class ShardRouter {
+
+    private final int shardCount;
+    private final AtomicInteger placements = new AtomicInteger();
+
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Shards the catalog is split over: the router's count, or one when the catalog is not sharded
+     */
+    public static int shardCount(ObjectProvider<ShardRouter> router) {
+        ShardRouter available = router.getIfAvailable();
+        return available != null ? available.shardCount() : 1;
+    }
+
+    /**
+     * Shard owning the creator or work with the given id
+     */
+    public int shardOf(long id) {
+        return (int) Math.floorMod(id - 1, (long) shardCount);
+    }
+
+    /**
+     * Shard that receives the next newly registered creator
+     */
+    public int placeNewCreator() {
+        return Math.floorMod(placements.getAndIncrement(), shardCount);
+    }
+
+    /**
+     * Smallest id of at least {@code atLeast} that the given shard issues
+     */
+    public long firstIdOnShard(int shard, long atLeast) {
+        return atLeast + Math.floorMod(shard + 1 - atLeast, (long) shardCount);
+    }
+
+    /**
+     * Shard a creator or work has to be written to
+     */
+    public int shardFor(Object entity) {
+        return switch (entity) {
+            case Author creator -> creator.getCreatorId() == null
+                    ? placeNewCreator() : shardOf(creator.getCreatorId());
+            case Book work -> {
+                if (work.getCreator() == null || work.getCreator().getCreatorId() == null) {
+                    throw new IllegalArgumentException("A literary work is stored with its creator and needs one");
+                }
+                int shard = shardOf(work.getCreator().getCreatorId());
+                if (work.getId() != null && shardOf(work.getId()) != shard) {
+                    throw new IllegalArgumentException("Literary work " + work.getId() + " cannot move to creator "
+                            + work.getCreator().getCreatorId() + ", who is stored on another shard");
+                }
+                yield shard;
+            }
+            default -> throw new IllegalArgumentException("No shard placement for " + entity.getClass().getName());
+        };
+    }
+
+    /**
+     * Identifier of a creator or work, the key results from several shards are merged on
+     */
+    public static long idOf(Object entity) {
+        return switch (entity) {
+            case Author creator -> creator.getCreatorId();
+            case Book work -> work.getId();
+            default -> throw new IllegalArgumentException("No identifier for " + entity.getClass().getName());
+        };
+    }
+
+    /**
+     * Collation sort key of a creator or work, the key collated pages from several shards are merged on
+     */
+    public static byte[] sortKeyOf(Object entity) {
+        byte[] sortKey = switch (entity) {
+            case Author creator -> creator.getNameSortKey();
+            case Book work -> work.getTitleSortKey();
+            default -> throw new IllegalArgumentException("No sort key for " + entity.getClass().getName());
+        };
+        return sortKey == null ? new byte[0] : sortKey;
+    }
+}
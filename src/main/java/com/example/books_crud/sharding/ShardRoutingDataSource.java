@@ -0,0 +1,62 @@
+package com.example.books_crud.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands out connections of the shard the current transaction is bound to.
+ * <p>
+ * Transactions are only bound to a shard by the first repository call, so this
+ * DataSource has to sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * that defers fetching the connection until the first statement.
+ * <p>
+ * Only while the schema is bootstrapped, until {@link ShardSchemaInitializer} has prepared
+ * every shard, does a thread without a shard get the first one: Hibernate checks the
+ * connection and manages its schema there when it starts. Afterwards such a connection
+ * request fails.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final List<DataSource> shards;
+    private volatile boolean bootstrapping = true;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < this.shards.size(); shard++) {
+            targets.put(shard, this.shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (bootstrapping && !ShardContext.isBound()) {
+            return 0;
+        }
+        return ShardContext.currentShard();
+    }
+
+    /**
+     * End the schema bootstrap: from now on connections are only handed out for a bound shard
+     */
+    void bootstrapped() {
+        bootstrapping = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource shard : shards) {
+            if (shard instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
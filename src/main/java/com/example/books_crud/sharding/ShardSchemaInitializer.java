@@ -0,0 +1,92 @@
+package com.example.books_crud.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Prepares every shard before the first request: creates the catalog schema on shards
+ * that do not have it yet (Hibernate's own schema management only reaches the first
+ * shard) and switches the identity columns to the shard's interleaved id series.
+ * <p>
+ * Re-running is safe: identities always restart after the highest id already stored.
+ * The identity statements are H2 syntax. Once every shard is prepared, it ends the
+ * schema bootstrap of the {@link ShardRoutingDataSource}.
+ */
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private static final Map<String, String> IDENTITY_COLUMNS = Map.of(
+            "literary_creator", "creator_id",
+            "literary_work", "work_id");
+
+    private final ShardRouter router;
+    private final ShardRoutingDataSource routingDataSource;
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ShardSchemaInitializer(ShardRouter router, ShardRoutingDataSource routingDataSource, DataSource dataSource,
+                                  EntityManagerFactory entityManagerFactory) {
+        this.router = router;
+        this.routingDataSource = routingDataSource;
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int shard = 0; shard < router.shardCount(); shard++) {
+            int target = shard;
+            try {
+                ShardContext.callOn(target, () -> {
+                    prepare(target);
+                    return null;
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to prepare catalog shard " + target, e);
+            }
+        }
+        routingDataSource.bootstrapped();
+        logger.info("Prepared {} catalog shards", router.shardCount());
+    }
+
+    private void prepare(int shard) throws SQLException {
+        if (!hasCatalogSchema()) {
+            logger.info("Creating catalog schema on shard {}", shard);
+            entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().exportMappedObjects(true);
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, String> identity : IDENTITY_COLUMNS.entrySet()) {
+                String table = identity.getKey();
+                String column = identity.getValue();
+                long highest;
+                try (ResultSet rows = statement.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table)) {
+                    rows.next();
+                    highest = rows.getLong(1);
+                }
+                long next = router.firstIdOnShard(shard, highest + 1);
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN " + column
+                                          + " SET INCREMENT BY " + router.shardCount());
+            }
+        }
+    }
+
+    private boolean hasCatalogSchema() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(null, null, "LITERARY_WORK", null)) {
+            return tables.next();
+        }
+    }
+}
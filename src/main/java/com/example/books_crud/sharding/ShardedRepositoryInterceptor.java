@@ -0,0 +1,298 @@
+package com.example.books_crud.sharding;
+
+import com.example.books_crud.budget.QueryBudget;
+import com.example.books_crud.pool.PoolCaller;
+import com.example.books_crud.profiling.StatementProfile;
+import com.example.books_crud.repository.RepositoryAdvice;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Routes repository calls to the catalog shards.
+ * <p>
+ * Calls are routed by what they carry:
+ * <ul>
+ *     <li>a {@link ShardKey} parameter, or the id of {@code findById}, {@code existsById},
+ *     {@code deleteById} and {@code getReferenceById}, selects the owning shard;</li>
+ *     <li>a {@link ShardKey} collection of ids is split by owning shard, and each shard
+ *     gets the call with only its own ids;</li>
+ *     <li>{@code save} goes to the shard of the creator being saved or owning the work;</li>
+ *     <li>every other read ({@code find..}, {@code count..}, {@code exists..}, {@code retrieve..})
+ *     is scattered to all shards in parallel, each in its own read-only transaction on a
+ *     virtual thread, and the partial results are merged.</li>
+ * </ul>
+ * A call split over several shards runs in one transaction per shard, so a write
+ * touching works on more than one shard is not atomic across them.
+ * Lists are concatenated, except for keyset queries taking a {@link Limit}: those must
+ * order by id, or by sort key and then id when the method name mentions {@code SortKey},
+ * and the per-shard pages are merged in that order and cut to the limit, so the merged
+ * page is exactly the page a single database would have returned. Counts are
+ * summed and single results are taken from whichever shard found one.
+ */
+@Order(100)
+public class ShardedRepositoryInterceptor implements RepositoryAdvice, DisposableBean {
+
+    private static final List<String> READ_PREFIXES = List.of("find", "count", "exists", "retrieve");
+    private static final int NO_SHARD_KEY = -1;
+    private static final Comparator<Head> BY_ID = Comparator.comparingLong(Head::id);
+    private static final Comparator<Head> BY_SORT_KEY =
+            Comparator.comparing(Head::sortKey, Arrays::compareUnsigned).thenComparing(BY_ID);
+
+    private final ShardRouter router;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final Duration scatterTimeout;
+    private final ExecutorService scatterExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("shard-scatter-", 0).factory());
+    private final Map<Method, Integer> shardKeyPositions = new ConcurrentHashMap<>();
+
+    public ShardedRepositoryInterceptor(ShardRouter router, PlatformTransactionManager transactionManager,
+                                        Duration scatterTimeout) {
+        this.router = router;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.scatterTimeout = scatterTimeout;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Object[] arguments = invocation.getArguments();
+        String name = method.getName();
+        if (method.getDeclaringClass() == Object.class || name.equals("flush")) {
+            return invocation.proceed();
+        }
+        boolean read = isRead(name);
+
+        int keyPosition = shardKeyPositions.computeIfAbsent(method, ShardedRepositoryInterceptor::shardKeyPosition);
+        if (keyPosition != NO_SHARD_KEY) {
+            Object key = arguments[keyPosition];
+            if (key instanceof Collection<?> ids) {
+                return onShards(ids, keyPosition, (ProxyMethodInvocation) invocation, read);
+            }
+            if (!(key instanceof Number creatorId)) {
+                throw new IllegalArgumentException("Shard key of " + name + " must be a creator id, got " + key);
+            }
+            return onShard(router.shardOf(creatorId.longValue()), invocation, read);
+        }
+        switch (name) {
+            case "save":
+                return onShard(router.shardFor(arguments[0]), invocation, false);
+            case "findById", "existsById", "deleteById", "getReferenceById":
+                return onShard(router.shardOf(((Number) arguments[0]).longValue()), invocation, read);
+            default:
+                if (read) {
+                    return scatter((ProxyMethodInvocation) invocation);
+                }
+                throw new UnsupportedOperationException("No shard routing for "
+                        + method.getDeclaringClass().getSimpleName() + "." + name);
+        }
+    }
+
+    private Object onShard(int shard, MethodInvocation invocation, boolean read) {
+        return proceedOn(shard, invocation, read ? readTransaction : writeTransaction);
+    }
+
+    private Object onShards(Collection<?> ids, int keyPosition, ProxyMethodInvocation invocation, boolean read) {
+        Map<Integer, List<Object>> idsByShard = new TreeMap<>();
+        for (Object id : ids) {
+            if (!(id instanceof Number number)) {
+                throw new IllegalArgumentException("Shard keys of " + invocation.getMethod().getName()
+                        + " must be ids, got " + id);
+            }
+            idsByShard.computeIfAbsent(router.shardOf(number.longValue()), shard -> new ArrayList<>()).add(id);
+        }
+        Map<Integer, MethodInvocation> calls = new LinkedHashMap<>();
+        idsByShard.forEach((shard, shardIds) -> {
+            Object[] arguments = invocation.getArguments().clone();
+            arguments[keyPosition] = shardIds;
+            calls.put(shard, invocation.invocableClone(arguments));
+        });
+        return fanOut(invocation, calls, read ? readTransaction : writeTransaction);
+    }
+
+    private Object scatter(ProxyMethodInvocation invocation) {
+        Map<Integer, MethodInvocation> calls = new LinkedHashMap<>();
+        for (int shard = 0; shard < router.shardCount(); shard++) {
+            calls.put(shard, invocation.invocableClone());
+        }
+        return fanOut(invocation, calls, readTransaction);
+    }
+
+    /**
+     * Run one copy of the call per shard in parallel, each in its own transaction, and merge the results
+     */
+    private Object fanOut(MethodInvocation invocation, Map<Integer, MethodInvocation> calls,
+                          TransactionTemplate transaction) {
+        List<Future<Object>> pending = new ArrayList<>(calls.size());
+        calls.forEach((shard, call) -> pending.add(
+                scatterExecutor.submit(StatementProfile.carryOver(PoolCaller.carryOver(
+                        QueryBudget.carryOver(() -> proceedOn(shard, call, transaction)))))));
+        List<Object> partials = new ArrayList<>(pending.size());
+        long deadline = System.nanoTime() + scatterTimeout.toNanos();
+        try {
+            for (Future<Object> partial : pending) {
+                partials.add(partial.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException(invocation.getMethod().getName() + " did not complete on all "
+                    + calls.size() + " shards within " + scatterTimeout.toMillis() + " ms", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new UndeclaredThrowableException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shards", e);
+        } finally {
+            pending.forEach(partial -> partial.cancel(true));
+        }
+        return merge(invocation.getMethod(), invocation.getArguments(), partials);
+    }
+
+    /**
+     * Continue the repository call inside a transaction pinned to the shard; joins the
+     * caller's transaction when there is one
+     */
+    private static Object proceedOn(int shard, MethodInvocation invocation, TransactionTemplate transaction) {
+        return transaction.execute(status -> {
+            ShardContext.bindToTransaction(shard);
+            try {
+                return invocation.proceed();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        });
+    }
+
+    private static Object merge(Method method, Object[] arguments, List<Object> partials) {
+        Class<?> type = method.getReturnType();
+        if (List.class.isAssignableFrom(type)) {
+            Limit limit = limitOf(arguments);
+            if (limit == null) {
+                return concatenate(partials);
+            }
+            return mergeOrdered(partials, limit, method.getName().contains("SortKey") ? BY_SORT_KEY : BY_ID);
+        }
+        if (type == Optional.class) {
+            return partials.stream().map(Optional.class::cast).filter(Optional::isPresent)
+                    .findFirst().orElse(Optional.empty());
+        }
+        if (type == long.class || type == Long.class) {
+            return partials.stream().mapToLong(partial -> ((Number) partial).longValue()).sum();
+        }
+        if (type == int.class || type == Integer.class) {
+            return Math.toIntExact(partials.stream().mapToLong(partial -> ((Number) partial).longValue()).sum());
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return partials.contains(Boolean.TRUE);
+        }
+        // Single results, e.g. a lookup by a unique column
+        return partials.stream().filter(Objects::nonNull).findFirst().orElse(null);
+    }
+
+    private static List<Object> concatenate(List<Object> partials) {
+        List<Object> merged = new ArrayList<>();
+        for (Object partial : partials) {
+            merged.addAll((List<?>) partial);
+        }
+        return merged;
+    }
+
+    /**
+     * K-way merge of per-shard pages that are each in the given order
+     */
+    private static List<Object> mergeOrdered(List<Object> partials, Limit limit, Comparator<Head> order) {
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        PriorityQueue<Head> heads = new PriorityQueue<>(order);
+        for (Object partial : partials) {
+            Iterator<?> rows = ((List<?>) partial).iterator();
+            if (rows.hasNext()) {
+                heads.add(new Head(rows.next(), rows));
+            }
+        }
+        List<Object> merged = new ArrayList<>();
+        while (merged.size() < max && !heads.isEmpty()) {
+            Head head = heads.poll();
+            merged.add(head.row());
+            if (head.rest().hasNext()) {
+                heads.add(new Head(head.rest().next(), head.rest()));
+            }
+        }
+        return merged;
+    }
+
+    private static Limit limitOf(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof Limit limit) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isRead(String methodName) {
+        return READ_PREFIXES.stream().anyMatch(methodName::startsWith);
+    }
+
+    private static int shardKeyPosition(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int position = 0; position < annotations.length; position++) {
+            for (Annotation annotation : annotations[position]) {
+                if (annotation instanceof ShardKey) {
+                    return position;
+                }
+            }
+        }
+        return NO_SHARD_KEY;
+    }
+
+    @Override
+    public void destroy() {
+        scatterExecutor.shutdownNow();
+    }
+
+    private record Head(Object row, Iterator<?> rest) {
+        long id() {
+            return ShardRouter.idOf(row);
+        }
+
+        byte[] sortKey() {
+            return ShardRouter.sortKeyOf(row);
+        }
+    }
+}
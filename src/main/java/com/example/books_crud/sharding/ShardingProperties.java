@@ -0,0 +1,34 @@
+package com.example.books_crud.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for partitioning the catalog by creator across several databases ({@code catalog.sharding.*})
+ *
+ * @param enabled        whether repository calls are routed to shards
+ * @param shards         shard databases in a fixed order; the position of a shard is part of every id it issues
+ * @param scatterTimeout how long a query fanned out to all shards may take before it fails
+ */
+@ConfigurationProperties(prefix = "catalog.sharding")
+public record ShardingProperties(
+        @DefaultValue("false") boolean enabled,
+        List<Shard> shards,
+        @DefaultValue("5s") Duration scatterTimeout) {
+
+    public ShardingProperties {
+        shards = shards == null ? List.of() : shards;
+    }
+
+    /**
+     * @param url             JDBC URL of the shard
+     * @param username        shard user
+     * @param password        shard password
+     * @param maximumPoolSize connections kept for this shard
+     */
+    public record Shard(String url, String username, String password, @DefaultValue("10") int maximumPoolSize) {
+    }
+}
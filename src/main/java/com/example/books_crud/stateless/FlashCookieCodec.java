@@ -0,0 +1,103 @@
+package com.example.books_crud.stateless;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.servlet.FlashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flash maps as a cookie value: their JSON, Base64url-encoded, a dot and an HMAC-SHA256
+ * of it. A value whose signature does not match is read as no flash maps at all.
+ */
+final class FlashCookieCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final TypeReference<List<Entry>> ENTRIES = new TypeReference<>() {
+    };
+
+    private final SecretKeySpec key;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    FlashCookieCodec(byte[] secret) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    /**
+     * @param flashMaps flash maps whose attributes are strings, numbers or booleans
+     */
+    String encode(List<FlashMap> flashMaps) {
+        List<Entry> entries = new ArrayList<>(flashMaps.size());
+        for (FlashMap flashMap : flashMaps) {
+            entries.add(new Entry(flashMap.getTargetRequestPath(),
+                                  new LinkedHashMap<>(flashMap.getTargetRequestParams()),
+                                  flashMap.getExpirationTime(), new LinkedHashMap<>(flashMap)));
+        }
+        try {
+            String payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(entries));
+            return payload + "." + sign(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Flash attributes cannot be written to a cookie", e);
+        }
+    }
+
+    /**
+     * The flash maps of a cookie value, or none when it is malformed or not signed with this key
+     */
+    List<FlashMap> decode(String value) {
+        int dot = value.indexOf('.');
+        if (dot < 0) {
+            return List.of();
+        }
+        String payload = value.substring(0, dot);
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, value.substring(dot + 1).getBytes(StandardCharsets.US_ASCII))) {
+            return List.of();
+        }
+        try {
+            List<FlashMap> flashMaps = new ArrayList<>();
+            for (Entry entry : objectMapper.readValue(DECODER.decode(payload), ENTRIES)) {
+                FlashMap flashMap = new FlashMap();
+                flashMap.setTargetRequestPath(entry.path());
+                if (entry.params() != null) {
+                    flashMap.addTargetRequestParams(new LinkedMultiValueMap<>(entry.params()));
+                }
+                flashMap.setExpirationTime(entry.expires());
+                if (entry.attributes() != null) {
+                    flashMap.putAll(entry.attributes());
+                }
+                flashMaps.add(flashMap);
+            }
+            return flashMaps;
+        } catch (IOException | IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return ENCODER.encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign flash cookies", e);
+        }
+    }
+
+    record Entry(String path, Map<String, List<String>> params, long expires, Map<String, Object> attributes) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.books_crud.stateless;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Refuses HTTP sessions, so every node can serve every request and no per-client
+ * state accumulates on the heap.
+ * <p>
+ * Code asking whether a session exists is told there is none; code that would create
+ * one fails with an {@link IllegalStateException} instead of quietly making the
+ * application stateful again.
+ */
+public class SessionlessRequestFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(new SessionlessRequest(request), response);
+    }
+
+    private static final class SessionlessRequest extends HttpServletRequestWrapper {
+
+        private SessionlessRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (create) {
+                throw new IllegalStateException("HTTP sessions are disabled (catalog.stateless.enabled=true)");
+            }
+            return null;
+        }
+
+        @Override
+        public String changeSessionId() {
+            throw new IllegalStateException("HTTP sessions are disabled (catalog.stateless.enabled=true)");
+        }
+
+        @Override
+        public boolean isRequestedSessionIdValid() {
+            return false;
+        }
+    }
+}
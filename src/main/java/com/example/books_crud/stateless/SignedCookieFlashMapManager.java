@@ -0,0 +1,108 @@
+package com.example.books_crud.stateless;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.FlashMap;
+import org.springframework.web.servlet.support.AbstractFlashMapManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps flash attributes in a signed, short-lived cookie instead of the HTTP session,
+ * so {@code RedirectAttributes.addFlashAttribute} works without a session.
+ * <p>
+ * The redirect sets the cookie and the request it was meant for consumes it; the cookie
+ * expires with the flash maps it carries even if that request never comes. Only
+ * strings, numbers and booleans can be flashed, and the cookie is limited to
+ * {@value #MAX_COOKIE_LENGTH} characters: other attributes are dropped and an
+ * oversized cookie is not set, with a warning either way. A cookie that was tampered
+ * with or signed by another key is ignored.
+ */
+public class SignedCookieFlashMapManager extends AbstractFlashMapManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignedCookieFlashMapManager.class);
+
+    static final String COOKIE_NAME = "catalog-flash";
+    static final int MAX_COOKIE_LENGTH = 4000;
+    private static final String FLASH_MAPS_ATTRIBUTE = SignedCookieFlashMapManager.class.getName() + ".flashMaps";
+
+    private final FlashCookieCodec codec;
+
+    public SignedCookieFlashMapManager(byte[] secret, int timeToLiveSeconds) {
+        this.codec = new FlashCookieCodec(secret);
+        setFlashMapTimeout(timeToLiveSeconds);
+    }
+
+    @Override
+    protected List<FlashMap> retrieveFlashMaps(HttpServletRequest request) {
+        // Once this request changed them, its cookie is out of date
+        if (request.getAttribute(FLASH_MAPS_ATTRIBUTE) instanceof List<?> updated) {
+            List<FlashMap> flashMaps = new ArrayList<>();
+            updated.forEach(flashMap -> flashMaps.add((FlashMap) flashMap));
+            return flashMaps;
+        }
+        String value = cookieValue(request);
+        return value != null ? new ArrayList<>(codec.decode(value)) : null;
+    }
+
+    @Override
+    protected void updateFlashMaps(List<FlashMap> flashMaps, HttpServletRequest request,
+                                   HttpServletResponse response) {
+        flashMaps.forEach(SignedCookieFlashMapManager::dropUnsupportedAttributes);
+        flashMaps.removeIf(FlashMap::isEmpty);
+        request.setAttribute(FLASH_MAPS_ATTRIBUTE, List.copyOf(flashMaps));
+        String value = flashMaps.isEmpty() ? "" : codec.encode(flashMaps);
+        if (value.length() > MAX_COOKIE_LENGTH) {
+            logger.warn("Flash attributes for {} take {} characters, over the cookie limit of {}; not sent",
+                        request.getRequestURI(), value.length(), MAX_COOKIE_LENGTH);
+            value = "";
+        }
+        if (value.isEmpty() && cookieValue(request) == null) {
+            return;
+        }
+        Cookie cookie = new Cookie(COOKIE_NAME, value);
+        cookie.setMaxAge(value.isEmpty() ? 0 : getFlashMapTimeout());
+        cookie.setPath(StringUtils.hasLength(request.getContextPath()) ? request.getContextPath() : "/");
+        cookie.setHttpOnly(true);
+        cookie.setSecure(request.isSecure());
+        cookie.setAttribute("SameSite", "Lax");
+        response.addCookie(cookie);
+    }
+
+    private static String cookieValue(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName()) && StringUtils.hasText(cookie.getValue())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sessions are not used, and each client's flash maps travel with its own requests
+     */
+    @Override
+    protected Object getFlashMapsMutex(HttpServletRequest request) {
+        return null;
+    }
+
+    private static void dropUnsupportedAttributes(FlashMap flashMap) {
+        for (Map.Entry<String, Object> attribute : List.copyOf(flashMap.entrySet())) {
+            Object value = attribute.getValue();
+            if (!(value instanceof String || value instanceof Number || value instanceof Boolean)) {
+                logger.warn("Flash attribute {} of type {} cannot be carried in a cookie; dropped", attribute.getKey(),
+                            value != null ? value.getClass().getName() : null);
+                flashMap.remove(attribute.getKey());
+            }
+        }
+    }
+}
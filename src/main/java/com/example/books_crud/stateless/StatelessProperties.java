@@ -0,0 +1,21 @@
+package com.example.books_crud.stateless;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Session-free operation with flash messages carried in signed cookies ({@code catalog.stateless.*})
+ *
+ * @param enabled         whether HTTP sessions are refused and flash attributes travel in a cookie instead of the session
+ * @param secret          key the flash cookies are signed with; every node behind one address needs the same.
+ *                        When empty each node signs with a random key of its own
+ * @param flashTimeToLive how long a flash message waits for the request it was meant for
+ */
+@ConfigurationProperties(prefix = "catalog.stateless")
+public record StatelessProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("") String secret,
+        @DefaultValue("60s") Duration flashTimeToLive) {
+}
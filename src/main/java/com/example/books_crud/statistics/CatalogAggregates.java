@@ -0,0 +1,305 @@
+package com.example.books_crud.statistics;
+
+import com.example.books_crud.event.CatalogChangeEvent;
+import com.example.books_crud.event.CatalogChangeEvent.CreatorRemoved;
+import com.example.books_crud.event.CatalogChangeEvent.CreatorSaved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkRemoved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkSaved;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Running totals of the catalog: the creator of every work, the number of works of
+ * every creator kept ranked, a works-per-creator histogram and the latest additions.
+ * <p>
+ * Applying a change event costs a few map lookups and at most two re-rankings, and
+ * applying the same event twice changes nothing, so events that raced with a rebuild
+ * from the database can simply be applied again on top of it. Not thread-safe.
+ */
+final class CatalogAggregates {
+
+    /**
+     * Lower bounds of the works-per-creator buckets; the last bucket is open-ended
+     */
+    static final long[] BUCKET_LOWER_BOUNDS = {0, 1, 2, 5, 10, 50, 100, 500, 1000};
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final Comparator<Tally> RANKING = Comparator.comparingLong((Tally tally) -> -tally.works)
+            .thenComparingLong(tally -> tally.creatorId);
+
+    private final WorkOwnership ownership;
+    private final Map<Long, Tally> creators = new HashMap<>();
+    private final NavigableSet<Tally> ranking = new TreeSet<>(RANKING);
+    private final long[] buckets = new long[BUCKET_LOWER_BOUNDS.length];
+    private final List<CatalogStatistics.RecentWork> recent = new ArrayList<>();
+    private final int recentCapacity;
+    private long unattributed;
+
+    CatalogAggregates(int recentCapacity) {
+        this(recentCapacity, new WorkOwnership());
+    }
+
+    private CatalogAggregates(int recentCapacity, WorkOwnership ownership) {
+        this.recentCapacity = recentCapacity;
+        this.ownership = ownership;
+    }
+
+    /**
+     * Aggregate the catalog as it is in the database, streaming the work table once
+     */
+    static CatalogAggregates load(Connection connection, int recentCapacity) throws SQLException {
+        CatalogAggregates aggregates;
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM literary_work")) {
+                rows.next();
+                aggregates = new CatalogAggregates(recentCapacity, new WorkOwnership(Math.toIntExact(rows.getLong(1))));
+            }
+            try (ResultSet rows = statement.executeQuery("SELECT creator_id, full_name FROM literary_creator")) {
+                while (rows.next()) {
+                    long creatorId = rows.getLong(1);
+                    aggregates.creators.put(creatorId, new Tally(creatorId, rows.getString(2)));
+                }
+            }
+            // Count without ranking; the ranking and histogram are built once at the end
+            try (ResultSet rows = statement.executeQuery("SELECT work_id, creator_id FROM literary_work")) {
+                while (rows.next()) {
+                    long owner = rows.getLong(2);
+                    aggregates.ownership.put(rows.getLong(1), owner);
+                    if (owner == WorkOwnership.NO_CREATOR) {
+                        aggregates.unattributed++;
+                    } else {
+                        aggregates.creators.computeIfAbsent(owner, id -> new Tally(id, null)).works++;
+                    }
+                }
+            }
+        }
+        try (PreparedStatement latest = connection.prepareStatement(
+                "SELECT work_id, work_title, creator_id FROM literary_work ORDER BY work_id DESC LIMIT ?")) {
+            latest.setInt(1, recentCapacity);
+            try (ResultSet rows = latest.executeQuery()) {
+                while (rows.next()) {
+                    aggregates.recent.add(new CatalogStatistics.RecentWork(
+                            rows.getLong(1), rows.getString(2), rows.getObject(3, Long.class), null));
+                }
+            }
+        }
+        for (Tally tally : aggregates.creators.values()) {
+            aggregates.ranking.add(tally);
+            aggregates.buckets[bucket(tally.works)]++;
+        }
+        return aggregates;
+    }
+
+    /**
+     * Add the aggregates of another shard of the catalog; each work and creator is stored on one shard only
+     */
+    void add(CatalogAggregates shard) {
+        shard.ownership.forEach(ownership::put);
+        unattributed += shard.unattributed;
+        for (Tally other : shard.creators.values()) {
+            Tally tally = tally(other.creatorId);
+            if (other.name != null) {
+                tally.name = other.name;
+            }
+            ranking.remove(tally);
+            buckets[bucket(tally.works)]--;
+            tally.works += other.works;
+            buckets[bucket(tally.works)]++;
+            ranking.add(tally);
+        }
+        recent.addAll(shard.recent);
+        recent.sort(Comparator.comparingLong(CatalogStatistics.RecentWork::workId).reversed());
+        if (recent.size() > recentCapacity) {
+            recent.subList(recentCapacity, recent.size()).clear();
+        }
+    }
+
+    void apply(CatalogChangeEvent event, Instant now) {
+        switch (event) {
+            case CreatorSaved creator -> creatorSaved(creator.creatorId(), creator.name());
+            case CreatorRemoved creator -> creatorRemoved(creator.creatorId());
+            case WorkSaved work -> workSaved(work.workId(), work.title(), work.creatorId(), now);
+            case WorkRemoved work -> workRemoved(work.workId());
+        }
+    }
+
+    private void creatorSaved(long creatorId, String name) {
+        tally(creatorId).name = name;
+    }
+
+    private void creatorRemoved(long creatorId) {
+        Tally tally = creators.remove(creatorId);
+        if (tally == null) {
+            return;
+        }
+        ranking.remove(tally);
+        buckets[bucket(tally.works)]--;
+        if (tally.works > 0) {
+            // The event does not list the works, so find them by owner
+            ownership.removeOwnedBy(creatorId);
+            recent.removeIf(work -> work.creatorId() != null && work.creatorId() == creatorId);
+        }
+    }
+
+    private void workSaved(long workId, String title, Long creatorId, Instant now) {
+        long owner = creatorId != null ? creatorId : WorkOwnership.NO_CREATOR;
+        long previous = ownership.put(workId, owner);
+        if (previous == WorkOwnership.ABSENT) {
+            recent.add(0, new CatalogStatistics.RecentWork(workId, title, creatorId, now));
+            if (recent.size() > recentCapacity) {
+                recent.remove(recent.size() - 1);
+            }
+        } else {
+            recent.replaceAll(work -> work.workId() == workId
+                    ? new CatalogStatistics.RecentWork(workId, title, creatorId, work.addedAt()) : work);
+        }
+        if (previous != owner) {
+            if (previous != WorkOwnership.ABSENT) {
+                count(previous, -1);
+            }
+            count(owner, 1);
+        }
+    }
+
+    private void workRemoved(long workId) {
+        long previous = ownership.remove(workId);
+        if (previous != WorkOwnership.ABSENT) {
+            count(previous, -1);
+            recent.removeIf(work -> work.workId() == workId);
+        }
+    }
+
+    private void count(long owner, int delta) {
+        if (owner == WorkOwnership.NO_CREATOR) {
+            unattributed += delta;
+            return;
+        }
+        Tally tally = tally(owner);
+        ranking.remove(tally);
+        buckets[bucket(tally.works)]--;
+        tally.works += delta;
+        buckets[bucket(tally.works)]++;
+        ranking.add(tally);
+    }
+
+    private Tally tally(long creatorId) {
+        Tally tally = creators.get(creatorId);
+        if (tally == null) {
+            tally = new Tally(creatorId, null);
+            creators.put(creatorId, tally);
+            ranking.add(tally);
+            buckets[0]++;
+        }
+        return tally;
+    }
+
+    private static int bucket(long works) {
+        int bucket = BUCKET_LOWER_BOUNDS.length - 1;
+        while (BUCKET_LOWER_BOUNDS[bucket] > works) {
+            bucket--;
+        }
+        return bucket;
+    }
+
+    /**
+     * Keep the times this node saw recent works added, which a rebuild cannot know
+     */
+    void carryOverAddedAt(CatalogAggregates previous) {
+        Map<Long, Instant> addedAt = new HashMap<>();
+        for (CatalogStatistics.RecentWork work : previous.recent) {
+            if (work.addedAt() != null) {
+                addedAt.put(work.workId(), work.addedAt());
+            }
+        }
+        recent.replaceAll(work -> work.addedAt() == null && addedAt.containsKey(work.workId())
+                ? new CatalogStatistics.RecentWork(work.workId(), work.title(), work.creatorId(),
+                                                   addedAt.get(work.workId()))
+                : work);
+    }
+
+    /**
+     * Works whose creator differs between the two, plus creators known to only one of them
+     */
+    long differences(CatalogAggregates other) {
+        long[] differences = {0};
+        ownership.forEach((workId, owner) -> {
+            if (other.ownership.get(workId) != owner) {
+                differences[0]++;
+            }
+        });
+        other.ownership.forEach((workId, owner) -> {
+            if (ownership.get(workId) == WorkOwnership.ABSENT) {
+                differences[0]++;
+            }
+        });
+        for (Long creatorId : creators.keySet()) {
+            if (!other.creators.containsKey(creatorId)) {
+                differences[0]++;
+            }
+        }
+        for (Long creatorId : other.creators.keySet()) {
+            if (!creators.containsKey(creatorId)) {
+                differences[0]++;
+            }
+        }
+        return differences[0];
+    }
+
+    int works() {
+        return ownership.size();
+    }
+
+    int creators() {
+        return creators.size();
+    }
+
+    /**
+     * Copy out the current figures; costs the number of top creators plus buckets, not the catalog size
+     */
+    CatalogStatistics snapshot(int topCreators, Instant reconciledAt, long lastDrift) {
+        List<CatalogStatistics.Bucket> distribution = new ArrayList<>(buckets.length);
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            Long maxWorks = bucket + 1 < buckets.length ? BUCKET_LOWER_BOUNDS[bucket + 1] - 1 : null;
+            distribution.add(new CatalogStatistics.Bucket(BUCKET_LOWER_BOUNDS[bucket], maxWorks, buckets[bucket]));
+        }
+        List<CatalogStatistics.TopCreator> top = new ArrayList<>(topCreators);
+        Iterator<Tally> ranked = ranking.iterator();
+        while (top.size() < topCreators && ranked.hasNext()) {
+            Tally tally = ranked.next();
+            top.add(new CatalogStatistics.TopCreator(tally.creatorId, tally.name, tally.works));
+        }
+        return new CatalogStatistics(creators.size(), ownership.size(), unattributed,
+                                     creators.size() - buckets[0] - buckets[1], List.copyOf(distribution),
+                                     List.copyOf(top), List.copyOf(recent), reconciledAt, lastDrift);
+    }
+
+    /**
+     * Works of one creator; ranked by {@link #RANKING}, so only changed while out of the ranking
+     */
+    private static final class Tally {
+
+        private final long creatorId;
+        private String name;
+        private long works;
+
+        private Tally(long creatorId, String name) {
+            this.creatorId = creatorId;
+            this.name = name;
+        }
+    }
+}
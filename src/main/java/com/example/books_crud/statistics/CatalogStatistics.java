@@ -0,0 +1,38 @@
+package com.example.books_crud.statistics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Catalog statistics as served on {@code /statistics}
+ *
+ * @param creators                  registered creators
+ * @param works                     registered works
+ * @param unattributedWorks         works without a creator
+ * @param creatorsWithMultipleWorks creators with two or more works
+ * @param worksPerCreator           how many creators have how many works
+ * @param topCreators               creators with the most works, most first
+ * @param recentAdditions           most recently registered works, newest first
+ * @param reconciledAt              when the aggregates were last rebuilt from the database
+ * @param lastDrift                 works and creators the last rebuild found out of step with the aggregates
+ */
+public record CatalogStatistics(long creators, long works, long unattributedWorks, long creatorsWithMultipleWorks,
+                                List<Bucket> worksPerCreator, List<TopCreator> topCreators,
+                                List<RecentWork> recentAdditions, Instant reconciledAt, long lastDrift) {
+
+    /**
+     * Creators with between {@code minWorks} and {@code maxWorks} works, inclusive;
+     * {@code maxWorks} is {@code null} for the last bucket
+     */
+    public record Bucket(long minWorks, Long maxWorks, long creators) {
+    }
+
+    public record TopCreator(long creatorId, String name, long works) {
+    }
+
+    /**
+     * @param addedAt when this node saw the work registered; {@code null} for works found by a rebuild
+     */
+    public record RecentWork(long workId, String title, Long creatorId, Instant addedAt) {
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.books_crud.statistics;
+
+import com.example.books_crud.event.CatalogChangeEvent;
+import com.example.books_crud.sharding.ShardContext;
+import com.example.books_crud.warmup.CatalogWarmup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog statistics kept up to date from committed change events instead of being
+ * counted in the database on every request.
+ * <p>
+ * Reads are served from a snapshot that is only rebuilt after a change, at a cost
+ * independent of the catalog size. Changes this node does not hear about, such as
+ * writes by another node or straight to the database, are corrected by periodically
+ * rebuilding the aggregates from the database; events committed while a rebuild scans
+ * the tables are applied again on top of it, and the difference to the incrementally
+ * maintained aggregates is reported as drift.
+ * <p>
+ * A sharded catalog is rebuilt one shard at a time and the shards' aggregates added up.
+ */
+public class CatalogStatisticsStore implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogStatisticsStore.class);
+
+    private final DataSource dataSource;
+    private final int shardCount;
+    private final StatisticsProperties properties;
+    private final Clock clock;
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private CatalogAggregates aggregates;
+    private List<CatalogChangeEvent> duringRebuild;
+    private Instant reconciledAt;
+    private long lastDrift;
+
+    private volatile CatalogStatistics published;
+    private Counter driftCounter;
+    private Timer reconcileTimer;
+
+    /**
+     * @param shardCount shards the catalog is split over, one when it is not sharded
+     */
+    public CatalogStatisticsStore(DataSource dataSource, int shardCount, StatisticsProperties properties,
+                                  Clock clock) {
+        this.dataSource = dataSource;
+        this.shardCount = shardCount;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Current statistics, or empty until the aggregates have first been built
+     */
+    public Optional<CatalogStatistics> statistics() {
+        CatalogStatistics statistics = published;
+        if (statistics == null) {
+            synchronized (lock) {
+                if (aggregates == null) {
+                    return Optional.empty();
+                }
+                if (published == null) {
+                    published = aggregates.snapshot(properties.topCreators(), reconciledAt, lastDrift);
+                }
+                statistics = published;
+            }
+        }
+        return Optional.of(statistics);
+    }
+
+    /**
+     * Fold a committed catalog mutation into the aggregates
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        synchronized (lock) {
+            if (aggregates != null) {
+                aggregates.apply(event, clock.instant());
+                published = null;
+            }
+            if (duringRebuild != null) {
+                duringRebuild.add(event);
+            }
+        }
+    }
+
+    @Order(CatalogWarmup.BEFORE_WARMUP)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Rebuild the aggregates from the database and replace the incrementally maintained ones
+     */
+    @Scheduled(initialDelayString = "${catalog.statistics.reconcile-interval:10m}",
+               fixedDelayString = "${catalog.statistics.reconcile-interval:10m}")
+    public void reconcile() {
+        long startedAt = System.nanoTime();
+        synchronized (lock) {
+            if (duringRebuild != null) {
+                return;
+            }
+            duringRebuild = new ArrayList<>();
+        }
+        CatalogAggregates rebuilt;
+        try {
+            List<CatalogAggregates> shards = ShardContext.callOnEachShard(shardCount, () -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    return CatalogAggregates.load(connection, properties.recentAdditions());
+                }
+            });
+            rebuilt = shards.get(0);
+            for (CatalogAggregates shard : shards.subList(1, shards.size())) {
+                rebuilt.add(shard);
+            }
+        } catch (SQLException | RuntimeException e) {
+            synchronized (lock) {
+                duringRebuild = null;
+            }
+            logger.warn("Could not rebuild catalog statistics, keeping the incremental ones", e);
+            return;
+        }
+        long drift;
+        synchronized (lock) {
+            Instant now = clock.instant();
+            for (CatalogChangeEvent event : duringRebuild) {
+                rebuilt.apply(event, now);
+            }
+            duringRebuild = null;
+            drift = aggregates != null ? aggregates.differences(rebuilt) : 0;
+            if (aggregates != null) {
+                rebuilt.carryOverAddedAt(aggregates);
+            }
+            aggregates = rebuilt;
+            reconciledAt = now;
+            lastDrift = drift;
+            published = null;
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        if (reconcileTimer != null) {
+            reconcileTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            driftCounter.increment(drift);
+        }
+        if (drift > 0) {
+            logger.warn("Catalog statistics had drifted from the database by {} works and creators", drift);
+        }
+        logger.info("Rebuilt catalog statistics of {} creators and {} works in {} ms", rebuilt.creators(),
+                    rebuilt.works(), elapsedNanos / 1_000_000);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        driftCounter = Counter.builder("catalog.statistics.drift")
+                .description("Works and creators found out of step with the database when rebuilding statistics")
+                .register(registry);
+        reconcileTimer = Timer.builder("catalog.statistics.reconciliation")
+                .description("Time taken to rebuild catalog statistics from the database")
+                .register(registry);
+        Gauge.builder("catalog.statistics.works", this, store -> store.statistics()
+                        .map(CatalogStatistics::works).orElse(0L))
+                .description("Works counted by the catalog statistics")
+                .register(registry);
+        Gauge.builder("catalog.statistics.creators", this, store -> store.statistics()
+                        .map(CatalogStatistics::creators).orElse(0L))
+                .description("Creators counted by the catalog statistics")
+                .register(registry);
+    }
+}
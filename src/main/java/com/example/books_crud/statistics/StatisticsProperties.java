@@ -0,0 +1,22 @@
+package com.example.books_crud.statistics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the incrementally maintained catalog statistics ({@code catalog.statistics.*})
+ *
+ * @param enabled            whether the statistics are kept and served on {@code /statistics}
+ * @param topCreators        creators listed by number of works
+ * @param recentAdditions    most recently registered works listed
+ * @param reconcileInterval  how often the aggregates are rebuilt from the database to correct drift
+ */
+@ConfigurationProperties(prefix = "catalog.statistics")
+public record StatisticsProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10") int topCreators,
+        @DefaultValue("20") int recentAdditions,
+        @DefaultValue("10m") Duration reconcileInterval) {
+}
@@ -0,0 +1,160 @@
+package com.example.books_crud.statistics;
+
+/**
+ * Creator of every work by work id, in two parallel {@code long} arrays with open
+ * addressing, about 32 bytes per work instead of the ~100 of a {@code HashMap<Long, Long>}.
+ * <p>
+ * Work ids are positive, so {@code 0} marks a free slot; removals shift the following
+ * entries back instead of leaving tombstones. Not thread-safe.
+ */
+final class WorkOwnership {
+
+    /**
+     * Owner of a work registered without a creator
+     */
+    static final long NO_CREATOR = 0;
+
+    /**
+     * Returned for works that are not in the map
+     */
+    static final long ABSENT = -1;
+
+    private static final int MIN_CAPACITY = 64;
+
+    private long[] works;
+    private long[] owners;
+    private int size;
+
+    WorkOwnership() {
+        this(MIN_CAPACITY);
+    }
+
+    WorkOwnership(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2 - 1)) << 1;
+        works = new long[capacity];
+        owners = new long[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(long workId) {
+        int slot = find(workId);
+        return works[slot] == workId ? owners[slot] : ABSENT;
+    }
+
+    /**
+     * @return the previous owner, or {@link #ABSENT} if the work was not in the map
+     */
+    long put(long workId, long owner) {
+        if (workId <= 0) {
+            throw new IllegalArgumentException("Work ids must be positive: " + workId);
+        }
+        int slot = find(workId);
+        if (works[slot] == workId) {
+            long previous = owners[slot];
+            owners[slot] = owner;
+            return previous;
+        }
+        works[slot] = workId;
+        owners[slot] = owner;
+        if (++size * 2 > works.length) {
+            resize(works.length * 2);
+        }
+        return ABSENT;
+    }
+
+    /**
+     * @return the removed work's owner, or {@link #ABSENT} if the work was not in the map
+     */
+    long remove(long workId) {
+        int slot = find(workId);
+        if (works[slot] != workId) {
+            return ABSENT;
+        }
+        long owner = owners[slot];
+        delete(slot);
+        return owner;
+    }
+
+    /**
+     * Remove every work of a creator
+     *
+     * @return how many were removed
+     */
+    int removeOwnedBy(long owner) {
+        int removed = 0;
+        int slot = 0;
+        while (slot < works.length) {
+            if (works[slot] != 0 && owners[slot] == owner) {
+                // The backward shift may move an unvisited entry into this slot, so look at it again
+                delete(slot);
+                removed++;
+            } else {
+                slot++;
+            }
+        }
+        return removed;
+    }
+
+    void forEach(Visitor visitor) {
+        for (int slot = 0; slot < works.length; slot++) {
+            if (works[slot] != 0) {
+                visitor.visit(works[slot], owners[slot]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(long workId, long owner);
+    }
+
+    private int find(long workId) {
+        int mask = works.length - 1;
+        int slot = mix(workId) & mask;
+        while (works[slot] != 0 && works[slot] != workId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void delete(int slot) {
+        int mask = works.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (works[next] != 0) {
+            int home = mix(works[next]) & mask;
+            // Move the entry back unless its home lies cyclically in (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                works[hole] = works[next];
+                owners[hole] = owners[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        works[hole] = 0;
+        owners[hole] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldWorks = works;
+        long[] oldOwners = owners;
+        works = new long[capacity];
+        owners = new long[capacity];
+        for (int slot = 0; slot < oldWorks.length; slot++) {
+            if (oldWorks[slot] != 0) {
+                int target = find(oldWorks[slot]);
+                works[target] = oldWorks[slot];
+                owners[target] = oldOwners[slot];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.books_crud.throttling;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows observed latency (a gradient limiter).
+ * <p>
+ * Each completed request contributes its round-trip time to a short and a long
+ * moving average. While the short-term latency stays within {@code tolerance}
+ * times the long-term baseline the limit grows by roughly its square root;
+ * when requests start queueing (for connections, CPU, locks) short-term latency
+ * rises beyond that and the limit shrinks proportionally. Requests beyond
+ * the limit are refused immediately instead of waiting for a pool connection.
+ * <p>
+ * Admission is a compare-and-set on the in-flight counter. Samples are folded in
+ * under a lock that is only ever tried, never waited for, so a contended update
+ * simply drops that sample.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+
+    private volatile double limit;
+    private double shortRttNanos;
+    private volatile double longRttNanos;
+    private long samples;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Admit a request if fewer than the current limit are in flight
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Complete an admitted request and record how long it took
+     */
+    public void release(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (rttNanos <= 0 || !sampleLock.tryLock()) {
+            return;
+        }
+        try {
+            update(rttNanos, inFlightAtCompletion);
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    private void update(long rttNanos, int inFlightAtCompletion) {
+        samples++;
+        if (samples == 1) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) / Math.min(samples, SHORT_WINDOW);
+        longRttNanos += (rttNanos - longRttNanos) / Math.min(samples, LONG_WINDOW);
+        // After a period of overload the baseline lags far above current latency;
+        // pull it down so the limit is not held back by stale history
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+
+        double current = limit;
+        double gradient = Math.clamp(tolerance * longRttNanos / shortRttNanos, 0.5, 1.0);
+        // Probe upwards only while latency is within tolerance; adding headroom while
+        // congested would stall the back-off at a limit of four
+        double target = gradient < 1.0 ? current * gradient : current + Math.sqrt(current);
+        if (target > current && inFlightAtCompletion < current / 2) {
+            // Too few requests in flight to tell whether a higher limit would hold
+            return;
+        }
+        limit = Math.clamp(current * (1 - smoothing) + target * smoothing, minLimit, maxLimit);
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Long-term latency baseline in milliseconds, 0 before the first sample
+     */
+    public double baselineRttMillis() {
+        return longRttNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.books_crud.throttling;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the address of the client a request came from, for keying its token bucket.
+ * <p>
+ * A request whose peer is one of the trusted proxies (the load balancer) carries the
+ * client in the forwarding header, each proxy appending the address it received the
+ * request from. The header is read from the right, skipping trusted proxies; the first
+ * other address is the client. Entries further left were written by the client itself
+ * and are ignored, so a client cannot pick its own bucket. Requests from any other peer
+ * are keyed on the peer address.
+ */
+public class ClientAddressResolver {
+
+    private static final Pattern ADDRESS_LITERAL = Pattern.compile("[0-9A-Fa-f:.]+");
+
+    private final String header;
+    private final List<AddressRange> trustedProxies;
+
+    /**
+     * @param header         forwarding header proxies append the client address to, e.g. {@code X-Forwarded-For}
+     * @param trustedProxies proxy addresses or ranges in CIDR notation, e.g. {@code 10.0.0.0/8}
+     */
+    public ClientAddressResolver(String header, List<String> trustedProxies) {
+        this.header = header;
+        this.trustedProxies = trustedProxies.stream().map(AddressRange::parse).toList();
+    }
+
+    public String clientAddress(HttpServletRequest request) {
+        String peer = request.getRemoteAddr();
+        String forwarded = request.getHeader(header);
+        if (forwarded == null || forwarded.isBlank() || !isTrusted(peer)) {
+            return peer;
+        }
+        String[] hops = forwarded.split(",");
+        String client = peer;
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = withoutPort(hops[i].strip());
+            if (hop.isEmpty()) {
+                continue;
+            }
+            client = hop;
+            if (!isTrusted(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String address) {
+        byte[] bytes = literalBytes(address);
+        if (bytes == null) {
+            return false;
+        }
+        for (AddressRange range : trustedProxies) {
+            if (range.contains(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Strip the port from {@code 192.0.2.1:8080} and the brackets and port from {@code [2001:db8::1]:8080}
+     */
+    private static String withoutPort(String hop) {
+        if (hop.startsWith("[")) {
+            int end = hop.indexOf(']');
+            return end < 0 ? hop : hop.substring(1, end);
+        }
+        int colon = hop.indexOf(':');
+        if (colon >= 0 && colon == hop.lastIndexOf(':') && hop.indexOf('.') >= 0) {
+            return hop.substring(0, colon);
+        }
+        return hop;
+    }
+
+    /**
+     * Address bytes of an IP literal, or null for anything else; never resolves a host name
+     */
+    private static byte[] literalBytes(String address) {
+        if (address == null || !ADDRESS_LITERAL.matcher(address).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(address).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Network address and prefix length of a CIDR range
+     */
+    private record AddressRange(byte[] network, int prefixLength) {
+
+        static AddressRange parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            String address = slash < 0 ? cidr.strip() : cidr.substring(0, slash).strip();
+            byte[] network = literalBytes(address);
+            if (network == null) {
+                throw new IllegalArgumentException("Trusted proxy must be an IP address or CIDR range: " + cidr);
+            }
+            int prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(cidr.substring(slash + 1).strip());
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Prefix length out of range: " + cidr);
+            }
+            return new AddressRange(network, prefixLength);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.books_crud.throttling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * One {@link TokenBucket} per client for a single endpoint.
+ * <p>
+ * Buckets are created on first use in a concurrent map, and each remembers when its
+ * client was last seen, so a request takes no lock. Once more than {@code maxClients}
+ * are tracked, the one thread that gets to evict drops the buckets that have refilled,
+ * which carry no state, and then the clients seen longest ago, down to a sixteenth below
+ * the limit so the scan is not repeated for every new client. Other threads go on
+ * meanwhile; the map may briefly hold a few clients too many. A client that comes back
+ * starts with a full bucket.
+ */
+public class ClientRateLimiter {
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int maxClients;
+    private final LongSupplier clock;
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public ClientRateLimiter(double permitsPerSecond, int burst, int maxClients, LongSupplier clock) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.clock = clock;
+    }
+
+    /**
+     * Take a permit for the client, returning 0 when granted or the nanoseconds until one becomes available
+     */
+    public long tryAcquire(String clientKey) {
+        long now = clock.getAsLong();
+        Client client = clients.get(clientKey);
+        boolean added = client == null;
+        if (added) {
+            client = clients.computeIfAbsent(clientKey,
+                                             key -> new Client(new TokenBucket(permitsPerSecond, burst, now)));
+        }
+        client.lastSeen = requests.incrementAndGet();
+        long wait = client.bucket.tryAcquire(now);
+        if (added && clients.size() > maxClients) {
+            evict(now);
+        }
+        return wait;
+    }
+
+    /**
+     * Number of clients currently tracked
+     */
+    public int trackedClients() {
+        return clients.size();
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            clients.values().removeIf(client -> client.bucket.isFull(now));
+            int excess = clients.size() - (maxClients - maxClients / 16);
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<String, Client>> seen = new ArrayList<>(clients.entrySet());
+            seen.sort(Comparator.comparingLong(entry -> entry.getValue().lastSeen));
+            for (int i = 0; i < excess && i < seen.size(); i++) {
+                clients.remove(seen.get(i).getKey(), seen.get(i).getValue());
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * A client's bucket and the request count when it was last seen, the order of eviction
+     */
+    private static final class Client {
+
+        private final TokenBucket bucket;
+        private volatile long lastSeen;
+
+        private Client(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+}
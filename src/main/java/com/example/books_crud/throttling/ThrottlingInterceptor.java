@@ -0,0 +1,107 @@
+package com.example.books_crud.throttling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Sheds load for one endpoint before the handler touches the database.
+ * <p>
+ * A request first needs a permit from its client's token bucket (429 Too Many
+ * Requests otherwise) and then a slot from the shared adaptive concurrency limit
+ * (503 Service Unavailable otherwise). Both rejections carry a {@code Retry-After}
+ * header and a short plain-text body, so shedding costs no view rendering.
+ */
+public class ThrottlingInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThrottlingInterceptor.class);
+
+    private static final String ADMITTED_AT = ThrottlingInterceptor.class.getName() + ".admittedAt";
+
+    private final String endpoint;
+    private final ClientAddressResolver clients;
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final LongSupplier clock;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder overloaded = new LongAdder();
+
+    public ThrottlingInterceptor(String endpoint, ClientAddressResolver clients, ClientRateLimiter rateLimiter,
+                                 AdaptiveConcurrencyLimiter concurrencyLimiter, LongSupplier clock) {
+        this.endpoint = endpoint;
+        this.clients = clients;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        long waitNanos = rateLimiter.tryAcquire(clients.clientAddress(request));
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos);
+            return false;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloaded.increment();
+            logger.debug("Shedding {} request: concurrency limit {} reached", endpoint, concurrencyLimiter.limit());
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1));
+            return false;
+        }
+        admitted.increment();
+        request.setAttribute(ADMITTED_AT, clock.getAsLong());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ADMITTED_AT) instanceof Long admittedAt) {
+            request.removeAttribute(ADMITTED_AT);
+            // Failed requests say nothing reliable about capacity, so they free the slot without a sample
+            concurrencyLimiter.release(ex == null ? clock.getAsLong() - admittedAt : 0);
+        }
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(status.getReasonPhrase() + ", retry in " + retryAfterSeconds + "s\n");
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public long admittedCount() {
+        return admitted.sum();
+    }
+
+    public long rateLimitedCount() {
+        return rateLimited.sum();
+    }
+
+    public long overloadedCount() {
+        return overloaded.sum();
+    }
+
+    public int trackedClients() {
+        return rateLimiter.trackedClients();
+    }
+}
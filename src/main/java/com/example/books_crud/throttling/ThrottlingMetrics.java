@@ -0,0 +1,58 @@
+package com.example.books_crud.throttling;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes limiter state as {@code catalog.throttling.*} meters
+ */
+public class ThrottlingMetrics implements MeterBinder {
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final List<ThrottlingInterceptor> interceptors;
+
+    public ThrottlingMetrics(AdaptiveConcurrencyLimiter concurrencyLimiter, List<ThrottlingInterceptor> interceptors) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.interceptors = interceptors;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.throttling.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("catalog.throttling.concurrency.in-flight", concurrencyLimiter,
+                      AdaptiveConcurrencyLimiter::inFlight)
+                .description("Throttled requests currently being handled")
+                .register(registry);
+        Gauge.builder("catalog.throttling.concurrency.baseline-rtt", concurrencyLimiter,
+                      AdaptiveConcurrencyLimiter::baselineRttMillis)
+                .description("Long-term latency baseline the limit is measured against")
+                .baseUnit("milliseconds")
+                .register(registry);
+
+        for (ThrottlingInterceptor interceptor : interceptors) {
+            requests(registry, interceptor, "admitted", ThrottlingInterceptor::admittedCount);
+            requests(registry, interceptor, "rate_limited", ThrottlingInterceptor::rateLimitedCount);
+            requests(registry, interceptor, "overloaded", ThrottlingInterceptor::overloadedCount);
+            Gauge.builder("catalog.throttling.clients", interceptor, ThrottlingInterceptor::trackedClients)
+                    .description("Clients with a token bucket")
+                    .tag("endpoint", interceptor.endpoint())
+                    .register(registry);
+        }
+    }
+
+    private static void requests(MeterRegistry registry, ThrottlingInterceptor interceptor, String outcome,
+                                 ToDoubleFunction<ThrottlingInterceptor> count) {
+        FunctionCounter.builder("catalog.throttling.requests", interceptor, count)
+                .description("Requests to throttled endpoints by outcome")
+                .tag("endpoint", interceptor.endpoint())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.books_crud.throttling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings for per-endpoint load shedding ({@code catalog.throttling.*})
+ *
+ * @param enabled             whether throttled endpoints are guarded at all
+ * @param endpoints           throttled endpoints by name, each with its own per-client rate
+ * @param maxClients          number of client buckets tracked per endpoint; the least recently seen are evicted
+ * @param clientAddressHeader header the trusted proxies append the client address to
+ * @param trustedProxies      proxies, as addresses or CIDR ranges, whose forwarding header is believed; loopback
+ *                            only by default, so deployments list their load balancers
+ * @param concurrency         adaptive concurrency limit shared by all throttled endpoints
+ */
+@ConfigurationProperties(prefix = "catalog.throttling")
+public record ThrottlingProperties(
+        @DefaultValue("true") boolean enabled,
+        Map<String, Endpoint> endpoints,
+        @DefaultValue("10000") int maxClients,
+        @DefaultValue("X-Forwarded-For") String clientAddressHeader,
+        @DefaultValue({"127.0.0.0/8", "::1/128"}) List<String> trustedProxies,
+        @DefaultValue Concurrency concurrency) {
+
+    public ThrottlingProperties {
+        endpoints = endpoints == null ? Map.of() : endpoints;
+    }
+
+    /**
+     * @param path             request path pattern, relative to the servlet context
+     * @param permitsPerSecond sustained requests per second allowed for one client
+     * @param burst            requests a client may make at once after being idle
+     */
+    public record Endpoint(String path, double permitsPerSecond, @DefaultValue("1") int burst) {
+    }
+
+    /**
+     * @param initialLimit concurrent requests admitted before any latency has been observed
+     * @param minLimit     floor the limit never drops below
+     * @param maxLimit     ceiling, kept below the connection pool size so cheap lookups still get connections
+     * @param tolerance    how far short-term latency may rise above the baseline before the limit shrinks
+     * @param smoothing    weight given to each new limit estimate
+     */
+    public record Concurrency(
+            @DefaultValue("4") int initialLimit,
+            @DefaultValue("1") int minLimit,
+            @DefaultValue("8") int maxLimit,
+            @DefaultValue("2.0") double tolerance,
+            @DefaultValue("0.2") double smoothing) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.books_crud.throttling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * Instead of a token count plus a refill timestamp, the bucket keeps a single
+ * value: the instant at which it will be full again (the generic cell rate
+ * algorithm). Taking a permit pushes that instant one refill interval forward,
+ * and a permit is refused when doing so would put it more than {@code burst}
+ * intervals ahead of now. A single compare-and-set per permit is all the
+ * synchronization needed.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerPermit;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Token bucket needs a positive rate and a burst of at least one");
+        }
+        this.nanosPerPermit = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = nanosPerPermit * burst;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take one permit, returning 0 when granted or the nanoseconds until one becomes available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + nanosPerPermit;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Whether the bucket has refilled completely, i.e. it carries no state worth keeping
+     */
+    public boolean isFull(long nowNanos) {
+        return fullAt.get() - nowNanos <= 0;
+    }
+}
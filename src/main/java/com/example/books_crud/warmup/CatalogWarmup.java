@@ -0,0 +1,279 @@
+package com.example.books_crud.warmup;
+
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.search.UnifiedCatalogSearch;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import com.example.books_crud.service.CatalogPage;
+import com.example.books_crud.service.CollatedPage;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.ServletContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Runs the work of the first requests before the application reports readiness, so the
+ * first users after a deploy don't pay for it.
+ * <p>
+ * The warm-up opens the connection pool's minimum idle connections, fills the catalog
+ * caches and Hibernate's query plan cache by running each page the catalog serves,
+ * repeats those calls {@code catalog.warmup.rounds} times for the JIT, and compiles every
+ * JSP when running in an embedded servlet container. It listens to
+ * {@link ApplicationReadyEvent} after the listeners that fill in sort keys, build the
+ * statistics and the duplicate index and start the background flight recording, and
+ * before the connection pool sizing starts measuring, which should not count the
+ * warm-up's connections as load. Spring Boot only reports the readiness state
+ * {@code ACCEPTING_TRAFFIC} once those listeners have returned, so
+ * {@code /actuator/health/readiness} stays {@code OUT_OF_SERVICE} until the warm-up is
+ * done. A failing step is logged and does not hold back readiness.
+ * <p>
+ * The time each phase took is the {@code catalog.warmup.duration} gauge.
+ */
+public class CatalogWarmup implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogWarmup.class);
+
+    /**
+     * Order of the {@link ApplicationReadyEvent} listeners that prepare what the warm-up uses
+     */
+    public static final int BEFORE_WARMUP = Ordered.LOWEST_PRECEDENCE - 2;
+
+    /**
+     * Order of the warm-up among the {@link ApplicationReadyEvent} listeners
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    /**
+     * Order of the {@link ApplicationReadyEvent} listeners that must not see the warm-up's work
+     */
+    public static final int AFTER_WARMUP = Ordered.LOWEST_PRECEDENCE;
+
+    // As the catalog and creator directory pages
+    private static final int PAGE_SIZE = 50;
+
+    private final BookService literaryService;
+    private final AuthorService creatorService;
+    private final ObjectProvider<UnifiedCatalogSearch> catalogSearch;
+    private final DataSource dataSource;
+    private final WarmupProperties properties;
+
+    // Written once by the warm-up, read by the gauges
+    private volatile long connectionsNanos;
+    private volatile long servicesNanos;
+    private volatile long viewsNanos;
+    private volatile long totalNanos;
+    private volatile int roundsRun;
+    private volatile int viewsCompiled;
+    private volatile boolean complete;
+
+    public CatalogWarmup(BookService literaryService, AuthorService creatorService,
+                         ObjectProvider<UnifiedCatalogSearch> catalogSearch, DataSource dataSource,
+                         WarmupProperties properties) {
+        this.literaryService = literaryService;
+        this.creatorService = creatorService;
+        this.catalogSearch = catalogSearch;
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    @Order(ORDER)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(ApplicationReadyEvent event) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + properties.timeLimit().toNanos();
+
+        int connections = openIdleConnections();
+        long connectionsDone = System.nanoTime();
+        connectionsNanos = connectionsDone - startedAt;
+
+        int cached = 0;
+        try {
+            cached = fillCaches();
+            while (roundsRun < properties.rounds() && System.nanoTime() < deadline) {
+                servePages();
+                roundsRun++;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Warm-up of the catalog pages failed after {} rounds", roundsRun, e);
+        }
+        long servicesDone = System.nanoTime();
+        servicesNanos = servicesDone - connectionsDone;
+
+        viewsCompiled = compileViews(event.getApplicationContext());
+        long viewsDone = System.nanoTime();
+        viewsNanos = viewsDone - servicesDone;
+        totalNanos = viewsDone - startedAt;
+        complete = true;
+        logger.info("Warmed up in {} ms: {} connections in {} ms, {} cached entries and {} rounds of catalog pages "
+                            + "in {} ms, {} views in {} ms", TimeUnit.NANOSECONDS.toMillis(totalNanos), connections,
+                    TimeUnit.NANOSECONDS.toMillis(connectionsNanos), cached, roundsRun,
+                    TimeUnit.NANOSECONDS.toMillis(servicesNanos), viewsCompiled,
+                    TimeUnit.NANOSECONDS.toMillis(viewsNanos));
+    }
+
+    /**
+     * Hold the pool's minimum idle connections at once, so all of them are open before the first request
+     */
+    private int openIdleConnections() {
+        int wanted = 1;
+        List<Connection> held = new ArrayList<>();
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                wanted = Math.max(1, dataSource.unwrap(HikariDataSource.class).getMinimumIdle());
+            }
+            while (held.size() < wanted) {
+                held.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            logger.warn("Could only open {} of {} connections during warm-up", held.size(), wanted, e);
+        } finally {
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    logger.debug("Could not return a warm-up connection", e);
+                }
+            }
+        }
+        return held.size();
+    }
+
+    /**
+     * Load the creator list and the first works and creators by id into the catalog caches
+     *
+     * @return the number of entries loaded
+     */
+    private int fillCaches() {
+        creatorService.findAllCreators();
+        int cached = 1;
+        Set<Long> creators = new HashSet<>();
+        Long after = null;
+        do {
+            CatalogPage page = literaryService.browseCatalogPage(after, PAGE_SIZE);
+            for (Book work : page.works()) {
+                if (cached >= properties.cachedEntries()) {
+                    return cached;
+                }
+                literaryService.locateLiteraryWork(work.getId());
+                cached++;
+                if (work.getCreator() != null && cached < properties.cachedEntries()
+                        && creators.add(work.getCreator().getCreatorId())) {
+                    creatorService.findCreatorById(work.getCreator().getCreatorId());
+                    cached++;
+                }
+            }
+            after = page.nextCursor();
+        } while (after != null && cached < properties.cachedEntries());
+        return cached;
+    }
+
+    /**
+     * One pass over the pages the catalog serves, each with the queries behind it
+     */
+    private void servePages() {
+        CatalogPage catalog = literaryService.browseCatalogPage(null, PAGE_SIZE);
+        literaryService.browseCatalogPage(catalog.nextCursor(), PAGE_SIZE);
+        CollatedPage<Book> byTitle = literaryService.browseCatalogByTitle(null, PAGE_SIZE);
+        if (byTitle.nextCursor() != null) {
+            literaryService.browseCatalogByTitle(byTitle.nextCursor(), PAGE_SIZE);
+        }
+        CollatedPage<Author> directory = creatorService.browseCreatorDirectory(null, PAGE_SIZE);
+        if (directory.nextCursor() != null) {
+            creatorService.browseCreatorDirectory(directory.nextCursor(), PAGE_SIZE);
+        }
+        literaryService.getCatalogWithCreators();
+        String term = searchTerm(catalog.works());
+        literaryService.searchByTitlePage(term, null, PAGE_SIZE);
+        creatorService.searchCreatorsByName(term);
+        UnifiedCatalogSearch search = catalogSearch.getIfAvailable();
+        if (search != null) {
+            search.search(term);
+        }
+        if (!directory.items().isEmpty()) {
+            literaryService.findWorksByCreator(directory.items().getFirst().getCreatorId());
+        }
+    }
+
+    private static String searchTerm(List<Book> works) {
+        for (Book work : works) {
+            String title = work.getTitle() == null ? "" : work.getTitle().strip();
+            if (title.length() >= 3) {
+                return title.substring(0, 3);
+            }
+        }
+        return "the";
+    }
+
+    /**
+     * Compile the JSPs, when running in an embedded servlet container that can
+     */
+    private int compileViews(ApplicationContext applicationContext) {
+        if (!(applicationContext instanceof ServletWebServerApplicationContext webServerContext)
+                || webServerContext.getServletContext() == null) {
+            return 0;
+        }
+        ServletContext context = webServerContext.getServletContext();
+        int compiled = 0;
+        for (String jsp : JspPrecompiler.jspsIn(context, properties.views())) {
+            if (JspPrecompiler.precompile(context, jsp)) {
+                compiled++;
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Whether the warm-up has run
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    int roundsRun() {
+        return roundsRun;
+    }
+
+    int viewsCompiled() {
+        return viewsCompiled;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        phase(registry, "connections", warmup -> warmup.connectionsNanos);
+        phase(registry, "services", warmup -> warmup.servicesNanos);
+        phase(registry, "views", warmup -> warmup.viewsNanos);
+        phase(registry, "total", warmup -> warmup.totalNanos);
+        Gauge.builder("catalog.warmup.views", this, warmup -> warmup.viewsCompiled)
+                .description("JSPs compiled by the startup warm-up")
+                .register(registry);
+    }
+
+    private void phase(MeterRegistry registry, String phase, ToDoubleFunction<CatalogWarmup> nanos) {
+        TimeGauge.builder("catalog.warmup.duration", this, TimeUnit.NANOSECONDS, nanos)
+                .description("Time a phase of the startup warm-up held back readiness")
+                .tag("phase", phase)
+                .register(registry);
+    }
+}
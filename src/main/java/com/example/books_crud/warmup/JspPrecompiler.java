@@ -0,0 +1,136 @@
+package com.example.books_crud.warmup;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compiles JSPs ahead of their first request with the JSP precompilation protocol: an
+ * include with the query string {@code jsp_precompile} has the JSP container translate,
+ * compile and load the page without running it.
+ * <p>
+ * There is no request to include from during startup, so a stand-in request and
+ * response are made up; the container only reads the path, the query string and
+ * attributes from them.
+ */
+final class JspPrecompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(JspPrecompiler.class);
+
+    private JspPrecompiler() {
+    }
+
+    /**
+     * JSPs in a folder of the web application and its subfolders, in path order
+     */
+    static List<String> jspsIn(ServletContext servletContext, String folder) {
+        Set<String> jsps = new TreeSet<>();
+        collect(servletContext, folder, jsps);
+        return new ArrayList<>(jsps);
+    }
+
+    private static void collect(ServletContext servletContext, String folder, Set<String> jsps) {
+        Set<String> paths = servletContext.getResourcePaths(folder);
+        if (paths == null) {
+            return;
+        }
+        for (String path : paths) {
+            if (path.endsWith("/")) {
+                collect(servletContext, path, jsps);
+            } else if (path.endsWith(".jsp")) {
+                jsps.add(path);
+            }
+        }
+    }
+
+    /**
+     * @return whether the JSP was compiled and loaded
+     */
+    static boolean precompile(ServletContext servletContext, String jsp) {
+        RequestDispatcher dispatcher = servletContext.getRequestDispatcher(jsp);
+        if (dispatcher == null) {
+            return false;
+        }
+        try {
+            dispatcher.include(request(servletContext, jsp), response());
+            return true;
+        } catch (ServletException | IOException | RuntimeException e) {
+            logger.warn("Could not precompile {}", jsp, e);
+            return false;
+        }
+    }
+
+    private static HttpServletRequest request(ServletContext servletContext, String jsp) {
+        Map<String, Object> attributes = new HashMap<>();
+        return (HttpServletRequest) Proxy.newProxyInstance(JspPrecompiler.class.getClassLoader(),
+                                                           new Class<?>[]{HttpServletRequest.class},
+                                                           (proxy, method, args) -> switch (method.getName()) {
+            case "getQueryString" -> "jsp_precompile";
+            case "getMethod" -> "GET";
+            case "getProtocol" -> "HTTP/1.1";
+            case "getScheme" -> "http";
+            case "getDispatcherType" -> DispatcherType.REQUEST;
+            case "getServletContext" -> servletContext;
+            case "getContextPath" -> servletContext.getContextPath();
+            case "getServletPath" -> jsp;
+            case "getRequestURI" -> servletContext.getContextPath() + jsp;
+            case "getLocale" -> Locale.getDefault();
+            case "getAttribute" -> attributes.get((String) args[0]);
+            case "setAttribute" -> args[1] == null ? attributes.remove((String) args[0])
+                    : attributes.put((String) args[0], args[1]);
+            case "removeAttribute" -> attributes.remove((String) args[0]);
+            case "getAttributeNames" -> Collections.enumeration(new ArrayList<>(attributes.keySet()));
+            default -> defaultValue(proxy, method.getName(), method.getReturnType(), args);
+        });
+    }
+
+    private static HttpServletResponse response() {
+        return (HttpServletResponse) Proxy.newProxyInstance(JspPrecompiler.class.getClassLoader(),
+                                                            new Class<?>[]{HttpServletResponse.class},
+                                                            (proxy, method, args) -> defaultValue(
+                                                                    proxy, method.getName(), method.getReturnType(),
+                                                                    args));
+    }
+
+    private static Object defaultValue(Object proxy, String name, Class<?> type, Object[] args) {
+        return switch (name) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "JSP precompilation stand-in";
+            default -> {
+                if (type == boolean.class) {
+                    yield false;
+                } else if (type == int.class) {
+                    yield 0;
+                } else if (type == long.class) {
+                    yield 0L;
+                } else if (type == Enumeration.class) {
+                    yield Collections.emptyEnumeration();
+                } else if (type == Map.class) {
+                    yield Map.of();
+                } else if (Collection.class.isAssignableFrom(type)) {
+                    yield List.of();
+                }
+                yield null;
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.books_crud.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the warm-up run before the application reports readiness ({@code catalog.warmup.*})
+ *
+ * @param enabled       whether the warm-up runs at startup
+ * @param rounds        times the representative service calls are repeated, to get them compiled by the JIT
+ * @param timeLimit     longest the warm-up may hold back readiness; remaining rounds are skipped after it
+ * @param cachedEntries works and creators loaded into the catalog caches by id
+ * @param views         folder whose JSPs are compiled, with its subfolders
+ */
+@ConfigurationProperties(prefix = "catalog.warmup")
+public record WarmupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") int rounds,
+        @DefaultValue("10s") Duration timeLimit,
+        @DefaultValue("500") int cachedEntries,
+        @DefaultValue("/WEB-INF/views/") String views) {
+}
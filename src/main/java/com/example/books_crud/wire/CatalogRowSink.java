@@ -0,0 +1,16 @@
+package com.example.books_crud.wire;
+
+import java.io.IOException;
+
+/**
+ * Receives catalog rows one at a time, as plain column values rather than entities
+ */
+@FunctionalInterface
+public interface CatalogRowSink {
+
+    /**
+     * @param creatorId   {@code null} for a work without a creator, in which case so is the name
+     */
+    void row(long workId, String title, String isbn, Long creatorId, String creatorName, long version)
+            throws IOException;
+}
@@ -0,0 +1,14 @@
+package com.example.books_crud.wire;
+
+import java.io.IOException;
+
+/**
+ * Encodes catalog rows onto an output stream as they arrive
+ */
+public interface CatalogRowWriter extends CatalogRowSink {
+
+    /**
+     * Write whatever is still buffered and end the document; the output stream is left open
+     */
+    void finish() throws IOException;
+}
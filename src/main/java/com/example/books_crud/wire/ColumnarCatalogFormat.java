@@ -0,0 +1,63 @@
+package com.example.books_crud.wire;
+
+import org.springframework.http.MediaType;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Compact binary encoding of catalog rows for machine-to-machine sync.
+ * <p>
+ * A stream is the magic {@code LCAT}, a format version byte and a sequence of blocks of
+ * up to {@value #BLOCK_ROWS} rows, ended by a block of zero rows. All integers are
+ * unsigned LEB128 varints. Each block is laid out column by column, so similar values
+ * sit together:
+ * <pre>
+ * rows
+ * new dictionary entries: count, then (creator id, name) for each
+ * work ids:      difference to the previous work id (rows arrive in id order)
+ * versions
+ * creators:      0 for no creator, else 1 + dictionary index
+ * titles:        byte lengths, then the UTF-8 bytes of all titles
+ * ISBNs:         0 for none, else 1 + byte length, then the UTF-8 bytes of all ISBNs
+ * </pre>
+ * Creator names are dictionary-encoded: a creator's name is sent once, in the block
+ * where the creator first appears, and rows refer to it by its index in order of
+ * appearance over the whole stream.
+ */
+public final class ColumnarCatalogFormat {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.catalog.columnar";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    static final byte[] MAGIC = {'L', 'C', 'A', 'T'};
+    static final int VERSION = 1;
+    static final int BLOCK_ROWS = 4096;
+
+    private ColumnarCatalogFormat() {
+    }
+
+    static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Catalog stream ended inside a number");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number in catalog stream");
+    }
+
+    static int readVarInt(InputStream in) throws IOException {
+        long value = readVarLong(in);
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("Number out of range in catalog stream: " + value);
+        }
+        return (int) value;
+    }
+}
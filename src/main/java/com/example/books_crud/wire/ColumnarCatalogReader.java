@@ -0,0 +1,107 @@
+package com.example.books_crud.wire;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decodes a {@link ColumnarCatalogFormat} stream, for clients syncing the catalog and for tests
+ */
+public final class ColumnarCatalogReader {
+
+    private ColumnarCatalogReader() {
+    }
+
+    /**
+     * Hand every row of the stream to a sink, in the order they were written
+     *
+     * @return the number of rows read
+     */
+    public static long read(InputStream source, CatalogRowSink sink) throws IOException {
+        DataInputStream in = new DataInputStream(source instanceof BufferedInputStream ? source
+                                                         : new BufferedInputStream(source, 65536));
+        byte[] magic = new byte[ColumnarCatalogFormat.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, ColumnarCatalogFormat.MAGIC)) {
+            throw new IOException("Not a columnar catalog stream");
+        }
+        int version = in.readUnsignedByte();
+        if (version != ColumnarCatalogFormat.VERSION) {
+            throw new IOException("Unsupported columnar catalog version " + version);
+        }
+        List<Long> creatorIds = new ArrayList<>();
+        List<String> creatorNames = new ArrayList<>();
+        long total = 0;
+        long workId = 0;
+        long[] workIds = new long[0];
+        long[] versions = new long[0];
+        int[] creators = new int[0];
+        int[] titleLengths = new int[0];
+        int[] isbnLengths = new int[0];
+        int rows;
+        while ((rows = ColumnarCatalogFormat.readVarInt(in)) > 0) {
+            if (workIds.length < rows) {
+                workIds = new long[rows];
+                versions = new long[rows];
+                creators = new int[rows];
+                titleLengths = new int[rows];
+                isbnLengths = new int[rows];
+            }
+            int newCreators = ColumnarCatalogFormat.readVarInt(in);
+            for (int i = 0; i < newCreators; i++) {
+                creatorIds.add(ColumnarCatalogFormat.readVarLong(in));
+                creatorNames.add(new String(readBytes(in, ColumnarCatalogFormat.readVarInt(in)),
+                                            StandardCharsets.UTF_8));
+            }
+            for (int i = 0; i < rows; i++) {
+                workId += ColumnarCatalogFormat.readVarLong(in);
+                workIds[i] = workId;
+            }
+            for (int i = 0; i < rows; i++) {
+                versions[i] = ColumnarCatalogFormat.readVarLong(in);
+            }
+            for (int i = 0; i < rows; i++) {
+                creators[i] = ColumnarCatalogFormat.readVarInt(in);
+            }
+            int titleBytes = 0;
+            for (int i = 0; i < rows; i++) {
+                titleLengths[i] = ColumnarCatalogFormat.readVarInt(in);
+                titleBytes += titleLengths[i];
+            }
+            byte[] titles = readBytes(in, titleBytes);
+            int isbnBytes = 0;
+            for (int i = 0; i < rows; i++) {
+                isbnLengths[i] = ColumnarCatalogFormat.readVarInt(in);
+                isbnBytes += Math.max(0, isbnLengths[i] - 1);
+            }
+            byte[] isbns = readBytes(in, isbnBytes);
+            int titleOffset = 0;
+            int isbnOffset = 0;
+            for (int i = 0; i < rows; i++) {
+                String title = new String(titles, titleOffset, titleLengths[i], StandardCharsets.UTF_8);
+                titleOffset += titleLengths[i];
+                String isbn = null;
+                if (isbnLengths[i] > 0) {
+                    isbn = new String(isbns, isbnOffset, isbnLengths[i] - 1, StandardCharsets.UTF_8);
+                    isbnOffset += isbnLengths[i] - 1;
+                }
+                int creator = creators[i] - 1;
+                sink.row(workIds[i], title, isbn, creator >= 0 ? creatorIds.get(creator) : null,
+                         creator >= 0 ? creatorNames.get(creator) : null, versions[i]);
+            }
+            total += rows;
+        }
+        return total;
+    }
+
+    private static byte[] readBytes(DataInputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
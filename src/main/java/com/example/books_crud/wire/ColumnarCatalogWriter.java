@@ -0,0 +1,165 @@
+package com.example.books_crud.wire;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes catalog rows in the {@link ColumnarCatalogFormat}. Rows go straight into
+ * per-column byte buffers that are reused from block to block; a full block is written
+ * to the output in one go.
+ */
+public class ColumnarCatalogWriter implements CatalogRowWriter {
+
+    private final OutputStream out;
+    private final int blockRows;
+    private final Map<Long, Integer> dictionary = new HashMap<>();
+
+    private final Column header = new Column(64);
+    private final Column newCreators = new Column(1024);
+    private final Column workIds = new Column(4096);
+    private final Column versions = new Column(4096);
+    private final Column creators = new Column(4096);
+    private final Column titleLengths = new Column(4096);
+    private final Column titles = new Column(65536);
+    private final Column isbnLengths = new Column(4096);
+    private final Column isbns = new Column(65536);
+    private int rows;
+    private int newCreatorCount;
+    private long previousWorkId;
+
+    public ColumnarCatalogWriter(OutputStream out) throws IOException {
+        this(out, ColumnarCatalogFormat.BLOCK_ROWS);
+    }
+
+    ColumnarCatalogWriter(OutputStream out, int blockRows) throws IOException {
+        this.out = out;
+        this.blockRows = blockRows;
+        out.write(ColumnarCatalogFormat.MAGIC);
+        out.write(ColumnarCatalogFormat.VERSION);
+    }
+
+    @Override
+    public void row(long workId, String title, String isbn, Long creatorId, String creatorName, long version)
+            throws IOException {
+        if (workId <= previousWorkId) {
+            throw new IllegalArgumentException("Rows must arrive in ascending work id order: " + workId
+                                                       + " after " + previousWorkId);
+        }
+        workIds.writeVarLong(workId - previousWorkId);
+        previousWorkId = workId;
+        versions.writeVarLong(version);
+        if (creatorId == null) {
+            creators.writeVarLong(0);
+        } else {
+            Integer index = dictionary.get(creatorId);
+            if (index == null) {
+                index = dictionary.size();
+                dictionary.put(creatorId, index);
+                newCreators.writeVarLong(creatorId);
+                newCreators.writeString(creatorName);
+                newCreatorCount++;
+            }
+            creators.writeVarLong(index + 1L);
+        }
+        titleLengths.writeVarLong(titles.writeUtf8(title));
+        if (isbn == null) {
+            isbnLengths.writeVarLong(0);
+        } else {
+            isbnLengths.writeVarLong(isbns.writeUtf8(isbn) + 1L);
+        }
+        if (++rows == blockRows) {
+            flushBlock();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (rows > 0) {
+            flushBlock();
+        }
+        out.write(0);
+        out.flush();
+    }
+
+    private void flushBlock() throws IOException {
+        header.writeVarLong(rows);
+        header.writeVarLong(newCreatorCount);
+        for (Column column : new Column[]{header, newCreators, workIds, versions, creators, titleLengths, titles,
+                                          isbnLengths, isbns}) {
+            column.writeTo(out);
+            column.reset();
+        }
+        rows = 0;
+        newCreatorCount = 0;
+    }
+
+    /**
+     * Growable byte buffer for one column of a block
+     */
+    private static final class Column {
+
+        private byte[] bytes;
+        private int length;
+
+        private Column(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        /**
+         * @return the number of bytes written
+         */
+        int writeUtf8(String text) {
+            // ASCII is copied char by char; from the first other char on the JDK encodes, at most three bytes each
+            ensure(text.length() * 3);
+            int start = length;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    bytes[length++] = (byte) c;
+                } else {
+                    byte[] encoded = text.substring(i).getBytes(StandardCharsets.UTF_8);
+                    ensure(encoded.length);
+                    System.arraycopy(encoded, 0, bytes, length, encoded.length);
+                    length += encoded.length;
+                    break;
+                }
+            }
+            return length - start;
+        }
+
+        void writeString(String text) {
+            byte[] encoded = text == null ? new byte[0] : text.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(encoded.length);
+            ensure(encoded.length);
+            System.arraycopy(encoded, 0, bytes, length, encoded.length);
+            length += encoded.length;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, length);
+        }
+
+        void reset() {
+            length = 0;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.books_crud.wire;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Catalog rows as a JSON array of objects, written with Jackson's streaming generator
+ * so no row is ever held as a tree or bean
+ */
+public class JsonCatalogWriter implements CatalogRowWriter {
+
+    private final JsonGenerator generator;
+
+    public JsonCatalogWriter(JsonFactory factory, OutputStream out) throws IOException {
+        this.generator = factory.createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.writeStartArray();
+    }
+
+    @Override
+    public void row(long workId, String title, String isbn, Long creatorId, String creatorName, long version)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", workId);
+        generator.writeStringField("title", title);
+        generator.writeStringField("isbn", isbn);
+        if (creatorId != null) {
+            generator.writeNumberField("creatorId", creatorId);
+        } else {
+            generator.writeNullField("creatorId");
+        }
+        generator.writeStringField("creatorName", creatorName);
+        generator.writeNumberField("version", version);
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+    }
+}
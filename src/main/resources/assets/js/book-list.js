@@ -0,0 +1,20 @@
+document.addEventListener('DOMContentLoaded', function() {
+    const searchInput = document.getElementById('bookSearchInput');
+
+    searchInput.addEventListener('keyup', function() {
+        const searchTerm = this.value.toLowerCase();
+        const bookRows = document.querySelectorAll('.book-entry');
+
+        bookRows.forEach(row => {
+            const title = row.querySelector('.title-cell').textContent.toLowerCase();
+            const isbn = row.querySelector('.code-cell').textContent.toLowerCase();
+            const author = row.querySelector('.creator-cell').textContent.toLowerCase();
+
+            if(title.includes(searchTerm) || isbn.includes(searchTerm) || author.includes(searchTerm)) {
+                row.style.display = '';
+            } else {
+                row.style.display = 'none';
+            }
+        });
+    });
+});
@@ -0,0 +1,46 @@
+document.addEventListener('DOMContentLoaded', function() {
+    // Search functionality
+    const searchInput = document.getElementById('catalogSearch');
+    const catalogEntries = document.querySelectorAll('.catalog-entry');
+    const visibleCountElement = document.getElementById('visibleCount');
+
+    function filterCatalog() {
+        const searchTerm = searchInput.value.toLowerCase();
+        let visibleCount = 0;
+
+        catalogEntries.forEach(entry => {
+            const title = entry.querySelector('.work-name').textContent.toLowerCase();
+            const isbn = entry.querySelector('.work-identifier').textContent.toLowerCase();
+            const author = entry.querySelector('.work-creator').textContent.toLowerCase();
+
+            if (title.includes(searchTerm) || isbn.includes(searchTerm) || author.includes(searchTerm)) {
+                entry.style.display = '';
+                visibleCount++;
+            } else {
+                entry.style.display = 'none';
+            }
+        });
+
+        visibleCountElement.textContent = visibleCount;
+    }
+
+    searchInput.addEventListener('input', filterCatalog);
+    document.getElementById('searchButton').addEventListener('click', filterCatalog);
+
+    // View switching
+    const gridViewBtn = document.getElementById('gridView');
+    const listViewBtn = document.getElementById('listView');
+    const catalogContainer = document.querySelector('.catalog-container');
+
+    gridViewBtn.addEventListener('click', function() {
+        catalogContainer.className = 'catalog-container grid-view';
+        gridViewBtn.classList.add('active');
+        listViewBtn.classList.remove('active');
+    });
+
+    listViewBtn.addEventListener('click', function() {
+        catalogContainer.className = 'catalog-container list-view';
+        listViewBtn.classList.add('active');
+        gridViewBtn.classList.remove('active');
+    });
+});
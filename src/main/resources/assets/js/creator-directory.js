@@ -0,0 +1,19 @@
+document.addEventListener('DOMContentLoaded', function() {
+    // Filter functionality
+    const filterInput = document.getElementById('authorFilter');
+    const creatorRows = document.querySelectorAll('.creator-entry');
+
+    filterInput.addEventListener('input', function() {
+        const searchTerm = this.value.toLowerCase();
+
+        creatorRows.forEach(row => {
+            const name = row.querySelector('.creator-name').textContent.toLowerCase();
+
+            if (name.includes(searchTerm)) {
+                row.style.display = '';
+            } else {
+                row.style.display = 'none';
+            }
+        });
+    });
+});
@@ -0,0 +1,13 @@
+document.addEventListener('DOMContentLoaded', function() {
+    const nameInput = document.querySelector('input[name="name"]');
+    nameInput.focus();
+
+    const form = document.querySelector('.creator-form');
+    form.addEventListener('submit', function(event) {
+        if (!nameInput.value.trim()) {
+            event.preventDefault();
+            alert('Creator name is required!');
+            nameInput.focus();
+        }
+    });
+});
@@ -0,0 +1,33 @@
+document.addEventListener('DOMContentLoaded', function() {
+    // Character counter for bio field
+    const bioField = document.querySelector('.bio-field');
+    const charCount = document.getElementById('charCount');
+
+    function updateCounter() {
+        charCount.textContent = bioField.value.length;
+    }
+
+    bioField.addEventListener('input', updateCounter);
+    updateCounter(); // Initial count
+
+    // Confirmation before leaving with unsaved changes
+    const form = document.querySelector('.profile-form');
+    let originalFormData = new FormData(form);
+
+    window.addEventListener('beforeunload', function(e) {
+        let currentFormData = new FormData(form);
+        let isDirty = false;
+
+        for (let [key, value] of currentFormData.entries()) {
+            if (originalFormData.get(key) !== value) {
+                isDirty = true;
+                break;
+            }
+        }
+
+        if (isDirty) {
+            e.preventDefault();
+            e.returnValue = '';
+        }
+    });
+});
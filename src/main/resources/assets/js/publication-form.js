@@ -0,0 +1,34 @@
+document.addEventListener('DOMContentLoaded', function() {
+    const form = document.querySelector('.publication-edit-form');
+
+    form.addEventListener('submit', function(event) {
+        const titleInput = document.querySelector('input[name="title"]');
+        const isbnInput = document.querySelector('input[name="isbn"]');
+        const authorSelect = document.querySelector('select[name="author"]');
+
+        let isValid = true;
+
+        // Simple validation
+        if (!titleInput.value.trim()) {
+            document.querySelector('input[name="title"] + .validation-feedback')
+                .textContent = 'Title is required';
+            isValid = false;
+        }
+
+        if (!isbnInput.value.trim()) {
+            document.querySelector('input[name="isbn"] + .validation-feedback')
+                .textContent = 'ISBN is required';
+            isValid = false;
+        }
+
+        if (!authorSelect.value) {
+            document.querySelector('select[name="author"] + .validation-feedback')
+                .textContent = 'Please select an author';
+            isValid = false;
+        }
+
+        if (!isValid) {
+            event.preventDefault();
+        }
+    });
+});
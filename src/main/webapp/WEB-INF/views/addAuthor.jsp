@@ -1,4 +1,4 @@
-<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" session="false"%>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <%@ taglib prefix="form" uri="http://www.springframework.org/tags/form" %>
 <jsp:include page="common/header.jsp" />
@@ -35,20 +35,6 @@
     </div>
 </div>
 
-<script>
-    document.addEventListener('DOMContentLoaded', function() {
-        const nameInput = document.querySelector('input[name="name"]');
-        nameInput.focus();
-        
-        const form = document.querySelector('.creator-form');
-        form.addEventListener('submit', function(event) {
-            if (!nameInput.value.trim()) {
-                event.preventDefault();
-                alert('Creator name is required!');
-                nameInput.focus();
-            }
-        });
-    });
-</script>
+<script src="<c:url value="${assets['js/creator-form.js']}"/>"></script>
 
 <jsp:include page="common/footer.jsp" />
\ No newline at end of file
@@ -1,4 +1,4 @@
-<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" session="false"%>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <jsp:include page="common/header.jsp" />
 
@@ -13,7 +13,7 @@
     </div>
     
     <div class="filter-container">
-        <input type="text" id="authorFilter" class="search-input" placeholder="Filter by name or bio...">
+        <input type="text" id="authorFilter" class="search-input" placeholder="Filter by name...">
     </div>
 
     <div class="directory-grid">
@@ -22,7 +22,6 @@
                 <tr>
                     <th>Reference ID</th>
                     <th>Creator Name</th>
-                    <th>Biography Summary</th>
                     <th>Administrative Actions</th>
                 </tr>
             </thead>
@@ -31,9 +30,6 @@
                     <tr class="creator-entry">
                         <td>${creator.id}</td>
                         <td class="creator-name">${creator.name}</td>
-                        <td class="creator-bio">
-                            <div class="truncated-text">${creator.bio}</div>
-                        </td>
                         <td>
                             <div class="admin-controls">
                                 <a href="<c:url value='/authors/update/${creator.id}' />" class="btn">
@@ -51,41 +47,6 @@
     </div>
 </div>
 
-<script>
-    document.addEventListener('DOMContentLoaded', function() {
-        // Filter functionality
-        const filterInput = document.getElementById('authorFilter');
-        const creatorRows = document.querySelectorAll('.creator-entry');
-        
-        filterInput.addEventListener('input', function() {
-            const searchTerm = this.value.toLowerCase();
-            
-            creatorRows.forEach(row => {
-                const name = row.querySelector('.creator-name').textContent.toLowerCase();
-                const bio = row.querySelector('.creator-bio').textContent.toLowerCase();
-                
-                if (name.includes(searchTerm) || bio.includes(searchTerm)) {
-                    row.style.display = '';
-                } else {
-                    row.style.display = 'none';
-                }
-            });
-        });
-        
-        // Truncate long bio texts
-        const bioTexts = document.querySelectorAll('.truncated-text');
-        bioTexts.forEach(text => {
-            if (text.textContent.length > 100) {
-                const truncated = text.textContent.substring(0, 100) + '...';
-                text.textContent = truncated;
-                
-                text.addEventListener('click', function() {
-                    this.textContent = this.textContent.length <= 103 ? 
-                        creator.bio : truncated;
-                });
-            }
-        });
-    });
-</script>
+<script src="<c:url value="${assets['js/creator-directory.js']}"/>"></script>
 
 <jsp:include page="common/footer.jsp" />
\ No newline at end of file
@@ -1,4 +1,4 @@
-<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" session="false"%>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <jsp:include page="common/header.jsp" />
 
@@ -55,27 +55,6 @@
     </div>
 </div>
 
-<script>
-    document.addEventListener('DOMContentLoaded', function() {
-        const searchInput = document.getElementById('bookSearchInput');
-        
-        searchInput.addEventListener('keyup', function() {
-            const searchTerm = this.value.toLowerCase();
-            const bookRows = document.querySelectorAll('.book-entry');
-            
-            bookRows.forEach(row => {
-                const title = row.querySelector('.title-cell').textContent.toLowerCase();
-                const isbn = row.querySelector('.code-cell').textContent.toLowerCase();
-                const author = row.querySelector('.creator-cell').textContent.toLowerCase();
-                
-                if(title.includes(searchTerm) || isbn.includes(searchTerm) || author.includes(searchTerm)) {
-                    row.style.display = '';
-                } else {
-                    row.style.display = 'none';
-                }
-            });
-        });
-    });
-</script>
+<script src="<c:url value="${assets['js/book-list.js']}"/>"></script>
 
 <jsp:include page="common/footer.jsp" />
\ No newline at end of file
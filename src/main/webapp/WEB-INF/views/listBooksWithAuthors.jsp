@@ -1,4 +1,4 @@
-<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" session="false"%>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <jsp:include page="common/header.jsp" />
 
@@ -53,100 +53,6 @@
     </div>
 </div>
 
-<script>
-    document.addEventListener('DOMContentLoaded', function() {
-        // Search functionality
-        const searchInput = document.getElementById('catalogSearch');
-        const catalogEntries = document.querySelectorAll('.catalog-entry');
-        const visibleCountElement = document.getElementById('visibleCount');
-        
-        function filterCatalog() {
-            const searchTerm = searchInput.value.toLowerCase();
-            let visibleCount = 0;
-            
-            catalogEntries.forEach(entry => {
-                const title = entry.querySelector('.work-name').textContent.toLowerCase();
-                const isbn = entry.querySelector('.work-identifier').textContent.toLowerCase();
-                const author = entry.querySelector('.work-creator').textContent.toLowerCase();
-                
-                if (title.includes(searchTerm) || isbn.includes(searchTerm) || author.includes(searchTerm)) {
-                    entry.style.display = '';
-                    visibleCount++;
-                } else {
-                    entry.style.display = 'none';
-                }
-            });
-            
-            visibleCountElement.textContent = visibleCount;
-        }
-        
-        searchInput.addEventListener('input', filterCatalog);
-        document.getElementById('searchButton').addEventListener('click', filterCatalog);
-        
-        // View switching
-        const gridViewBtn = document.getElementById('gridView');
-        const listViewBtn = document.getElementById('listView');
-        const catalogContainer = document.querySelector('.catalog-container');
-        
-        gridViewBtn.addEventListener('click', function() {
-            catalogContainer.className = 'catalog-container grid-view';
-            gridViewBtn.classList.add('active');
-            listViewBtn.classList.remove('active');
-        });
-        
-        listViewBtn.addEventListener('click', function() {
-            catalogContainer.className = 'catalog-container list-view';
-            listViewBtn.classList.add('active');
-            gridViewBtn.classList.remove('active');
-        });
-    });
-</script>
-
-<style>
-    .catalog-container.list-view .catalog-table {
-        display: block;
-    }
-    
-    .catalog-container.list-view thead {
-        display: none;
-    }
-    
-    .catalog-container.list-view tbody {
-        display: flex;
-        flex-wrap: wrap;
-        gap: 15px;
-    }
-    
-    .catalog-container.list-view tr {
-        display: flex;
-        flex-direction: column;
-        width: calc(33.33% - 10px);
-        background: #f9f9f9;
-        border-radius: 5px;
-        padding: 15px;
-        box-shadow: 0 2px 4px rgba(0,0,0,0.05);
-    }
-    
-    .catalog-container.list-view td {
-        border: none;
-        padding: 5px 0;
-    }
-    
-    .catalog-container.list-view .work-name {
-        font-weight: bold;
-        font-size: 1.1em;
-        color: var(--main-color);
-    }
-    
-    .catalog-container.list-view .work-identifier {
-        font-size: 0.9em;
-        color: #666;
-    }
-    
-    .catalog-container.list-view .work-creator {
-        font-style: italic;
-        margin-top: 5px;
-    }
-</style>
+<script src="<c:url value="${assets['js/catalog-view.js']}"/>"></script>
 
 <jsp:include page="common/footer.jsp" />
\ No newline at end of file
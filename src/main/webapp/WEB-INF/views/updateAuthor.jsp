@@ -1,4 +1,4 @@
-<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" session="false"%>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <%@ taglib prefix="form" uri="http://www.springframework.org/tags/form" %>
 <jsp:include page="common/header.jsp" />
@@ -13,6 +13,7 @@
         
         <form:form action="/authors/update" method="post" modelAttribute="author" cssClass="profile-form">
             <form:hidden path="id" />
+            <form:hidden path="version" />
             
             <div class="form-field">
                 <form:label path="name" cssClass="field-label">Creator Identity<span class="required-field">*</span></form:label>
@@ -42,40 +43,6 @@
     </div>
 </div>
 
-<script>
-    document.addEventListener('DOMContentLoaded', function() {
-        // Character counter for bio field
-        const bioField = document.querySelector('.bio-field');
-        const charCount = document.getElementById('charCount');
-        
-        function updateCounter() {
-            charCount.textContent = bioField.value.length;
-        }
-        
-        bioField.addEventListener('input', updateCounter);
-        updateCounter(); // Initial count
-        
-        // Confirmation before leaving with unsaved changes
-        const form = document.querySelector('.profile-form');
-        let originalFormData = new FormData(form);
-        
-        window.addEventListener('beforeunload', function(e) {
-            let currentFormData = new FormData(form);
-            let isDirty = false;
-            
-            for (let [key, value] of currentFormData.entries()) {
-                if (originalFormData.get(key) !== value) {
-                    isDirty = true;
-                    break;
-                }
-            }
-            
-            if (isDirty) {
-                e.preventDefault();
-                e.returnValue = '';
-            }
-        });
-    });
-</script>
+<script src="<c:url value="${assets['js/creator-profile.js']}"/>"></script>
 
 <jsp:include page="common/footer.jsp" />
\ No newline at end of file
@@ -1,4 +1,4 @@
-<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" session="false"%>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <%@ taglib prefix="form" uri="http://www.springframework.org/tags/form" %>
 <jsp:include page="common/header.jsp" />
@@ -19,6 +19,7 @@
 
     <form:form action="/books/update" method="post" modelAttribute="book" cssClass="publication-edit-form">
         <form:hidden path="id" />
+        <form:hidden path="version" />
         
         <div class="form-field">
             <form:label path="title">Publication Title<span class="mandatory-marker">*</span></form:label>
@@ -52,41 +53,6 @@
     </div>
 </div>
 
-<script>
-    document.addEventListener('DOMContentLoaded', function() {
-        const form = document.querySelector('.publication-edit-form');
-        
-        form.addEventListener('submit', function(event) {
-            const titleInput = document.querySelector('input[name="title"]');
-            const isbnInput = document.querySelector('input[name="isbn"]');
-            const authorSelect = document.querySelector('select[name="author"]');
-            
-            let isValid = true;
-            
-            // Simple validation
-            if (!titleInput.value.trim()) {
-                document.querySelector('input[name="title"] + .validation-feedback')
-                    .textContent = 'Title is required';
-                isValid = false;
-            }
-            
-            if (!isbnInput.value.trim()) {
-                document.querySelector('input[name="isbn"] + .validation-feedback')
-                    .textContent = 'ISBN is required';
-                isValid = false;
-            }
-            
-            if (!authorSelect.value) {
-                document.querySelector('select[name="author"] + .validation-feedback')
-                    .textContent = 'Please select an author';
-                isValid = false;
-            }
-            
-            if (!isValid) {
-                event.preventDefault();
-            }
-        });
-    });
-</script>
+<script src="<c:url value="${assets['js/publication-form.js']}"/>"></script>
 
 <jsp:include page="common/footer.jsp" />
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.example.books_crud.assets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetPipelineTest {
+
+    @Test
+    @DisplayName("Should strip comments and whitespace but leave strings and line breaks alone")
+    void shouldMinifyConservatively() {
+        // Arrange
+        String css = """
+                /* Layout */
+                .catalog-table > tbody tr:hover {
+                    font-family: 'Arial', sans-serif;
+                    box-shadow: 0 3px 8px rgba(0, 0, 0, 0.15);
+                }
+                """;
+        String js = """
+                // Filter rows
+                const label = 'a // b';   /* not counted */
+                const url = "https://example.org";
+                let count = 0
+                count++
+                """;
+
+        // Act
+        String minifiedCss = AssetMinifier.css(css);
+        String minifiedJs = AssetMinifier.js(js);
+
+        // Assert
+        assertEquals(".catalog-table>tbody tr:hover{font-family:'Arial',sans-serif;"
+                             + "box-shadow:0 3px 8px rgba(0,0,0,0.15)}", minifiedCss);
+        assertEquals("""
+                const label = 'a // b';
+                const url = "https://example.org";
+                let count = 0
+                count++""", minifiedJs);
+    }
+
+    @Test
+    @DisplayName("Should publish every asset under a path fingerprinted with its content")
+    void shouldFingerprintAssets() {
+        // Arrange
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+        // Act
+        AssetPipeline minified = AssetPipeline.build(resolver, "classpath:/assets/", "/assets/", true);
+        AssetPipeline plain = AssetPipeline.build(resolver, "classpath:/assets/", "/assets/", false);
+
+        // Assert
+        String url = minified.url("css/site.css");
+        assertTrue(url.matches("/assets/css/site\\.[0-9a-f]{10}\\.css"), url);
+        assertTrue(minified.url("js/catalog-view.js").matches("/assets/js/catalog-view\\.[0-9a-f]{10}\\.js"));
+        assertNotEquals(url, plain.url("css/site.css"), "Different content, different URL");
+        AssetPipeline.Asset asset = minified.asset(minified.fingerprintedPath("css/site.css"));
+        AssetPipeline.Asset source = plain.asset(plain.fingerprintedPath("css/site.css"));
+        assertTrue(asset.content().length < source.content().length);
+        assertTrue(asset.gzipped().length < asset.content().length);
+        assertFalse(new String(asset.content(), StandardCharsets.UTF_8).contains("/*"));
+        assertNull(minified.url("css/missing.css"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.books_crud.assets;
+
+import jakarta.servlet.ServletContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fingerprinted-assets;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "catalog.throttling.enabled=false"
+})
+@AutoConfigureMockMvc
+class FingerprintedAssetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ServletContext servletContext;
+
+    @Test
+    @DisplayName("Should serve fingerprinted assets gzipped with an immutable cache lifetime")
+    void shouldServeFingerprintedAssets() throws Exception {
+        // Arrange
+        @SuppressWarnings("unchecked")
+        Map<String, String> assets = (Map<String, String>) servletContext.getAttribute("assets");
+        String url = assets.get("css/site.css");
+
+        // Act
+        MvcResult gzipped = mockMvc.perform(get(url).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+        MvcResult plain = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+
+        // Assert
+        String cacheControl = gzipped.getResponse().getHeader(HttpHeaders.CACHE_CONTROL);
+        assertEquals("max-age=31536000, public, immutable", cacheControl);
+        assertTrue(gzipped.getResponse().getContentType().startsWith("text/css"));
+        assertEquals(plain.getResponse().getContentAsString(), gunzip(gzipped.getResponse().getContentAsByteArray()));
+        assertNotEquals(gzipped.getResponse().getHeader(HttpHeaders.ETAG), plain.getResponse().getHeader(HttpHeaders.ETAG));
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, plain.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Should not serve assets under their unfingerprinted path")
+    void shouldNotServeUnfingerprintedPaths() throws Exception {
+        mockMvc.perform(get("/assets/css/site.css")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/assets/js/catalog-view.0000000000.js")).andExpect(status().isNotFound());
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.books_crud.budget;
+
+import com.example.books_crud.BooksCRudApplication;
+import com.example.books_crud.model.Author;
+import com.example.books_crud.service.AuthorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the catalog with a row cap of three on its own in-memory database
+ */
+class QueryBudgetTest {
+
+    private static final String SLOW_QUERY = "WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n "
+            + "WHERE i < 50000000) SELECT COUNT(*) FROM n";
+
+    private ConfigurableApplicationContext context;
+    private AuthorService creatorService;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void startWithSmallBudget() {
+        context = new SpringApplicationBuilder(BooksCRudApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:query-budget;DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.show-sql=false",
+                     "--catalog.cache.enabled=false",
+                     "--catalog.query-budget.max-rows=3");
+        creatorService = context.getBean(AuthorService.class);
+        dataSource = context.getBean(DataSource.class);
+    }
+
+    @AfterEach
+    void stop() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("Should cap list results and mark them as truncated")
+    void shouldTruncateAtRowCap() {
+        // Act
+        List<Author> matches = creatorService.searchCreatorsByName("r");
+        List<Author> borges = creatorService.searchCreatorsByName("Borges");
+
+        // Assert
+        assertEquals(3, matches.size(), "Five matching sample creators should be cut to the row cap");
+        assertTrue(TruncatedList.isTruncated(matches), "Capped result should say so");
+        assertEquals(3, ((TruncatedList<Author>) matches).rowCap());
+        assertEquals(1, borges.size());
+        assertFalse(TruncatedList.isTruncated(borges), "Results under the cap are returned as they are");
+        assertEquals(1.0, context.getBean(MeterRegistry.class).get("catalog.query-budget.truncated")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should list every creator for the work forms regardless of the cap")
+    void shouldNotCapCreatorChoices() {
+        // Act
+        List<Author> creators = creatorService.findAllCreators();
+
+        // Assert
+        assertEquals(5, creators.size());
+        assertFalse(TruncatedList.isTruncated(creators));
+    }
+
+    @Test
+    @DisplayName("Should apply the budget to statements and clear the timeout when the connection is returned")
+    void shouldBoundStatementsWithinBudget() throws Exception {
+        // Act
+        int firstMaxRows;
+        int secondMaxRows;
+        int timeout;
+        try (QueryBudget.Scope ignored = QueryBudget.open(4, Duration.ofMillis(300));
+             Connection connection = dataSource.getConnection();
+             Statement first = connection.createStatement();
+             Statement second = connection.createStatement()) {
+            firstMaxRows = first.getMaxRows();
+            secondMaxRows = second.getMaxRows();
+            timeout = first.getQueryTimeout();
+        }
+        int timeoutAfterwards;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            timeoutAfterwards = statement.getQueryTimeout();
+        }
+
+        // Assert
+        assertEquals(4, firstMaxRows);
+        assertEquals(4, secondMaxRows, "Every statement of the call is capped, not just the first");
+        assertEquals(1, timeout, "Timeout is rounded up to whole seconds");
+        assertEquals(0, timeoutAfterwards, "Pooled connection should not keep the timeout");
+    }
+
+    @Test
+    @DisplayName("Should cancel a query that runs past the timeout")
+    void shouldCancelSlowQuery() throws Exception {
+        // Act
+        long startedAt = System.nanoTime();
+        SQLTimeoutException timeout;
+        try (QueryBudget.Scope ignored = QueryBudget.open(0, Duration.ofSeconds(1));
+             Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            timeout = assertThrows(SQLTimeoutException.class, () -> statement.executeQuery(SLOW_QUERY));
+        }
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // Assert
+        assertEquals("57014", timeout.getSQLState());
+        assertTrue(elapsedMillis < 5_000, "Query should be cancelled near the timeout, took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Should cancel the running statement of an abandoned task")
+    void shouldCancelStatementsOfAbandonedTask() throws Exception {
+        // Arrange
+        StatementCanceller statements = new StatementCanceller();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Long> task = executor.submit(statements.watch(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery(SLOW_QUERY)) {
+                rows.next();
+                return rows.getLong(1);
+            }
+        }));
+
+        // Act
+        long startedAt = System.nanoTime();
+        // A cancel that lands before the statement executes is lost, so repeat it until the task stops
+        while (!task.isDone() && System.nanoTime() - startedAt < 5_000_000_000L) {
+            Thread.sleep(50);
+            statements.cancel();
+        }
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        executor.shutdownNow();
+
+        // Assert
+        ExecutionException failure = assertThrows(ExecutionException.class, task::get);
+        assertInstanceOf(SQLException.class, failure.getCause());
+        assertTrue(elapsedMillis < 5_000, "Statement should stop when cancelled, took " + elapsedMillis + " ms");
+        assertThrows(SQLException.class, () -> statements.watch(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                return statement.execute("SELECT 1");
+            }
+        }).call(), "Statements the task creates after the cancel should not run");
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.books_crud.cache;
+
+import com.example.books_crud.BooksCRudApplication;
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two nodes in one JVM against a shared database, connected by the loopback transport
+ */
+class CacheCoherenceTest {
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    @DisplayName("Should serve a creator modified on another node instead of the cached copy")
+    void shouldInvalidateCreatorAcrossNodes() {
+        // Arrange
+        AuthorService creatorsOnA = nodeA.getBean(AuthorService.class);
+        AuthorService creatorsOnB = nodeB.getBean(AuthorService.class);
+        Long creatorId = creatorsOnA.searchCreatorsByName("Murakami").get(0).getCreatorId();
+        Author cachedOnB = creatorsOnB.findCreatorById(creatorId).orElseThrow();
+        int directorySizeOnB = creatorsOnB.findAllCreators().size();
+        assertNotNull(nodeB.getBean(CacheManager.class).getCache(CatalogCaches.CREATORS).get(creatorId),
+                      "Lookup should be cached");
+        assertNotSame(cachedOnB, creatorsOnB.findCreatorById(creatorId).orElseThrow(),
+                      "Every lookup should get a copy of its own");
+
+        // Act
+        Author revision = creatorsOnA.searchCreatorsByName("Murakami").get(0);
+        revision.setBio("Author of Kafka on the Shore");
+        creatorsOnA.modifyCreatorDetails(revision);
+        Author newcomer = new Author();
+        newcomer.setName("Ursula K. Le Guin");
+        creatorsOnA.registerCreator(newcomer);
+
+        // Assert
+        Author reloadedOnB = creatorsOnB.findCreatorById(creatorId).orElseThrow();
+        assertEquals("Author of Kafka on the Shore", reloadedOnB.getBio(), "Node B should see the new biography");
+        assertEquals(cachedOnB.getVersion() + 1, reloadedOnB.getVersion(), "Node B should hold the new version");
+        assertEquals(directorySizeOnB + 1, creatorsOnB.findAllCreators().size(),
+                     "Node B's creator dropdown should include the new creator");
+    }
+
+    @Test
+    @DisplayName("Should drop a work revised or withdrawn on another node")
+    void shouldInvalidateWorkAcrossNodes() {
+        // Arrange
+        BookService worksOnA = nodeA.getBean(BookService.class);
+        BookService worksOnB = nodeB.getBean(BookService.class);
+        Long workId = worksOnA.searchByTitle("Beloved").get(0).getId();
+        assertEquals("Beloved", worksOnB.locateLiteraryWork(workId).orElseThrow().getTitle(), "Warm node B's cache");
+
+        // Act
+        Book revision = worksOnA.searchByTitle("Beloved").get(0);
+        revision.setTitle("Beloved: A Novel");
+        worksOnA.reviseWorkDetails(revision);
+        Book revisedOnB = worksOnB.locateLiteraryWork(workId).orElseThrow();
+        worksOnA.withdrawFromCatalog(workId);
+
+        // Assert
+        assertEquals("Beloved: A Novel", revisedOnB.getTitle(), "Node B should see the revised title");
+        assertNotNull(revisedOnB.getCreator().getName(), "Cached works should carry a loaded creator");
+        assertTrue(worksOnB.locateLiteraryWork(workId).isEmpty(), "Node B should not serve a withdrawn work");
+    }
+
+    private ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(BooksCRudApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:coherence",
+                     "--spring.jpa.show-sql=false",
+                     "--catalog.cache.bus.transport=loopback",
+                     "--catalog.cache.bus.channel=coherence-test");
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.books_crud.cache;
+
+import com.example.books_crud.model.Author;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedCacheTest {
+
+    private long now;
+
+    private final VersionedCache cache =
+            new VersionedCache("creators", CatalogCaches::versionOf, Duration.ofMinutes(10), () -> now);
+
+    @Test
+    @DisplayName("Should refuse to cache a value older than an invalidation already seen")
+    void shouldRefuseValueOlderThanInvalidation() {
+        // Arrange
+        cache.invalidate(1L, 5);
+
+        // Act
+        cache.put(1L, creator(1L, "Stale", 4));
+
+        // Assert
+        assertNull(cache.get(1L), "Version 4 must not be cached after version 5 was announced");
+        cache.put(1L, creator(1L, "Current", 5));
+        assertEquals("Current", cachedName(1L), "The announced version itself may be cached");
+    }
+
+    @Test
+    @DisplayName("Should keep a newer entry when an older invalidation arrives late")
+    void shouldIgnoreLateInvalidation() {
+        // Arrange
+        cache.put(1L, creator(1L, "Version six", 6));
+
+        // Act
+        cache.invalidate(1L, 4);
+        cache.invalidate(1L, 6);
+
+        // Assert
+        assertEquals("Version six", cachedName(1L), "Invalidations up to the cached version leave it in place");
+        cache.invalidate(1L, 7);
+        assertNull(cache.get(1L), "A newer version should evict it");
+    }
+
+    @Test
+    @DisplayName("Should not store a value whose load raced with an invalidation")
+    void shouldDropValueLoadedDuringInvalidation() {
+        // Act
+        Author loaded = cache.get(1L, () -> {
+            Author beforeCommit = creator(1L, "Read before commit", 2);
+            cache.invalidate(1L, 3);
+            return beforeCommit;
+        });
+        List<Author> directory = cache.get("all", () -> {
+            cache.invalidateAll();
+            return List.of(loaded);
+        });
+
+        // Assert
+        assertEquals("Read before commit", loaded.getName(), "The caller still gets what it loaded");
+        assertNotNull(directory, "List loader result should be returned");
+        assertEquals(0, cache.size(), "Neither racing load should have been cached");
+    }
+
+    @Test
+    @DisplayName("Should never cache a removed entity again")
+    void shouldNotResurrectRemovedEntity() {
+        // Arrange
+        cache.put(1L, creator(1L, "Removed soon", 3));
+
+        // Act
+        cache.invalidate(1L, CacheInvalidation.REMOVED);
+        cache.put(1L, creator(1L, "Removed soon", 3));
+        cache.put(1L, null);
+
+        // Assert
+        assertNull(cache.get(1L), "Nothing should be cached for a removed entity");
+    }
+
+    @Test
+    @DisplayName("Should expire entries after their time to live")
+    void shouldExpireEntries() {
+        // Arrange
+        cache.put(1L, creator(1L, "Short lived", 0));
+
+        // Act
+        now += Duration.ofMinutes(11).toNanos();
+
+        // Assert
+        assertNull(cache.get(1L), "Expired entry should not be served");
+    }
+
+    @Test
+    @DisplayName("Should hand every caller a copy of its own, not the stored or the loaded instance")
+    void shouldCopyEntitiesInAndOut() {
+        // Arrange
+        VersionedCache copying = new VersionedCache("creators", CatalogCaches::versionOf, CatalogCaches::copyOf,
+                                                    Duration.ofMinutes(10), () -> now);
+        Author loaded = creator(1L, "Morrison", 1);
+        loaded.setBio("Nobel laureate");
+        copying.put(1L, loaded);
+
+        // Act
+        Author first = (Author) copying.get(1L).get();
+        Author second = (Author) copying.get(1L).get();
+        first.setName("Changed by one caller");
+
+        // Assert
+        assertNotSame(loaded, first);
+        assertNotSame(first, second);
+        assertEquals("Morrison", second.getName(), "A caller's change should not reach other callers");
+        assertEquals("Nobel laureate", second.getBio(), "A loaded biography should be copied along");
+    }
+
+    private String cachedName(Object key) {
+        return ((Author) cache.get(key).get()).getName();
+    }
+
+    private static Author creator(Long id, String name, long version) {
+        Author creator = new Author();
+        creator.setCreatorId(id);
+        creator.setName(name);
+        creator.setVersion(version);
+        return creator;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.books_crud.collation;
+
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.repository.AuthorRepository;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import com.example.books_crud.service.CollatedPage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:collated-ordering;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "catalog.throttling.enabled=false",
+        "catalog.collation.locale=es"
+})
+@AutoConfigureMockMvc
+class CollatedOrderingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorService creatorService;
+
+    @Autowired
+    private BookService literaryService;
+
+    @Autowired
+    private AuthorRepository creatorRepository;
+
+    @Autowired
+    private CatalogCollation collation;
+
+    @Autowired
+    private CollationKeyBackfill backfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should page through creators in the order the locale's collator gives, ties broken by id")
+    void shouldPageCreatorsInCollatedOrder() {
+        // Arrange
+        for (String name : List.of("Émile Zola", "emile zola", "Charlotte Brontë", "Anne Bronte", "Ñandú Ayala",
+                                   "Nuria Amat", "García Márquez", "Garcia Lorca", "Ángel González", "Ñandú Ayala")) {
+            register(name);
+        }
+        Collator collator = Collator.getInstance(Locale.forLanguageTag("es"));
+        collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+        List<Author> expected = new ArrayList<>(creatorRepository.findAll());
+        expected.sort(Comparator.comparing((Author creator) -> creator.getName().strip(), collator)
+                              .thenComparing(Author::getCreatorId));
+
+        // Act
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CollatedPage<Author> page = creatorService.browseCreatorDirectory(cursor, 3);
+            page.items().forEach(creator -> paged.add(creator.getCreatorId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(expected.stream().map(Author::getCreatorId).toList(), paged);
+        List<String> names = expected.stream().map(Author::getName).toList();
+        assertTrue(names.indexOf("Ángel González") < names.indexOf("Anne Bronte"), "Á sorts as A");
+        assertTrue(names.indexOf("Nuria Amat") < names.indexOf("Ñandú Ayala"), "Ñ sorts after N in Spanish");
+    }
+
+    @Test
+    @DisplayName("Should move a renamed work to its new place in title order")
+    void shouldRekeyRenamedWork() {
+        // Arrange
+        Author creator = register("Clarice Lispector");
+        Book work = literaryService.registerLiteraryWork(new Book("Água Viva", "9780811220019", creator));
+        byte[] before = work.getTitleSortKey();
+
+        // Act
+        work.setTitle("Zzz Near the Wild Heart");
+        Book renamed = literaryService.reviseWorkDetails(work);
+
+        // Assert
+        assertArrayEquals(collation.sortKey("Zzz Near the Wild Heart"), renamed.getTitleSortKey());
+        assertTrue(CatalogCollation.compare(before, renamed.getTitleSortKey()) < 0);
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            CollatedPage<Book> page = literaryService.browseCatalogByTitle(cursor, 4);
+            page.items().forEach(item -> titles.add(item.getTitle()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        assertEquals("Zzz Near the Wild Heart", titles.getLast());
+        assertFalse(titles.contains("Água Viva"));
+    }
+
+    @Test
+    @DisplayName("Should give rows written straight to the database a sort key that H2 orders unsigned")
+    void shouldBackfillJdbcRows() {
+        // Arrange
+        jdbcTemplate.update("INSERT INTO literary_creator (full_name, row_version) VALUES (?, 0)", "Ève Curie");
+        jdbcTemplate.update("INSERT INTO literary_creator (full_name, row_version) VALUES (?, 0)", "Œdipe Ñuñez");
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM literary_creator WHERE name_sort_key IS NULL", Integer.class));
+        assertArrayEquals(collation.sortKey("Ève Curie"), jdbcTemplate.queryForObject(
+                "SELECT name_sort_key FROM literary_creator WHERE full_name = 'Ève Curie'", byte[].class));
+        List<byte[]> byDatabase = jdbcTemplate.queryForList(
+                "SELECT name_sort_key FROM literary_creator ORDER BY name_sort_key", byte[].class);
+        List<byte[]> byCollation = new ArrayList<>(byDatabase);
+        byCollation.sort(CatalogCollation::compare);
+        assertTrue(Arrays.deepEquals(byCollation.toArray(), byDatabase.toArray()));
+    }
+
+    @Test
+    @DisplayName("Should show the first directory page for a cursor no page handed out")
+    void shouldRestartOnMalformedCursor() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/creators").param("from", "not-a-cursor"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("creatorDirectory",
+                                             creatorService.browseCreatorDirectory(null, 50).items()));
+    }
+
+    private Author register(String name) {
+        Author creator = new Author();
+        creator.setName(name);
+        return creatorService.registerCreator(creator);
+    }
+}
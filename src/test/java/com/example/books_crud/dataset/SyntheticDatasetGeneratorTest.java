@@ -0,0 +1,114 @@
+package com.example.books_crud.dataset;
+
+import com.example.books_crud.BooksCRudApplication;
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.AuthorBiography;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDatasetGeneratorTest {
+
+    @Test
+    @DisplayName("Should generate the same catalog from the same seed however many threads insert it")
+    void shouldGenerateDeterministically() {
+        // Act
+        List<String> serial;
+        List<String> parallel;
+        try (ConfigurableApplicationContext context = start("synthetic-serial", 1)) {
+            serial = catalogRows(context);
+        }
+        try (ConfigurableApplicationContext context = start("synthetic-parallel", 3)) {
+            parallel = catalogRows(context);
+        }
+
+        // Assert
+        assertEquals(300 + 2_000, serial.size());
+        assertEquals(serial, parallel);
+    }
+
+    @Test
+    @DisplayName("Should replace the sample data and hand out ids after the generated block")
+    void shouldContinueIdsAfterGeneratedRows() {
+        try (ConfigurableApplicationContext context = start("synthetic-ids", 2)) {
+            // Arrange
+            AuthorService creatorService = context.getBean(AuthorService.class);
+            BookService literaryService = context.getBean(BookService.class);
+            JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+            Author creator = new Author();
+            creator.setName("Registered Afterwards");
+
+            // Act
+            Author saved = creatorService.registerCreator(creator);
+            List<Long> worksPerCreator = jdbc.queryForList(
+                    "SELECT COUNT(*) FROM literary_work GROUP BY creator_id ORDER BY creator_id", Long.class);
+
+            // Assert
+            assertEquals(301L, saved.getCreatorId());
+            assertTrue(literaryService.searchByTitle("Beloved").isEmpty(), "Sample data should not be loaded");
+            assertTrue(worksPerCreator.get(0) > 10 * worksPerCreator.get(worksPerCreator.size() - 1),
+                       "The first creators should be the most prolific");
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate valid, unique ISBNs for every serial")
+    void shouldGenerateUniqueIsbns() {
+        // Act
+        Set<String> isbns = LongStream.range(0, 50_000)
+                .mapToObj(CatalogVocabulary::isbn)
+                .collect(Collectors.toSet());
+
+        // Assert
+        assertEquals(50_000, isbns.size());
+        assertTrue(isbns.stream().allMatch(SyntheticDatasetGeneratorTest::hasValidCheckDigit));
+    }
+
+    private static ConfigurableApplicationContext start(String database, int threads) {
+        return new SpringApplicationBuilder(BooksCRudApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.show-sql=false",
+                     "--catalog.cache.enabled=false",
+                     "--catalog.synthetic-data.enabled=true",
+                     "--catalog.synthetic-data.creators=300",
+                     "--catalog.synthetic-data.works=2000",
+                     "--catalog.synthetic-data.chunk-size=250",
+                     "--catalog.synthetic-data.batch-size=100",
+                     "--catalog.synthetic-data.threads=" + threads);
+    }
+
+    private static List<String> catalogRows(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+        List<String> rows = jdbc.query(
+                "SELECT c.creator_id, c.full_name, b.compressed_text FROM literary_creator c "
+                        + "JOIN creator_biography b ON b.creator_id = c.creator_id ORDER BY c.creator_id",
+                (row, index) -> row.getLong(1) + "|" + row.getString(2) + "|"
+                        + AuthorBiography.decompress(row.getBytes(3)));
+        rows.addAll(jdbc.query(
+                "SELECT work_id, work_title, international_code, creator_id FROM literary_work ORDER BY work_id",
+                (row, index) -> row.getLong(1) + "|" + row.getString(2) + "|" + row.getString(3) + "|" + row.getLong(4)));
+        return rows;
+    }
+
+    private static boolean hasValidCheckDigit(String isbn) {
+        int sum = 0;
+        for (int i = 0; i < 13; i++) {
+            sum += (isbn.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return isbn.length() == 13 && isbn.startsWith("979") && sum % 10 == 0;
+    }
+}
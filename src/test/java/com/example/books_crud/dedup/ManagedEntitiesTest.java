@@ -0,0 +1,47 @@
+package com.example.books_crud.dedup;
+
+import com.example.books_crud.model.Book;
+import com.example.books_crud.service.BookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManagedEntitiesTest {
+
+    @Test
+    @DisplayName("Should find entities in declared return types, including inside records")
+    void shouldFindEntitiesInDeclaredTypes() throws Exception {
+        // Act & Assert
+        assertTrue(ManagedEntities.declaredIn(returnTypeOf("findWorksByCreator", Long.class)));
+        assertTrue(ManagedEntities.declaredIn(returnTypeOf("locateLiteraryWork", Long.class)));
+        assertTrue(ManagedEntities.declaredIn(returnTypeOf("browseCatalogPage", Long.class, int.class)),
+                   "A page record holding works should count");
+        assertFalse(ManagedEntities.declaredIn(returnTypeOf("getCatalogWithCreators")),
+                    "Rows of plain objects are only known once read");
+    }
+
+    @Test
+    @DisplayName("Should find entities in results without loading them")
+    void shouldFindEntitiesInResults() {
+        // Arrange
+        Book beloved = new Book();
+        beloved.setTitle("Beloved");
+
+        // Act & Assert
+        assertTrue(ManagedEntities.heldBy(List.of(beloved)));
+        assertTrue(ManagedEntities.heldBy(Optional.of(beloved)));
+        assertTrue(ManagedEntities.heldBy(List.<Object[]>of(new Object[]{"Beloved", beloved})));
+        assertFalse(ManagedEntities.heldBy(List.<Object[]>of(new Object[]{"Beloved", "9781400033416", "Toni Morrison"})));
+        assertFalse(ManagedEntities.heldBy(true));
+        assertFalse(ManagedEntities.heldBy(null));
+    }
+
+    private static Type returnTypeOf(String method, Class<?>... parameterTypes) throws Exception {
+        return BookService.class.getMethod(method, parameterTypes).getGenericReturnType();
+    }
+}
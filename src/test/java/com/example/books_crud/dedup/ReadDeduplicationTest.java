@@ -0,0 +1,93 @@
+package com.example.books_crud.dedup;
+
+import com.example.books_crud.BooksCRudApplication;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the service reads of one simulated HTTP request through the deduplication layer
+ */
+class ReadDeduplicationTest {
+
+    private ConfigurableApplicationContext context;
+    private BookService literaryService;
+    private AuthorService creatorService;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void start() {
+        context = new SpringApplicationBuilder(BooksCRudApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:read-dedup;DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.show-sql=false",
+                     "--catalog.cache.enabled=false");
+        literaryService = context.getBean(BookService.class);
+        creatorService = context.getBean(AuthorService.class);
+        meterRegistry = context.getBean(MeterRegistry.class);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void stop() {
+        RequestContextHolder.resetRequestAttributes();
+        context.close();
+    }
+
+    @Test
+    @DisplayName("Should answer repeated reads of a request from its memo until a change commits")
+    void shouldMemoizeWithinRequest() {
+        // Arrange
+        Book beloved = literaryService.searchByTitle("Beloved").get(0);
+        double executedBefore = calls("executed");
+
+        // Act
+        Book firstLookup = literaryService.locateLiteraryWork(beloved.getId()).orElseThrow();
+        Book secondLookup = literaryService.locateLiteraryWork(beloved.getId()).orElseThrow();
+        List<?> creators = creatorService.findAllCreators();
+        List<?> creatorsAgain = creatorService.findAllCreators();
+        firstLookup.setTitle("Beloved (revised)");
+        literaryService.reviseWorkDetails(firstLookup);
+        Book afterRevision = literaryService.locateLiteraryWork(beloved.getId()).orElseThrow();
+
+        // Assert
+        assertSame(firstLookup, secondLookup, "Repeated lookup should come from the memo");
+        assertSame(creators, creatorsAgain);
+        assertEquals(2, calls("memoized"));
+        assertEquals("Beloved (revised)", afterRevision.getTitle(), "A committed change should retire the memo");
+        assertEquals(3, calls("executed") - executedBefore, "Two first reads and one read after the change");
+    }
+
+    @Test
+    @DisplayName("Should not memoize outside a request")
+    void shouldSkipMemoOutsideRequest() {
+        // Arrange
+        RequestContextHolder.resetRequestAttributes();
+
+        // Act
+        creatorService.hasCreators();
+        creatorService.hasCreators();
+
+        // Assert
+        assertEquals(0, calls("memoized"));
+    }
+
+    private double calls(String outcome) {
+        return meterRegistry.get("catalog.read-dedup.calls").tag("outcome", outcome).functionCounter().count();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.books_crud.dedup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    @DisplayName("Should run concurrent calls for one key once and hand everyone the same result")
+    void shouldCollapseConcurrentCalls() throws Exception {
+        // Arrange
+        SingleFlight<String, List<String>> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        List<List<String>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(CALLERS)) {
+            List<Future<List<String>>> pending = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                pending.add(callers.submit(() -> singleFlight.execute("beloved", () -> {
+                    calls.incrementAndGet();
+                    awaitJoiners(singleFlight);
+                    return new ArrayList<>(List.of("Beloved"));
+                })));
+            }
+            for (Future<List<String>> result : pending) {
+                results.add(result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        // Assert
+        assertEquals(1, calls.get(), "Only the first caller should run the call");
+        assertEquals(1, singleFlight.executed());
+        assertEquals(CALLERS - 1, singleFlight.joined());
+        results.forEach(result -> assertSame(results.get(0), result, "Joined callers should share the result"));
+    }
+
+    @Test
+    @DisplayName("Should hand the failure to every waiting caller and run the next call afresh")
+    void shouldShareFailureButNotKeepIt() throws Exception {
+        // Arrange
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        // Act
+        List<Throwable> failures = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(CALLERS)) {
+            List<Future<String>> pending = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                pending.add(callers.submit(() -> singleFlight.execute("morrison", () -> {
+                    awaitJoiners(singleFlight);
+                    throw new IllegalStateException("database down");
+                })));
+            }
+            for (Future<String> result : pending) {
+                failures.add(assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS)).getCause());
+            }
+        }
+        String afterwards = singleFlight.execute("morrison", () -> "Toni Morrison");
+
+        // Assert
+        failures.forEach(failure -> assertInstanceOf(IllegalStateException.class, failure));
+        assertEquals("Toni Morrison", afterwards, "A completed call should not be remembered");
+        assertEquals(2, singleFlight.executed());
+    }
+
+    @Test
+    @DisplayName("Should let waiting callers run their own call when the result may not be shared")
+    void shouldKeepUnshareableResult() throws Exception {
+        // Arrange
+        SingleFlight<String, List<String>> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        List<List<String>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(CALLERS)) {
+            List<Future<List<String>>> pending = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                pending.add(callers.submit(() -> singleFlight.execute("beloved", () -> {
+                    if (calls.incrementAndGet() == 1) {
+                        awaitJoiners(singleFlight);
+                    }
+                    return new ArrayList<>(List.of("Beloved"));
+                }, result -> false)));
+            }
+            for (Future<List<String>> result : pending) {
+                results.add(result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        // Assert
+        assertEquals(CALLERS, calls.get(), "Every caller should run the call");
+        assertEquals(CALLERS, singleFlight.executed());
+        assertEquals(0, singleFlight.joined());
+        assertEquals(CALLERS, results.stream().map(System::identityHashCode).distinct().count(),
+                     "No caller should get another's result");
+    }
+
+    @Test
+    @DisplayName("Should not collapse calls for different keys")
+    void shouldKeepKeysApart() throws Exception {
+        // Arrange
+        SingleFlight<Long, Long> singleFlight = new SingleFlight<>();
+
+        // Act
+        long first = singleFlight.execute(1L, () -> 10L);
+        long second = singleFlight.execute(2L, () -> 20L);
+
+        // Assert
+        assertEquals(10L, first);
+        assertEquals(20L, second);
+        assertEquals(0, singleFlight.joined());
+    }
+
+    private static void awaitJoiners(SingleFlight<?, ?> singleFlight) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.joined() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.books_crud.duplicates;
+
+import com.example.books_crud.service.AuthorService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares finding the probable duplicates of new names through the LSH index with
+ * comparing each against every creator, the way a per-name
+ * {@code findByNameContainingIgnoreCase} check scans the table, and times the
+ * clustering job. Run with
+ * {@code mvn test -Pbenchmark -Dtest=CreatorDuplicateBenchmark -Dbenchmark.creators=1000000}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:creator-duplicate-benchmark",
+        "spring.jpa.show-sql=false",
+        "catalog.cache.enabled=false",
+        "catalog.read-dedup.enabled=false",
+        "catalog.query-budget.max-rows=10000000",
+        "catalog.query-budget.timeout=10m",
+        "logging.level.com.example.books_crud=INFO"
+})
+class CreatorDuplicateBenchmark {
+
+    private static final int CREATORS = Integer.getInteger("benchmark.creators", 200_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.queries", 200);
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ne", "ru", "sa", "ti", "vo", "ze", "bra", "dri", "fen", "gor", "hal", "jun",
+            "kel", "mar", "nor", "pel", "quin", "ros", "sel", "tor", "ul", "ven", "wil", "yar", "zan"};
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CreatorDuplicateIndex duplicateIndex;
+
+    @Autowired
+    private CreatorDuplicateClusterer clusterer;
+
+    @Autowired
+    private AuthorService creatorService;
+
+    @Test
+    @DisplayName("Duplicate lookups through the LSH index against a full comparison, and clustering time")
+    void measureDuplicateDetection() throws SQLException {
+        SplittableRandom random = new SplittableRandom(5);
+        List<String> names = new ArrayList<>(CREATORS);
+        List<Object[]> rows = new ArrayList<>(CREATORS);
+        for (int i = 0; i < CREATORS; i++) {
+            String name = word(random) + " " + word(random) + " " + word(random);
+            names.add(name);
+            rows.add(new Object[]{name});
+        }
+        new JdbcTemplate(dataSource).batchUpdate("INSERT INTO literary_creator (full_name, row_version) VALUES (?, 0)",
+                                                 rows);
+        long buildStarted = System.nanoTime();
+        duplicateIndex.build();
+        long buildMillis = (System.nanoTime() - buildStarted) / 1_000_000;
+
+        List<String> queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            // Accent and case variants of existing names
+            queries.add(names.get(random.nextInt(CREATORS)).toUpperCase().replace('A', 'Á'));
+        }
+        int[][] shingles = names.stream()
+                .map(name -> NameMinHash.shingles(NameMinHash.normalize(name)))
+                .toArray(int[][]::new);
+
+        long indexStarted = System.nanoTime();
+        int indexFound = 0;
+        for (String query : queries) {
+            indexFound += duplicateIndex.candidates(query).isEmpty() ? 0 : 1;
+        }
+        long indexNanos = System.nanoTime() - indexStarted;
+
+        long scanStarted = System.nanoTime();
+        int scanFound = 0;
+        for (String query : queries) {
+            int[] queried = NameMinHash.shingles(NameMinHash.normalize(query));
+            boolean found = false;
+            for (int[] existing : shingles) {
+                found |= NameMinHash.similarity(queried, existing) >= 0.7;
+            }
+            scanFound += found ? 1 : 0;
+        }
+        long scanNanos = System.nanoTime() - scanStarted;
+
+        long likeStarted = System.nanoTime();
+        for (String query : queries.subList(0, Math.min(20, QUERIES))) {
+            creatorService.searchCreatorsByName(query.substring(0, query.indexOf(' ')));
+        }
+        long likeNanos = (System.nanoTime() - likeStarted) / Math.min(20, QUERIES);
+
+        DuplicateClusterReport report = clusterer.cluster();
+
+        System.out.printf("Duplicate detection over %,d creators%n", CREATORS);
+        System.out.printf("  index build:        %,d ms%n", buildMillis);
+        System.out.printf("  LSH lookup:         %,.1f us per name, %d/%d variants found%n",
+                          indexNanos / 1_000.0 / QUERIES, indexFound, QUERIES);
+        System.out.printf("  full comparison:    %,.1f us per name, %d/%d variants found%n",
+                          scanNanos / 1_000.0 / QUERIES, scanFound, QUERIES);
+        System.out.printf("  LIKE query:         %,.1f us per name%n", likeNanos / 1_000.0);
+        System.out.printf("  clustering job:     %,d ms, %,d clusters covering %,d creators%n",
+                          report.elapsedMillis(), report.clusters().size(), report.creatorsInClusters());
+        assertEquals(scanFound, indexFound, "The index should find what the full comparison finds");
+        assertTrue(indexNanos < scanNanos, "Index lookups should beat comparing against every creator");
+    }
+
+    private static String word(SplittableRandom random) {
+        StringBuilder word = new StringBuilder();
+        for (int syllables = 2 + random.nextInt(2); syllables > 0; syllables--) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+}
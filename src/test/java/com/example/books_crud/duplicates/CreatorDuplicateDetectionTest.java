@@ -0,0 +1,148 @@
+package com.example.books_crud.duplicates;
+
+import com.example.books_crud.BooksCRudApplication;
+import com.example.books_crud.model.Author;
+import com.example.books_crud.service.AuthorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Flags near-duplicate creator names through the LSH index and clusters them in bulk
+ */
+class CreatorDuplicateDetectionTest {
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ne", "ru", "sa", "ti", "vo", "ze", "bra", "dri", "fen", "gor", "hal", "jun",
+            "kel", "mar", "nor", "pel", "quin", "ros", "sel", "tor", "ul", "ven", "wil", "yar", "zan"};
+
+    private ConfigurableApplicationContext context;
+    private CreatorDuplicateIndex duplicateIndex;
+    private AuthorService creatorService;
+
+    @BeforeEach
+    void start() {
+        context = new SpringApplicationBuilder(BooksCRudApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:creator-duplicates;DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.show-sql=false",
+                     "--catalog.cache.enabled=false");
+        duplicateIndex = context.getBean(CreatorDuplicateIndex.class);
+        creatorService = context.getBean(AuthorService.class);
+    }
+
+    @AfterEach
+    void stop() {
+        new JdbcTemplate(context.getBean(DataSource.class)).execute("DROP ALL OBJECTS");
+        context.close();
+    }
+
+    @Test
+    @DisplayName("Should fold accents, case, punctuation and word order when normalizing names")
+    void shouldNormalizeNames() {
+        // Act
+        String folded = NameMinHash.normalize("Márquez, Gabriel  GARCÍA");
+
+        // Assert
+        assertEquals("gabriel garcia marquez", folded);
+        assertEquals(folded, NameMinHash.normalize("Gabriel Garcia Marquez"));
+        assertEquals("", NameMinHash.normalize(" -- "));
+    }
+
+    @Test
+    @DisplayName("Should flag a creator registered under a near match of the sample creator Gabriel García Márquez")
+    void shouldFlagNearDuplicateRegistration() {
+        // Arrange
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        Author original = creatorService.searchCreatorsByName("García Márquez").get(0);
+
+        // Act
+        Author duplicate = register("Gabriel Garcia Marques");
+        Author unrelated = register("Chimamanda Ngozi Adichie");
+        List<DuplicateCandidate> forName = duplicateIndex.candidates("MARQUEZ, Gabriel Garcia");
+
+        // Assert
+        List<DuplicateCandidate> flagged = duplicateIndex.candidatesOf(duplicate.getCreatorId());
+        assertEquals(1, flagged.size());
+        assertEquals(original.getCreatorId(), flagged.get(0).creatorId());
+        assertTrue(flagged.get(0).similarity() >= 0.7);
+        assertTrue(duplicateIndex.candidatesOf(unrelated.getCreatorId()).isEmpty());
+        assertEquals(original.getCreatorId(), forName.get(0).creatorId());
+        assertEquals(1.0, forName.get(0).similarity());
+        assertEquals(1.0, meterRegistry.get("catalog.duplicates.flagged").counter().count());
+
+        creatorService.removeCreator(original.getCreatorId());
+        assertTrue(duplicateIndex.candidatesOf(duplicate.getCreatorId()).isEmpty(),
+                   "A removed creator should no longer be a candidate");
+    }
+
+    @Test
+    @DisplayName("Should cluster planted duplicates among thousands of distinct creators")
+    void shouldClusterExistingDuplicates() throws SQLException {
+        // Arrange
+        JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+        SplittableRandom random = new SplittableRandom(11);
+        Set<String> names = new HashSet<>();
+        while (names.size() < 5_000) {
+            names.add(word(random) + " " + word(random) + " " + word(random));
+        }
+        List<Object[]> rows = new ArrayList<>();
+        List<String> planted = new ArrayList<>();
+        for (String name : names) {
+            rows.add(new Object[]{name});
+            if (planted.size() < 100) {
+                String variant = planted.size() % 2 == 0 ? name.toUpperCase().replace('a', 'á').replace('A', 'Á')
+                        : name.substring(name.indexOf(' ') + 1) + ", " + name.substring(0, name.indexOf(' '));
+                rows.add(new Object[]{variant});
+                planted.add(name);
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO literary_creator (full_name, row_version) VALUES (?, 0)", rows);
+
+        // Act
+        DuplicateClusterReport report = context.getBean(CreatorDuplicateClusterer.class).cluster();
+
+        // Assert
+        assertEquals(jdbc.queryForObject("SELECT COUNT(*) FROM literary_creator", Integer.class),
+                     report.creatorsScanned());
+        Set<String> clustered = new HashSet<>();
+        for (DuplicateClusterReport.DuplicateCluster cluster : report.clusters()) {
+            assertTrue(cluster.creators().size() <= 3, "No cluster should swallow unrelated names: " + cluster);
+            cluster.creators().forEach(member -> clustered.add(member.name()));
+        }
+        assertTrue(clustered.containsAll(planted), "Every planted duplicate should be clustered");
+        assertTrue(report.clusters().size() >= planted.size());
+        assertTrue(report.clusters().size() < planted.size() + 20, "Few accidental clusters expected");
+    }
+
+    private Author register(String name) {
+        Author creator = new Author();
+        creator.setName(name);
+        return creatorService.registerCreator(creator);
+    }
+
+    private static String word(SplittableRandom random) {
+        StringBuilder word = new StringBuilder();
+        for (int syllables = 2 + random.nextInt(2); syllables > 0; syllables--) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+}
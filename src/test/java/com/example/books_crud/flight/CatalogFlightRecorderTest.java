@@ -0,0 +1,197 @@
+package com.example.books_crud.flight;
+
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flight-recorder;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "catalog.cache.enabled=false",
+        "catalog.throttling.enabled=false",
+        "catalog.flight-recorder.continuous=false",
+        "management.endpoints.web.exposure.include=health,flightrecordings"
+})
+@AutoConfigureMockMvc
+class CatalogFlightRecorderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService literaryService;
+
+    @Autowired
+    private AuthorService creatorService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should record service calls with their entity, rows and phase timings")
+    void shouldRecordServiceOperations() throws Exception {
+        // Arrange
+        Author creator = new Author();
+        creator.setName("Clarice Lispector");
+        List<RecordedEvent> events;
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(CatalogOperationEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            creator = creatorService.registerCreator(creator);
+            literaryService.registerLiteraryWork(new Book("The Hour of the Star", "9780811219495", creator));
+            literaryService.browseCatalog();
+            recording.stop();
+            events = recordedEvents(recording);
+        }
+
+        // Assert
+        RecordedEvent registration = only(events, "operation", "AuthorService.registerCreator");
+        assertEquals(creator.getCreatorId(), registration.getLong("entityId"));
+        assertEquals(1, registration.getLong("rows"));
+        assertTrue(registration.getLong("statements") >= 1, "The insert is timed");
+        assertTrue(registration.getLong("flushedEntities") >= 1, "The flush at commit is timed");
+        assertTrue(registration.getDuration().toNanos() >= registration.getLong("statementTime"));
+        RecordedEvent browse = only(events, "operation", "BookService.browseCatalog");
+        assertEquals(literaryService.browseCatalog().size(), browse.getLong("rows"));
+        assertEquals(0, browse.getLong("entityId"));
+        assertNull(browse.getString("failure"));
+    }
+
+    @Test
+    @DisplayName("Should record requests with their handler, entity and phases")
+    void shouldRecordRequests() throws Exception {
+        // Arrange
+        Book beloved = literaryService.searchByTitle("Beloved").get(0);
+        List<RecordedEvent> events;
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(CatalogRequestEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            mockMvc.perform(get("/catalog/edit/{workId}", beloved.getId())).andExpect(status().isOk());
+            recording.stop();
+            events = recordedEvents(recording);
+        }
+
+        // Assert
+        RecordedEvent request = only(events, "uri", "/catalog/edit/" + beloved.getId());
+        assertEquals("BookController", request.getString("handler").split("\\.")[0]);
+        assertEquals("GET", request.getString("method"));
+        assertEquals(200, request.getInt("status"));
+        assertEquals(beloved.getId(), request.getLong("entityId"));
+        assertTrue(request.getLong("statements") >= 1);
+        assertTrue(request.getLong("renderTime") >= 0);
+    }
+
+    @Test
+    @DisplayName("Should start, download, stop and discard a bounded recording on demand")
+    void shouldManageRecordingsOnDemand() throws Exception {
+        // Arrange
+        Recording background = new Recording();
+        background.enable(CatalogRequestEvent.class).withThreshold(Duration.ofSeconds(1));
+        background.start();
+
+        // Act
+        MvcResult started = mockMvc.perform(write("/actuator/flightrecordings", "{\"duration\": \"PT1M\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.name").value("profile"))
+                .andReturn();
+        long id = objectMapper.readTree(started.getResponse().getContentAsString()).get("id").asLong();
+
+        // Assert
+        try {
+            mockMvc.perform(write("/actuator/flightrecordings", "{}")).andExpect(status().isConflict());
+            mockMvc.perform(write("/actuator/flightrecordings", "{\"settings\": \"everything\"}"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/catalog")).andExpect(status().isOk());
+            byte[] file = mockMvc.perform(get("/actuator/flightrecordings/{id}/file", id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+            assertArrayEquals("FLR\0".getBytes(StandardCharsets.US_ASCII), Arrays.copyOf(file, 4));
+            List<RecordedEvent> recorded = readEvents(file);
+            only(recorded, "uri", "/catalog");
+            assertTrue(recorded.stream().map(event -> event.getEventType().getName())
+                               .noneMatch(List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty",
+                                                  "jdk.JVMInformation")::contains),
+                       "Environment variables, system properties and JVM arguments should not be recorded");
+
+            JsonNode stopped = objectMapper.readTree(mockMvc.perform(write("/actuator/flightrecordings/" + id, "{}"))
+                                                             .andExpect(status().isOk())
+                                                             .andReturn().getResponse().getContentAsString());
+            assertEquals("STOPPED", stopped.get("state").asText());
+            assertEquals("PT1M", stopped.get("duration").asText());
+        } finally {
+            background.close();
+            mockMvc.perform(delete("/actuator/flightrecordings/{id}", id)).andExpect(status().isNoContent());
+        }
+        mockMvc.perform(get("/actuator/flightrecordings/{id}", id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should not serve recordings on the application paths")
+    void shouldKeepRecordingsOffApplicationPaths() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/flight-recordings")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/flight-recordings")).andExpect(status().isNotFound());
+    }
+
+    private static MockHttpServletRequestBuilder write(String path, String arguments) {
+        return post(path).contentType(MediaType.APPLICATION_JSON).content(arguments);
+    }
+
+    private static List<RecordedEvent> recordedEvents(Recording recording) throws Exception {
+        Path file = Files.createTempFile("flight-recorder-test", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<RecordedEvent> readEvents(byte[] recording) throws Exception {
+        Path file = Files.write(Files.createTempFile("flight-recorder-test", ".jfr"), recording);
+        try {
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String field, String value) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.hasField(field) && value.equals(event.getString(field)))
+                .toList();
+        assertEquals(1, matching.size(), "Events with " + field + "=" + value + ": " + matching);
+        return matching.get(0);
+    }
+}
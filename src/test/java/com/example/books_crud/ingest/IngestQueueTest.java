@@ -0,0 +1,135 @@
+package com.example.books_crud.ingest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestQueueTest {
+
+    private final SteppingClock clock = new SteppingClock();
+    private IngestQueue ingestQueue;
+
+    @BeforeEach
+    void createQueue() {
+        ingestQueue = new IngestQueue(1, 1, Duration.ofMinutes(10), Duration.ofSeconds(5), clock);
+    }
+
+    @AfterEach
+    void stopQueue() throws InterruptedException {
+        ingestQueue.destroy();
+    }
+
+    @Test
+    @DisplayName("Should refuse registrations once the worker is busy and the queue is full")
+    void shouldRefuseWhenFull() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // Act
+        IngestOperation running = ingestQueue.submit("work", () -> {
+            started.countDown();
+            release.await();
+            return 1L;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        IngestOperation queued = ingestQueue.submit("work", () -> 2L);
+        assertThrows(RejectedExecutionException.class, () -> ingestQueue.submit("work", () -> 3L),
+                     "A full queue should refuse at once instead of blocking the caller");
+        IngestOperation.State queuedState = ingestQueue.status(queued.id()).orElseThrow().state();
+        release.countDown();
+
+        // Assert
+        assertEquals(IngestOperation.State.QUEUED, queuedState);
+        assertEquals(1L, awaitFinished(running.id()).resourceId());
+        assertEquals(2L, awaitFinished(queued.id()).resourceId());
+    }
+
+    @Test
+    @DisplayName("Should report failures and forget finished operations after the retention period")
+    void shouldReportFailureAndExpire() throws Exception {
+        // Act
+        IngestOperation operation = ingestQueue.submit("creator", () -> {
+            throw new IllegalArgumentException("Creator name cannot be empty");
+        });
+        IngestOperation failed = awaitFinished(operation.id());
+        clock.advance(Duration.ofMinutes(11));
+
+        // Assert
+        assertEquals(IngestOperation.State.FAILED, failed.state());
+        assertEquals("Creator name cannot be empty", failed.error());
+        assertTrue(ingestQueue.status(operation.id()).isEmpty(), "Expired operation should no longer be reported");
+    }
+
+    @Test
+    @DisplayName("Should mark registrations still queued at shutdown as failed")
+    void shouldFailAbandonedRegistrations() throws Exception {
+        // Arrange
+        ingestQueue = new IngestQueue(1, 1, Duration.ofMinutes(10), Duration.ofMillis(50), clock);
+        CountDownLatch started = new CountDownLatch(1);
+        ingestQueue.submit("work", () -> {
+            started.countDown();
+            new CountDownLatch(1).await();
+            return 1L;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        IngestOperation queued = ingestQueue.submit("work", () -> 2L);
+
+        // Act
+        ingestQueue.destroy();
+
+        // Assert
+        IngestOperation abandoned = ingestQueue.status(queued.id()).orElseThrow();
+        assertEquals(IngestOperation.State.FAILED, abandoned.state());
+        assertEquals("Abandoned at shutdown", abandoned.error());
+    }
+
+    private IngestOperation awaitFinished(UUID operationId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            IngestOperation operation = ingestQueue.status(operationId).orElseThrow();
+            if (operation.finished()) {
+                return operation;
+            }
+            Thread.sleep(5);
+        }
+        return fail("Operation " + operationId + " did not finish");
+    }
+
+    private static final class SteppingClock extends Clock {
+
+        private volatile Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration step) {
+            now = now.plus(step);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
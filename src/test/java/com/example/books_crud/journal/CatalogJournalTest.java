@@ -0,0 +1,106 @@
+package com.example.books_crud.journal;
+
+import com.example.books_crud.event.CatalogChangeEvent;
+import com.example.books_crud.event.CatalogChangeEvent.CreatorSaved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkRemoved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkSaved;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogJournalTest {
+
+    @TempDir
+    Path journalDirectory;
+
+    @Test
+    @DisplayName("Should read back appended entries in order across segment rolls")
+    void shouldReadBackEntriesAcrossSegments() throws IOException {
+        // Arrange
+        CatalogJournal journal = new CatalogJournal(journalDirectory, 256);
+        journal.open(0);
+
+        // Act
+        for (int i = 1; i <= 20; i++) {
+            journal.append(new WorkSaved(i, "Work " + i, "ISBN-" + i, 7L, 0));
+        }
+        journal.append(new WorkRemoved(3));
+        journal.close();
+
+        List<CatalogChangeEvent> replayed = new ArrayList<>();
+        long lastSequence = CatalogJournal.read(journalDirectory, 0, (sequence, event) -> replayed.add(event));
+
+        // Assert
+        assertEquals(21, lastSequence, "Last sequence should match number of appends");
+        assertEquals(21, replayed.size(), "Every entry should be replayed");
+        assertEquals(new WorkSaved(1, "Work 1", "ISBN-1", 7L, 0), replayed.get(0), "First entry should round-trip");
+        assertEquals(new WorkRemoved(3), replayed.get(20), "Last entry should round-trip");
+        assertTrue(countSegments() > 1, "Small segments should have rolled");
+    }
+
+    @Test
+    @DisplayName("Should skip entries already covered by a snapshot")
+    void shouldSkipEntriesCoveredBySnapshot() throws IOException {
+        // Arrange
+        CatalogJournal journal = new CatalogJournal(journalDirectory, 4096);
+        journal.open(0);
+        journal.append(new CreatorSaved(1, "Emily Brontë", "English novelist", 0));
+        journal.append(new CreatorSaved(2, "Toni Morrison", null, 3));
+        long snapshotSequence = journal.roll();
+        journal.append(new WorkSaved(10, "Beloved", "9781400033416", 2L, 0));
+        journal.discardThrough(snapshotSequence);
+        journal.close();
+
+        // Act
+        List<Long> sequences = new ArrayList<>();
+        CatalogJournal.read(journalDirectory, snapshotSequence, (sequence, event) -> sequences.add(sequence));
+
+        // Assert
+        assertEquals(List.of(3L), sequences, "Only the entry after the snapshot should be replayed");
+        assertEquals(1, countSegments(), "Segments covered by the snapshot should be deleted");
+    }
+
+    @Test
+    @DisplayName("Should stop at a torn entry")
+    void shouldStopAtTornEntry() throws IOException {
+        // Arrange
+        CatalogJournal journal = new CatalogJournal(journalDirectory, 4096);
+        journal.open(0);
+        journal.append(new CreatorSaved(1, "Haruki Murakami", null, 0));
+        journal.append(new CreatorSaved(2, "Jorge Luis Borges", null, 0));
+        journal.close();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        byte[] content = Files.readAllBytes(segment);
+        int secondFrame = 8 + ByteBuffer.wrap(content).getInt(0);
+        content[secondFrame + 8 + 10] ^= 0x5A;
+        Files.write(segment, content);
+
+        // Act
+        List<CatalogChangeEvent> replayed = new ArrayList<>();
+        long lastSequence = CatalogJournal.read(journalDirectory, 0, (sequence, event) -> replayed.add(event));
+
+        // Assert
+        assertEquals(1, lastSequence, "Replay should stop before the corrupted entry");
+        assertEquals(1, replayed.size(), "Only the intact entry should be replayed");
+    }
+
+    private long countSegments() throws IOException {
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            return files.count();
+        }
+    }
+}
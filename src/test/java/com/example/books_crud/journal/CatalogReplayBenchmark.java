@@ -0,0 +1,89 @@
+package com.example.books_crud.journal;
+
+import com.example.books_crud.event.CatalogChangeEvent.CreatorSaved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkRemoved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkSaved;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures warm restart time: replaying a large snapshot plus journal tail into an empty database.
+ * Run with {@code mvn test -Pbenchmark -Dbenchmark.works=1000000}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replay-benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.example.books_crud=INFO"
+})
+class CatalogReplayBenchmark {
+
+    private static final int WORKS = Integer.getInteger("benchmark.works", 1_000_000);
+    private static final int WORKS_PER_CREATOR = 10;
+    private static final int TAIL_ENTRIES = Integer.getInteger("benchmark.tail", 50_000);
+
+    @TempDir
+    Path journalDirectory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Replay snapshot and journal tail of a production-sized catalog")
+    void replayLargeCatalog() throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("DELETE FROM literary_work");
+        jdbc.update("DELETE FROM creator_biography");
+        jdbc.update("DELETE FROM literary_creator");
+
+        int creators = WORKS / WORKS_PER_CREATOR;
+        CatalogSnapshotStore snapshotStore = new CatalogSnapshotStore(journalDirectory);
+        long writeStarted = System.nanoTime();
+        try (CatalogSnapshotStore.Writer writer = snapshotStore.openWriter(0, 0, 0)) {
+            for (long id = 1; id <= creators; id++) {
+                writer.creator(new CreatorSaved(id, "Creator " + id, "Biography of creator " + id, 0));
+            }
+            for (long id = 1; id <= WORKS; id++) {
+                writer.work(new WorkSaved(id, "Work " + id, String.format("978%010d", id), 1 + (id - 1) / WORKS_PER_CREATOR, 0));
+            }
+            writer.commit();
+        }
+        CatalogJournal journal = new CatalogJournal(journalDirectory, 64 * 1024 * 1024);
+        journal.open(0);
+        for (long i = 1; i <= TAIL_ENTRIES; i++) {
+            if (i % 10 == 0) {
+                journal.append(new WorkRemoved(i));
+            } else {
+                journal.append(new WorkSaved(WORKS + i, "Tail work " + i, String.format("979%010d", i), 1L, 0));
+            }
+        }
+        journal.close();
+        long writeMillis = (System.nanoTime() - writeStarted) / 1_000_000;
+
+        CatalogReplayer.ReplayResult result =
+                new CatalogReplayer(dataSource, snapshotStore, journalDirectory).replay();
+
+        long works = jdbc.queryForObject("SELECT COUNT(*) FROM literary_work", Long.class);
+        System.out.printf("Catalog replay: %,d creators + %,d works snapshot, %,d tail entries%n",
+                          creators, WORKS, TAIL_ENTRIES);
+        System.out.printf("  snapshot+journal write: %,d ms%n", writeMillis);
+        System.out.printf("  replay: %,d ms (%,.0f rows/s)%n", result.elapsed().toMillis(),
+                          (result.snapshotRows() + result.tailEntries()) * 1000.0 / Math.max(1, result.elapsed().toMillis()));
+
+        assertEquals(WORKS + TAIL_ENTRIES - 2L * (TAIL_ENTRIES / 10), works, "Replayed work count");
+
+        jdbc.update("DELETE FROM literary_work");
+        jdbc.update("DELETE FROM creator_biography");
+        jdbc.update("DELETE FROM literary_creator");
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.books_crud.journal;
+
+import com.example.books_crud.BooksCRudApplication;
+import com.example.books_crud.event.CatalogChangeEvent.CreatorSaved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkRemoved;
+import com.example.books_crud.event.CatalogChangeEvent.WorkSaved;
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogReplayerTest {
+
+    @TempDir
+    Path journalDirectory;
+
+    @Test
+    @DisplayName("Should restore the catalog from the journal tail after a restart")
+    void shouldRestoreCatalogFromJournalTail() {
+        // Arrange
+        Long workId;
+        try (ConfigurableApplicationContext firstRun = startNode("replay-tail-1", false)) {
+            Author creator = firstRun.getBean(AuthorService.class).searchCreatorsByName("Morrison").get(0);
+            Book work = firstRun.getBean(BookService.class)
+                    .registerLiteraryWork(new Book("Song of Solomon", "9781400033423", creator));
+            workId = work.getId();
+            firstRun.getBean(BookService.class).withdrawFromCatalog(
+                    firstRun.getBean(BookService.class).searchByTitle("Ficciones").get(0).getId());
+        }
+
+        // Act
+        try (ConfigurableApplicationContext secondRun = startNode("replay-tail-2", false)) {
+            BookService literaryService = secondRun.getBean(BookService.class);
+            List<Book> catalog = literaryService.browseCatalog();
+
+            // Assert
+            assertEquals(7, catalog.size(), "Sample works plus one registration minus one withdrawal");
+            assertTrue(literaryService.locateLiteraryWork(workId).isPresent(), "Registered work should keep its id");
+            assertTrue(literaryService.searchByTitle("Ficciones").isEmpty(), "Withdrawn work should stay withdrawn");
+
+            Book next = literaryService.registerLiteraryWork(
+                    new Book("Sula", "9781400033430", catalog.get(0).getCreator()));
+            assertTrue(next.getId() > workId, "Identity should continue after the replayed ids");
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore the catalog from a snapshot written on shutdown")
+    void shouldRestoreCatalogFromSnapshot() {
+        // Arrange
+        try (ConfigurableApplicationContext firstRun = startNode("replay-snapshot-1", true)) {
+            AuthorService creatorService = firstRun.getBean(AuthorService.class);
+            Author creator = creatorService.searchCreatorsByName("Borges").get(0);
+            creator.setBio("Argentine writer, essayist and librarian.");
+            creatorService.modifyCreatorDetails(creator);
+        }
+
+        // Act
+        try (ConfigurableApplicationContext secondRun = startNode("replay-snapshot-2", true)) {
+            AuthorService creatorService = secondRun.getBean(AuthorService.class);
+            Long borgesId = creatorService.searchCreatorsByName("Borges").get(0).getCreatorId();
+
+            // Assert
+            assertEquals(5, creatorService.findAllCreators().size(), "All sample creators should be restored");
+            assertEquals("Argentine writer, essayist and librarian.",
+                         creatorService.findCreatorById(borgesId).orElseThrow().getBio(),
+                         "Modified biography should be restored");
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the newest row version when the journal tail holds updates out of order")
+    void shouldKeepNewestVersionFromOutOfOrderTail() throws Exception {
+        // Arrange
+        Book work;
+        Author creator;
+        Long withdrawnId;
+        try (ConfigurableApplicationContext firstRun = startNode("replay-order-1", false)) {
+            BookService literaryService = firstRun.getBean(BookService.class);
+            creator = firstRun.getBean(AuthorService.class).searchCreatorsByName("Morrison").get(0);
+            work = literaryService.searchByTitle("Beloved").get(0);
+            withdrawnId = literaryService.searchByTitle("Ficciones").get(0).getId();
+        }
+        long lastSequence = CatalogJournal.read(journalDirectory, 0, (sequence, event) -> { });
+        try (CatalogJournal journal = new CatalogJournal(journalDirectory, 1024 * 1024)) {
+            journal.open(lastSequence);
+            journal.append(new WorkSaved(work.getId(), "Beloved (2nd edition)", work.getIsbn(),
+                                         creator.getCreatorId(), work.getVersion() + 2));
+            journal.append(new WorkSaved(work.getId(), "Beloved (1st edition)", work.getIsbn(),
+                                         creator.getCreatorId(), work.getVersion() + 1));
+            journal.append(new CreatorSaved(creator.getCreatorId(), creator.getName(), "Newer biography",
+                                            creator.getVersion() + 2));
+            journal.append(new CreatorSaved(creator.getCreatorId(), creator.getName(), "Older biography",
+                                            creator.getVersion() + 1));
+            journal.append(new WorkRemoved(withdrawnId));
+            journal.append(new WorkSaved(withdrawnId, "Ficciones", null, null, 99));
+            journal.sync();
+        }
+
+        // Act
+        try (ConfigurableApplicationContext secondRun = startNode("replay-order-2", false)) {
+            BookService literaryService = secondRun.getBean(BookService.class);
+            Book replayed = literaryService.locateLiteraryWork(work.getId()).orElseThrow();
+            Author replayedCreator = secondRun.getBean(AuthorService.class)
+                    .findCreatorById(creator.getCreatorId()).orElseThrow();
+
+            // Assert
+            assertEquals("Beloved (2nd edition)", replayed.getTitle());
+            assertEquals(work.getVersion() + 2, replayed.getVersion());
+            assertEquals("Newer biography", replayedCreator.getBio());
+            assertEquals(creator.getVersion() + 2, replayedCreator.getVersion());
+            assertTrue(literaryService.locateLiteraryWork(withdrawnId).isEmpty(),
+                       "A save journaled after the removal should not bring the work back");
+        }
+    }
+
+    @Test
+    @DisplayName("Should not reissue the ids of deleted works after restarts")
+    void shouldNotReuseIdsOfDeletedWorks() {
+        // Arrange
+        long newestId;
+        try (ConfigurableApplicationContext firstRun = startNode("replay-reuse-1", true)) {
+            BookService literaryService = firstRun.getBean(BookService.class);
+            newestId = literaryService.browseCatalog().stream().mapToLong(Book::getId).max().orElseThrow();
+            literaryService.withdrawFromCatalog(newestId);
+        }
+        long deletedAfterSnapshot;
+        try (ConfigurableApplicationContext secondRun = startNode("replay-reuse-2", false)) {
+            BookService literaryService = secondRun.getBean(BookService.class);
+            Author creator = secondRun.getBean(AuthorService.class).searchCreatorsByName("Morrison").get(0);
+            deletedAfterSnapshot = literaryService.registerLiteraryWork(
+                    new Book("Sula", "9781400033430", creator)).getId();
+            assertTrue(deletedAfterSnapshot > newestId, "A work deleted before the snapshot keeps its id");
+            literaryService.withdrawFromCatalog(deletedAfterSnapshot);
+        }
+
+        // Act
+        long recreatedId;
+        try (ConfigurableApplicationContext thirdRun = startNode("replay-reuse-3", false)) {
+            Author creator = thirdRun.getBean(AuthorService.class).searchCreatorsByName("Morrison").get(0);
+            recreatedId = thirdRun.getBean(BookService.class)
+                    .registerLiteraryWork(new Book("Jazz", "9781400076215", creator)).getId();
+        }
+
+        // Assert
+        assertTrue(recreatedId > deletedAfterSnapshot, "A work deleted in the journal tail keeps its id");
+        try (ConfigurableApplicationContext fourthRun = startNode("replay-reuse-4", false)) {
+            BookService literaryService = fourthRun.getBean(BookService.class);
+            assertEquals("Jazz", literaryService.locateLiteraryWork(recreatedId).orElseThrow().getTitle(),
+                         "A work registered after a deletion should survive the next restart");
+            assertTrue(literaryService.searchByTitle("Sula").isEmpty());
+        }
+    }
+
+    private ConfigurableApplicationContext startNode(String databaseName, boolean compactOnShutdown) {
+        return new SpringApplicationBuilder(BooksCRudApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + databaseName,
+                     "--spring.jpa.show-sql=false",
+                     "--catalog.journal.enabled=true",
+                     "--catalog.journal.directory=" + journalDirectory,
+                     "--catalog.journal.segment-size=1MB",
+                     "--catalog.journal.compact-on-shutdown=" + compactOnShutdown);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.books_crud.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the running application over HTTP with a realistic mix of catalog traffic,
+ * against a catalog of {@code loadtest.creators} and {@code loadtest.works} generated at startup.
+ * Run with {@code mvn test -Pbenchmark -Dtest=CatalogLoadTest -Dloadtest.rps=500}; every
+ * {@code loadtest.*} system property below can be overridden the same way. To compare
+ * branches, run once with {@code -Dloadtest.label=main}, switch branches and run again
+ * with {@code -Dloadtest.baseline=target/loadtest/main.tsv} and the same seed.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "catalog.throttling.enabled=false",
+        "logging.level.com.example.books_crud=INFO",
+        "catalog.synthetic-data.enabled=true",
+        "catalog.synthetic-data.creators=${loadtest.creators:5000}",
+        "catalog.synthetic-data.works=${loadtest.works:100000}",
+        "catalog.synthetic-data.seed=${loadtest.seed:42}"
+})
+class CatalogLoadTest {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("loadtest.rps", "100"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private static final String MIX = System.getProperty("loadtest.mix", "catalog=50,search=30,edit=15,register=5");
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+    private static final String LABEL = System.getProperty("loadtest.label", "latest");
+    private static final String BASELINE = System.getProperty("loadtest.baseline");
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Replay the configured traffic mix at the target rate")
+    void replayTrafficMix() throws Exception {
+        SeededCatalog catalog = SeededCatalog.load(new JdbcTemplate(dataSource));
+        System.out.printf("Catalog has %d creators and %d works%n", catalog.creatorIds().size(),
+                          catalog.works().size());
+
+        LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port + contextPath), catalog,
+                                                    TrafficMix.parse(MIX), SEED);
+        LoadReport report = generator.run(LABEL, RATE, WARMUP, DURATION);
+
+        report.print(System.out);
+        System.out.printf("Saved %s%n", report.write(Path.of("target", "loadtest")));
+        if (BASELINE != null) {
+            report.compare(Path.of(BASELINE), System.out);
+        }
+        assertTrue(report.totalRequests() > 0, "No requests completed in the measured window");
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.books_crud.loadtest;
+
+import com.example.books_crud.dataset.CatalogVocabulary;
+import com.example.books_crud.dataset.ZipfSampler;
+import com.example.books_crud.loadtest.SeededCatalog.SeededWork;
+import com.example.books_crud.loadtest.TrafficMix.Endpoint;
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Open-model load generator: requests are started on a fixed schedule at the target rate
+ * no matter how fast earlier ones complete, each on its own virtual thread.
+ * <p>
+ * Latency is measured from the moment a request was scheduled to start, not from when it
+ * was actually sent, so a server that stalls is charged for the requests that queued up
+ * behind the stall (no coordinated omission). Which endpoint, work and search term each
+ * request uses is drawn from a single seeded random sequence on the dispatching thread,
+ * so two runs with the same seed send the same requests in the same order.
+ */
+final class LoadGenerator {
+
+    /** Share of catalog requests that ask for a later page rather than the first one */
+    private static final double NEXT_PAGE_SHARE = 0.2;
+
+    private final URI baseUri;
+    private final TrafficMix mix;
+    private final long seed;
+    private final SeededCatalog catalog;
+    private final List<Long> creatorIds;
+    private final List<SeededWork> worksByPopularity;
+    private final ZipfSampler creatorPopularity;
+    private final ZipfSampler workPopularity;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * @param baseUri application root including any context path, without a trailing slash
+     */
+    LoadGenerator(URI baseUri, SeededCatalog catalog, TrafficMix mix, long seed) {
+        this.baseUri = baseUri;
+        this.mix = mix;
+        this.seed = seed;
+        this.catalog = catalog;
+        this.creatorIds = catalog.creatorIds();
+        // Popularity must not follow creator order, or the hottest works would all share one creator
+        List<SeededWork> shuffled = new ArrayList<>(catalog.works());
+        Collections.shuffle(shuffled, new Random(seed));
+        this.worksByPopularity = shuffled;
+        this.creatorPopularity = new ZipfSampler(creatorIds.size(), 1.0);
+        this.workPopularity = new ZipfSampler(shuffled.size(), 1.0);
+    }
+
+    /**
+     * Send requests at {@code rate} per second, discard the warm-up and report the rest
+     */
+    LoadReport run(String label, double rate, Duration warmup, Duration measured) throws InterruptedException {
+        Map<Endpoint, ConcurrentHistogram> latencies = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, LongAdder> failures = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(3));
+            failures.put(endpoint, new LongAdder());
+        }
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        SplittableRandom random = new SplittableRandom(seed);
+        long period = (long) (1_000_000_000L / rate);
+        long total = (long) (rate * (warmup.plus(measured).toNanos() / 1e9));
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long registrations = 0;
+
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                Endpoint endpoint = mix.next(random);
+                HttpRequest request = switch (endpoint) {
+                    case CATALOG -> catalogPage(random);
+                    case SEARCH -> search(random);
+                    case EDIT -> edit(random);
+                    case REGISTER -> register(random, registrations++);
+                };
+                long scheduledAt = start + i * period;
+                long wait;
+                while ((wait = scheduledAt - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                boolean counted = scheduledAt >= measureFrom;
+                senders.execute(() -> {
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    if (counted) {
+                        latencies.get(endpoint).recordValue(System.nanoTime() - scheduledAt);
+                        statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+                        if (status < 200 || status >= 400) {
+                            failures.get(endpoint).increment();
+                        }
+                    }
+                });
+            }
+        }
+
+        Map<Endpoint, LoadReport.EndpointResult> results = new EnumMap<>(Endpoint.class);
+        latencies.forEach((endpoint, histogram) -> {
+            if (histogram.getTotalCount() > 0) {
+                results.put(endpoint, new LoadReport.EndpointResult(histogram.copy(), failures.get(endpoint).sum()));
+            }
+        });
+        Map<Integer, Long> statusCounts = statuses.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+        return new LoadReport(label, rate, measured, mix.toString(), seed, results, statusCounts);
+    }
+
+    private HttpRequest catalogPage(SplittableRandom random) {
+        if (random.nextDouble() < NEXT_PAGE_SHARE) {
+            return get("/catalog?after=" + popularWork(random).id());
+        }
+        return get("/catalog");
+    }
+
+    private HttpRequest search(SplittableRandom random) {
+        return get("/search?query=" + URLEncoder.encode(CatalogVocabulary.searchTerm(random), StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest edit(SplittableRandom random) {
+        SeededWork work = popularWork(random);
+        String title = random.nextBoolean() ? work.title() : work.title() + " (Revised Edition)";
+        return post("/catalog/edit", Map.of("id", Long.toString(work.id()),
+                                            "title", title,
+                                            "isbn", work.isbn(),
+                                            "creator.creatorId", Long.toString(work.creatorId())));
+    }
+
+    private HttpRequest register(SplittableRandom random, long registration) {
+        long creatorId = creatorIds.get(creatorPopularity.sample(random));
+        return post("/catalog/register", Map.of("title", CatalogVocabulary.title(random),
+                                                "isbn", CatalogVocabulary.isbn(catalog.registrationSerial(registration)),
+                                                "creator.creatorId", Long.toString(creatorId)));
+    }
+
+    private SeededWork popularWork(SplittableRandom random) {
+        return worksByPopularity.get(workPopularity.sample(random));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, Map<String, String> form) {
+        String body = form.entrySet().stream()
+                .map(field -> URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8))
+                .sorted()
+                .collect(Collectors.joining("&"));
+        return HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.books_crud.loadtest;
+
+import com.example.books_crud.loadtest.TrafficMix.Endpoint;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles of one load run, per endpoint.
+ * <p>
+ * Each run can be saved as a small tab-separated file and later runs compared against
+ * it, so the same seed and mix can be replayed on two branches and the difference read
+ * off directly.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String HEADER = "endpoint\trequests\trps\terrors\tp50_ms\tp90_ms\tp99_ms\tp99.9_ms\tmax_ms";
+
+    record EndpointResult(Histogram latencies, long errors) {
+    }
+
+    private final String label;
+    private final double targetRate;
+    private final Duration measured;
+    private final String mix;
+    private final long seed;
+    private final Map<Endpoint, EndpointResult> results;
+    private final Map<Integer, Long> statuses;
+
+    LoadReport(String label, double targetRate, Duration measured, String mix, long seed,
+               Map<Endpoint, EndpointResult> results, Map<Integer, Long> statuses) {
+        this.label = label;
+        this.targetRate = targetRate;
+        this.measured = measured;
+        this.mix = mix;
+        this.seed = seed;
+        this.results = results;
+        this.statuses = statuses;
+    }
+
+    long totalRequests() {
+        return results.values().stream().mapToLong(result -> result.latencies().getTotalCount()).sum();
+    }
+
+    long totalErrors() {
+        return results.values().stream().mapToLong(EndpointResult::errors).sum();
+    }
+
+    void print(PrintStream out) {
+        out.printf("Load run '%s': target %.0f req/s for %d s, mix %s, seed %d%n",
+                   label, targetRate, measured.toSeconds(), mix, seed);
+        out.printf("%-10s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                   "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        rows().forEach(row -> out.printf("%-10s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                                         row.name(), row.requests(), row.rate(), row.errors(),
+                                         row.millis()[0], row.millis()[1], row.millis()[2], row.millis()[3],
+                                         row.millis()[4]));
+        out.printf("Status codes: %s%n", statuses);
+    }
+
+    /**
+     * Save the rows as {@code <directory>/<label>.tsv}
+     */
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        rows().forEach(row -> lines.add(row.toTsv()));
+        return Files.write(directory.resolve(label + ".tsv"), lines);
+    }
+
+    /**
+     * Print how each endpoint moved relative to a previously saved run
+     */
+    void compare(Path baseline, PrintStream out) throws IOException {
+        Map<String, Row> before = new HashMap<>();
+        for (String line : Files.readAllLines(baseline)) {
+            if (!line.equals(HEADER) && !line.isBlank()) {
+                Row row = Row.fromTsv(line);
+                before.put(row.name(), row);
+            }
+        }
+        out.printf("Against %s:%n", baseline.getFileName());
+        out.printf("%-10s %10s %10s %10s %10s%n", "endpoint", "req/s", "p50", "p99", "p99.9");
+        for (Row row : rows()) {
+            Row previous = before.get(row.name());
+            if (previous == null) {
+                out.printf("%-10s %s%n", row.name(), "(not in baseline)");
+                continue;
+            }
+            out.printf("%-10s %10s %10s %10s %10s%n", row.name(),
+                       change(previous.rate(), row.rate()),
+                       change(previous.millis()[0], row.millis()[0]),
+                       change(previous.millis()[2], row.millis()[2]),
+                       change(previous.millis()[3], row.millis()[3]));
+        }
+    }
+
+    private List<Row> rows() {
+        List<Row> rows = new ArrayList<>();
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        for (Map.Entry<Endpoint, EndpointResult> result : results.entrySet()) {
+            rows.add(row(result.getKey().name().toLowerCase(Locale.ROOT), result.getValue().latencies(),
+                         result.getValue().errors()));
+            all.add(result.getValue().latencies());
+            allErrors += result.getValue().errors();
+        }
+        rows.add(row("all", all, allErrors));
+        return rows;
+    }
+
+    private Row row(String name, Histogram latencies, long errors) {
+        double[] millis = new double[PERCENTILES.length + 1];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            millis[i] = latencies.getValueAtPercentile(PERCENTILES[i]) / 1e6;
+        }
+        millis[PERCENTILES.length] = latencies.getMaxValue() / 1e6;
+        long requests = latencies.getTotalCount();
+        return new Row(name, requests, requests / (measured.toNanos() / 1e9), errors, millis);
+    }
+
+    private static String change(double before, double after) {
+        if (before == 0) {
+            return "n/a";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (after - before) * 100 / before);
+    }
+
+    private record Row(String name, long requests, double rate, long errors, double[] millis) {
+
+        String toTsv() {
+            StringBuilder line = new StringBuilder(name).append('\t').append(requests)
+                    .append('\t').append(String.format(Locale.ROOT, "%.2f", rate)).append('\t').append(errors);
+            for (double value : millis) {
+                line.append('\t').append(String.format(Locale.ROOT, "%.3f", value));
+            }
+            return line.toString();
+        }
+
+        static Row fromTsv(String line) {
+            String[] fields = line.split("\t");
+            double[] millis = new double[fields.length - 4];
+            for (int i = 0; i < millis.length; i++) {
+                millis[i] = Double.parseDouble(fields[i + 4]);
+            }
+            return new Row(fields[0], Long.parseLong(fields[1]), Double.parseDouble(fields[2]),
+                           Long.parseLong(fields[3]), millis);
+        }
+    }
+}
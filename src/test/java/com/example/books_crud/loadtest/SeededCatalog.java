@@ -0,0 +1,32 @@
+package com.example.books_crud.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * The creators and works a load run can refer to, read back after the catalog was generated
+ *
+ * @param creatorIds creator ids in ascending order, which for a generated catalog is most prolific first
+ */
+record SeededCatalog(List<Long> creatorIds, List<SeededWork> works) {
+
+    record SeededWork(long id, String title, String isbn, long creatorId) {
+    }
+
+    static SeededCatalog load(JdbcTemplate jdbc) {
+        List<Long> creatorIds = jdbc.queryForList(
+                "SELECT creator_id FROM literary_creator ORDER BY creator_id", Long.class);
+        List<SeededWork> works = jdbc.query(
+                "SELECT work_id, work_title, international_code, creator_id FROM literary_work ORDER BY work_id",
+                (row, index) -> new SeededWork(row.getLong(1), row.getString(2), row.getString(3), row.getLong(4)));
+        return new SeededCatalog(creatorIds, works);
+    }
+
+    /**
+     * Serial for the ISBN of the {@code n}-th work registered during the run, past every stored work
+     */
+    long registrationSerial(long n) {
+        return works.isEmpty() ? n + 1 : works.get(works.size() - 1).id() + 1 + n;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.books_crud.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Relative weights of the endpoints a load run exercises, e.g.
+ * {@code catalog=50,search=30,edit=15,register=5}
+ */
+final class TrafficMix {
+
+    enum Endpoint { CATALOG, SEARCH, EDIT, REGISTER }
+
+    private final Map<Endpoint, Integer> weights;
+    private final int total;
+
+    private TrafficMix(Map<Endpoint, Integer> weights) {
+        this.weights = weights;
+        this.total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("Traffic mix needs at least one positive weight");
+        }
+    }
+
+    static TrafficMix parse(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint=weight but got '" + entry + "'");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            }
+            weights.merge(Endpoint.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight, Integer::sum);
+        }
+        return new TrafficMix(weights);
+    }
+
+    Endpoint next(SplittableRandom random) {
+        int ticket = random.nextInt(total);
+        for (Map.Entry<Endpoint, Integer> weight : weights.entrySet()) {
+            ticket -= weight.getValue();
+            if (ticket < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable: ticket beyond total weight");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder mix = new StringBuilder();
+        weights.forEach((endpoint, weight) -> mix.append(mix.isEmpty() ? "" : ",")
+                .append(endpoint.name().toLowerCase(Locale.ROOT)).append('=').append(weight));
+        return mix.toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.books_crud.loadtest;
+
+import com.example.books_crud.loadtest.TrafficMix.Endpoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficMixTest {
+
+    @Test
+    @DisplayName("Should pick endpoints in proportion to their weights")
+    void shouldFollowWeights() {
+        // Arrange
+        TrafficMix mix = TrafficMix.parse("catalog=60, search=30,register=10");
+        SplittableRandom random = new SplittableRandom(7);
+        Map<Endpoint, Integer> picks = new EnumMap<>(Endpoint.class);
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            picks.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(60_000, picks.get(Endpoint.CATALOG), 1_000);
+        assertEquals(30_000, picks.get(Endpoint.SEARCH), 1_000);
+        assertEquals(10_000, picks.get(Endpoint.REGISTER), 1_000);
+        assertNull(picks.get(Endpoint.EDIT));
+        assertEquals("catalog=60,search=30,register=10", mix.toString());
+    }
+
+    @Test
+    @DisplayName("Should refuse malformed or empty mixes")
+    void shouldRefuseMalformedMix() {
+        assertThrows(IllegalArgumentException.class, () -> TrafficMix.parse("catalog"));
+        assertThrows(IllegalArgumentException.class, () -> TrafficMix.parse("catalog=0,search=0"));
+        assertThrows(IllegalArgumentException.class, () -> TrafficMix.parse("checkout=10"));
+    }
+}
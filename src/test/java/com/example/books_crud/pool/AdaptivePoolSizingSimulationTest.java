@@ -0,0 +1,153 @@
+package com.example.books_crud.pool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the sizing policy through a day of load phases against a simulated pool and
+ * database: callers arrive at random at the phase's rate, wait in line for one of the
+ * pool's connections and hold it for a random time around the query time. The database
+ * runs {@value #DATABASE_CAPACITY} queries at full speed; beyond that, every query slows
+ * down in proportion. Simulated time only, so the day runs in well under a second.
+ */
+class AdaptivePoolSizingSimulationTest {
+
+    private static final long INTERVAL = 5_000_000_000L;
+    private static final long QUERY_TIME = 5_000_000L;
+    private static final long TARGET_WAIT = 2_000_000L;
+    private static final int DATABASE_CAPACITY = 8;
+    private static final double LATENCY_TOLERANCE = 1.5;
+    private static final int MIN_SIZE = 2;
+    private static final int MAX_SIZE = 20;
+
+    @Test
+    @DisplayName("Should shrink at night, grow for a burst, stop growing when the database saturates")
+    void shouldFollowLoadPhases() {
+        // Arrange
+        SimulatedPool pool = new SimulatedPool(10, new AdaptivePoolSizer(MIN_SIZE, MAX_SIZE, TARGET_WAIT,
+                                                                         LATENCY_TOLERANCE, 6));
+
+        // Act
+        List<Interval> night = pool.run(5, 60);
+        List<Interval> burst = pool.run(1_200, 60);
+        List<Interval> overload = pool.run(2_000, 12);
+        List<Interval> calm = pool.run(5, 100);
+
+        // Assert
+        assertEquals(MIN_SIZE, night.getLast().size(), "Idle connections should be given back at night");
+
+        assertTrue(burst.getFirst().window().waitP95Nanos() > TARGET_WAIT, "The small pool should make callers wait");
+        assertTrue(burst.getFirst().size() >= 7,
+                   "The pool should grow to the burst's concurrency in one interval, got " + burst.getFirst().size());
+        int settled = burst.getLast().size();
+        assertTrue(settled >= 7 && settled <= 2 * DATABASE_CAPACITY,
+                   "The pool should grow past the burst's concurrency of about 6 and no further than it helps, got "
+                           + settled);
+        List<Interval> waited = burst.subList(burst.size() - 30, burst.size()).stream()
+                .filter(interval -> interval.window().waitP95Nanos() > TARGET_WAIT)
+                .toList();
+        assertTrue(waited.size() <= 1, "Callers should rarely wait once the pool has grown: " + waited);
+
+        int largest = overload.stream().mapToInt(Interval::size).max().orElseThrow();
+        assertTrue(largest < MAX_SIZE, "Growing should stop once queries slow down, reached " + largest);
+        assertTrue(largest <= 2 * DATABASE_CAPACITY, "Reached " + largest);
+
+        assertEquals(MIN_SIZE, calm.getLast().size(), "The pool should shrink back once the load is gone");
+    }
+
+    @Test
+    @DisplayName("Should keep the pool size steady under a steady load it can serve")
+    void shouldHoldSteadyUnderSteadyLoad() {
+        // Arrange
+        SimulatedPool pool = new SimulatedPool(10, new AdaptivePoolSizer(MIN_SIZE, MAX_SIZE, TARGET_WAIT,
+                                                                         LATENCY_TOLERANCE, 6));
+
+        // Act
+        pool.run(800, 20);
+        List<Interval> steady = pool.run(800, 60);
+
+        // Assert
+        long resizes = steady.stream().mapToInt(Interval::size).distinct().count();
+        assertTrue(resizes <= 2, "The size should settle, got " + steady.stream().map(Interval::size).toList());
+        assertTrue(steady.stream().allMatch(interval -> interval.window().waitP95Nanos() <= TARGET_WAIT));
+    }
+
+    /**
+     * Pool size chosen after an interval, and the usage it was chosen from
+     */
+    record Interval(int size, PoolWindow window) {
+    }
+
+    /**
+     * Discrete-event simulation of callers, a pool of connections and the database behind it
+     */
+    private static final class SimulatedPool {
+
+        private final AdaptivePoolSizer sizer;
+        private final PoolUsage usage = new PoolUsage();
+        private final Random random = new Random(42);
+        private final ArrayDeque<Long> waiting = new ArrayDeque<>();
+        // Running queries as {finish time, start time}
+        private final PriorityQueue<long[]> running = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        private int size;
+        private long now;
+
+        SimulatedPool(int size, AdaptivePoolSizer sizer) {
+            this.size = size;
+            this.sizer = sizer;
+        }
+
+        /**
+         * Run callers arriving at the given rate for a number of sizing intervals
+         */
+        List<Interval> run(double callersPerSecond, int intervals) {
+            List<Interval> history = new ArrayList<>();
+            long nextArrival = now + exponential(1e9 / callersPerSecond);
+            for (int i = 0; i < intervals; i++) {
+                long intervalEnd = now + INTERVAL;
+                while (true) {
+                    long nextFinish = running.isEmpty() ? Long.MAX_VALUE : running.peek()[0];
+                    long next = Math.min(nextArrival, nextFinish);
+                    if (next > intervalEnd) {
+                        break;
+                    }
+                    now = next;
+                    if (next == nextArrival) {
+                        usage.requested();
+                        waiting.add(now);
+                        nextArrival = now + exponential(1e9 / callersPerSecond);
+                    } else {
+                        long[] query = running.poll();
+                        usage.released(now - query[1]);
+                    }
+                    startWaitingQueries();
+                }
+                now = intervalEnd;
+                PoolWindow window = usage.drain(INTERVAL);
+                size = sizer.nextSize(size, window);
+                history.add(new Interval(size, window));
+            }
+            return history;
+        }
+
+        private void startWaitingQueries() {
+            while (!waiting.isEmpty() && running.size() < size) {
+                usage.acquired(now - waiting.poll());
+                double slowdown = Math.max(1.0, (running.size() + 1.0) / DATABASE_CAPACITY);
+                running.add(new long[]{now + exponential(QUERY_TIME * slowdown), now});
+            }
+        }
+
+        private long exponential(double mean) {
+            return Math.max(1, Math.round(-mean * Math.log(1 - random.nextDouble())));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.books_crud.pool;
+
+import com.example.books_crud.BooksCRudApplication;
+import com.example.books_crud.service.AuthorService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the catalog on its own in-memory database, with the sizing interval long enough
+ * that only the test resizes the pool
+ */
+class PoolWaitMetricsTest {
+
+    private ConfigurableApplicationContext context;
+
+    @BeforeEach
+    void start() {
+        context = new SpringApplicationBuilder(BooksCRudApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:pool-wait;DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.show-sql=false",
+                     "--catalog.cache.enabled=false",
+                     "--catalog.pool-sizing.interval=1h",
+                     "--catalog.pool-sizing.shrink-after=1");
+    }
+
+    @AfterEach
+    void stop() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("Should record connection waits per service call")
+    void shouldRecordWaitsPerCaller() throws Exception {
+        // Arrange
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+        // Act
+        context.getBean(AuthorService.class).findAllCreators();
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+
+        // Assert
+        Timer creators = registry.get("catalog.pool.wait").tag("pool", "primary")
+                .tag("caller", "AuthorService.findAllCreators").timer();
+        assertTrue(creators.count() >= 1);
+        assertTrue(registry.get("catalog.pool.wait").tag("caller", PoolCaller.OTHER).timer().count() >= 1,
+                   "Connections borrowed outside a service call count as other");
+    }
+
+    @Test
+    @DisplayName("Should shrink the Hikari pool after a quiet interval")
+    void shouldShrinkQuietPool() {
+        // Arrange
+        PoolSizeController controller = context.getBean(PoolSizeController.class);
+        HikariDataSource pool = unwrap(context.getBean(DataSource.class));
+        int before = pool.getMaximumPoolSize();
+
+        // Act
+        controller.resize();
+
+        // Assert
+        assertEquals(before - 1, pool.getMaximumPoolSize());
+        assertEquals(before - 1, controller.size("primary"));
+        assertEquals(1.0, context.getBean(MeterRegistry.class).get("catalog.pool.resizes")
+                .tag("pool", "primary").tag("direction", "shrink").counter().count());
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(HikariDataSource.class);
+        } catch (Exception e) {
+            throw new AssertionError("The catalog should run on a Hikari pool", e);
+        }
+    }
+}
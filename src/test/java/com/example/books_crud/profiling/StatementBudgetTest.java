@@ -0,0 +1,99 @@
+package com.example.books_crud.profiling;
+
+import com.example.books_crud.model.Book;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the catalog pages with statement budgets enforced, so a handler that starts
+ * issuing more SQL than its {@link StatementBudget} allows fails here
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-budget;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "catalog.cache.enabled=false",
+        "catalog.read-dedup.enabled=false",
+        "catalog.throttling.enabled=false",
+        "catalog.statement-profiling.enforce-budgets=true"
+})
+@AutoConfigureMockMvc
+class StatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService literaryService;
+
+    @Autowired
+    private AuthorService creatorService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should keep the catalog pages within their statement budgets")
+    void shouldStayWithinBudgets() throws Exception {
+        // Arrange
+        Book beloved = literaryService.searchByTitle("Beloved").get(0);
+
+        // Act
+        mockMvc.perform(get("/catalog")).andExpect(status().isOk());
+        mockMvc.perform(get("/catalog").param("after", beloved.getId().toString())).andExpect(status().isOk());
+        mockMvc.perform(get("/catalog/search").param("query", "Love")).andExpect(status().isOk());
+        mockMvc.perform(get("/catalog/edit/{workId}", beloved.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/search").param("query", "9780060883287")).andExpect(status().isOk());
+        mockMvc.perform(get("/creators")).andExpect(status().isOk());
+        mockMvc.perform(get("/creators/{creatorId}/works", beloved.getCreator().getCreatorId()))
+                .andExpect(status().isOk());
+
+        // Assert
+        DistributionSummary catalogStatements = meterRegistry.get("catalog.request.statements")
+                .tag("handler", "BookController.displayCatalog").summary();
+        assertEquals(2, catalogStatements.count());
+        assertEquals(1, catalogStatements.max(), "One keyset query per catalog page");
+        assertTrue(meterRegistry.get("catalog.request.rows").tag("handler", "BookController.displayCatalog")
+                           .summary().totalAmount() > 0);
+        assertTrue(meterRegistry.find("catalog.statement-budget.exceeded").counters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fail the statement that goes over an enforced budget")
+    void shouldFailOverBudget() {
+        // Arrange
+        StatementProfile profile;
+
+        // Act
+        try (StatementProfile.Scope scope = StatementProfile.begin("Test.handler", 1, true)) {
+            profile = scope.profile();
+            creatorService.findAllCreators();
+            RuntimeException failure = assertThrows(RuntimeException.class, () -> literaryService.searchByTitle("Beloved"));
+
+            // Assert
+            assertInstanceOf(StatementBudgetExceededException.class, rootCause(failure));
+        }
+        assertEquals(2, profile.statements());
+        assertEquals(5, profile.rows(), "Rows read by the statement that ran");
+        assertTrue(profile.overBudget());
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.books_crud.profiling;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+class StatementProfilingDataSourceTest {
+
+    @Test
+    @DisplayName("Should count statements and rows and log slow statements with their bind parameters")
+    void shouldProfileStatements(CapturedOutput output) {
+        // Arrange
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:statement-profiling;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(new StatementProfilingDataSource(h2, Duration.ZERO));
+        jdbc.execute("CREATE TABLE shelf (id INT PRIMARY KEY, label VARCHAR(20))");
+        StatementProfile profile;
+
+        // Act
+        try (StatementProfile.Scope scope = StatementProfile.begin("ShelfController.list", 0, false)) {
+            profile = scope.profile();
+            jdbc.batchUpdate("INSERT INTO shelf VALUES (?, ?)", List.of(
+                    new Object[]{1, "poetry"}, new Object[]{2, "drama"}, new Object[]{3, "essays"}));
+            jdbc.queryForList("SELECT label FROM shelf WHERE id > ?", String.class, 1);
+        }
+
+        // Assert
+        assertEquals(2, profile.statements(), "One batch and one query");
+        assertEquals(3 + 2, profile.rows(), "Rows inserted plus rows read");
+        assertTrue(profile.nanos() > 0);
+        assertTrue(output.getOut().contains("in ShelfController.list: SELECT label FROM shelf WHERE id > ? "
+                                                    + "with parameters [1=1]"), output.getOut());
+    }
+}
@@ -1,14 +1,19 @@
 package com.example.books_crud.repository;
 
 import com.example.books_crud.model.Author;
+import com.example.books_crud.model.AuthorBiography;
+import com.example.books_crud.model.Book;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -140,4 +145,110 @@ class AuthorRepositoryTest {
                       "Creator name should contain search term")
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should size, query and extend a creator's works without loading them")
+    void shouldHandleWorksExtraLazily() {
+        // Set up a prolific creator
+        Author prolificCreator = new Author();
+        prolificCreator.setName("Prolific Novelist");
+        entityManager.persist(prolificCreator);
+        for (int i = 0; i < 2_000; i++) {
+            entityManager.persist(new Book("Serial " + i, "978-serial-" + i, prolificCreator));
+        }
+        Book unrelatedWork = entityManager.persist(new Book("Elsewhere", "978-elsewhere", null));
+        entityManager.flush();
+        Long creatorId = prolificCreator.getCreatorId();
+        entityManager.clear();
+
+        // Execute against a freshly loaded creator
+        Author creator = creatorRepository.findById(creatorId).orElseThrow();
+        Book someWork = entityManager.getEntityManager().createQuery(
+                "SELECT w FROM Book w WHERE w.isbn = '978-serial-7'", Book.class).getSingleResult();
+        Book newWork = entityManager.persist(new Book("Serial 2000", "978-serial-2000", null));
+        creator.linkLiteraryWork(newWork);
+        int size = creator.getLiteraryWorks().size();
+        boolean containsOwnWork = creator.getLiteraryWorks().contains(someWork);
+        boolean containsOtherWork = creator.getLiteraryWorks().contains(
+                entityManager.find(Book.class, unrelatedWork.getId()));
+
+        // Verify the collection was never materialized
+        assertFalse(Hibernate.isInitialized(creator.getLiteraryWorks()), "Works should not be loaded");
+        assertEquals(2_001, size, "Size should count the stored works and the queued one");
+        assertTrue(containsOwnWork, "Membership of a stored work should be answered by a query");
+        assertFalse(containsOtherWork);
+        entityManager.flush();
+        assertEquals(creator, entityManager.find(Book.class, newWork.getId()).getCreator(),
+                     "Linking should set the owning side");
+    }
+
+    @Test
+    @DisplayName("Should store biographies compressed and load them only when read")
+    void shouldLoadBiographyLazily() {
+        // Set up a creator with a long biography
+        String biography = "Wrote about labyrinths, mirrors and libraries. ".repeat(40);
+        Author creator = new Author();
+        creator.setName("Labyrinth Writer");
+        creator.setBio(biography);
+        entityManager.persist(creator);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Execute a listing and a lookup
+        Author listed = creatorRepository.findAll().get(0);
+        boolean loadedByListing = entityManager.getEntityManager().getEntityManagerFactory()
+                .getPersistenceUnitUtil().isLoaded(listed, "biography");
+        String listedBiography = listed.getBio();
+        byte[] stored = entityManager.getEntityManager().createQuery(
+                "SELECT b.compressedText FROM AuthorBiography b", byte[].class).getSingleResult();
+
+        // Verify
+        assertFalse(loadedByListing, "Listing creators should not load their biographies");
+        assertEquals(biography, listedBiography, "Reading the biography should load and inflate it");
+        assertTrue(stored.length < biography.length() / 4, "Biography should be stored deflated");
+        assertEquals(biography, AuthorBiography.decompress(stored));
+    }
+
+    @Test
+    @DisplayName("Should treat instances of the same row as equal")
+    void shouldCompareByIdentity() {
+        // Set up test data
+        Author stored = new Author();
+        stored.setName("Stored Creator");
+        Author creator = entityManager.persistFlushFind(stored);
+        Author transientCreator = new Author();
+        entityManager.clear();
+
+        // Execute
+        Author reference = creatorRepository.getReferenceById(creator.getCreatorId());
+
+        // Verify equality follows the row, also through a proxy
+        assertEquals(creator, reference);
+        assertEquals(reference, creator);
+        assertEquals(creator.hashCode(), reference.hashCode());
+        assertNotEquals(creator, transientCreator);
+        assertNotEquals(new Author(), transientCreator, "Unsaved creators are only equal to themselves");
+    }
+
+    @Test
+    @DisplayName("Should find a creator in a hashed set after saving it")
+    void shouldKeepHashCodeWhenSaved() {
+        // Set up a creator and a work collected before they have ids
+        Author creator = new Author();
+        creator.setName("Collected Creator");
+        Book work = new Book("Collected Work", "978-collected", creator);
+        Set<Author> creators = new HashSet<>(List.of(creator));
+        Set<Book> works = new HashSet<>(List.of(work));
+
+        // Execute
+        entityManager.persist(creator);
+        entityManager.persist(work);
+        entityManager.flush();
+
+        // Verify both are still found now that they are rows
+        assertNotNull(creator.getCreatorId());
+        assertTrue(creators.contains(creator), "Saved creator should be found in the set it was added to");
+        assertTrue(works.contains(work), "Saved work should be found in the set it was added to");
+        assertTrue(creators.contains(creatorRepository.getReferenceById(creator.getCreatorId())));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.books_crud.repository;
 
 import com.example.books_crud.model.Author;
 import com.example.books_crud.model.Book;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -93,4 +94,25 @@ class BookRepositoryTest {
                       "Work title should contain search term")
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should load the creator of a work found by ISBN")
+    void shouldLoadCreatorWithWorkFoundByIsbn() {
+        // Set up test data
+        Author creator = new Author();
+        creator.setName("Catalogued Creator");
+        entityManager.persist(creator);
+        entityManager.persist(new Book("Indexed Work", "978-isbn-lookup", creator));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Execute repository method
+        Book found = literaryWorkRepo.findByIsbn("978-isbn-lookup");
+        entityManager.clear();
+
+        // Verify the creator is usable once the work is detached
+        assertNotNull(found, "Work should be found");
+        assertTrue(Hibernate.isInitialized(found.getCreator()), "Creator should be loaded with the work");
+        assertEquals("Catalogued Creator", found.getCreator().getName());
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.books_crud.routing;
+
+import com.example.books_crud.BooksCRudApplication;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.service.BookService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes against two in-memory H2 databases: the primary and one replica that
+ * receives a copy of the primary and then deliberately drifts from it
+ */
+class ReadReplicaRoutingTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @TempDir
+    Path scriptDirectory;
+
+    private ConfigurableApplicationContext context;
+    private BookService literaryService;
+    private ReplicaPool replicaPool;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void startWithReplica() {
+        context = new SpringApplicationBuilder(BooksCRudApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:routing-primary",
+                     "--spring.jpa.show-sql=false",
+                     "--catalog.cache.enabled=false",
+                     "--catalog.read-replicas.enabled=true",
+                     "--catalog.read-replicas.nodes[0].url=" + REPLICA_URL,
+                     "--catalog.read-replicas.nodes[0].username=admin",
+                     "--catalog.read-replicas.nodes[0].password=password123",
+                     "--catalog.read-replicas.health-check-interval=1h");
+        literaryService = context.getBean(BookService.class);
+        replicaPool = context.getBean(ReplicaPool.class);
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "admin", "password123"));
+    }
+
+    @AfterEach
+    void stop() {
+        context.close();
+        replica.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Should read from the primary until the replica has the schema and passes its health check")
+    void shouldIgnoreReplicaUntilHealthy() {
+        // Act
+        replicaPool.checkHealth();
+
+        // Assert
+        assertEquals(0, replicaPool.healthyCount(), "Replica without the catalog schema should not be healthy");
+        assertEquals(1, literaryService.searchByTitle("Beloved").size(), "Reads should fall back to the primary");
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to a healthy replica and writes to the primary")
+    void shouldRouteReadsToReplica() {
+        // Arrange
+        copyPrimaryToReplica();
+        replica.update("UPDATE literary_work SET work_title = 'Beloved (replica)' WHERE work_title = 'Beloved'");
+
+        // Act
+        String readTitle = literaryService.searchByTitle("Beloved").get(0).getTitle();
+        Book revision = literaryService.searchByTitle("Ficciones").get(0);
+        revision.setTitle("Ficciones (revised)");
+        literaryService.reviseWorkDetails(revision);
+
+        // Assert
+        assertEquals("Beloved (replica)", readTitle, "Read-only service call should hit the replica");
+        assertEquals(1, primary().queryForObject(
+                "SELECT COUNT(*) FROM literary_work WHERE work_title = 'Ficciones (revised)'", Integer.class),
+                     "Write should reach the primary");
+        assertEquals("Ficciones", literaryService.searchByTitle("Ficciones").get(0).getTitle(),
+                     "Without a read-your-writes window the lagging replica is read");
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        assertTrue(registry.get("catalog.pool.wait").tag("pool", "replica-0")
+                           .tag("caller", "BookService.searchByTitle").timer().count() >= 1,
+                   "Connection waits should be timed on the pool that served them");
+        assertTrue(registry.get("catalog.pool.wait").tag("pool", "primary")
+                           .tag("caller", "BookService.reviseWorkDetails").timer().count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Should read a client's own writes from the primary for the rest of its window")
+    void shouldReadOwnWritesFromPrimary() throws Exception {
+        // Arrange
+        copyPrimaryToReplica();
+        ReadYourWritesFilter filter = context.getBean(ReadYourWritesFilter.class);
+
+        // Act
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        AtomicReference<String> readAfterWrite = new AtomicReference<>();
+        filter.doFilter(new MockHttpServletRequest("POST", "/catalog/edit"), writeResponse, (request, response) -> {
+            Book revision = literaryService.searchByTitle("Ficciones").get(0);
+            revision.setTitle("Ficciones (revised)");
+            literaryService.reviseWorkDetails(revision);
+            readAfterWrite.set(literaryService.searchByTitle("Ficciones").get(0).getTitle());
+        });
+        Cookie window = writeResponse.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        MockHttpServletRequest nextRequest = new MockHttpServletRequest("GET", "/catalog");
+        nextRequest.setCookies(window);
+        AtomicReference<String> readInNextRequest = new AtomicReference<>();
+        filter.doFilter(nextRequest, new MockHttpServletResponse(), (request, response) ->
+                readInNextRequest.set(literaryService.searchByTitle("Ficciones").get(0).getTitle()));
+
+        AtomicReference<String> readByOtherClient = new AtomicReference<>();
+        filter.doFilter(new MockHttpServletRequest("GET", "/catalog"), new MockHttpServletResponse(),
+                        (request, response) ->
+                                readByOtherClient.set(literaryService.searchByTitle("Ficciones").get(0).getTitle()));
+
+        // Assert
+        assertNotNull(window, "The writing response should open a read-your-writes window");
+        assertEquals("Ficciones (revised)", readAfterWrite.get(), "Reads after a write in the same request");
+        assertEquals("Ficciones (revised)", readInNextRequest.get(), "Reads in a later request inside the window");
+        assertEquals("Ficciones", readByOtherClient.get(), "Other clients keep reading the replica");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary once the replica fails its health check")
+    void shouldFailOverWhenReplicaGoesDown() {
+        // Arrange
+        copyPrimaryToReplica();
+        replica.update("UPDATE literary_work SET work_title = 'Beloved (replica)' WHERE work_title = 'Beloved'");
+        assertEquals("Beloved (replica)", literaryService.searchByTitle("Beloved").get(0).getTitle());
+
+        // Act
+        replica.execute("DROP ALL OBJECTS");
+        replicaPool.checkHealth();
+
+        // Assert
+        assertEquals(0, replicaPool.healthyCount(), "Replica without the schema should be taken out of rotation");
+        assertEquals("Beloved", literaryService.searchByTitle("Beloved").get(0).getTitle(),
+                     "Reads should be served by the primary");
+    }
+
+    /**
+     * Stand-in for replication: copy the primary's schema and rows and let the replica pass its health check
+     */
+    private void copyPrimaryToReplica() {
+        String script = scriptDirectory.resolve("catalog.sql").toString().replace('\\', '/');
+        primary().execute("SCRIPT TO '" + script + "'");
+        replica.execute("RUNSCRIPT FROM '" + script + "'");
+        replicaPool.checkHealth();
+        assertEquals(1, replicaPool.healthyCount(), "Replica with the schema should pass its health check");
+    }
+
+    private JdbcTemplate primary() {
+        return new JdbcTemplate(context.getBean("primaryDataSource", HikariDataSource.class));
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.books_crud.search;
+
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnifiedCatalogSearchTest {
+
+    @Mock
+    private BookService literaryService;
+
+    @Mock
+    private AuthorService creatorService;
+
+    private UnifiedCatalogSearch catalogSearch;
+    private Author morrison;
+
+    @BeforeEach
+    void createSearch() {
+        catalogSearch = new UnifiedCatalogSearch(literaryService, creatorService, Duration.ofMillis(200), 10);
+        morrison = new Author();
+        morrison.setCreatorId(1L);
+        morrison.setName("Toni Morrison");
+    }
+
+    @AfterEach
+    void stopSearch() {
+        catalogSearch.destroy();
+    }
+
+    @Test
+    @DisplayName("Should rank work matches and return matching creators as hits of their own")
+    void shouldRankWorksAndReturnCreators() {
+        // Arrange
+        Book beloved = work(10L, "Beloved");
+        Book belovedCompanion = work(11L, "Reading Beloved");
+        Author collective = creator(2L, "Beloved Readers Collective");
+        Author exact = creator(3L, "Beloved");
+        when(literaryService.searchByTitle("beloved")).thenReturn(List.of(belovedCompanion, beloved));
+        when(creatorService.searchCreatorsByName("beloved")).thenReturn(List.of(collective, exact));
+
+        // Act
+        UnifiedSearchResult result = catalogSearch.search(" beloved ");
+
+        // Assert
+        assertFalse(result.partial(), "All legs answered in time");
+        assertEquals(List.of(10L, 11L), result.hits().stream().map(hit -> hit.work().getId()).toList(),
+                     "Exact title match first, then substring");
+        assertEquals(List.of(3L, 2L), result.creators().stream().map(hit -> hit.creator().getCreatorId()).toList(),
+                     "Creators without any works should be found, exact name first");
+        verify(literaryService, never()).findByIsbn(anyString());
+    }
+
+    @Test
+    @DisplayName("Should run the ISBN leg for ISBN-shaped queries and count a work found twice once")
+    void shouldRankIsbnMatchFirst() {
+        // Arrange
+        Book beloved = work(10L, "Beloved");
+        when(literaryService.findByIsbn("9781400033416")).thenReturn(Optional.of(beloved));
+        when(literaryService.searchByTitle(anyString())).thenReturn(List.of(work(13L, "978-1-4000-3341-6 notes"),
+                                                                           beloved));
+        when(creatorService.searchCreatorsByName(anyString())).thenReturn(List.of());
+
+        // Act
+        UnifiedSearchResult result = catalogSearch.search("978-1-4000-3341-6");
+
+        // Assert
+        assertEquals(10L, result.hits().get(0).work().getId(), "ISBN match should outrank everything else");
+        assertEquals(Set.of(SearchLeg.ISBN, SearchLeg.TITLE), result.hits().get(0).matchedOn(),
+                     "A work found by two legs should be returned once with both legs");
+        assertEquals(2, result.hits().size());
+    }
+
+    @Test
+    @DisplayName("Should answer with partial results when a leg misses the deadline or fails")
+    void shouldReturnPartialResults() {
+        // Arrange
+        when(literaryService.searchByTitle("morrison")).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of(work(20L, "Morrison: a life"));
+        });
+        when(creatorService.searchCreatorsByName("morrison")).thenReturn(List.of(morrison));
+
+        // Act
+        long startedAt = System.nanoTime();
+        UnifiedSearchResult slow = catalogSearch.search("morrison");
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        doThrow(new IllegalStateException("database down")).when(literaryService).searchByTitle("morrison");
+        UnifiedSearchResult failed = catalogSearch.search("morrison");
+
+        // Assert
+        assertTrue(elapsedMillis < 2_000, "Search should not wait for the slow leg, took " + elapsedMillis + " ms");
+        assertEquals(Set.of(SearchLeg.TITLE), slow.incompleteLegs(), "Slow leg should be reported as incomplete");
+        assertEquals(List.of(morrison), slow.creators().stream().map(CreatorHit::creator).toList(),
+                     "Completed legs should still be returned");
+        assertTrue(slow.hits().isEmpty());
+        assertTrue(failed.partial(), "A failing leg should degrade to a partial result");
+        assertEquals(1, failed.creators().size());
+    }
+
+    private static Author creator(long id, String name) {
+        Author creator = new Author();
+        creator.setCreatorId(id);
+        creator.setName(name);
+        return creator;
+    }
+
+    private Book work(long id, String title) {
+        Book work = new Book();
+        work.setId(id);
+        work.setTitle(title);
+        work.setCreator(morrison);
+        return work;
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.books_crud.service;
 
 import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.event.CatalogChangeEvent;
 import com.example.books_crud.repository.AuthorRepository;
+import com.example.books_crud.repository.BookRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -24,6 +28,12 @@ class AuthorServiceTest {
     @Mock
     private AuthorRepository creatorRepository;
 
+    @Mock
+    private BookRepository workRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthorService creatorService;
 
@@ -111,18 +121,59 @@ class AuthorServiceTest {
     }
 
     @Test
-    @DisplayName("Should remove creator by ID")
+    @DisplayName("Should remove creator and their works with bulk deletes")
     void shouldRemoveCreator() {
         // Arrange
-        doNothing().when(creatorRepository).deleteById(101L);
+        when(workRepository.deleteAllWorksByCreatorId(101L)).thenReturn(3);
+        when(creatorRepository.deleteCreatorById(101L)).thenReturn(1);
         
         // Act
         creatorService.removeCreator(101L);
         
-        // Verify repository was called
-        verify(creatorRepository).deleteById(101L);
+        // Verify works were deleted before the creator, without loading either
+        var order = inOrder(workRepository, creatorRepository);
+        order.verify(workRepository).deleteAllWorksByCreatorId(101L);
+        order.verify(creatorRepository).deleteCreatorById(101L);
+        verify(creatorRepository, never()).deleteById(any());
+        verify(eventPublisher).publishEvent(new CatalogChangeEvent.CreatorRemoved(101L));
     }
     
+    @Test
+    @DisplayName("Should attach a work by id without loading the creator's works")
+    void shouldAttachWorkById() {
+        // Arrange
+        Book work = new Book("Sample Work", "9780000000001", null);
+        work.setId(201L);
+        when(creatorRepository.existsById(101L)).thenReturn(true);
+        when(workRepository.findById(201L)).thenReturn(Optional.of(work));
+        when(creatorRepository.getReferenceById(101L)).thenReturn(sampleCreator);
+
+        // Act
+        Book attached = creatorService.attachWork(101L, 201L);
+
+        // Assert
+        assertSame(sampleCreator, attached.getCreator(), "Work should point at the creator reference");
+        verify(creatorRepository, never()).findById(any());
+        verify(workRepository).flush();
+        verify(eventPublisher).publishEvent(any(CatalogChangeEvent.WorkSaved.class));
+    }
+
+    @Test
+    @DisplayName("Should refuse to attach a work to a missing creator and detach only the creator's own works")
+    void shouldDetachOnlyOwnWorks() {
+        // Arrange
+        when(creatorRepository.existsById(999L)).thenReturn(false);
+        when(workRepository.deleteWorkOfCreator(101L, 201L)).thenReturn(1);
+        when(workRepository.deleteWorkOfCreator(101L, 202L)).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> creatorService.attachWork(999L, 201L));
+        assertTrue(creatorService.detachWork(101L, 201L), "Own work should be detached");
+        assertFalse(creatorService.detachWork(101L, 202L), "Another creator's work should be left alone");
+        verify(eventPublisher).publishEvent(new CatalogChangeEvent.WorkRemoved(201L));
+        verify(eventPublisher, never()).publishEvent(new CatalogChangeEvent.WorkRemoved(202L));
+    }
+
     @Test
     @DisplayName("Should find creators by name fragment")
     void shouldSearchCreatorsByName() {
@@ -1,5 +1,6 @@
 package com.example.books_crud.service;
 
+import com.example.books_crud.event.CatalogChangeEvent;
 import com.example.books_crud.model.Author;
 import com.example.books_crud.model.Book;
 import com.example.books_crud.repository.BookRepository;
@@ -10,10 +11,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,6 +29,9 @@ class BookServiceTest {
     @Mock
     private BookRepository workRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookService literaryService;
 
@@ -48,7 +55,7 @@ class BookServiceTest {
         sampleWork.setCreator(sampleCreator);
 
         // Sample data for joined query
-        worksWithCreators = Arrays.asList(
+        worksWithCreators = Arrays.<Object[]>asList(
             new Object[]{"Sample Literary Work", "1234567890XYZ", "Sample Creator"}
         );
     }
@@ -92,6 +99,28 @@ class BookServiceTest {
         verify(workRepository).findAll();
     }
 
+    @Test
+    @DisplayName("Should return a keyset page with a cursor when more works follow")
+    void shouldBrowseCatalogPage() {
+        // Arrange
+        Book nextWork = new Book();
+        nextWork.setId(202L);
+        when(workRepository.findByIdGreaterThanOrderByIdAsc(200L, Limit.of(2)))
+                .thenReturn(Arrays.asList(sampleWork, nextWork));
+        when(workRepository.findByIdGreaterThanOrderByIdAsc(201L, Limit.of(2)))
+                .thenReturn(List.of(nextWork));
+
+        // Act
+        CatalogPage firstPage = literaryService.browseCatalogPage(200L, 1);
+        CatalogPage lastPage = literaryService.browseCatalogPage(firstPage.nextCursor(), 1);
+
+        // Assert
+        assertEquals(List.of(sampleWork), firstPage.works(), "Extra row should not be part of the page");
+        assertEquals(201L, firstPage.nextCursor(), "Cursor should point at the last work on the page");
+        assertEquals(List.of(nextWork), lastPage.works(), "Second page should continue after the cursor");
+        assertNull(lastPage.nextCursor(), "Last page should not have a cursor");
+    }
+
     @Test
     @DisplayName("Should locate work by ID")
     void shouldLocateWorkById() {
@@ -131,6 +160,7 @@ class BookServiceTest {
     @DisplayName("Should remove work from catalog")
     void shouldWithdrawFromCatalog() {
         // Arrange
+        when(workRepository.existsById(201L)).thenReturn(true);
         doNothing().when(workRepository).deleteById(201L);
 
         // Act
@@ -138,6 +168,58 @@ class BookServiceTest {
 
         // Verify repository was called
         verify(workRepository).deleteById(201L);
+        verify(eventPublisher).publishEvent(new CatalogChangeEvent.WorkRemoved(201L));
+    }
+
+    @Test
+    @DisplayName("Should not publish a removal for a work that does not exist")
+    void shouldSkipWithdrawingUnknownWork() {
+        // Arrange
+        when(workRepository.existsById(999L)).thenReturn(false);
+
+        // Act
+        literaryService.withdrawFromCatalog(999L);
+
+        // Assert
+        verify(workRepository, never()).deleteById(any());
+        verify(eventPublisher, never()).publishEvent(any(CatalogChangeEvent.WorkRemoved.class));
+    }
+
+    @Test
+    @DisplayName("Should withdraw many works with one bulk delete per batch")
+    void shouldWithdrawWorksInBatches() {
+        // Arrange
+        List<Long> workIds = LongStream.rangeClosed(1, BookService.WITHDRAW_BATCH_SIZE + 1).boxed().toList();
+        when(workRepository.findExistingWorkIds(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(workRepository.deleteAllWorksByIdIn(any()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        // Act
+        int withdrawn = literaryService.withdrawWorks(workIds);
+
+        // Assert
+        assertEquals(workIds.size(), withdrawn, "All works should be withdrawn");
+        verify(workRepository).deleteAllWorksByIdIn(workIds.subList(0, BookService.WITHDRAW_BATCH_SIZE));
+        verify(workRepository).deleteAllWorksByIdIn(List.of((long) BookService.WITHDRAW_BATCH_SIZE + 1));
+        verify(workRepository, never()).deleteById(any());
+        verify(eventPublisher).publishEvent(new CatalogChangeEvent.WorkRemoved(1L));
+        verify(eventPublisher, times(workIds.size())).publishEvent(any(CatalogChangeEvent.WorkRemoved.class));
+    }
+
+    @Test
+    @DisplayName("Should publish removals only for works that existed")
+    void shouldNotPublishRemovalOfUnknownWorks() {
+        // Arrange
+        when(workRepository.findExistingWorkIds(List.of(201L, 999L, 998L))).thenReturn(List.of(201L));
+        when(workRepository.deleteAllWorksByIdIn(List.of(201L))).thenReturn(1);
+
+        // Act
+        int withdrawn = literaryService.withdrawWorks(List.of(201L, 999L, 998L, 999L));
+
+        // Assert
+        assertEquals(1, withdrawn);
+        verify(eventPublisher).publishEvent(new CatalogChangeEvent.WorkRemoved(201L));
+        verify(eventPublisher, times(1)).publishEvent(any(CatalogChangeEvent.WorkRemoved.class));
     }
 
     @Test
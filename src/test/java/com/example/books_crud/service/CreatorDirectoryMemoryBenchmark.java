@@ -0,0 +1,141 @@
+package com.example.books_crud.service;
+
+import com.example.books_crud.dataset.CatalogVocabulary;
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.AuthorBiography;
+import com.example.books_crud.repository.AuthorRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the heap held by the creator list behind the book-form dropdown with lazy,
+ * compressed biographies against the same list with every biography loaded, which is
+ * what the list held while the biography was an eager column of the creator row.
+ * Run with {@code mvn test -Pbenchmark -Dtest=CreatorDirectoryMemoryBenchmark -Dbenchmark.creators=50000}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:creator-memory-benchmark",
+        "spring.jpa.show-sql=false",
+        "catalog.cache.enabled=false",
+        "catalog.read-dedup.enabled=false",
+        "catalog.query-budget.max-rows=10000000",
+        "catalog.query-budget.timeout=10m",
+        "logging.level.com.example.books_crud=INFO"
+})
+class CreatorDirectoryMemoryBenchmark {
+
+    private static final int CREATORS = Integer.getInteger("benchmark.creators", 20_000);
+    private static final int BIOGRAPHY_LENGTH = Integer.getInteger("benchmark.biography-length", 1_500);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AuthorRepository creatorRepository;
+
+    @Autowired
+    private AuthorService creatorService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Heap held by the creator list with lazy and with loaded biographies")
+    void measureCreatorList() throws InterruptedException {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        long textBytes = insertCreators(jdbc);
+        long storedBytes = jdbc.queryForObject("SELECT SUM(OCTET_LENGTH(compressed_text)) FROM creator_biography",
+                                               Long.class);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Warm up both paths so class loading and query plans are not measured
+        creatorService.findAllCreators();
+        transaction.execute(status -> loadWithBiographies());
+
+        Measurement lazy = measure(creatorService::findAllCreators);
+        Measurement eager = measure(() -> transaction.execute(status -> loadWithBiographies()));
+
+        System.out.printf("Creator list of %,d creators with %,d-character biographies%n", CREATORS,
+                          BIOGRAPHY_LENGTH);
+        System.out.printf("  biographies stored: %,d bytes compressed from %,d bytes of text (%.1f%%)%n",
+                          storedBytes, textBytes, 100.0 * storedBytes / textBytes);
+        System.out.printf("  biographies loaded: %,d bytes retained, %,d bytes allocated, %,d ms%n",
+                          eager.retainedBytes(), eager.allocatedBytes(), eager.millis());
+        System.out.printf("  lazy biographies:   %,d bytes retained, %,d bytes allocated, %,d ms%n",
+                          lazy.retainedBytes(), lazy.allocatedBytes(), lazy.millis());
+        assertEquals(CREATORS + 5, lazy.size(), "Generated creators plus the sample creators");
+        assertTrue(lazy.retainedBytes() < eager.retainedBytes(), "The dropdown list should not hold biographies");
+        assertTrue(storedBytes < textBytes, "Biographies should be stored compressed");
+    }
+
+    private List<Author> loadWithBiographies() {
+        List<Author> creators = creatorRepository.findAll();
+        creators.forEach(Author::getBio);
+        return creators;
+    }
+
+    private long insertCreators(JdbcTemplate jdbc) {
+        long firstId = jdbc.queryForObject("SELECT COALESCE(MAX(creator_id), 0) + 1 FROM literary_creator", Long.class);
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> creators = new ArrayList<>(CREATORS);
+        List<Object[]> biographies = new ArrayList<>(CREATORS);
+        long textBytes = 0;
+        for (long id = firstId; id < firstId + CREATORS; id++) {
+            StringBuilder biography = new StringBuilder(BIOGRAPHY_LENGTH + 100);
+            while (biography.length() < BIOGRAPHY_LENGTH) {
+                biography.append(CatalogVocabulary.biography(random)).append(' ');
+            }
+            biography.setLength(BIOGRAPHY_LENGTH);
+            byte[] compressed = AuthorBiography.compress(biography.toString());
+            textBytes += BIOGRAPHY_LENGTH;
+            creators.add(new Object[]{id, CatalogVocabulary.creatorName(random), AuthorBiography.checksum(compressed)});
+            biographies.add(new Object[]{id, compressed});
+        }
+        jdbc.batchUpdate("INSERT INTO literary_creator (creator_id, full_name, biography_checksum, row_version) "
+                                 + "VALUES (?, ?, ?, 0)", creators);
+        jdbc.batchUpdate("INSERT INTO creator_biography (creator_id, compressed_text) VALUES (?, ?)", biographies);
+        return textBytes;
+    }
+
+    private static Measurement measure(Supplier<List<Author>> load) throws InterruptedException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long heapBefore = usedHeapAfterGc();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        List<Author> creators = load.get();
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        long retained = usedHeapAfterGc() - heapBefore;
+        Measurement measurement = new Measurement(creators.size(), retained, allocated, millis);
+        // Keep the list reachable until the heap has been measured with it
+        assertFalse(creators.isEmpty());
+        return measurement;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private record Measurement(int size, long retainedBytes, long allocatedBytes, long millis) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.books_crud.service;
+
+import com.example.books_crud.repository.AuthorRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares removing a prolific creator through the {@code literaryWorks} cascade with
+ * the bulk delete of {@link AuthorService#removeCreator}.
+ * Run with {@code mvn test -Pbenchmark -Dtest=CreatorRemovalBenchmark -Dbenchmark.works=50000}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:removal-benchmark",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "catalog.query-budget.timeout=10m",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class CreatorRemovalBenchmark {
+
+    private static final int WORKS = Integer.getInteger("benchmark.works", 20_000);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AuthorRepository creatorRepository;
+
+    @Autowired
+    private AuthorService creatorService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Remove a creator with many works by cascade and by bulk delete")
+    void removeProlificCreator() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long cascaded = createCreatorWithWorks(jdbc, "Cascaded");
+        long bulk = createCreatorWithWorks(jdbc, "Bulk");
+
+        statistics.clear();
+        long cascadeStarted = System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> creatorRepository.deleteById(cascaded));
+        long cascadeMillis = (System.nanoTime() - cascadeStarted) / 1_000_000;
+        long cascadeStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        long bulkStarted = System.nanoTime();
+        creatorService.removeCreator(bulk);
+        long bulkMillis = (System.nanoTime() - bulkStarted) / 1_000_000;
+        long bulkStatements = statistics.getPrepareStatementCount();
+
+        System.out.printf("Creator removal with %,d works%n", WORKS);
+        System.out.printf("  cascade: %,d ms, %,d statements%n", cascadeMillis, cascadeStatements);
+        System.out.printf("  bulk:    %,d ms, %,d statements%n", bulkMillis, bulkStatements);
+        assertEquals(0, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM literary_work WHERE creator_id IN (?, ?)", Long.class, cascaded, bulk));
+        assertEquals(3, bulkStatements,
+                     "Bulk removal should be one delete each for the works, the biography and the creator");
+    }
+
+    private static long createCreatorWithWorks(JdbcTemplate jdbc, String name) {
+        jdbc.update("INSERT INTO literary_creator (full_name, row_version) VALUES (?, 0)", name);
+        long creatorId = jdbc.queryForObject("SELECT MAX(creator_id) FROM literary_creator", Long.class);
+        List<Object[]> works = new ArrayList<>(WORKS);
+        for (int i = 0; i < WORKS; i++) {
+            works.add(new Object[]{name + " work " + i, String.format("%s-%010d", name, i), creatorId});
+        }
+        jdbc.batchUpdate("INSERT INTO literary_work (work_title, international_code, row_version, creator_id) "
+                                 + "VALUES (?, ?, 0, ?)", works);
+        return creatorId;
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.books_crud.sharding;
+
+import com.example.books_crud.BooksCRudApplication;
+import com.example.books_crud.duplicates.CreatorDuplicateClusterer;
+import com.example.books_crud.duplicates.CreatorDuplicateIndex;
+import com.example.books_crud.duplicates.DuplicateClusterReport;
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import com.example.books_crud.service.CatalogPage;
+import com.example.books_crud.statistics.CatalogStatistics;
+import com.example.books_crud.statistics.CatalogStatisticsStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the catalog on three in-memory H2 databases, one per shard
+ */
+class ShardedCatalogTest {
+
+    private static final int SHARDS = 3;
+
+    private ConfigurableApplicationContext context;
+    private AuthorService creatorService;
+    private BookService literaryService;
+    private ShardRouter router;
+
+    @BeforeEach
+    void startWithShards() {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.jpa.show-sql=false",
+                "--catalog.cache.enabled=false",
+                "--catalog.sharding.enabled=true"));
+        for (int shard = 0; shard < SHARDS; shard++) {
+            arguments.add("--catalog.sharding.shards[" + shard + "].url=" + shardUrl(shard));
+            arguments.add("--catalog.sharding.shards[" + shard + "].username=admin");
+            arguments.add("--catalog.sharding.shards[" + shard + "].password=password123");
+        }
+        context = new SpringApplicationBuilder(BooksCRudApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments.toArray(String[]::new));
+        creatorService = context.getBean(AuthorService.class);
+        literaryService = context.getBean(BookService.class);
+        router = context.getBean(ShardRouter.class);
+    }
+
+    @AfterEach
+    void stop() {
+        context.close();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            shard(shard).execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Test
+    @DisplayName("Should spread creators over all shards and keep each creator's works on its shard")
+    void shouldColocateWorksWithTheirCreator() {
+        // Arrange
+        Author morrison = creatorService.searchCreatorsByName("Morrison").get(0);
+        int home = router.shardOf(morrison.getCreatorId());
+
+        // Act
+        Book registered = literaryService.registerLiteraryWork(new Book("Sula", "9781400033430", morrison));
+
+        // Assert
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertTrue(count(shard, "literary_creator") > 0, "Shard " + shard + " should own some creators");
+            assertEquals(0, shard(shard).queryForObject(
+                    "SELECT COUNT(*) FROM literary_work w LEFT JOIN literary_creator c ON w.creator_id = c.creator_id "
+                            + "WHERE c.creator_id IS NULL", Integer.class),
+                         "Every work on shard " + shard + " should have its creator on the same shard");
+        }
+        assertEquals(home, router.shardOf(registered.getId()), "New work id should belong to its creator's shard");
+        assertEquals(1, shard(home).queryForObject(
+                "SELECT COUNT(*) FROM literary_work WHERE work_title = 'Sula'", Integer.class),
+                     "New work should be stored on its creator's shard");
+        assertEquals(List.of("Beloved", "Sula"),
+                     literaryService.findWorksByCreator(morrison.getCreatorId()).stream().map(Book::getTitle).toList(),
+                     "Works of one creator should be read from its shard");
+        assertEquals(morrison.getName(), literaryService.locateLiteraryWork(registered.getId())
+                .orElseThrow().getCreator().getName(), "Lookup by id should reach the owning shard");
+    }
+
+    @Test
+    @DisplayName("Should gather cross-shard queries from every shard")
+    void shouldScatterGatherAcrossShards() {
+        // Act
+        List<Book> catalog = literaryService.browseCatalog();
+        List<Book> titleMatches = literaryService.searchByTitle("the");
+
+        // Assert
+        long stored = 0;
+        for (int shard = 0; shard < SHARDS; shard++) {
+            stored += count(shard, "literary_work");
+        }
+        assertEquals(stored, catalog.size(), "Browsing should return the works of all shards");
+        assertTrue(creatorService.hasCreators(), "Counts should be summed over the shards");
+        assertEquals(5, creatorService.findAllCreators().size(), "All sample creators should be listed once");
+        assertTrue(titleMatches.stream().map(Book::getCreator).map(Author::getCreatorId)
+                           .map(router::shardOf).distinct().count() > 1,
+                   "Title search should find matches on more than one shard");
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertTrue(registry.get("catalog.pool.wait").tag("pool", "shard-" + shard)
+                               .tag("caller", "BookService.browseCatalog").timer().count() >= 1,
+                       "Connection waits on shard " + shard + " should be timed for the call that scattered");
+        }
+    }
+
+    @Test
+    @DisplayName("Should page through all shards in global id order with keyset cursors")
+    void shouldMergeKeysetPagesAcrossShards() {
+        // Arrange
+        Author borges = creatorService.searchCreatorsByName("Borges").get(0);
+        Author bronte = creatorService.searchCreatorsByName("Brontë").get(0);
+        for (int i = 0; i < 6; i++) {
+            literaryService.registerLiteraryWork(new Book("Labyrinth " + i, "97800000000" + i, borges));
+            literaryService.registerLiteraryWork(new Book("Moor " + i, "97811111111" + i, bronte));
+        }
+        List<Long> expected = literaryService.browseCatalog().stream().map(Book::getId).sorted().toList();
+
+        // Act
+        List<Long> paged = new ArrayList<>();
+        int pages = 0;
+        Long cursor = null;
+        do {
+            CatalogPage page = literaryService.browseCatalogPage(cursor, 4);
+            page.works().forEach(work -> paged.add(work.getId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+        CatalogPage firstSearchPage = literaryService.searchByTitlePage("o", null, 5);
+        CatalogPage secondSearchPage = literaryService.searchByTitlePage("o", firstSearchPage.nextCursor(), 5);
+
+        // Assert
+        assertEquals(expected, paged, "Pages should cover every work exactly once in id order");
+        assertEquals((expected.size() + 3) / 4, pages, "Only the last page should be short");
+        assertEquals(5, firstSearchPage.works().size(), "Search page should be filled from several shards");
+        assertTrue(secondSearchPage.works().get(0).getId() > firstSearchPage.nextCursor(),
+                   "Next search page should continue after the cursor");
+    }
+
+    @Test
+    @DisplayName("Should update in place and refuse to move a work to a creator on another shard")
+    void shouldKeepWorksOnTheirShard() {
+        // Arrange
+        Book beloved = literaryService.searchByTitle("Beloved").get(0);
+        Author elsewhere = creatorService.findAllCreators().stream()
+                .filter(creator -> router.shardOf(creator.getCreatorId())
+                        != router.shardOf(beloved.getCreator().getCreatorId()))
+                .findFirst().orElseThrow();
+
+        // Act
+        beloved.setTitle("Beloved (revised)");
+        literaryService.reviseWorkDetails(beloved);
+        Book moved = literaryService.searchByTitle("Beloved").get(0);
+        moved.setCreator(elsewhere);
+
+        // Assert
+        assertEquals("Beloved (revised)", literaryService.locateLiteraryWork(beloved.getId()).orElseThrow().getTitle(),
+                     "Revision should be written to the work's shard");
+        assertThrows(IllegalArgumentException.class, () -> literaryService.reviseWorkDetails(moved),
+                     "Cross-shard moves are not supported");
+    }
+
+    @Test
+    @DisplayName("Should bulk-delete a creator on its shard and split batch withdrawals by shard")
+    void shouldBulkDeleteAcrossShards() {
+        // Arrange
+        Author morrison = creatorService.searchCreatorsByName("Morrison").get(0);
+        int home = router.shardOf(morrison.getCreatorId());
+        List<Long> spread = literaryService.browseCatalog().stream()
+                .filter(work -> !work.getCreator().getCreatorId().equals(morrison.getCreatorId()))
+                .map(Book::getId).toList();
+
+        // Act
+        creatorService.removeCreator(morrison.getCreatorId());
+        int withdrawn = literaryService.withdrawWorks(spread);
+
+        // Assert
+        assertEquals(0, count(home, "literary_work"), "Creator's works and the rest should all be gone");
+        assertTrue(creatorService.findCreatorById(morrison.getCreatorId()).isEmpty());
+        assertEquals(spread.size(), withdrawn, "Withdrawn counts should be summed over the shards");
+        assertTrue(spread.stream().map(router::shardOf).distinct().count() > 1,
+                   "Withdrawn works should have spanned several shards");
+        assertTrue(literaryService.browseCatalog().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rebuild catalog statistics from every shard")
+    void shouldRebuildStatisticsFromAllShards() {
+        // Arrange
+        CatalogStatisticsStore statisticsStore = context.getBean(CatalogStatisticsStore.class);
+        Author morrison = creatorService.searchCreatorsByName("Morrison").get(0);
+        literaryService.registerLiteraryWork(new Book("Sula", "9781400033430", morrison));
+        literaryService.registerLiteraryWork(new Book("Jazz", "9781400076215", morrison));
+        long works = 0;
+        long creators = 0;
+        for (int shard = 0; shard < SHARDS; shard++) {
+            works += count(shard, "literary_work");
+            creators += count(shard, "literary_creator");
+        }
+
+        // Act
+        statisticsStore.reconcile();
+        CatalogStatistics statistics = statisticsStore.statistics().orElseThrow();
+
+        // Assert
+        assertEquals(works, statistics.works(), "Works of all shards should be counted");
+        assertEquals(creators, statistics.creators(), "Creators of all shards should be counted");
+        assertEquals(0, statistics.lastDrift(), "Rebuild should agree with the statistics kept from events");
+        assertEquals(morrison.getName(), statistics.topCreators().get(0).name(),
+                     "Creator with the most works should be ranked first");
+    }
+
+    @Test
+    @DisplayName("Should find duplicate creators stored on different shards")
+    void shouldDetectDuplicatesAcrossShards() throws Exception {
+        // Arrange
+        Author morrison = creatorService.searchCreatorsByName("Morrison").get(0);
+        Author duplicate = new Author();
+        duplicate.setName("Morrison, Toni");
+        duplicate = creatorService.registerCreator(duplicate);
+        CreatorDuplicateIndex index = context.getBean(CreatorDuplicateIndex.class);
+        long creators = 0;
+        for (int shard = 0; shard < SHARDS; shard++) {
+            creators += count(shard, "literary_creator");
+        }
+
+        // Act
+        index.build();
+        DuplicateClusterReport report = context.getBean(CreatorDuplicateClusterer.class).cluster();
+
+        // Assert
+        assertNotEquals(router.shardOf(morrison.getCreatorId()), router.shardOf(duplicate.getCreatorId()),
+                        "Duplicate should have been placed on another shard");
+        assertEquals(creators, index.size(), "Creators of all shards should be indexed");
+        assertEquals(creators, report.creatorsScanned(), "Creators of all shards should be clustered");
+        assertEquals(List.of(List.of(morrison.getCreatorId(), duplicate.getCreatorId())),
+                     report.clusters().stream().map(cluster -> cluster.creators().stream()
+                             .map(DuplicateClusterReport.Member::creatorId).sorted().toList()).toList(),
+                     "Names on different shards should be clustered together");
+    }
+
+    @Test
+    @DisplayName("Should refuse a connection that is not bound to a shard once the shards are prepared")
+    void shouldRefuseUnboundConnections() throws Exception {
+        // Arrange
+        DataSource dataSource = context.getBean(DataSource.class);
+
+        // Act
+        long creatorsOnLastShard = ShardContext.callOn(SHARDS - 1, () -> {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM literary_creator")) {
+                rows.next();
+                return rows.getLong(1);
+            }
+        });
+
+        // Assert
+        assertEquals(count(SHARDS - 1, "literary_creator"), creatorsOnLastShard,
+                     "A connection bound to a shard should reach that shard");
+        try (Connection connection = dataSource.getConnection()) {
+            assertThrows(IllegalStateException.class, connection::createStatement,
+                         "Without a bound shard no database should be picked");
+        }
+    }
+
+    private static String shardUrl(int shard) {
+        return "jdbc:h2:mem:shard-" + shard + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private static JdbcTemplate shard(int shard) {
+        return new JdbcTemplate(new DriverManagerDataSource(shardUrl(shard), "admin", "password123"));
+    }
+
+    private static long count(int shard, String table) {
+        return shard(shard).queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.books_crud.startup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Reports time-to-first-request of the packaged application in each run mode.
+ * Package first ({@code scripts/fast-start.sh build}), then run
+ * {@code mvn test -Pbenchmark -Dtest=StartupBenchmark}.
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+    private static final String ARTIFACT = "Books_cRud-0.0.1-SNAPSHOT.jar";
+    private static final Path PACKAGED_JAR = Path.of("target", ARTIFACT);
+    private static final Path FAST_START_DIR = Path.of("target", "fast-start");
+    private static final int RUNS = Integer.getInteger("benchmark.startup.runs", 3);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    @DisplayName("Time to first request: default, faststart profile, and AOT + CDS")
+    void timeToFirstRequest() throws Exception {
+        assumeTrue(Files.exists(PACKAGED_JAR), "Package the application before running the startup benchmark");
+
+        report("default", List.of("-jar", PACKAGED_JAR.toString()));
+        report("faststart profile", List.of("-jar", PACKAGED_JAR.toString(), "--spring.profiles.active=faststart"));
+
+        Path archive = FAST_START_DIR.resolve("application.jsa");
+        if (Files.exists(archive)) {
+            report("faststart + AOT + AppCDS", List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                                                       "-jar", FAST_START_DIR.resolve(ARTIFACT).toString(),
+                                                       "--spring.profiles.active=faststart"));
+        }
+    }
+
+    private void report(String mode, List<String> launchArguments) throws Exception {
+        long[] samples = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            samples[run] = measureTimeToFirstRequest(launchArguments);
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-28s time-to-first-request median %,6d ms (min %,d, max %,d, %d runs)%n",
+                          mode, samples[RUNS / 2], samples[0], samples[RUNS - 1], RUNS);
+    }
+
+    private long measureTimeToFirstRequest(List<String> launchArguments) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(launchArguments);
+        command.add("--server.port=" + port);
+        command.add("--logging.file.name=target/startup-benchmark.log");
+
+        URI catalog = URI.create("http://localhost:" + port + "/literary-system/catalog");
+        long startedAt = System.nanoTime();
+        Process application = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - startedAt < STARTUP_TIMEOUT.toNanos()) {
+                assertTrue(application.isAlive(), "Application exited during startup: " + command);
+                try {
+                    client.send(HttpRequest.newBuilder(catalog).build(), HttpResponse.BodyHandlers.discarding());
+                    return (System.nanoTime() - startedAt) / 1_000_000;
+                } catch (ConnectException notListeningYet) {
+                    Thread.sleep(10);
+                }
+            }
+            return fail("Application did not answer within " + STARTUP_TIMEOUT);
+        } finally {
+            application.destroy();
+            application.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.books_crud.stateless;
+
+import com.example.books_crud.BooksCRudApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Heap held on the server by users who were just shown a flash message, with the
+ * messages in HTTP sessions (the Spring default) and in signed cookies. Every user is a
+ * new client that asks for a creator that does not exist and is redirected with an
+ * error message, over real HTTP so the sessions are Tomcat's own.
+ * Run with {@code mvn test -Pbenchmark -Dtest=FlashSessionMemoryBenchmark -Dbenchmark.users=10000}.
+ */
+@Tag("benchmark")
+class FlashSessionMemoryBenchmark {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 10_000);
+    private static final int WARM_UP = 200;
+
+    @Test
+    @DisplayName("Heap per 10k users with flash messages in sessions and in cookies")
+    void measureHeapPerUser() throws Exception {
+        Measurement sessions = measure(false);
+        Measurement cookies = measure(true);
+
+        System.out.printf("Flash message shown to %,d users, heap held per 10k users%n", USERS);
+        System.out.printf("  HTTP sessions:  %,12d bytes, %,d sessions, %,d Set-Cookie bytes per response%n",
+                          sessions.retainedBytes() * 10_000 / USERS, sessions.sessions(), sessions.cookieBytes());
+        System.out.printf("  signed cookies: %,12d bytes, %,d sessions, %,d Set-Cookie bytes per response%n",
+                          cookies.retainedBytes() * 10_000 / USERS, cookies.sessions(), cookies.cookieBytes());
+        assertEquals(0, cookies.sessions(), "Stateless operation should create no sessions");
+        assertTrue(sessions.sessions() >= USERS, "Every user should have had a session before");
+        assertTrue(cookies.retainedBytes() < sessions.retainedBytes());
+    }
+
+    private static Measurement measure(boolean stateless) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BooksCRudApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--server.port=0",
+                     "--spring.datasource.url=jdbc:h2:mem:flash-memory-" + stateless,
+                     "--spring.jpa.show-sql=false",
+                     "--catalog.cache.enabled=false",
+                     "--catalog.throttling.enabled=false",
+                     "--catalog.flight-recorder.continuous=false",
+                     "--catalog.statement-profiling.enabled=false",
+                     "--logging.level.com.example.books_crud=WARN",
+                     "--catalog.stateless.enabled=" + stateless)) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            URI missingCreator = URI.create("http://localhost:" + port + contextPath + "/creators/edit/999999999");
+            // No cookie handler: every request comes from a new user
+            HttpClient client = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER).build();
+            HttpRequest request = HttpRequest.newBuilder(missingCreator).GET().build();
+
+            long cookieBytes = 0;
+            for (int i = 0; i < WARM_UP; i++) {
+                cookieBytes = visit(client, request);
+            }
+            long heapBefore = usedHeapAfterGc();
+            double sessionsBefore = activeSessions(context);
+            for (int user = 0; user < USERS; user++) {
+                visit(client, request);
+            }
+            long retained = usedHeapAfterGc() - heapBefore;
+            long sessions = Math.round(activeSessions(context) - sessionsBefore);
+            return new Measurement(retained, sessions, cookieBytes);
+        }
+    }
+
+    private static long visit(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        assertEquals(302, response.statusCode());
+        List<String> cookies = response.headers().allValues("Set-Cookie");
+        return cookies.stream().mapToLong(String::length).sum();
+    }
+
+    private static double activeSessions(ConfigurableApplicationContext context) {
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        return registry.get("tomcat.sessions.active.current").gauge().value();
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private record Measurement(long retainedBytes, long sessions, long cookieBytes) {
+    }
+}
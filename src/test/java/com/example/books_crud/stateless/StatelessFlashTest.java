@@ -0,0 +1,108 @@
+package com.example.books_crud.stateless;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.FlashMap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stateless-flash;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "catalog.cache.enabled=false",
+        "catalog.throttling.enabled=false"
+})
+@AutoConfigureMockMvc
+class StatelessFlashTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should carry a flash message across the redirect in a signed cookie, without a session")
+    void shouldFlashThroughCookie() throws Exception {
+        // Act
+        MvcResult registration = mockMvc.perform(post("/creators/register").param("name", "Olga Tokarczuk"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(cookie().httpOnly(SignedCookieFlashMapManager.COOKIE_NAME, true))
+                .andReturn();
+        Cookie flash = registration.getResponse().getCookie(SignedCookieFlashMapManager.COOKIE_NAME);
+        MvcResult redirected = mockMvc.perform(get("/creators").cookie(flash))
+                .andExpect(status().isOk())
+                .andExpect(cookie().maxAge(SignedCookieFlashMapManager.COOKIE_NAME, 0))
+                .andReturn();
+        MvcResult again = mockMvc.perform(get("/creators")).andExpect(status().isOk()).andReturn();
+
+        // Assert
+        assertNull(registration.getRequest().getSession(false), "No session should be created");
+        assertNull(redirected.getRequest().getSession(false));
+        assertTrue(flash.getMaxAge() > 0 && flash.getMaxAge() <= 60, "The cookie should be short-lived");
+        assertEquals("Literary creator registered successfully",
+                     redirected.getModelAndView().getModel().get("notification"));
+        assertNull(again.getModelAndView().getModel().get("notification"), "A flash message is shown once");
+    }
+
+    @Test
+    @DisplayName("Should ignore flash cookies that were tampered with or signed with another key")
+    void shouldIgnoreForgedCookies() throws Exception {
+        // Arrange
+        MvcResult registration = mockMvc.perform(post("/creators/register").param("name", "Jon Fosse"))
+                .andExpect(status().is3xxRedirection())
+                .andReturn();
+        String value = registration.getResponse().getCookie(SignedCookieFlashMapManager.COOKIE_NAME).getValue();
+        FlashMap forged = new FlashMap();
+        forged.put("notification", "Forged message");
+        forged.setTargetRequestPath("/creators");
+        forged.startExpirationPeriod(60);
+        String otherKey = new FlashCookieCodec("another secret".getBytes(StandardCharsets.UTF_8))
+                .encode(List.of(forged));
+        String tampered = value.substring(0, value.indexOf('.')) + "x" + value.substring(value.indexOf('.'));
+
+        // Act & Assert
+        for (String cookie : List.of(otherKey, tampered, "not-a-flash-cookie")) {
+            MvcResult result = mockMvc.perform(get("/creators")
+                                                       .cookie(new Cookie(SignedCookieFlashMapManager.COOKIE_NAME,
+                                                                          cookie)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            assertNull(result.getModelAndView().getModel().get("notification"), cookie);
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse to create HTTP sessions")
+    void shouldRefuseSessions() throws Exception {
+        // Arrange
+        SessionlessRequestFilter filter = new SessionlessRequestFilter();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/creators");
+
+        // Act & Assert
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest wrapped, HttpServletResponse response) {
+                assertNull(wrapped.getSession(false));
+                assertThrows(IllegalStateException.class, wrapped::getSession);
+                assertThrows(IllegalStateException.class, () -> wrapped.getSession(true));
+            }
+        }));
+        assertNull(request.getSession(false));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.books_crud.statistics;
+
+import com.example.books_crud.BooksCRudApplication;
+import com.example.books_crud.model.Author;
+import com.example.books_crud.model.Book;
+import com.example.books_crud.service.AuthorService;
+import com.example.books_crud.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keeps catalog statistics from service events and rebuilds them from the database
+ */
+class CatalogStatisticsTest {
+
+    private ConfigurableApplicationContext context;
+    private CatalogStatisticsStore statisticsStore;
+    private AuthorService creatorService;
+    private BookService literaryService;
+
+    @BeforeEach
+    void start() {
+        context = new SpringApplicationBuilder(BooksCRudApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:catalog-statistics;DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.show-sql=false",
+                     "--catalog.cache.enabled=false",
+                     "--catalog.statistics.top-creators=3");
+        statisticsStore = context.getBean(CatalogStatisticsStore.class);
+        creatorService = context.getBean(AuthorService.class);
+        literaryService = context.getBean(BookService.class);
+    }
+
+    @AfterEach
+    void stop() {
+        new JdbcTemplate(context.getBean(DataSource.class)).execute("DROP ALL OBJECTS");
+        context.close();
+    }
+
+    @Test
+    @DisplayName("Should update totals, ranking and recent additions from committed changes")
+    void shouldFollowServiceChanges() {
+        // Arrange
+        CatalogStatistics before = statisticsStore.statistics().orElseThrow();
+        Author creator = new Author();
+        creator.setName("Octavia E. Butler");
+
+        // Act
+        creator = creatorService.registerCreator(creator);
+        Book latest = null;
+        for (String title : new String[]{"Kindred", "Dawn", "Adulthood Rites", "Imago"}) {
+            Book work = new Book();
+            work.setTitle(title);
+            work.setCreator(creator);
+            latest = literaryService.registerLiteraryWork(work);
+        }
+        CatalogStatistics afterRegistration = statisticsStore.statistics().orElseThrow();
+        literaryService.withdrawFromCatalog(latest.getId());
+        CatalogStatistics afterWithdrawal = statisticsStore.statistics().orElseThrow();
+        creatorService.removeCreator(creator.getCreatorId());
+        CatalogStatistics afterRemoval = statisticsStore.statistics().orElseThrow();
+
+        // Assert
+        assertEquals(before.creators() + 1, afterRegistration.creators());
+        assertEquals(before.works() + 4, afterRegistration.works());
+        assertEquals(before.creatorsWithMultipleWorks() + 1, afterRegistration.creatorsWithMultipleWorks());
+        assertEquals(new CatalogStatistics.TopCreator(creator.getCreatorId(), "Octavia E. Butler", 4),
+                     afterRegistration.topCreators().get(0));
+        assertEquals(3, afterRegistration.topCreators().size());
+        assertEquals("Imago", afterRegistration.recentAdditions().get(0).title());
+        assertNotNull(afterRegistration.recentAdditions().get(0).addedAt());
+        assertEquals(3, afterWithdrawal.topCreators().get(0).works());
+        assertEquals("Adulthood Rites", afterWithdrawal.recentAdditions().get(0).title());
+        assertEquals(before.creators(), afterRemoval.creators());
+        assertEquals(before.works(), afterRemoval.works());
+        assertEquals(before.worksPerCreator(), afterRemoval.worksPerCreator());
+        assertEquals(before.topCreators(), afterRemoval.topCreators());
+    }
+
+    @Test
+    @DisplayName("Should correct and report drift from writes that bypassed the services")
+    void shouldReconcileWithDatabase() {
+        // Arrange
+        JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+        CatalogStatistics before = statisticsStore.statistics().orElseThrow();
+        long creatorId = before.topCreators().get(0).creatorId();
+        jdbc.update("INSERT INTO literary_work (work_title, creator_id, row_version) VALUES ('Unannounced', ?, 0)",
+                    creatorId);
+
+        // Act
+        CatalogStatistics stale = statisticsStore.statistics().orElseThrow();
+        statisticsStore.reconcile();
+        CatalogStatistics reconciled = statisticsStore.statistics().orElseThrow();
+
+        // Assert
+        assertEquals(before.works(), stale.works(), "The direct insert published no event");
+        assertEquals(before.works() + 1, reconciled.works());
+        assertEquals(1, reconciled.lastDrift());
+        assertEquals(before.topCreators().get(0).works() + 1, reconciled.topCreators().get(0).works());
+        assertEquals("Unannounced", reconciled.recentAdditions().get(0).title());
+        assertFalse(reconciled.reconciledAt().isBefore(before.reconciledAt()));
+    }
+
+    @Test
+    @DisplayName("Should keep work ownership consistent through collisions, growth and removals")
+    void shouldTrackOwnershipLikeHashMap() {
+        // Arrange
+        WorkOwnership ownership = new WorkOwnership();
+        Map<Long, Long> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(7);
+
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            long workId = 1 + random.nextLong(5_000);
+            long owner = random.nextLong(20);
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(orAbsent(expected.remove(workId)), ownership.remove(workId));
+                case 1 -> {
+                    int before = expected.size();
+                    expected.values().removeIf(value -> value == owner);
+                    assertEquals(before - expected.size(), ownership.removeOwnedBy(owner));
+                }
+                default -> assertEquals(orAbsent(expected.put(workId, owner)), ownership.put(workId, owner));
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), ownership.size());
+        expected.forEach((workId, owner) -> assertEquals((long) owner, ownership.get(workId)));
+        ownership.forEach((workId, owner) -> assertEquals((long) expected.get(workId), owner));
+    }
+
+    private static long orAbsent(Long owner) {
+        return owner != null ? owner : WorkOwnership.ABSENT;
+    }
+}
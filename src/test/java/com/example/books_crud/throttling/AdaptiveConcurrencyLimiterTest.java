@@ -0,0 +1,88 @@
+package com.example.books_crud.throttling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    @DisplayName("Should refuse requests beyond the current limit")
+    void shouldRefuseBeyondLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 8, 2.0, 0.2);
+
+        // Act
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+
+        // Assert
+        assertTrue(first && second, "Requests within the limit should be admitted");
+        assertFalse(third, "Request beyond the limit should be refused");
+        limiter.release(FAST);
+        assertTrue(limiter.tryAcquire(), "A released slot should be reusable");
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while latency stays at its baseline")
+    void shouldGrowWhileLatencyIsStable() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 8, 2.0, 0.2);
+
+        // Act
+        runSaturated(limiter, 200, FAST);
+
+        // Assert
+        assertEquals(8, limiter.limit(), "Limit should reach its ceiling");
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency rises well above the baseline")
+    void shouldShrinkWhenLatencyRises() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 8, 2.0, 0.2);
+        runSaturated(limiter, 200, FAST);
+
+        // Act
+        runSaturated(limiter, 30, SLOW);
+
+        // Assert
+        assertTrue(limiter.limit() < 4, "Limit should back off under queueing, was " + limiter.limit());
+        assertEquals(0, limiter.inFlight(), "Every admitted request should have been released");
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit when too few requests are in flight")
+    void shouldNotGrowWhenApplicationLimited() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 8, 2.0, 0.2);
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST);
+        }
+
+        // Assert
+        assertEquals(4, limiter.limit(), "A single request at a time says nothing about higher limits");
+    }
+
+    private static void runSaturated(AdaptiveConcurrencyLimiter limiter, int rounds, long rttNanos) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(rttNanos);
+            }
+        }
+    }
+}
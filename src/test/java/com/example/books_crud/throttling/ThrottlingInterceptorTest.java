@@ -0,0 +1,114 @@
+package com.example.books_crud.throttling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThrottlingInterceptorTest {
+
+    private long now;
+
+    @Test
+    @DisplayName("Should answer 429 once a client exhausts its bucket")
+    void shouldRejectClientOverRate() throws Exception {
+        // Arrange
+        ThrottlingInterceptor interceptor = interceptor(new AdaptiveConcurrencyLimiter(8, 1, 8, 2.0, 0.2));
+        admit(interceptor, "10.0.0.1");
+        admit(interceptor, "10.0.0.1");
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean proceeded = interceptor.preHandle(request("10.0.0.1"), response, null);
+
+        // Assert
+        assertFalse(proceeded, "Request over the client's rate should not reach the handler");
+        assertEquals(429, response.getStatus(), "Should answer Too Many Requests");
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER), "Should tell the client when to retry");
+        assertTrue(interceptor.preHandle(request("10.0.0.2"), new MockHttpServletResponse(), null),
+                   "Other clients should keep their own budget");
+        assertEquals(1, interceptor.rateLimitedCount(), "Rejection should be counted");
+    }
+
+    @Test
+    @DisplayName("Should answer 503 when the concurrency limit is reached and free the slot on completion")
+    void shouldShedWhenConcurrencyLimitReached() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 2.0, 0.2);
+        ThrottlingInterceptor interceptor = interceptor(concurrencyLimiter);
+        MockHttpServletRequest inFlight = request("10.0.0.1");
+        interceptor.preHandle(inFlight, new MockHttpServletResponse(), null);
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean proceeded = interceptor.preHandle(request("10.0.0.2"), response, null);
+        now += 5_000_000;
+        interceptor.afterCompletion(inFlight, new MockHttpServletResponse(), null, null);
+
+        // Assert
+        assertFalse(proceeded, "Request over the concurrency limit should not reach the handler");
+        assertEquals(503, response.getStatus(), "Should answer Service Unavailable");
+        assertEquals(1, interceptor.overloadedCount(), "Shed request should be counted");
+        assertEquals(0, concurrencyLimiter.inFlight(), "Completion should release the slot");
+        assertEquals(5.0, concurrencyLimiter.baselineRttMillis(), 0.001, "Completion should record its latency");
+    }
+
+    @Test
+    @DisplayName("Should give each client behind the load balancer its own bucket")
+    void shouldKeyOnForwardedClient() throws Exception {
+        // Arrange
+        ThrottlingInterceptor interceptor = interceptor(new AdaptiveConcurrencyLimiter(8, 1, 8, 2.0, 0.2));
+        admit(interceptor, forwarded("198.51.100.7"));
+        admit(interceptor, forwarded("198.51.100.7"));
+
+        // Act
+        boolean heavyClient = interceptor.preHandle(forwarded("198.51.100.7"), new MockHttpServletResponse(), null);
+        boolean otherClient = interceptor.preHandle(forwarded("203.0.113.9"), new MockHttpServletResponse(), null);
+        MockHttpServletRequest spoofed = forwarded("203.0.113.50, 198.51.100.7");
+        boolean spoofing = interceptor.preHandle(spoofed, new MockHttpServletResponse(), null);
+        MockHttpServletRequest direct = request("198.51.100.7");
+        direct.addHeader("X-Forwarded-For", "203.0.113.77");
+
+        // Assert
+        assertFalse(heavyClient, "The heavy client should run out of its own permits");
+        assertTrue(otherClient, "Another client behind the same proxy should keep its budget");
+        assertFalse(spoofing, "Addresses the client put in the header itself should be ignored");
+        assertFalse(interceptor.preHandle(direct, new MockHttpServletResponse(), null),
+                    "The header from a peer that is not a trusted proxy should be ignored");
+    }
+
+    private ThrottlingInterceptor interceptor(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(1, 2, 100, () -> now);
+        ClientAddressResolver clients = new ClientAddressResolver("X-Forwarded-For", List.of("10.1.0.0/16"));
+        return new ThrottlingInterceptor("catalog-search", clients, rateLimiter, concurrencyLimiter, () -> now);
+    }
+
+    private static void admit(ThrottlingInterceptor interceptor, String client) throws Exception {
+        admit(interceptor, request(client));
+    }
+
+    private static void admit(ThrottlingInterceptor interceptor, MockHttpServletRequest request) throws Exception {
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null), "Should be admitted");
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+    }
+
+    /**
+     * Request relayed by the load balancer at 10.1.0.5, which appended the client address to the header
+     */
+    private static MockHttpServletRequest forwarded(String forwardedFor) {
+        MockHttpServletRequest request = request("10.1.0.5");
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/catalog/search");
+        request.setRemoteAddr(client);
+        return request;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.books_crud.throttling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Should allow a burst and then refuse until the bucket refills")
+    void shouldAllowBurstThenRefuse() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        // Act
+        long first = bucket.tryAcquire(0);
+        long second = bucket.tryAcquire(0);
+        long third = bucket.tryAcquire(0);
+        long refused = bucket.tryAcquire(0);
+
+        // Assert
+        assertEquals(0, first + second + third, "Burst permits should be granted");
+        assertEquals(SECOND / 10, refused, "Refusal should report the time until the next permit");
+        assertEquals(0, bucket.tryAcquire(SECOND / 10), "A permit should be available after one interval");
+        assertFalse(bucket.isFull(SECOND / 10), "Bucket should still be partly drained");
+        assertTrue(bucket.isFull(SECOND), "Bucket should refill completely when idle");
+    }
+
+    @Test
+    @DisplayName("Should grant exactly the burst size under concurrent callers")
+    void shouldGrantBurstUnderContention() throws InterruptedException {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1, 100, 0);
+        AtomicInteger granted = new AtomicInteger();
+
+        // Act
+        try (ExecutorService callers = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1_000; i++) {
+                callers.execute(() -> {
+                    if (bucket.tryAcquire(0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        // Assert
+        assertEquals(100, granted.get(), "Only the burst should be granted at a single instant");
+    }
+
+    @Test
+    @DisplayName("Should track at most the configured clients, evicting the least recently seen")
+    void shouldEvictLeastRecentlySeenClients() {
+        // Arrange
+        long[] now = {0};
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 2, () -> now[0]);
+        limiter.tryAcquire("10.0.0.1");
+        limiter.tryAcquire("10.0.0.2");
+        limiter.tryAcquire("10.0.0.1");
+
+        // Act
+        long granted = limiter.tryAcquire("10.0.0.3");
+
+        // Assert
+        assertEquals(0, granted, "New client should get a permit");
+        assertEquals(2, limiter.trackedClients(), "Tracked clients should stay bounded");
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0, "The recently seen client should keep its drained bucket");
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"), "The evicted client should start over with a full bucket");
+    }
+
+    @Test
+    @DisplayName("Should evict refilled buckets before those of recently seen clients")
+    void shouldEvictRefilledBucketsFirst() {
+        // Arrange
+        long[] now = {0};
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 2, () -> now[0]);
+        limiter.tryAcquire("10.0.0.1");
+        now[0] = SECOND;
+        limiter.tryAcquire("10.0.0.2");
+
+        // Act
+        limiter.tryAcquire("10.0.0.3");
+
+        // Assert
+        assertEquals(2, limiter.trackedClients());
+        assertTrue(limiter.tryAcquire("10.0.0.2") > 0, "The drained bucket should be kept");
+        assertTrue(limiter.tryAcquire("10.0.0.3") > 0, "The new client's bucket should be kept");
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.books_crud.warmup;
+
+import com.example.books_crud.BooksCRudApplication;
+import com.example.books_crud.cache.CatalogCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogWarmupTest {
+
+    @Test
+    @DisplayName("Should report readiness only once connections, caches, pages and JSPs are warmed up")
+    void shouldGateReadinessOnWarmup() throws Exception {
+        // Arrange
+        List<Boolean> completeWhenAccepting = new ArrayList<>();
+        ApplicationListener<AvailabilityChangeEvent<?>> readiness = event -> {
+            if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                completeWhenAccepting.add(((ApplicationContext) event.getSource()).getBean(CatalogWarmup.class)
+                                                  .isComplete());
+            }
+        };
+
+        // Act
+        try (ConfigurableApplicationContext context = start("warmup-gate", readiness, "--catalog.warmup.rounds=20")) {
+
+            // Assert
+            CatalogWarmup warmup = context.getBean(CatalogWarmup.class);
+            assertEquals(List.of(true), completeWhenAccepting);
+            assertEquals(20, warmup.roundsRun());
+            assertEquals(9, warmup.viewsCompiled(), "Every JSP under /WEB-INF/views should be compiled");
+            assertNotNull(context.getBean(CacheManager.class).getCache(CatalogCaches.CREATOR_DIRECTORY)
+                                  .get(SimpleKey.EMPTY), "The creator list should be cached");
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            double total = registry.get("catalog.warmup.duration").tag("phase", "total").timeGauge()
+                    .value(TimeUnit.MILLISECONDS);
+            double views = registry.get("catalog.warmup.duration").tag("phase", "views").timeGauge()
+                    .value(TimeUnit.MILLISECONDS);
+            assertTrue(total > 0 && views > 0 && views <= total);
+            assertEquals(9, registry.get("catalog.warmup.views").gauge().value());
+            HttpResponse<String> probe = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(baseUri(context, "/actuator/health/readiness")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, probe.statusCode());
+            assertTrue(probe.body().contains("\"UP\""), probe.body());
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip the remaining rounds once the time limit is up, and still become ready")
+    void shouldStopAtTimeLimit() {
+        // Arrange
+        List<Boolean> completeWhenAccepting = new ArrayList<>();
+        ApplicationListener<AvailabilityChangeEvent<?>> readiness = event -> {
+            if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                completeWhenAccepting.add(((ApplicationContext) event.getSource()).getBean(CatalogWarmup.class)
+                                                  .isComplete());
+            }
+        };
+
+        // Act
+        try (ConfigurableApplicationContext context = start("warmup-limit", readiness,
+                                                            "--catalog.warmup.rounds=1000000",
+                                                            "--catalog.warmup.time-limit=0s")) {
+
+            // Assert
+            assertEquals(List.of(true), completeWhenAccepting);
+            assertEquals(0, context.getBean(CatalogWarmup.class).roundsRun());
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String database, ApplicationListener<?> listener,
+                                                        String... settings) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--catalog.warmup.enabled=true",
+                "--spring.datasource.url=jdbc:h2:mem:" + database,
+                "--spring.jpa.show-sql=false",
+                "--catalog.throttling.enabled=false",
+                "--catalog.flight-recorder.continuous=false"));
+        arguments.addAll(List.of(settings));
+        return new SpringApplicationBuilder(BooksCRudApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .listeners(listener)
+                .run(arguments.toArray(String[]::new));
+    }
+
+    private static URI baseUri(ConfigurableApplicationContext context, String path) {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+        return URI.create("http://localhost:" + port + contextPath + path);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.books_crud.wire;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-export;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "catalog.throttling.enabled=false"
+})
+@AutoConfigureMockMvc
+class CatalogExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should export the same rows as JSON and in the columnar format, chosen by Accept")
+    void shouldNegotiateExportFormat() throws Exception {
+        // Act
+        MvcResult json = export(MediaType.APPLICATION_JSON_VALUE, 0);
+        MvcResult columnar = export(ColumnarCatalogFormat.MEDIA_TYPE_VALUE, 0);
+
+        // Assert
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, json.getResponse().getContentType());
+        assertEquals(ColumnarCatalogFormat.MEDIA_TYPE_VALUE, columnar.getResponse().getContentType());
+        List<Row> fromJson = new ArrayList<>();
+        for (JsonNode work : objectMapper.readTree(json.getResponse().getContentAsByteArray())) {
+            fromJson.add(new Row(work.get("id").asLong(), work.get("title").asText(),
+                                 work.get("isbn").isNull() ? null : work.get("isbn").asText(),
+                                 work.get("creatorId").isNull() ? null : work.get("creatorId").asLong(),
+                                 work.get("creatorName").isNull() ? null : work.get("creatorName").asText(),
+                                 work.get("version").asLong()));
+        }
+        List<Row> fromColumnar = decode(columnar.getResponse().getContentAsByteArray());
+        assertFalse(fromJson.isEmpty(), "The sample catalog should be exported");
+        assertEquals(fromJson, fromColumnar);
+        assertTrue(columnar.getResponse().getContentAsByteArray().length
+                           < json.getResponse().getContentAsByteArray().length / 2);
+    }
+
+    @Test
+    @DisplayName("Should resume the export after the last work id received")
+    void shouldResumeAfterWorkId() throws Exception {
+        // Arrange
+        List<Row> all = decode(export(ColumnarCatalogFormat.MEDIA_TYPE_VALUE, 0).getResponse()
+                                       .getContentAsByteArray());
+        long resumeAfter = all.get(1).workId();
+
+        // Act
+        List<Row> rest = decode(export(ColumnarCatalogFormat.MEDIA_TYPE_VALUE, resumeAfter).getResponse()
+                                        .getContentAsByteArray());
+
+        // Assert
+        assertEquals(all.subList(2, all.size()), rest);
+    }
+
+    @Test
+    @DisplayName("Should round-trip rows across blocks, with missing values and non-ASCII text")
+    void shouldRoundTripColumnarRows() throws IOException {
+        // Arrange
+        List<Row> rows = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            boolean attributed = id % 5 != 0;
+            rows.add(new Row(id * 3, id % 2 == 0 ? "Cien años de soledad " + id : "Kafka on the Shore " + id,
+                             id % 4 == 0 ? null : "978-" + id, attributed ? id % 3 + 1 : null,
+                             attributed ? (id % 3 == 0 ? "Gabriel García Márquez" : "村上 春樹 " + id % 3) : null,
+                             id * 1_000_000_007L));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // Act
+        ColumnarCatalogWriter writer = new ColumnarCatalogWriter(bytes, 4);
+        for (Row row : rows) {
+            writer.row(row.workId(), row.title(), row.isbn(), row.creatorId(), row.creatorName(), row.version());
+        }
+        writer.finish();
+
+        // Assert
+        assertEquals(rows, decode(bytes.toByteArray()));
+        assertThrows(IllegalArgumentException.class, () -> writer.row(2, "Out of order", null, null, null, 0));
+    }
+
+    private MvcResult export(String accept, long after) throws Exception {
+        MvcResult started = mockMvc.perform(get("/catalog/export").param("after", Long.toString(after))
+                                                    .header(HttpHeaders.ACCEPT, accept))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+    }
+
+    private static List<Row> decode(byte[] columnar) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        ColumnarCatalogReader.read(new ByteArrayInputStream(columnar),
+                                   (workId, title, isbn, creatorId, creatorName, version) ->
+                                           rows.add(new Row(workId, title, isbn, creatorId, creatorName, version)));
+        return rows;
+    }
+
+    private record Row(long workId, String title, String isbn, Long creatorId, String creatorName, long version) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.books_crud.wire;
+
+import com.example.books_crud.dataset.CatalogVocabulary;
+import com.example.books_crud.service.BookService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bytes and CPU per row of the catalog export as JSON and in the columnar format, for
+ * encoding (including the database read, which is measured separately) and decoding.
+ * Run with {@code mvn test -Pbenchmark -Dtest=CatalogWireFormatBenchmark -Dbenchmark.works=1000000}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-wire-benchmark",
+        "spring.jpa.show-sql=false",
+        "catalog.cache.enabled=false",
+        "catalog.read-dedup.enabled=false",
+        "catalog.query-budget.max-rows=10000000",
+        "catalog.query-budget.timeout=10m",
+        "logging.level.com.example.books_crud=INFO"
+})
+class CatalogWireFormatBenchmark {
+
+    private static final int WORKS = Integer.getInteger("benchmark.works", 200_000);
+    private static final int CREATORS = Integer.getInteger("benchmark.creators", WORKS / 10);
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BookService literaryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Bytes and CPU per exported row, JSON against columnar")
+    void measureWireFormats() throws IOException {
+        insertCatalog();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        long readOnly = Long.MAX_VALUE;
+        long jsonEncode = Long.MAX_VALUE;
+        long columnarEncode = Long.MAX_VALUE;
+        long jsonDecode = Long.MAX_VALUE;
+        long columnarDecode = Long.MAX_VALUE;
+        byte[] json = null;
+        byte[] columnar = null;
+        long rows = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long started = threads.getCurrentThreadCpuTime();
+            long[] seen = {0};
+            rows = literaryService.exportCatalog(0, (workId, title, isbn, creatorId, creatorName, version) ->
+                    seen[0] += workId);
+            readOnly = Math.min(readOnly, threads.getCurrentThreadCpuTime() - started);
+
+            ByteArrayOutputStream jsonBytes = new ByteArrayOutputStream(WORKS * 128);
+            started = threads.getCurrentThreadCpuTime();
+            CatalogRowWriter jsonWriter = new JsonCatalogWriter(objectMapper.getFactory(), jsonBytes);
+            literaryService.exportCatalog(0, jsonWriter);
+            jsonWriter.finish();
+            jsonEncode = Math.min(jsonEncode, threads.getCurrentThreadCpuTime() - started);
+            json = jsonBytes.toByteArray();
+
+            ByteArrayOutputStream columnarBytes = new ByteArrayOutputStream(WORKS * 64);
+            started = threads.getCurrentThreadCpuTime();
+            CatalogRowWriter columnarWriter = new ColumnarCatalogWriter(columnarBytes);
+            literaryService.exportCatalog(0, columnarWriter);
+            columnarWriter.finish();
+            columnarEncode = Math.min(columnarEncode, threads.getCurrentThreadCpuTime() - started);
+            columnar = columnarBytes.toByteArray();
+
+            started = threads.getCurrentThreadCpuTime();
+            long jsonRows = parseJson(json);
+            jsonDecode = Math.min(jsonDecode, threads.getCurrentThreadCpuTime() - started);
+
+            started = threads.getCurrentThreadCpuTime();
+            long[] checksum = {0};
+            long columnarRows = ColumnarCatalogReader.read(new ByteArrayInputStream(columnar),
+                    (workId, title, isbn, creatorId, creatorName, version) ->
+                            checksum[0] += workId + title.length() + (creatorName != null ? creatorName.length() : 0));
+            columnarDecode = Math.min(columnarDecode, threads.getCurrentThreadCpuTime() - started);
+            assertEquals(rows, jsonRows);
+            assertEquals(rows, columnarRows);
+        }
+
+        System.out.printf("Catalog export of %,d works by %,d creators (best of %d)%n", rows, CREATORS, ROUNDS);
+        System.out.printf("  database read only:  %,6.0f ns/row%n", (double) readOnly / rows);
+        System.out.printf("  JSON:      %,7.1f bytes/row (%,.1f gzipped), encode %,6.0f ns/row, decode %,6.0f ns/row%n",
+                          (double) json.length / rows, (double) gzipped(json) / rows,
+                          (double) (jsonEncode - readOnly) / rows, (double) jsonDecode / rows);
+        System.out.printf("  columnar:  %,7.1f bytes/row (%,.1f gzipped), encode %,6.0f ns/row, decode %,6.0f ns/row%n",
+                          (double) columnar.length / rows, (double) gzipped(columnar) / rows,
+                          (double) (columnarEncode - readOnly) / rows, (double) columnarDecode / rows);
+        assertTrue(columnar.length < json.length / 2, "The columnar export should be well under half the JSON");
+    }
+
+    private long parseJson(byte[] json) throws IOException {
+        long rows = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            // Read every value the way a client would, without binding to beans
+            while (parser.nextToken() != null) {
+                if (parser.currentToken() == com.fasterxml.jackson.core.JsonToken.END_OBJECT) {
+                    rows++;
+                } else if (parser.currentToken().isScalarValue()) {
+                    parser.getText();
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static long gzipped(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.size();
+    }
+
+    private void insertCatalog() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        long firstCreator = jdbc.queryForObject("SELECT COALESCE(MAX(creator_id), 0) + 1 FROM literary_creator",
+                                                Long.class);
+        SplittableRandom random = new SplittableRandom(3);
+        List<Object[]> creators = new ArrayList<>(CREATORS);
+        for (long id = firstCreator; id < firstCreator + CREATORS; id++) {
+            creators.add(new Object[]{id, CatalogVocabulary.creatorName(random)});
+        }
+        jdbc.batchUpdate("INSERT INTO literary_creator (creator_id, full_name, row_version) VALUES (?, ?, 0)",
+                         creators);
+        long firstWork = jdbc.queryForObject("SELECT COALESCE(MAX(work_id), 0) + 1 FROM literary_work", Long.class);
+        List<Object[]> works = new ArrayList<>(WORKS);
+        for (long serial = 0; serial < WORKS; serial++) {
+            works.add(new Object[]{firstWork + serial, CatalogVocabulary.title(random),
+                                   CatalogVocabulary.isbn(firstWork + serial), firstCreator + random.nextInt(CREATORS)});
+        }
+        jdbc.batchUpdate("INSERT INTO literary_work (work_id, work_title, international_code, creator_id, row_version) "
+                                 + "VALUES (?, ?, ?, ?, 0)", works);
+    }
+}